@@ -1,6 +1,9 @@
 import benchmarksprintf;
 import benchmarktypes;
 import benchmarkio;
+import benchmarkfunctions;
+import benchmarkcache;
+import benchmarktable;
 import ballerina/io;
 
 map<function()> functions;
@@ -17,6 +20,9 @@ function addFunctions() {
     addSprintfFunctions();
     addIoFunctions();
     addStringFunctions();
+    addFunctionCallFunctions();
+    addCacheFunctions();
+    addTableFunctions();
 }
 
 function addJSONFunctions() {
@@ -113,6 +119,9 @@ function addIoFunctions() {
     functions["benchmarkInitFileChannelAppendMode"] = benchmarkio:benchmarkInitFileChannelAppendMode;
     functions["benchmarkReadBytes"] = benchmarkio:benchmarkReadBytes;
     functions["benchmarkWriteBytes"] = benchmarkio:benchmarkWriteBytes;
+    functions["benchmarkReadCsvRecords"] = benchmarkio:benchmarkReadCsvRecords;
+    functions["benchmarkReadLargeCsvRecords"] = benchmarkio:benchmarkReadLargeCsvRecords;
+    functions["benchmarkReadCharacters"] = benchmarkio:benchmarkReadCharacters;
 }
 
 function addStringFunctions() {
@@ -140,3 +149,19 @@ function addStringFunctions() {
     functions["benchmarkStringSplit"] = benchmarktypes:benchmarkStringSplit;
     functions["benchmarkStringUnescape"] = benchmarktypes:benchmarkStringUnescape;
 }
+
+function addFunctionCallFunctions() {
+    functions["benchmarkFunctionCallFibonacci"] = benchmarkfunctions:benchmarkFunctionCallFibonacci;
+    functions["benchmarkFunctionCallMultipleReturns"] = benchmarkfunctions:benchmarkFunctionCallMultipleReturns;
+}
+
+function addCacheFunctions() {
+    functions["benchmarkCacheGet"] = benchmarkcache:benchmarkCacheGet;
+    functions["benchmarkCacheGetMissing"] = benchmarkcache:benchmarkCacheGetMissing;
+    functions["benchmarkCachePutExistingKey"] = benchmarkcache:benchmarkCachePutExistingKey;
+    functions["benchmarkCachePutWithEviction"] = benchmarkcache:benchmarkCachePutWithEviction;
+}
+
+function addTableFunctions() {
+    functions["benchmarkTableReadRecords"] = benchmarktable:benchmarkTableReadRecords;
+}
@@ -0,0 +1,59 @@
+import ballerina/cache;
+
+// Both caches hold 1,000,000 entries, the first is filled with keys 0 to 999999 and the second with keys from
+// 1000000 upwards, so that each put to it adds a new key to a full cache. The caches are filled by the first
+// benchmark which uses them, since every benchmark runs in a process of its own.
+@final int CACHE_SIZE = 1000000;
+
+cache:Cache filledCache = new(expiryTimeMillis = 3600000, capacity = CACHE_SIZE);
+cache:Cache evictingCache = new(expiryTimeMillis = 3600000, capacity = CACHE_SIZE);
+boolean isFilledCacheFilled = false;
+boolean isEvictingCacheFilled = false;
+int nextIndex = 0;
+int nextNewKey = 2 * CACHE_SIZE;
+
+public function benchmarkCacheGet() {
+    fillFilledCache();
+    any? value = filledCache.get(nextKey());
+}
+
+public function benchmarkCacheGetMissing() {
+    fillFilledCache();
+    any? value = filledCache.get("missing" + nextIndex);
+    nextIndex = (nextIndex + 1) % CACHE_SIZE;
+}
+
+public function benchmarkCachePutExistingKey() {
+    fillFilledCache();
+    filledCache.put(nextKey(), nextIndex);
+}
+
+public function benchmarkCachePutWithEviction() {
+    if (!isEvictingCacheFilled) {
+        fill(evictingCache, CACHE_SIZE);
+        isEvictingCacheFilled = true;
+    }
+    evictingCache.put("key" + nextNewKey, nextNewKey);
+    nextNewKey = nextNewKey + 1;
+}
+
+// Steps through the keys of the filled cache out of insertion order.
+function nextKey() returns string {
+    nextIndex = (nextIndex + 7919) % CACHE_SIZE;
+    return "key" + nextIndex;
+}
+
+function fillFilledCache() {
+    if (!isFilledCacheFilled) {
+        fill(filledCache, 0);
+        isFilledCacheFilled = true;
+    }
+}
+
+function fill(cache:Cache cacheToFill, int firstKey) {
+    int i = 0;
+    while (i < CACHE_SIZE) {
+        cacheToFill.put("key" + (firstKey + i), i);
+        i = i + 1;
+    }
+}
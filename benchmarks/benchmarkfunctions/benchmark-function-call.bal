@@ -0,0 +1,19 @@
+public function benchmarkFunctionCallFibonacci() {
+    // fib(15) makes 1973 function calls
+    int result = fib(15);
+}
+
+public function benchmarkFunctionCallMultipleReturns() {
+    var (quotient, remainder) = divide(17, 5);
+}
+
+function fib(int n) returns int {
+    if (n < 2) {
+        return n;
+    }
+    return fib(n - 1) + fib(n - 2);
+}
+
+function divide(int a, int b) returns (int, int) {
+    return (a / b, a % b);
+}
@@ -0,0 +1,19 @@
+import ballerina/io;
+
+public function benchmarkReadCharacters() {
+    // characters.txt holds 16 KB of text, where some of the characters are encoded in multiple bytes
+    io:ByteChannel byteChannel = io:openFile("benchmarkio/resources/characters.txt", "r");
+    io:CharacterChannel characterChannel = new io:CharacterChannel(byteChannel, "UTF-8");
+    boolean hasCharacters = true;
+    while (hasCharacters) {
+        match characterChannel.read(1024) {
+            string characters => {
+                hasCharacters = characters != "";
+            }
+            error err => {
+                hasCharacters = false;
+            }
+        }
+    }
+    var result = characterChannel.close();
+}
@@ -0,0 +1,94 @@
+import ballerina/io;
+
+// The large CSV file is generated by the first run of its benchmark, since every benchmark runs in a process of its
+// own. It is made of copies of records.csv, 1 GB in total, and each run reads the next batch of records from it, so
+// that the reads go through the whole file rather than a few cached pages.
+@final string LARGE_CSV_PATH = "target/large-records.csv";
+@final int LARGE_CSV_SIZE = 1073741824;
+@final int COPIES_PER_BLOCK = 64;
+@final int RECORDS_PER_RUN = 10000;
+
+boolean isLargeCsvGenerated = false;
+io:CSVChannel? largeCsvChannel = ();
+
+public function benchmarkReadCsvRecords() {
+    // records.csv holds 200 records, with quoted fields containing separators and escaped quotes
+    io:CSVChannel csvChannel = io:openCsvFile("benchmarkio/resources/records.csv");
+    while (csvChannel.hasNext()) {
+        var fields = csvChannel.getNext();
+    }
+    var result = csvChannel.close();
+}
+
+public function benchmarkReadLargeCsvRecords() {
+    if (!isLargeCsvGenerated) {
+        generateLargeCsv();
+        isLargeCsvGenerated = true;
+    }
+    int count = 0;
+    while (count < RECORDS_PER_RUN) {
+        io:CSVChannel csvChannel = openLargeCsv();
+        if (csvChannel.hasNext()) {
+            var fields = csvChannel.getNext();
+            count = count + 1;
+        } else {
+            // Starts again from the beginning of the file
+            var result = csvChannel.close();
+            largeCsvChannel = ();
+        }
+    }
+}
+
+function openLargeCsv() returns io:CSVChannel {
+    match largeCsvChannel {
+        io:CSVChannel csvChannel => {
+            return csvChannel;
+        }
+        () => {
+            io:CSVChannel csvChannel = io:openCsvFile(LARGE_CSV_PATH);
+            largeCsvChannel = csvChannel;
+            return csvChannel;
+        }
+    }
+}
+
+function generateLargeCsv() {
+    string records = readAll("benchmarkio/resources/records.csv");
+    string block = "";
+    int copies = 0;
+    while (copies < COPIES_PER_BLOCK) {
+        block = block + records;
+        copies = copies + 1;
+    }
+    // The records hold ASCII characters only, hence the length of the block is its size in bytes
+    int blockSize = block.length();
+
+    io:ByteChannel byteChannel = io:openFile(LARGE_CSV_PATH, "w");
+    io:CharacterChannel characterChannel = new io:CharacterChannel(byteChannel, "UTF-8");
+    int size = 0;
+    while (size < LARGE_CSV_SIZE) {
+        var written = characterChannel.write(block, 0);
+        size = size + blockSize;
+    }
+    var result = characterChannel.close();
+}
+
+function readAll(string path) returns string {
+    io:ByteChannel byteChannel = io:openFile(path, "r");
+    io:CharacterChannel characterChannel = new io:CharacterChannel(byteChannel, "UTF-8");
+    string content = "";
+    boolean hasCharacters = true;
+    while (hasCharacters) {
+        match characterChannel.read(8192) {
+            string characters => {
+                content = content + characters;
+                hasCharacters = characters != "";
+            }
+            error err => {
+                hasCharacters = false;
+            }
+        }
+    }
+    var result = characterChannel.close();
+    return content;
+}
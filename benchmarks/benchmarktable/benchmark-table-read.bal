@@ -0,0 +1,38 @@
+import ballerina/jdbc;
+
+type Customer record {
+    int id,
+    int customerId,
+    string name,
+    float balance,
+    boolean active,
+    string? note,
+};
+
+// Customers holds 1,000,000 rows, every tenth of which has no note. The table is created by the first run of the
+// benchmark, since every benchmark runs in a process of its own, and is kept in memory until the process exits.
+@final int CUSTOMER_COUNT = 1000000;
+
+boolean isCustomersCreated = false;
+
+public function benchmarkTableReadRecords() {
+    endpoint jdbc:Client benchmarkDB {
+        url: "jdbc:h2:mem:TABLE_READ_BENCHMARK;DB_CLOSE_DELAY=-1",
+        username: "SA",
+        password: ""
+    };
+    if (!isCustomersCreated) {
+        var result = benchmarkDB->update("CREATE TABLE Customers (id INTEGER, customerId BIGINT, name VARCHAR(50),
+                                          balance DOUBLE, active BOOLEAN, note VARCHAR(50))");
+        result = benchmarkDB->update("INSERT INTO Customers SELECT X, X * 1000, CONCAT('Customer', X), X / 3.0,
+                                      MOD(X, 2) = 0, CASEWHEN(MOD(X, 10) = 0, NULL, 'note') FROM SYSTEM_RANGE(1, "
+                                      + CUSTOMER_COUNT + ")");
+        isCustomersCreated = true;
+    }
+    table<Customer> customers = check benchmarkDB->select("SELECT id, customerId, name, balance, active, note
+                                                            FROM Customers", Customer);
+    while (customers.hasNext()) {
+        Customer customer = check <Customer>customers.getNext();
+    }
+    benchmarkDB.stop();
+}
@@ -152,7 +152,10 @@ public class BLangScheduler {
     public static void workerDone(WorkerExecutionContext ctx) {
         schedulerStats.stateTransition(ctx, WorkerState.DONE);
         ctx.state = WorkerState.DONE;
-        workerCountDown();
+        /* direct calls run within their caller's worker, and are not counted */
+        if (!DirectCallResponseContext.isDirectCall(ctx)) {
+            workerCountDown();
+        }
     }
     
     public static void workerReady(WorkerExecutionContext ctx) {
@@ -183,7 +186,9 @@ public class BLangScheduler {
     public static void workerExcepted(WorkerExecutionContext ctx) {
         schedulerStats.stateTransition(ctx, WorkerState.EXCEPTED);
         ctx.state = WorkerState.EXCEPTED;
-        workerCountDown();
+        if (!DirectCallResponseContext.isDirectCall(ctx)) {
+            workerCountDown();
+        }
     }
     
     public static void waitForWorkerCompletion() {
@@ -385,7 +390,9 @@ public class BLangScheduler {
         }
         
         public void stateTransition(WorkerExecutionContext currentCtx, WorkerState newState) {
-            if (!schedulerStatsEnabled || currentCtx.isRootContext()) {
+            /* direct calls run within their caller's worker, which is the one counted */
+            if (!schedulerStatsEnabled || currentCtx.isRootContext()
+                    || DirectCallResponseContext.isDirectCall(currentCtx)) {
                 return;
             }
             WorkerState oldState = currentCtx.state;
@@ -3010,6 +3010,9 @@ public class CPU {
 
     private static WorkerExecutionContext handleReturn(WorkerExecutionContext ctx) {
         BLangScheduler.workerDone(ctx);
+        if (DirectCallResponseContext.isDirectCall(ctx)) {
+            return DirectCallResponseContext.returnToCaller(ctx);
+        }
         return ctx.respCtx.signal(new WorkerSignal(ctx, SignalType.RETURN, ctx.workerResult));
     }
 
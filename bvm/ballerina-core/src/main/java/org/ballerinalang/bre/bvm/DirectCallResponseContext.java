@@ -0,0 +1,74 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+/**
+ * This is the {@link WorkerResponseContext} of a callable invoked through the direct call path,
+ * i.e. a non-native callable with a single worker and no init worker. The return registers of
+ * such a worker are the caller's own registers, so returning only has to hand the control back
+ * to the caller. It holds no state and a single instance is shared by all the direct calls.
+ * 
+ * @since 0.980.0
+ */
+public class DirectCallResponseContext implements WorkerResponseContext {
+
+    public static final DirectCallResponseContext INSTANCE = new DirectCallResponseContext();
+
+    private DirectCallResponseContext() { }
+
+    public static boolean isDirectCall(WorkerExecutionContext ctx) {
+        return ctx.respCtx == INSTANCE;
+    }
+
+    /**
+     * Returns from a direct call. The return values are already in the caller's registers.
+     * 
+     * @param ctx the worker execution context of the returning callable
+     * @return the caller's worker execution context, to be executed in the current thread
+     */
+    public static WorkerExecutionContext returnToCaller(WorkerExecutionContext ctx) {
+        /* the caller's worker never stopped running, so it is not resumed through the scheduler,
+         * which would count it as ready while it keeps running */
+        return ctx.parent;
+    }
+
+    @Override
+    public WorkerExecutionContext signal(WorkerSignal signal) {
+        WorkerExecutionContext sourceCtx = signal.getSourceContext();
+        if (signal.getType() == SignalType.RETURN) {
+            return returnToCaller(sourceCtx);
+        }
+        /* errors and halts are rare, so they are handed over to a regular response context, which
+         * works out what the caller should see */
+        CallableWorkerResponseContext respCtx = new CallableWorkerResponseContext(
+                sourceCtx.callableUnitInfo.getRetParamTypes(), 1);
+        respCtx.joinTargetContextInfo(sourceCtx.parent, sourceCtx.retRegIndexes);
+        return respCtx.signal(signal);
+    }
+
+    @Override
+    public WorkerExecutionContext joinTargetContextInfo(WorkerExecutionContext targetCtx, int[] retRegIndexes) {
+        return null;
+    }
+
+    @Override
+    public WorkerDataChannel getWorkerDataChannel(String name) {
+        return null;
+    }
+
+}
@@ -34,6 +34,9 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.sql.Struct;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * {@link org.ballerinalang.model.values.BJSON.JSONDataSource} implementation for table.
@@ -48,6 +51,8 @@ public class TableJSONDataSource implements JSONDataSource {
 
     private boolean isInTransaction;
 
+    private boolean writeColumns;
+
     public TableJSONDataSource(BTable df, boolean isInTransaction) {
         this(df, new DefaultJSONObjectGenerator(), isInTransaction);
     }
@@ -56,18 +61,116 @@ public class TableJSONDataSource implements JSONDataSource {
         this.df = df;
         this.objGen = objGen;
         this.isInTransaction = isInTransaction;
+        //The column writers write the same fields as the default object generator, any other generator is used as is
+        this.writeColumns = objGen instanceof DefaultJSONObjectGenerator;
     }
 
     @Override
     public void serialize(JsonGenerator gen) throws IOException {
         gen.writeStartArray();
+        ColumnWriter[] columnWriters = null;
         while (this.df.hasNext(this.isInTransaction)) {
             this.df.moveToNext();
-            this.objGen.transform(this.df).serialize(gen);
+            if (columnWriters == null) {
+                columnWriters = this.writeColumns ? compileColumnWriters(this.df) : new ColumnWriter[0];
+            }
+            if (columnWriters.length == 0) {
+                this.objGen.transform(this.df).serialize(gen);
+                continue;
+            }
+            gen.startObject();
+            for (ColumnWriter columnWriter : columnWriters) {
+                columnWriter.write(this.df, gen);
+            }
+            gen.endObject();
         }
         gen.writeEndArray();
     }
 
+    /**
+     * Compiles the writers of the columns of the given table, which write the fields of the current row straight to
+     * the generator without building a {@link JsonNode} of the row. An empty array is returned if the column names are
+     * not unique, in which case the rows are transformed by the object generator, where a later column overrides
+     * the former one.
+     *
+     * @param df The table of which the columns should be written
+     * @return the writers of the columns in the order of the columns
+     */
+    private static ColumnWriter[] compileColumnWriters(BTable df) {
+        BStructureType structType = df.getStructType();
+        BField[] structFields = null;
+        if (structType != null) {
+            structFields = structType.getFields();
+        }
+        List<ColumnDefinition> columnDefs = df.getColumnDefs();
+        ColumnWriter[] columnWriters = new ColumnWriter[columnDefs.size()];
+        Set<String> names = new HashSet<>();
+        int index = 0;
+        for (ColumnDefinition col : columnDefs) {
+            String name;
+            if (structFields != null) {
+                name = structFields[index].getFieldName();
+            } else {
+                name = col.getName();
+            }
+            if (!names.add(name)) {
+                return new ColumnWriter[0];
+            }
+            columnWriters[index] = compileColumnWriter(name, col.getType(), index + 1, structFields);
+            ++index;
+        }
+        return columnWriters;
+    }
+
+    private static ColumnWriter compileColumnWriter(String name, TypeKind type, int index, BField[] structFields) {
+        switch (type) {
+        case INT:
+            return (df, gen) -> {
+                gen.writeFieldName(name);
+                gen.writeNumber(df.getInt(index));
+            };
+        case FLOAT:
+            return (df, gen) -> {
+                gen.writeFieldName(name);
+                gen.writeNumber(df.getFloat(index));
+            };
+        case BOOLEAN:
+            return (df, gen) -> {
+                gen.writeFieldName(name);
+                gen.writeBoolean(df.getBoolean(index));
+            };
+        case BLOB:
+            return (df, gen) -> writeString(gen, name, df.getBlob(index));
+        case ARRAY:
+            return (df, gen) -> writeNode(gen, name, getDataArray(df, index));
+        case JSON:
+            return (df, gen) -> writeNode(gen, name, parseJson(df.getString(index)));
+        case OBJECT:
+        case RECORD:
+            return (df, gen) -> writeNode(gen, name, getStructData(df.getStruct(index), structFields, index));
+        default:
+            return (df, gen) -> writeString(gen, name, df.getString(index));
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, String name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeNode(JsonGenerator gen, String name, JsonNode value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            value.serialize(gen);
+        }
+    }
+
     /**
      * Default {@link TableJSONDataSource.JSONObjectGenerator} implementation based
      * on the table's in-built column definition.
@@ -121,7 +224,7 @@ public class TableJSONDataSource implements JSONDataSource {
             objNode.set(name, getDataArray(df, index));
             break;
         case JSON:
-            objNode.set(name, JsonParser.parse(df.getString(index)));
+            objNode.set(name, parseJson(df.getString(index)));
             break;
         case OBJECT:
         case RECORD:
@@ -136,7 +239,17 @@ public class TableJSONDataSource implements JSONDataSource {
         }
     }
 
+    private static JsonNode parseJson(String value) {
+        if (value == null) {
+            return null;
+        }
+        return JsonParser.parse(value);
+    }
+
     private static JsonNode getStructData(Object[] data, BField[] structFields, int index) {
+        if (data == null) {
+            return null;
+        }
         JsonNode jsonData = null;
         try {
             if (structFields == null) {
@@ -209,6 +322,9 @@ public class TableJSONDataSource implements JSONDataSource {
 
     private static JsonNode getDataArray(BTable df, int columnIndex) {
         Object[] dataArray = df.getArray(columnIndex);
+        if (dataArray == null) {
+            return null;
+        }
         int length = dataArray.length;
         JsonNode jsonArray = new JsonNode(Type.ARRAY);
         if (length > 0) {
@@ -250,6 +366,16 @@ public class TableJSONDataSource implements JSONDataSource {
         return  jsonArray;
     }
 
+    /**
+     * Writes a column of the current row of a table as a field of a JSON object.
+     */
+    @FunctionalInterface
+    private interface ColumnWriter {
+
+        void write(BTable df, JsonGenerator gen) throws IOException;
+
+    }
+
     /**
      * This represents the logic that will transform the current entry of a
      * data table to a {@link JsonNode}.
@@ -28,6 +28,7 @@ import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.sql.SQLException;
 import java.sql.Struct;
+import java.util.List;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 
@@ -60,24 +61,34 @@ public class TableOMDataSource extends AbstractPushOMDataSource {
     @Override
     public void serialize(XMLStreamWriter xmlStreamWriter) throws XMLStreamException {
         xmlStreamWriter.writeStartElement("", this.rootWrapper, "");
+        BField[] structFields = null;
+        String[] names = null;
+        TypeKind[] types = null;
         while (table.hasNext(this.isInTransaction)) {
             table.moveToNext();
-            xmlStreamWriter.writeStartElement("", this.rowWrapper, "");
-            BStructureType structType = table.getStructType();
-            BField[] structFields = null;
-            if (structType != null) {
-                structFields = structType.getFields();
-            }
-            int index = 1;
-            for (ColumnDefinition col : table.getColumnDefs()) {
-                String name;
-                if (structFields != null) {
-                    name = structFields[index - 1].getFieldName();
-                } else {
-                    name = col.getName();
+            if (names == null) {
+                //The element names and types are resolved once, since they are the same for all the rows
+                BStructureType structType = table.getStructType();
+                if (structType != null) {
+                    structFields = structType.getFields();
+                }
+                List<ColumnDefinition> columnDefs = table.getColumnDefs();
+                names = new String[columnDefs.size()];
+                types = new TypeKind[columnDefs.size()];
+                int index = 0;
+                for (ColumnDefinition col : columnDefs) {
+                    if (structFields != null) {
+                        names[index] = structFields[index].getFieldName();
+                    } else {
+                        names[index] = col.getName();
+                    }
+                    types[index] = col.getType();
+                    ++index;
                 }
-                writeElement(xmlStreamWriter, name, col.getType(), index, structFields);
-                ++index;
+            }
+            xmlStreamWriter.writeStartElement("", this.rowWrapper, "");
+            for (int index = 0; index < names.length; index++) {
+                writeElement(xmlStreamWriter, names[index], types[index], index + 1, structFields);
             }
             xmlStreamWriter.writeEndElement();
         }
@@ -148,6 +159,9 @@ public class TableOMDataSource extends AbstractPushOMDataSource {
 
     private void processStruct(XMLStreamWriter xmlStreamWriter, Object[] structData,
             BField[] structFields, int index) throws XMLStreamException {
+        if (structData == null) {
+            return;
+        }
         try {
             int i = 0;
             boolean structError = true;
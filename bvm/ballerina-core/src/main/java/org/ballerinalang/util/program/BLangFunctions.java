@@ -26,6 +26,7 @@ import org.ballerinalang.bre.bvm.BLangScheduler;
 import org.ballerinalang.bre.bvm.BLangVMErrors;
 import org.ballerinalang.bre.bvm.CallableUnitCallback;
 import org.ballerinalang.bre.bvm.CallableWorkerResponseContext;
+import org.ballerinalang.bre.bvm.DirectCallResponseContext;
 import org.ballerinalang.bre.bvm.ForkJoinTimeoutCallback;
 import org.ballerinalang.bre.bvm.ForkJoinWorkerResponseContext;
 import org.ballerinalang.bre.bvm.InitWorkerResponseContext;
@@ -285,6 +286,9 @@ public class BLangFunctions {
                                                                   WorkerExecutionContext parentCtx, int[] argRegs,
                                                                   int[] retRegs, boolean waitForResponse, int flags) {
         WorkerSet workerSet = callableUnitInfo.getWorkerSet();
+        if (!waitForResponse && isDirectCallable(workerSet, parentCtx, flags)) {
+            return invokeDirectCallable(callableUnitInfo, workerSet.generalWorkers[0], parentCtx, argRegs, retRegs);
+        }
         int generalWorkersCount = workerSet.generalWorkers.length;
         CallableWorkerResponseContext respCtx = createWorkerResponseContext(callableUnitInfo.getRetParamTypes(),
                 generalWorkersCount);
@@ -332,6 +336,31 @@ public class BLangFunctions {
         }
     }
     
+    /**
+     * Checks whether a callable can be invoked through the direct call path. That is, it has a single
+     * worker and no init worker, and the call is neither observed nor debugged.
+     */
+    private static boolean isDirectCallable(WorkerSet workerSet, WorkerExecutionContext parentCtx, int flags) {
+        return workerSet.initWorker == null && workerSet.generalWorkers.length == 1 && !parentCtx.isRootContext()
+                && !(ObservabilityUtils.isObservabilityEnabled() && FunctionFlags.isObserved(flags))
+                && !parentCtx.programFile.getDebugger().isDebugEnabled();
+    }
+
+    /**
+     * Invokes a single worker callable in place. The only object created is the callee's execution
+     * context, which works as its stack frame. The callee writes its return values straight into the
+     * caller's return registers, and returning resumes the caller in the same thread, without a
+     * response context or a worker being scheduled.
+     */
+    private static WorkerExecutionContext invokeDirectCallable(CallableUnitInfo callableUnitInfo,
+                                                               WorkerInfo workerInfo, WorkerExecutionContext parentCtx,
+                                                               int[] argRegs, int[] retRegs) {
+        WorkerData workerLocal = BLangVMUtils.createWorkerDataForLocal(workerInfo, parentCtx, argRegs,
+                callableUnitInfo.getParamTypes());
+        return new WorkerExecutionContext(parentCtx, DirectCallResponseContext.INSTANCE, callableUnitInfo,
+                workerInfo, workerLocal, parentCtx.workerLocal, retRegs, true);
+    }
+
     private static void invokeNonNativeCallableAsync(CallableUnitInfo callableUnitInfo,
                                                      WorkerExecutionContext parentCtx, int[] argRegs,
                                                      int[] retRegs, int flags) {
@@ -54,6 +54,8 @@ import org.ballerinalang.siddhi.core.util.parser.StoreQueryParser;
 import org.ballerinalang.siddhi.core.util.parser.helper.QueryParserHelper;
 import org.ballerinalang.siddhi.core.util.snapshot.AsyncSnapshotPersistor;
 import org.ballerinalang.siddhi.core.util.snapshot.PersistenceReference;
+import org.ballerinalang.siddhi.core.util.snapshot.Snapshot;
+import org.ballerinalang.siddhi.core.util.snapshot.SnapshotService;
 import org.ballerinalang.siddhi.core.util.statistics.BufferedEventsTracker;
 import org.ballerinalang.siddhi.core.util.statistics.LatencyTracker;
 import org.ballerinalang.siddhi.core.util.statistics.MemoryUsageTracker;
@@ -528,33 +530,21 @@ public class SiddhiAppRuntime {
     }
 
     public PersistenceReference persist() {
-        try {
-            // first, pause all the event sources
-            sourceMap.values().forEach(list -> list.forEach(Source::pause));
-            // take snapshots of execution units
-            byte[] snapshots = siddhiAppContext.getSnapshotService().snapshot();
-            // start the snapshot persisting task asynchronously
-            AsyncSnapshotPersistor asyncSnapshotPersistor = new AsyncSnapshotPersistor(snapshots,
-                    siddhiAppContext.getSiddhiContext().getPersistenceStore(), siddhiAppContext.getName());
-            String revision = asyncSnapshotPersistor.getRevision();
-            Future future = siddhiAppContext.getExecutorService().submit(asyncSnapshotPersistor);
-            return new PersistenceReference(future, revision);
-        } finally {
-            // at the end, resume the event sources
-            sourceMap.values().forEach(list -> list.forEach(Source::resume));
-        }
+        // take snapshots of execution units, events are only held back while their states are copied
+        SnapshotService snapshotService = siddhiAppContext.getSnapshotService();
+        Snapshot snapshot = snapshotService.incrementalSnapshot();
+        // start the snapshot encoding and persisting task asynchronously
+        AsyncSnapshotPersistor asyncSnapshotPersistor = new AsyncSnapshotPersistor(snapshot,
+                siddhiAppContext.getSiddhiContext().getPersistenceStore(), siddhiAppContext.getName(),
+                snapshotService);
+        String revision = asyncSnapshotPersistor.getRevision();
+        Future future = siddhiAppContext.getExecutorService().submit(asyncSnapshotPersistor);
+        return new PersistenceReference(future, revision);
     }
 
     public byte[] snapshot() {
-        try {
-            // first, pause all the event sources
-            sourceMap.values().forEach(list -> list.forEach(Source::pause));
-            // take snapshots of execution units
-            return siddhiAppContext.getSnapshotService().snapshot();
-        } finally {
-            // at the end, resume the event sources
-            sourceMap.values().forEach(list -> list.forEach(Source::resume));
-        }
+        // take snapshots of execution units, events are only held back while their states are copied
+        return siddhiAppContext.getSnapshotService().snapshot();
     }
 
     public void restore(byte[] snapshot) throws CannotRestoreSiddhiAppStateException {
@@ -110,6 +110,21 @@ public class SiddhiManager {
         this.siddhiContext.setPersistenceStore(persistenceStore);
     }
 
+    /**
+     * Method to set how often a full snapshot is persisted. Between full snapshots only the state of the elements
+     * that changed since the previous persisted snapshot is persisted. Defaults to 10. Setting it to 1 makes every
+     * snapshot a full snapshot.
+     *
+     * @param fullSnapshotInterval Number of persisted snapshots per full snapshot.
+     */
+    public void setFullSnapshotInterval(int fullSnapshotInterval) {
+        if (fullSnapshotInterval < 1) {
+            throw new IllegalArgumentException("Full snapshot interval should be greater than zero, but found " +
+                    fullSnapshotInterval);
+        }
+        this.siddhiContext.setFullSnapshotInterval(fullSnapshotInterval);
+    }
+
     /**
      * Method to set sink handler manager that would create sink handlers for each sink.
      *
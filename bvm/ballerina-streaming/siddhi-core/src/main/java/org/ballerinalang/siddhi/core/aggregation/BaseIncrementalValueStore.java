@@ -32,6 +32,8 @@ import java.util.Map;
 /**
  * Store for maintaining the base values related to incremental aggregation. (e.g. for average,
  * the base incremental values would be sum and count. The timestamp too is stored here.
+ * Sum, min and max base values of numeric attributes are kept typed in {@link TypedIncrementalValues}, while the
+ * other base values are computed by their expression executors.
  */
 public class BaseIncrementalValueStore implements Snapshotable {
     private long timestamp; // This is the starting timeStamp of aggregates
@@ -42,16 +44,26 @@ public class BaseIncrementalValueStore implements Snapshotable {
     private String elementId;
     private SiddhiAppContext siddhiAppContext;
     private String aggregatorName;
+    private TypedIncrementalValues typedValues;
 
     public BaseIncrementalValueStore(long timeStamp, List<ExpressionExecutor> expressionExecutors,
                                      StreamEventPool streamEventPool,
                                      SiddhiAppContext siddhiAppContext, String aggregatorName) {
+        this(timeStamp, expressionExecutors, TypedIncrementalValues.create(expressionExecutors), streamEventPool,
+                siddhiAppContext, aggregatorName);
+    }
+
+    private BaseIncrementalValueStore(long timeStamp, List<ExpressionExecutor> expressionExecutors,
+                                      TypedIncrementalValues typedValues,
+                                      StreamEventPool streamEventPool,
+                                      SiddhiAppContext siddhiAppContext, String aggregatorName) {
         this.timestamp = timeStamp;
         this.values = new Object[expressionExecutors.size() + 1];
         this.expressionExecutors = expressionExecutors;
         this.streamEventPool = streamEventPool;
         this.siddhiAppContext = siddhiAppContext;
         this.aggregatorName = aggregatorName;
+        this.typedValues = typedValues;
         if (elementId == null) {
             elementId = "IncrementalBaseStore-" + siddhiAppContext.getElementIdGenerator().createNewId();
         }
@@ -60,6 +72,21 @@ public class BaseIncrementalValueStore implements Snapshotable {
 
     public void clearValues() {
         this.values = new Object[expressionExecutors.size() + 1];
+        if (typedValues != null) {
+            typedValues.reset();
+        }
+    }
+
+    public void process(StreamEvent streamEvent) {
+        for (int i = 0; i < expressionExecutors.size(); i++) { // keeping timestamp value location as null
+            if (typedValues == null || !typedValues.isTyped(i)) {
+                values[i + 1] = expressionExecutors.get(i).execute(streamEvent);
+            }
+        }
+        if (typedValues != null) {
+            typedValues.aggregate(streamEvent);
+        }
+        isProcessed = true;
     }
 
     public void setValue(Object value, int position) {
@@ -90,6 +117,9 @@ public class BaseIncrementalValueStore implements Snapshotable {
         StreamEvent streamEvent = streamEventPool.borrowEvent();
         streamEvent.setTimestamp(timestamp);
         setValue(timestamp, 0);
+        if (typedValues != null) {
+            typedValues.writeTo(values);
+        }
         streamEvent.setOutputData(values);
         return streamEvent;
     }
@@ -98,7 +128,8 @@ public class BaseIncrementalValueStore implements Snapshotable {
         List<ExpressionExecutor> newExpressionExecutors = new ArrayList<>(expressionExecutors.size());
         expressionExecutors
                 .forEach(expressionExecutor -> newExpressionExecutors.add(expressionExecutor.cloneExecutor(key)));
-        return new BaseIncrementalValueStore(timestamp, newExpressionExecutors, streamEventPool, siddhiAppContext,
+        return new BaseIncrementalValueStore(timestamp, newExpressionExecutors,
+                typedValues == null ? null : typedValues.cloneValues(key), streamEventPool, siddhiAppContext,
                 aggregatorName);
 
     }
@@ -109,6 +140,9 @@ public class BaseIncrementalValueStore implements Snapshotable {
         state.put("Timestamp", timestamp);
         state.put("Values", values);
         state.put("IsProcessed", isProcessed);
+        if (typedValues != null) {
+            state.put("TypedValues", typedValues.currentState());
+        }
         return state;
     }
 
@@ -117,6 +151,10 @@ public class BaseIncrementalValueStore implements Snapshotable {
         timestamp = (long) state.get("Timestamp");
         values = (Object[]) state.get("Values");
         isProcessed = (boolean) state.get("IsProcessed");
+        Map<String, Object> typedValuesState = (Map<String, Object>) state.get("TypedValues");
+        if (typedValues != null && typedValuesState != null) {
+            typedValues.restoreState(typedValuesState);
+        }
     }
 
     @Override
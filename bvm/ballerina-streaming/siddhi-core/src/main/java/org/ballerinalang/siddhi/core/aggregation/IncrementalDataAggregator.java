@@ -146,12 +146,7 @@ public class IncrementalDataAggregator {
     }
 
     private void process(StreamEvent streamEvent, BaseIncrementalValueStore baseIncrementalValueStore) {
-        List<ExpressionExecutor> expressionExecutors = baseIncrementalValueStore.getExpressionExecutors();
-        for (int i = 0; i < expressionExecutors.size(); i++) { // keeping timestamp value location as null
-            ExpressionExecutor expressionExecutor = expressionExecutors.get(i);
-            baseIncrementalValueStore.setValue(expressionExecutor.execute(streamEvent), i + 1);
-        }
-        baseIncrementalValueStore.setProcessed(true);
+        baseIncrementalValueStore.process(streamEvent);
     }
 
     private ComplexEventChunk<StreamEvent> createEventChunkFromAggregatedData() {
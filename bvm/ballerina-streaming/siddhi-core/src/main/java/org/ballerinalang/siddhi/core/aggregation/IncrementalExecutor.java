@@ -300,12 +300,7 @@ public class IncrementalExecutor implements Executor, Snapshotable {
     }
 
     private void process(StreamEvent streamEvent, BaseIncrementalValueStore baseIncrementalValueStore) {
-        List<ExpressionExecutor> expressionExecutors = baseIncrementalValueStore.getExpressionExecutors();
-        for (int i = 0; i < expressionExecutors.size(); i++) { // keeping timestamp value location as null
-            ExpressionExecutor expressionExecutor = expressionExecutors.get(i);
-            baseIncrementalValueStore.setValue(expressionExecutor.execute(streamEvent), i + 1);
-        }
-        baseIncrementalValueStore.setProcessed(true);
+        baseIncrementalValueStore.process(streamEvent);
     }
 
     private void dispatchAggregateEvents(long startTimeOfNewAggregates) {
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.aggregation;
+
+import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
+import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
+import org.ballerinalang.siddhi.core.query.selector.attribute.aggregator.AttributeAggregator;
+import org.ballerinalang.siddhi.core.query.selector.attribute.aggregator.MaxAttributeAggregator;
+import org.ballerinalang.siddhi.core.query.selector.attribute.aggregator.MinAttributeAggregator;
+import org.ballerinalang.siddhi.core.query.selector.attribute.aggregator.SumAttributeAggregator;
+import org.ballerinalang.siddhi.core.query.selector.attribute.processor.executor.AbstractAggregationAttributeExecutor;
+import org.ballerinalang.siddhi.query.api.definition.Attribute;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed values of the sum, min and max base aggregates of a {@link BaseIncrementalValueStore}. Count and average are
+ * rolled up as sums of their base attributes, hence they are kept here too. Each aggregate is a slot of a primitive
+ * array, which is boxed only when the store creates its event, so that aggregating an event neither boxes
+ * intermediate values nor keeps the per value deques which the min and max aggregators maintain to support expiry.
+ * Aggregates of other functions are left to their expression executors.
+ */
+final class TypedIncrementalValues {
+
+    private static final byte SUM = 0;
+    private static final byte MIN = 1;
+    private static final byte MAX = 2;
+
+    private final Layout layout;
+    private final ExpressionExecutor[] argumentExecutors;
+    private final long[] longValues;
+    private final double[] doubleValues;
+    // whether a value other than null has been aggregated since the last reset
+    private final boolean[] hasValue;
+    // whether the last aggregated value was null, in which case the aggregators emit null as well
+    private final boolean[] isNull;
+
+    private TypedIncrementalValues(Layout layout, ExpressionExecutor[] argumentExecutors) {
+        this.layout = layout;
+        this.argumentExecutors = argumentExecutors;
+        int size = layout.positions.length;
+        this.longValues = new long[size];
+        this.doubleValues = new double[size];
+        this.hasValue = new boolean[size];
+        this.isNull = new boolean[size];
+    }
+
+    /**
+     * Creates the typed values of the given base executors.
+     *
+     * @param expressionExecutors base executors of a {@link BaseIncrementalValueStore}
+     * @return the typed values, or null if none of the executors aggregate a sum, min or max of a numeric attribute
+     */
+    static TypedIncrementalValues create(List<ExpressionExecutor> expressionExecutors) {
+        Layout layout = compile(expressionExecutors);
+        return layout == null ? null : new TypedIncrementalValues(layout, layout.argumentExecutors);
+    }
+
+    /**
+     * Creates empty typed values for a clone of the store. They share the layout, but execute clones of the argument
+     * executors, as executors may keep state.
+     *
+     * @param key key of the cloned store
+     * @return the typed values of the clone
+     */
+    TypedIncrementalValues cloneValues(String key) {
+        ExpressionExecutor[] clonedExecutors = new ExpressionExecutor[argumentExecutors.length];
+        for (int slot = 0; slot < argumentExecutors.length; slot++) {
+            clonedExecutors[slot] = argumentExecutors[slot].cloneExecutor(key);
+        }
+        return new TypedIncrementalValues(layout, clonedExecutors);
+    }
+
+    private static Layout compile(List<ExpressionExecutor> expressionExecutors) {
+        int size = 0;
+        byte[] functions = new byte[expressionExecutors.size()];
+        for (int i = 0; i < expressionExecutors.size(); i++) {
+            functions[i] = functionOf(expressionExecutors.get(i));
+            if (functions[i] >= 0) {
+                size++;
+            }
+        }
+        if (size == 0) {
+            return null;
+        }
+        Layout layout = new Layout(expressionExecutors.size(), size);
+        int slot = 0;
+        for (int i = 0; i < expressionExecutors.size(); i++) {
+            if (functions[i] < 0) {
+                continue;
+            }
+            ExpressionExecutor argumentExecutor = ((AbstractAggregationAttributeExecutor) expressionExecutors.get(i))
+                    .getAttributeExpressionExecutors()[0];
+            Attribute.Type argumentType = argumentExecutor.getReturnType();
+            boolean isFloatingPoint = argumentType == Attribute.Type.FLOAT || argumentType == Attribute.Type.DOUBLE;
+            layout.typed[i] = true;
+            layout.positions[slot] = i + 1;
+            layout.functions[slot] = functions[i];
+            layout.isFloatingPoint[slot] = isFloatingPoint;
+            layout.argumentExecutors[slot] = argumentExecutor;
+            if (functions[i] == SUM) {
+                layout.outputTypes[slot] = isFloatingPoint ? Attribute.Type.DOUBLE : Attribute.Type.LONG;
+            } else {
+                layout.outputTypes[slot] = argumentType;
+            }
+            slot++;
+        }
+        return layout;
+    }
+
+    private static byte functionOf(ExpressionExecutor expressionExecutor) {
+        if (!(expressionExecutor instanceof AbstractAggregationAttributeExecutor)) {
+            return -1;
+        }
+        AbstractAggregationAttributeExecutor aggregationExecutor =
+                (AbstractAggregationAttributeExecutor) expressionExecutor;
+        if (aggregationExecutor.getAttributeExpressionExecutors().length != 1) {
+            return -1;
+        }
+        switch (aggregationExecutor.getAttributeExpressionExecutors()[0].getReturnType()) {
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                break;
+            default:
+                return -1;
+        }
+        AttributeAggregator attributeAggregator = aggregationExecutor.getAttributeAggregator();
+        if (attributeAggregator instanceof SumAttributeAggregator) {
+            return SUM;
+        } else if (attributeAggregator instanceof MinAttributeAggregator) {
+            return MIN;
+        } else if (attributeAggregator instanceof MaxAttributeAggregator) {
+            return MAX;
+        }
+        return -1;
+    }
+
+    boolean isTyped(int executorIndex) {
+        return layout.typed[executorIndex];
+    }
+
+    void aggregate(StreamEvent streamEvent) {
+        for (int slot = 0; slot < layout.positions.length; slot++) {
+            Object value = argumentExecutors[slot].execute(streamEvent);
+            if (value == null) {
+                isNull[slot] = true;
+                continue;
+            }
+            isNull[slot] = false;
+            if (layout.isFloatingPoint[slot]) {
+                double doubleValue = ((Number) value).doubleValue();
+                if (!hasValue[slot]) {
+                    doubleValues[slot] = doubleValue;
+                } else if (layout.functions[slot] == SUM) {
+                    doubleValues[slot] += doubleValue;
+                } else if (layout.functions[slot] == MIN) {
+                    doubleValues[slot] = Math.min(doubleValues[slot], doubleValue);
+                } else {
+                    doubleValues[slot] = Math.max(doubleValues[slot], doubleValue);
+                }
+            } else {
+                long longValue = ((Number) value).longValue();
+                if (!hasValue[slot]) {
+                    longValues[slot] = longValue;
+                } else if (layout.functions[slot] == SUM) {
+                    longValues[slot] += longValue;
+                } else if (layout.functions[slot] == MIN) {
+                    longValues[slot] = Math.min(longValues[slot], longValue);
+                } else {
+                    longValues[slot] = Math.max(longValues[slot], longValue);
+                }
+            }
+            hasValue[slot] = true;
+        }
+    }
+
+    void writeTo(Object[] values) {
+        for (int slot = 0; slot < layout.positions.length; slot++) {
+            values[layout.positions[slot]] = isNull[slot] || !hasValue[slot] ? null : valueOf(slot);
+        }
+    }
+
+    private Object valueOf(int slot) {
+        switch (layout.outputTypes[slot]) {
+            case INT:
+                return (int) longValues[slot];
+            case LONG:
+                return longValues[slot];
+            case FLOAT:
+                return (float) doubleValues[slot];
+            default:
+                return doubleValues[slot];
+        }
+    }
+
+    void reset() {
+        Arrays.fill(hasValue, false);
+        Arrays.fill(isNull, false);
+    }
+
+    Map<String, Object> currentState() {
+        Map<String, Object> state = new HashMap<>();
+        state.put("LongValues", longValues.clone());
+        state.put("DoubleValues", doubleValues.clone());
+        state.put("HasValue", hasValue.clone());
+        state.put("IsNull", isNull.clone());
+        return state;
+    }
+
+    void restoreState(Map<String, Object> state) {
+        System.arraycopy((long[]) state.get("LongValues"), 0, longValues, 0, longValues.length);
+        System.arraycopy((double[]) state.get("DoubleValues"), 0, doubleValues, 0, doubleValues.length);
+        System.arraycopy((boolean[]) state.get("HasValue"), 0, hasValue, 0, hasValue.length);
+        System.arraycopy((boolean[]) state.get("IsNull"), 0, isNull, 0, isNull.length);
+    }
+
+    /**
+     * Slots of the typed aggregates, shared by a store and its clones, with the argument executors of the store.
+     */
+    private static final class Layout {
+        private final boolean[] typed;
+        private final int[] positions;
+        private final byte[] functions;
+        private final boolean[] isFloatingPoint;
+        private final Attribute.Type[] outputTypes;
+        private final ExpressionExecutor[] argumentExecutors;
+
+        private Layout(int executorCount, int size) {
+            this.typed = new boolean[executorCount];
+            this.positions = new int[size];
+            this.functions = new byte[size];
+            this.isFloatingPoint = new boolean[size];
+            this.outputTypes = new Attribute.Type[size];
+            this.argumentExecutors = new ExpressionExecutor[size];
+        }
+    }
+}
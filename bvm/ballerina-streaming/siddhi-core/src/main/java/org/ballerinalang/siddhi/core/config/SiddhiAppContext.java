@@ -42,6 +42,9 @@ import java.util.concurrent.ScheduledExecutorService;
  */
 public class SiddhiAppContext {
 
+    private static final ThreadLocal<List<EternalReferencedHolder>> addedEternalReferencedHoldersThreadLocal =
+            new ThreadLocal<List<EternalReferencedHolder>>();
+
     private SiddhiContext siddhiContext = null;
     private String name;
     private boolean playback;
@@ -125,8 +128,26 @@ public class SiddhiAppContext {
         this.scheduledExecutorService = scheduledExecutorService;
     }
 
+    /**
+     * Thread local which, when set, collects the {@link EternalReferencedHolder}s added by the current thread, so
+     * that they can be removed later through {@link #removeEternalReferencedHolders(List)}.
+     *
+     * @return thread local holding the list to add to
+     */
+    public static ThreadLocal<List<EternalReferencedHolder>> getAddedEternalReferencedHoldersThreadLocal() {
+        return addedEternalReferencedHoldersThreadLocal;
+    }
+
     public synchronized void addEternalReferencedHolder(EternalReferencedHolder eternalReferencedHolder) {
         eternalReferencedHolders.add(eternalReferencedHolder);
+        List<EternalReferencedHolder> addedEternalReferencedHolders = addedEternalReferencedHoldersThreadLocal.get();
+        if (addedEternalReferencedHolders != null) {
+            addedEternalReferencedHolders.add(eternalReferencedHolder);
+        }
+    }
+
+    public synchronized void removeEternalReferencedHolders(List<EternalReferencedHolder> eternalReferencedHolders) {
+        this.eternalReferencedHolders.removeAll(eternalReferencedHolders);
     }
 
     public List<EternalReferencedHolder> getEternalReferencedHolders() {
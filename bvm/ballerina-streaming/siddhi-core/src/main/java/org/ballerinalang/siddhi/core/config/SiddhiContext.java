@@ -46,6 +46,7 @@ public class SiddhiContext {
     private ExceptionHandler<Object> defaultDisrupterExceptionHandler;
     private Map<String, Class> siddhiExtensions = new HashMap<>();
     private PersistenceStore persistenceStore = null;
+    private int fullSnapshotInterval = 10;
     private ConcurrentHashMap<String, DataSource> siddhiDataSources;
     private StatisticsConfiguration statisticsConfiguration;
     private ConcurrentHashMap<Class, AbstractExtensionHolder> extensionHolderMap;
@@ -91,6 +92,14 @@ public class SiddhiContext {
         this.persistenceStore = persistenceStore;
     }
 
+    public int getFullSnapshotInterval() {
+        return fullSnapshotInterval;
+    }
+
+    public void setFullSnapshotInterval(int fullSnapshotInterval) {
+        this.fullSnapshotInterval = fullSnapshotInterval;
+    }
+
     public ConfigManager getConfigManager() {
         return configManager;
     }
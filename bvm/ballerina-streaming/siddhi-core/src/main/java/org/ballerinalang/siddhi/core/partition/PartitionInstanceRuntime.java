@@ -18,22 +18,46 @@
 package org.ballerinalang.siddhi.core.partition;
 
 import org.ballerinalang.siddhi.core.query.QueryRuntime;
+import org.ballerinalang.siddhi.core.stream.StreamJunction;
+import org.ballerinalang.siddhi.core.util.extension.holder.EternalReferencedHolder;
+import org.ballerinalang.siddhi.core.util.snapshot.Snapshotable;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Class to represent each partition key instance. These will be created dynamically and will contain
  * {@link QueryRuntime}s belonging to that partition key.
+ * <p>
+ * Publishers acquire the instance while they send events to it, and an instance is only purged while it is not
+ * acquired. Once purged, it can no longer be acquired.
  */
 public class PartitionInstanceRuntime {
+    private static final int PURGED = -1;
     private String key;
     private List<QueryRuntime> queryRuntimeList;
+    private List<Snapshotable> snapshotables;
+    private List<EternalReferencedHolder> eternalReferencedHolders;
+    private List<StreamJunction.Publisher> publishers;
+    private volatile long lastAccessTime;
+    private final AtomicInteger users = new AtomicInteger();
 
     public PartitionInstanceRuntime(String key, List<QueryRuntime> queryRuntimeList) {
         this.key = key;
         this.queryRuntimeList = queryRuntimeList;
     }
 
+    public PartitionInstanceRuntime(String key, List<QueryRuntime> queryRuntimeList,
+                                    List<Snapshotable> snapshotables,
+                                    List<EternalReferencedHolder> eternalReferencedHolders,
+                                    List<StreamJunction.Publisher> publishers) {
+        this.key = key;
+        this.queryRuntimeList = queryRuntimeList;
+        this.snapshotables = snapshotables;
+        this.eternalReferencedHolders = eternalReferencedHolders;
+        this.publishers = publishers;
+    }
+
     public List<QueryRuntime> getQueryRuntimeList() {
         return queryRuntimeList;
     }
@@ -42,6 +66,79 @@ public class PartitionInstanceRuntime {
         return key;
     }
 
-}
+    /**
+     * Returns the {@link Snapshotable}s created for this partition key.
+     *
+     * @return the snapshotables, or null if they were not collected
+     */
+    public List<Snapshotable> getSnapshotables() {
+        return snapshotables;
+    }
+
+    /**
+     * Returns the {@link EternalReferencedHolder}s created for this partition key.
+     *
+     * @return the eternal referenced holders, or null if they were not collected
+     */
+    public List<EternalReferencedHolder> getEternalReferencedHolders() {
+        return eternalReferencedHolders;
+    }
+
+    /**
+     * Returns the publishers the queries created for this partition key registered on their output stream junctions.
+     *
+     * @return the publishers, or null if they were not collected
+     */
+    public List<StreamJunction.Publisher> getPublishers() {
+        return publishers;
+    }
+
+    public long getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    public void setLastAccessTime(long lastAccessTime) {
+        this.lastAccessTime = lastAccessTime;
+    }
 
+    /**
+     * Acquires the instance for sending events to it.
+     *
+     * @return false if the instance is purged
+     */
+    public boolean acquire() {
+        while (true) {
+            int currentUsers = users.get();
+            if (currentUsers == PURGED) {
+                return false;
+            }
+            if (users.compareAndSet(currentUsers, currentUsers + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases the instance acquired through {@link #acquire()}.
+     */
+    public void release() {
+        users.decrementAndGet();
+    }
 
+    /**
+     * Marks the instance as purged, unless it is acquired.
+     *
+     * @return true if the instance is marked as purged
+     */
+    public boolean markPurged() {
+        return users.compareAndSet(0, PURGED);
+    }
+
+    /**
+     * Reverts {@link #markPurged()}, if the instance turns out to be in use after all.
+     */
+    public void unmarkPurged() {
+        users.set(0);
+    }
+
+}
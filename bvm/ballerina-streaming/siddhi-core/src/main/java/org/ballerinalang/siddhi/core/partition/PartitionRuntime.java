@@ -30,10 +30,13 @@ import org.ballerinalang.siddhi.core.query.input.stream.state.StateStreamRuntime
 import org.ballerinalang.siddhi.core.query.output.callback.InsertIntoStreamCallback;
 import org.ballerinalang.siddhi.core.stream.StreamJunction;
 import org.ballerinalang.siddhi.core.util.SiddhiConstants;
+import org.ballerinalang.siddhi.core.util.extension.holder.EternalReferencedHolder;
 import org.ballerinalang.siddhi.core.util.parser.helper.DefinitionParserHelper;
 import org.ballerinalang.siddhi.core.util.parser.helper.QueryParserHelper;
+import org.ballerinalang.siddhi.core.util.snapshot.SnapshotService;
 import org.ballerinalang.siddhi.core.util.snapshot.Snapshotable;
 import org.ballerinalang.siddhi.core.util.statistics.MemoryUsageTracker;
+import org.ballerinalang.siddhi.query.api.annotation.Annotation;
 import org.ballerinalang.siddhi.query.api.annotation.Element;
 import org.ballerinalang.siddhi.query.api.definition.AbstractDefinition;
 import org.ballerinalang.siddhi.query.api.definition.StreamDefinition;
@@ -51,6 +54,10 @@ import org.ballerinalang.siddhi.query.api.execution.query.input.stream.SingleInp
 import org.ballerinalang.siddhi.query.api.execution.query.input.stream.StateInputStream;
 import org.ballerinalang.siddhi.query.api.execution.query.output.stream.InsertIntoStream;
 import org.ballerinalang.siddhi.query.api.util.AnnotationHelper;
+import org.ballerinalang.siddhi.query.compiler.SiddhiCompiler;
+import org.ballerinalang.siddhi.query.compiler.exception.SiddhiParserException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -59,13 +66,21 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Runtime class to handle partitioning. It will hold all information regarding current partiotns and wil create
  * partition dynamically during runtime.
+ * <p>
+ * Partition instances are created the first time their key is seen, without blocking the creation of, or the
+ * events sent to, other keys. When the partition is annotated with
+ * {@code @purge(enable='true', interval='<time>', idle.period='<time>')}, the instances of keys which have not
+ * received events for the idle period are removed every interval.
  */
-public class PartitionRuntime implements Snapshotable {
+public class PartitionRuntime implements Snapshotable, EternalReferencedHolder {
 
+    private static final Logger log = LoggerFactory.getLogger(PartitionRuntime.class);
 
     private String partitionId;
     private String elementId;
@@ -81,8 +96,13 @@ public class PartitionRuntime implements Snapshotable {
             ConcurrentHashMap<String, PartitionInstanceRuntime>();
     private ConcurrentMap<String, PartitionStreamReceiver> partitionStreamReceivers = new ConcurrentHashMap<String,
             PartitionStreamReceiver>();
+    private ConcurrentMap<String, Object> cloneLocks = new ConcurrentHashMap<String, Object>();
     private SiddhiAppContext siddhiAppContext;
     private MemoryUsageTracker memoryUsageTracker;
+    private boolean purgeEnabled;
+    private long purgeInterval;
+    private long purgeIdlePeriod;
+    private ScheduledFuture<?> purgeFuture;
 
     public PartitionRuntime(ConcurrentMap<String, AbstractDefinition> streamDefinitionMap, ConcurrentMap<String,
             StreamJunction> streamJunctionMap, Partition partition, SiddhiAppContext siddhiAppContext) {
@@ -108,6 +128,43 @@ public class PartitionRuntime implements Snapshotable {
         this.partition = partition;
         this.streamDefinitionMap = streamDefinitionMap;
         this.streamJunctionMap = streamJunctionMap;
+        initPurging(AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_PURGE, partition.getAnnotations()));
+    }
+
+    private void initPurging(Annotation purgeAnnotation) {
+        if (purgeAnnotation == null) {
+            return;
+        }
+        String enable = purgeAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_ENABLE);
+        if (enable != null && !Boolean.parseBoolean(enable)) {
+            return;
+        }
+        String interval = purgeAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_INTERVAL);
+        String idlePeriod = purgeAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_IDLE_PERIOD);
+        if (interval == null || idlePeriod == null) {
+            throw new SiddhiAppCreationException("Purge annotation of partition '" + partitionId + "' requires " +
+                    "both " + SiddhiConstants.ANNOTATION_ELEMENT_INTERVAL + " and " +
+                    SiddhiConstants.ANNOTATION_ELEMENT_IDLE_PERIOD);
+        }
+        purgeInterval = parseTime(interval, SiddhiConstants.ANNOTATION_ELEMENT_INTERVAL);
+        purgeIdlePeriod = parseTime(idlePeriod, SiddhiConstants.ANNOTATION_ELEMENT_IDLE_PERIOD);
+        purgeEnabled = true;
+        siddhiAppContext.addEternalReferencedHolder(this);
+    }
+
+    private long parseTime(String time, String elementName) {
+        long value;
+        try {
+            value = SiddhiCompiler.parseTimeConstantDefinition(time).value();
+        } catch (SiddhiParserException e) {
+            throw new SiddhiAppCreationException("Invalid " + elementName + " constant '" + time + "' in purge " +
+                    "annotation of partition '" + partitionId + "'", e);
+        }
+        if (value <= 0) {
+            throw new SiddhiAppCreationException(elementName + " of purge annotation of partition '" + partitionId +
+                    "' should be greater than zero, but found '" + time + "'");
+        }
+        return value;
     }
 
     public QueryRuntime addQuery(QueryRuntime metaQueryRuntime) {
@@ -223,20 +280,68 @@ public class PartitionRuntime implements Snapshotable {
 
 
     /**
-     * clone all the queries of the partition for a given partition key if they are not available.
+     * clone all the queries of the partition for a given partition key if they are not available. Only the first
+     * caller for a new key clones the queries, while callers with other keys proceed without waiting.
      *
      * @param key partition key
+     * @return the partition instance of the key, which may be purged concurrently
      */
-    public void cloneIfNotExist(String key) {
-        if (!partitionInstanceRuntimeMap.containsKey(key)) {
-            clonePartition(key);
+    public PartitionInstanceRuntime cloneIfNotExist(String key) {
+        PartitionInstanceRuntime partitionInstance = partitionInstanceRuntimeMap.get(key);
+        if (partitionInstance != null) {
+            return partitionInstance;
         }
+        // Cloning is not done within the map operations, as it creates junctions and registers elements which
+        // must not be done while holding a lock of the map
+        Object cloneLock = cloneLocks.computeIfAbsent(key, k -> new Object());
+        try {
+            synchronized (cloneLock) {
+                partitionInstance = partitionInstanceRuntimeMap.get(key);
+                if (partitionInstance == null) {
+                    partitionInstance = clonePartition(key);
+                    partitionInstanceRuntimeMap.put(key, partitionInstance);
+                }
+            }
+        } finally {
+            cloneLocks.remove(key, cloneLock);
+        }
+        return partitionInstance;
     }
 
-    private synchronized void clonePartition(String key) {
-        PartitionInstanceRuntime partitionInstance = this.partitionInstanceRuntimeMap.get(key);
+    /**
+     * Acquires the partition instance of the given key, creating it if needed, so that it is not purged while
+     * events are sent to it. The instance should be released once the events are sent.
+     *
+     * @param key partition key
+     * @return the acquired partition instance
+     */
+    public PartitionInstanceRuntime acquirePartitionInstance(String key) {
+        while (true) {
+            PartitionInstanceRuntime partitionInstance = cloneIfNotExist(key);
+            if (partitionInstance.acquire()) {
+                if (purgeEnabled) {
+                    partitionInstance.setLastAccessTime(siddhiAppContext.getTimestampGenerator().currentTime());
+                }
+                return partitionInstance;
+            }
+            // The instance is being purged, and is removed from the map once its junctions are released
+            Thread.yield();
+        }
+    }
 
-        if (partitionInstance == null) {
+    private PartitionInstanceRuntime clonePartition(String key) {
+        List<Snapshotable> snapshotables = null;
+        List<EternalReferencedHolder> eternalReferencedHolders = null;
+        List<StreamJunction.Publisher> publishers = null;
+        if (purgeEnabled) {
+            // Collect the elements created for the key, so that they can be released when the key is purged
+            snapshotables = new ArrayList<Snapshotable>();
+            eternalReferencedHolders = new ArrayList<EternalReferencedHolder>();
+            publishers = new ArrayList<StreamJunction.Publisher>();
+            SnapshotService.getAddedSnapshotablesThreadLocal().set(snapshotables);
+            SiddhiAppContext.getAddedEternalReferencedHoldersThreadLocal().set(eternalReferencedHolders);
+        }
+        try {
             List<QueryRuntime> queryRuntimeList = new ArrayList<QueryRuntime>();
             List<QueryRuntime> partitionedQueryRuntimeList = new ArrayList<QueryRuntime>();
 
@@ -248,6 +353,14 @@ public class PartitionRuntime implements Snapshotable {
                 QueryParserHelper.registerMemoryUsageTracking(clonedQueryRuntime.getQueryId(), queryRuntime,
                         SiddhiConstants.METRIC_INFIX_QUERIES, siddhiAppContext, memoryUsageTracker);
 
+                // Queries inserting into inner streams get an output callback of their own, whose publisher is
+                // registered on the output stream junction
+                if (publishers != null && clonedQueryRuntime.getOutputCallback() != queryRuntime.getOutputCallback()
+                        && clonedQueryRuntime.getOutputCallback() instanceof InsertIntoStreamCallback) {
+                    publishers.add(((InsertIntoStreamCallback) clonedQueryRuntime.getOutputCallback())
+                            .getPublisher());
+                }
+
                 if (queryRuntime.isFromLocalStream()) {
                     for (int i = 0; i < clonedQueryRuntime.getStreamRuntime().getSingleStreamRuntimes().size(); i++) {
                         String streamId = queryRuntime.getStreamRuntime().getSingleStreamRuntimes().get(i)
@@ -264,7 +377,11 @@ public class PartitionRuntime implements Snapshotable {
                                     .getExecutorService(),
                                     siddhiAppContext.getBufferSize(),
                                     siddhiAppContext);
-                            localStreamJunctionMap.put(streamId + key, streamJunction);
+                            StreamJunction existingStreamJunction = localStreamJunctionMap.putIfAbsent(
+                                    streamId + key, streamJunction);
+                            if (existingStreamJunction != null) {
+                                streamJunction = existingStreamJunction;
+                            }
                         }
                         streamJunction.subscribe(clonedQueryRuntime.getStreamRuntime().getSingleStreamRuntimes().get
                                 (i).getProcessStreamReceiver());
@@ -273,10 +390,64 @@ public class PartitionRuntime implements Snapshotable {
                     partitionedQueryRuntimeList.add(clonedQueryRuntime);
                 }
             }
-            partitionInstanceRuntimeMap.putIfAbsent(key, new PartitionInstanceRuntime(key, queryRuntimeList));
             updatePartitionStreamReceivers(key, partitionedQueryRuntimeList);
+            PartitionInstanceRuntime partitionInstance = new PartitionInstanceRuntime(key, queryRuntimeList,
+                    snapshotables, eternalReferencedHolders, publishers);
+            partitionInstance.setLastAccessTime(siddhiAppContext.getTimestampGenerator().currentTime());
+            return partitionInstance;
+        } finally {
+            if (purgeEnabled) {
+                SnapshotService.getAddedSnapshotablesThreadLocal().remove();
+                SiddhiAppContext.getAddedEternalReferencedHoldersThreadLocal().remove();
+            }
         }
+    }
 
+    /**
+     * Removes the instances of the partition keys which have not been used for the idle period. Instances which are
+     * acquired by a publisher are left for the next run.
+     */
+    private void purgeIdlePartitions() {
+        long expiryTime = siddhiAppContext.getTimestampGenerator().currentTime() - purgeIdlePeriod;
+        for (PartitionInstanceRuntime partitionInstance : partitionInstanceRuntimeMap.values()) {
+            if (partitionInstance.getLastAccessTime() > expiryTime || !partitionInstance.markPurged()) {
+                continue;
+            }
+            if (partitionInstance.getLastAccessTime() > expiryTime) {
+                // Used between the checks
+                partitionInstance.unmarkPurged();
+                continue;
+            }
+            purgePartition(partitionInstance);
+            partitionInstanceRuntimeMap.remove(partitionInstance.getKey(), partitionInstance);
+        }
+    }
+
+    private void purgePartition(PartitionInstanceRuntime partitionInstance) {
+        String key = partitionInstance.getKey();
+        for (PartitionStreamReceiver partitionStreamReceiver : partitionStreamReceivers.values()) {
+            partitionStreamReceiver.removeStreamJunction(key);
+        }
+        for (QueryRuntime queryRuntime : metaQueryRuntimeMap.values()) {
+            for (String streamId : queryRuntime.getInputStreamId()) {
+                localStreamJunctionMap.remove(streamId + key);
+            }
+        }
+        for (String streamId : localStreamDefinitionMap.keySet()) {
+            localStreamJunctionMap.remove(streamId + key);
+        }
+        for (StreamJunction.Publisher publisher : partitionInstance.getPublishers()) {
+            publisher.getStreamJunction().removePublisher(publisher);
+        }
+        siddhiAppContext.getSnapshotService().removeSnapshotables(partitionInstance.getSnapshotables());
+        siddhiAppContext.removeEternalReferencedHolders(partitionInstance.getEternalReferencedHolders());
+        for (EternalReferencedHolder eternalReferencedHolder : partitionInstance.getEternalReferencedHolders()) {
+            eternalReferencedHolder.stop();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Purged partition key '" + key + "' of partition '" + partitionId + "' of Siddhi app '" +
+                    siddhiAppContext.getName() + "'");
+        }
     }
 
     private void updatePartitionStreamReceivers(String key, List<QueryRuntime> partitionedQueryRuntimeList) {
@@ -323,7 +494,7 @@ public class PartitionRuntime implements Snapshotable {
     public void restoreState(Map<String, Object> state) {
         List<String> partitionKeys = (List<String>) state.get("PartitionKeys");
         for (String key : partitionKeys) {
-            clonePartition(key);
+            cloneIfNotExist(key);
         }
     }
 
@@ -336,4 +507,35 @@ public class PartitionRuntime implements Snapshotable {
         this.memoryUsageTracker = memoryUsageTracker;
     }
 
+    /**
+     * Returns the number of partition keys which currently have partition instances.
+     *
+     * @return partition key count
+     */
+    public int getPartitionKeyCount() {
+        return partitionInstanceRuntimeMap.size();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (purgeEnabled && purgeFuture == null) {
+            purgeFuture = siddhiAppContext.getScheduledExecutorService().scheduleWithFixedDelay(() -> {
+                try {
+                    purgeIdlePartitions();
+                } catch (Throwable t) {
+                    log.error("Error when purging idle partition keys of partition '" + partitionId +
+                            "' of Siddhi app '" + siddhiAppContext.getName() + "'", t);
+                }
+            }, purgeInterval, purgeInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (purgeFuture != null) {
+            purgeFuture.cancel(false);
+            purgeFuture = null;
+        }
+    }
+
 }
@@ -237,8 +237,13 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
 
     private void send(String key, ComplexEvent event) {
         if (key != null) {
-            partitionRuntime.cloneIfNotExist(key);
-            cachedStreamJunctionMap.get(streamId + key).sendEvent(event);
+            // The instance is acquired so that the key is not purged while the event is processed
+            PartitionInstanceRuntime partitionInstance = partitionRuntime.acquirePartitionInstance(key);
+            try {
+                cachedStreamJunctionMap.get(streamId + key).sendEvent(event);
+            } finally {
+                partitionInstance.release();
+            }
         }
     }
 
@@ -277,6 +282,15 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
         }
     }
 
+    /**
+     * remove the local streamJunction of a purged partition key.
+     *
+     * @param key partitioning key
+     */
+    public void removeStreamJunction(String key) {
+        cachedStreamJunctionMap.remove(streamId + key);
+    }
+
     private StreamJunction createStreamJunction() {
         return new StreamJunction(streamDefinition, siddhiAppContext.getExecutorService(),
                 siddhiAppContext.getBufferSize(), siddhiAppContext);
@@ -56,6 +56,7 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
     private StreamEventPool streamEventPool;
     private SiddhiDebugger siddhiDebugger;
     private String queryName;
+    private boolean stateless;
 
     public ProcessStreamReceiver(String streamId, LatencyTracker latencyTracker, String queryName,
                                  SiddhiAppContext siddhiAppContext) {
@@ -74,6 +75,32 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
         ProcessStreamReceiver processStreamReceiver = new ProcessStreamReceiver(
                 streamId + key, latencyTracker, queryName, siddhiAppContext);
         processStreamReceiver.batchProcessingAllowed = this.batchProcessingAllowed;
+        processStreamReceiver.stateless = this.stateless;
+        return processStreamReceiver;
+    }
+
+    /**
+     * Creates a receiver feeding the same processor chain, with its own event pool and batch, so that an additional
+     * worker of an async stream can hand over events concurrently. Only stateless queries can be fed this way, as
+     * the events are processed concurrently and out of order.
+     *
+     * @return receiver for the worker, or null if the query is not stateless
+     */
+    @Override
+    public StreamJunction.Receiver createWorkerReceiver() {
+        if (!stateless || getClass() != ProcessStreamReceiver.class) {
+            return null;
+        }
+        ProcessStreamReceiver processStreamReceiver = new ProcessStreamReceiver(streamId, latencyTracker, queryName,
+                siddhiAppContext);
+        processStreamReceiver.batchProcessingAllowed = this.batchProcessingAllowed;
+        processStreamReceiver.stateless = true;
+        processStreamReceiver.next = this.next;
+        processStreamReceiver.lockWrapper = this.lockWrapper;
+        processStreamReceiver.siddhiDebugger = this.siddhiDebugger;
+        processStreamReceiver.metaStreamEvent = this.metaStreamEvent;
+        processStreamReceiver.streamEventPool = new StreamEventPool(metaStreamEvent, streamEventPool.getSize());
+        processStreamReceiver.init();
         return processStreamReceiver;
     }
 
@@ -197,6 +224,16 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
                 metaStreamEvent.getEventType() == MetaStreamEvent.EventType.WINDOW;
     }
 
+    /**
+     * Marks the query as stateless, i.e. each event is processed independently of the others, so that the query can
+     * be fed by several workers of an async stream.
+     *
+     * @param stateless whether the query is stateless
+     */
+    public void setStateless(boolean stateless) {
+        this.stateless = stateless;
+    }
+
     public void setBatchProcessingAllowed(boolean batchProcessingAllowed) {
         this.batchProcessingAllowed = batchProcessingAllowed;
     }
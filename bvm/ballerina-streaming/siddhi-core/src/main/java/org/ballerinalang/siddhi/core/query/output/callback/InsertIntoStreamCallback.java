@@ -60,4 +60,8 @@ public class InsertIntoStreamCallback extends OutputCallback {
         return outputStreamDefinition;
     }
 
+    public StreamJunction.Publisher getPublisher() {
+        return publisher;
+    }
+
 }
@@ -413,6 +413,16 @@ public class QuerySelector implements Processor {
         this.limit = limit;
     }
 
+    /**
+     * Whether each event is selected independently of the others, i.e. the selector neither aggregates, groups,
+     * orders nor limits events.
+     *
+     * @return true if the selector keeps no state across events
+     */
+    public boolean isStateless() {
+        return !containsAggregator && !isGroupBy && !isOrderBy && limit == SiddhiConstants.UNKNOWN_STATE;
+    }
+
     private void orderEventChunk(ComplexEventChunk complexEventChunk) {
         ComplexEventChunk orderingComplexEventChunk = new ComplexEventChunk(complexEventChunk.isBatch());
         List<ComplexEvent> eventList = new ArrayList<>();
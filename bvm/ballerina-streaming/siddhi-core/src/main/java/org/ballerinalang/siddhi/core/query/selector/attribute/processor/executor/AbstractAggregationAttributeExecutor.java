@@ -54,6 +54,14 @@ public abstract class AbstractAggregationAttributeExecutor implements Expression
         return attributeAggregator.getReturnType();
     }
 
+    public AttributeAggregator getAttributeAggregator() {
+        return attributeAggregator;
+    }
+
+    public ExpressionExecutor[] getAttributeExpressionExecutors() {
+        return attributeExpressionExecutors;
+    }
+
     @Override
     public String getElementId() {
         return elementId;
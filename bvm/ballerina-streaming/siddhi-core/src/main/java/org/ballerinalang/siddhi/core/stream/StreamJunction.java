@@ -19,14 +19,22 @@
 package org.ballerinalang.siddhi.core.stream;
 
 import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
 import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.LiteBlockingWaitStrategy;
 import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.dsl.ProducerType;
 import org.ballerinalang.siddhi.core.config.SiddhiAppContext;
 import org.ballerinalang.siddhi.core.event.ComplexEvent;
 import org.ballerinalang.siddhi.core.event.Event;
 import org.ballerinalang.siddhi.core.event.SiddhiEventFactory;
+import org.ballerinalang.siddhi.core.exception.SiddhiAppCreationException;
+import org.ballerinalang.siddhi.core.exception.SiddhiAppRuntimeException;
 import org.ballerinalang.siddhi.core.stream.input.InputProcessor;
 import org.ballerinalang.siddhi.core.stream.output.StreamCallback;
 import org.ballerinalang.siddhi.core.util.SiddhiConstants;
@@ -42,6 +50,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Constructor;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -63,6 +72,10 @@ public class StreamJunction implements EventBufferHolder {
     private List<Publisher> publishers = Collections.synchronizedList(new LinkedList<>());
     private ExecutorService executorService;
     private boolean async = false;
+    private int workers = 1;
+    private int batchSizeMax = -1;
+    private String waitStrategy = SiddhiConstants.WAIT_STRATEGY_BLOCKING;
+    private boolean blockOnFull = true;
     private Disruptor<Event> disruptor;
     private RingBuffer<Event> ringBuffer;
     private ThroughputTracker throughputTracker = null;
@@ -88,6 +101,25 @@ public class StreamJunction implements EventBufferHolder {
                 if (bufferSizeString != null) {
                     this.bufferSize = Integer.parseInt(bufferSizeString);
                 }
+                String workersString = annotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_WORKERS);
+                if (workersString != null) {
+                    this.workers = parsePositiveInt(SiddhiConstants.ANNOTATION_ELEMENT_WORKERS, workersString);
+                }
+                String batchSizeString = annotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_BATCH_SIZE_MAX);
+                if (batchSizeString != null) {
+                    this.batchSizeMax = parsePositiveInt(SiddhiConstants.ANNOTATION_ELEMENT_BATCH_SIZE_MAX,
+                            batchSizeString);
+                }
+                String waitStrategyString = annotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_WAIT_STRATEGY);
+                if (waitStrategyString != null) {
+                    this.waitStrategy = waitStrategyString.toLowerCase();
+                    // validate the wait strategy when the app is created rather than when it is started
+                    createWaitStrategy();
+                }
+                String blockOnFullString = annotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_BLOCK_ON_FULL);
+                if (blockOnFullString != null) {
+                    this.blockOnFull = Boolean.parseBoolean(blockOnFullString);
+                }
             }
 
         } catch (DuplicateAnnotationException e) {
@@ -98,6 +130,58 @@ public class StreamJunction implements EventBufferHolder {
         isTraceEnabled = log.isTraceEnabled();
     }
 
+    private int parsePositiveInt(String element, String value) {
+        try {
+            int intValue = Integer.parseInt(value.trim());
+            if (intValue > 0) {
+                return intValue;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new SiddhiAppCreationException("Element '" + element + "' of annotation '" +
+                SiddhiConstants.ANNOTATION_ASYNC + "' of stream '" + streamDefinition.getId() +
+                "' should be a positive integer, but found '" + value + "'");
+    }
+
+    private WaitStrategy createWaitStrategy() {
+        switch (waitStrategy) {
+            case SiddhiConstants.WAIT_STRATEGY_BLOCKING:
+                return new BlockingWaitStrategy();
+            case SiddhiConstants.WAIT_STRATEGY_LITE_BLOCKING:
+                return new LiteBlockingWaitStrategy();
+            case SiddhiConstants.WAIT_STRATEGY_SLEEPING:
+                return new SleepingWaitStrategy();
+            case SiddhiConstants.WAIT_STRATEGY_YIELDING:
+                return new YieldingWaitStrategy();
+            case SiddhiConstants.WAIT_STRATEGY_BUSY_SPIN:
+                return new BusySpinWaitStrategy();
+            default:
+                throw new SiddhiAppCreationException("Unknown wait strategy '" + waitStrategy + "' given in " +
+                        "annotation '" + SiddhiConstants.ANNOTATION_ASYNC + "' of stream '" +
+                        streamDefinition.getId() + "', expected one of " + SiddhiConstants.WAIT_STRATEGY_BLOCKING +
+                        ", " + SiddhiConstants.WAIT_STRATEGY_LITE_BLOCKING + ", " +
+                        SiddhiConstants.WAIT_STRATEGY_SLEEPING + ", " + SiddhiConstants.WAIT_STRATEGY_YIELDING +
+                        " or " + SiddhiConstants.WAIT_STRATEGY_BUSY_SPIN);
+        }
+    }
+
+    /**
+     * Claims the next slot of the ring buffer. When the buffer is full the publisher waits for the receivers to
+     * catch up, unless the stream is configured not to block, in which case the event is rejected.
+     */
+    private long nextSequence() {
+        if (blockOnFull) {
+            return ringBuffer.next();
+        }
+        try {
+            return ringBuffer.tryNext();
+        } catch (InsufficientCapacityException e) {
+            throw new SiddhiAppRuntimeException("Event rejected as the buffer of stream '" +
+                    streamDefinition.getId() + "' of Siddhi app '" + siddhiAppContext.getName() + "' is full");
+        }
+    }
+
     public void sendEvent(ComplexEvent complexEvent) {
         if (isTraceEnabled) {
             log.trace("Event is received by streamJunction " + this);
@@ -108,7 +192,7 @@ public class StreamJunction implements EventBufferHolder {
                 if (throughputTracker != null && siddhiAppContext.isStatsEnabled()) {
                     throughputTracker.eventIn();
                 }
-                long sequenceNo = ringBuffer.next();
+                long sequenceNo = nextSequence();
                 try {
                     Event existingEvent = ringBuffer.get(sequenceNo);
                     existingEvent.copyFrom(complexEventList);
@@ -140,7 +224,7 @@ public class StreamJunction implements EventBufferHolder {
             log.trace(event + " event is received by streamJunction " + this);
         }
         if (disruptor != null) {
-            long sequenceNo = ringBuffer.next();
+            long sequenceNo = nextSequence();
             try {
                 Event existingEvent = ringBuffer.get(sequenceNo);
                 existingEvent.copyFrom(event);
@@ -163,7 +247,7 @@ public class StreamJunction implements EventBufferHolder {
         }
         if (disruptor != null) {
             for (Event event : events) {   // Todo : optimize for arrays
-                long sequenceNo = ringBuffer.next();
+                long sequenceNo = nextSequence();
                 try {
                     Event existingEvent = ringBuffer.get(sequenceNo);
                     existingEvent.copyFrom(event);
@@ -184,7 +268,7 @@ public class StreamJunction implements EventBufferHolder {
         }
         if (disruptor != null) {
             for (Event event : events) {   // Todo : optimize for arrays
-                long sequenceNo = ringBuffer.next();
+                long sequenceNo = nextSequence();
                 try {
                     Event existingEvent = ringBuffer.get(sequenceNo);
                     existingEvent.copyFrom(event);
@@ -209,7 +293,7 @@ public class StreamJunction implements EventBufferHolder {
             throughputTracker.eventIn();
         }
         if (disruptor != null) {
-            long sequenceNo = ringBuffer.next();
+            long sequenceNo = nextSequence();
             try {
                 Event existingEvent = ringBuffer.get(sequenceNo);
                 existingEvent.setTimestamp(timeStamp);
@@ -234,8 +318,7 @@ public class StreamJunction implements EventBufferHolder {
                 if (constructor.getParameterTypes().length == 5) {      // If new disruptor classes available
                     ProducerType producerType = ProducerType.MULTI;
                     disruptor = new Disruptor<Event>(new SiddhiEventFactory(streamDefinition.getAttributeList().size()),
-                            bufferSize, executorService, producerType,
-                            new BlockingWaitStrategy());
+                            bufferSize, executorService, producerType, createWaitStrategy());
                     disruptor.handleExceptionsWith(siddhiAppContext.getDisruptorExceptionHandler());
                     break;
                 }
@@ -246,7 +329,23 @@ public class StreamJunction implements EventBufferHolder {
                 disruptor.handleExceptionsWith(siddhiAppContext.getDisruptorExceptionHandler());
             }
             for (Receiver receiver : receivers) {
-                disruptor.handleEventsWith(new StreamHandler(receiver));
+                List<Receiver> workerReceivers = new ArrayList<>(workers);
+                workerReceivers.add(receiver);
+                for (int i = 1; i < workers; i++) {
+                    Receiver workerReceiver = receiver.createWorkerReceiver();
+                    if (workerReceiver == null) {
+                        log.warn("Events of stream '" + streamDefinition.getId() + "' of Siddhi app '" +
+                                siddhiAppContext.getName() + "' are handed to " + receiver.getClass().getSimpleName() +
+                                " by a single worker, as only stateless queries can be fed by multiple workers");
+                        break;
+                    }
+                    workerReceivers.add(workerReceiver);
+                }
+                StreamHandler[] streamHandlers = new StreamHandler[workerReceivers.size()];
+                for (int i = 0; i < streamHandlers.length; i++) {
+                    streamHandlers[i] = new StreamHandler(workerReceivers.get(i), i, streamHandlers.length);
+                }
+                disruptor.handleEventsWith(streamHandlers);
             }
             ringBuffer = disruptor.start();
         } else {
@@ -277,6 +376,15 @@ public class StreamJunction implements EventBufferHolder {
         return publisher;
     }
 
+    /**
+     * Removes a publisher constructed through {@link #constructPublisher()}, once no events are sent through it.
+     *
+     * @param publisher the publisher to remove
+     */
+    public synchronized void removePublisher(Publisher publisher) {
+        publishers.remove(publisher);
+    }
+
     public synchronized void subscribe(Receiver receiver) {
         // To have reverse order at the sequence/pattern processors.
         if (!receivers.contains(receiver)) {
@@ -321,21 +429,72 @@ public class StreamJunction implements EventBufferHolder {
         void receive(long timeStamp, Object[] data);
 
         void receive(Event[] events);
+
+        /**
+         * Creates the receiver through which an additional worker of an async stream hands over its events. Each
+         * worker needs its own receiver, as a receiver is not safe to be fed concurrently.
+         *
+         * @return receiver for the worker, or null if the events should be handed over by a single worker in order
+         */
+        default Receiver createWorkerReceiver() {
+            return null;
+        }
     }
 
     /**
-     * Interface to be implemented to receive events via handlers.
+     * Interface to be implemented to receive events via handlers. When the stream has more than one worker, each
+     * worker handles the events whose sequence falls on it and hands them to its own receiver, so events are no
+     * longer received in order. Receivers that cannot be fed by several workers are handled by a single worker,
+     * which keeps the order. The batch size limit applies to the events each worker hands over in a batch.
+     * <p>
+     * With multiple workers, the last event of a worker is held back until the next one arrives, so that it can be
+     * marked as the end of the batch. This is safe as the ring buffer slots of a batch are not released until the
+     * batch is handled.
      */
     public class StreamHandler implements EventHandler<Event> {
 
         private Receiver receiver;
+        private int workerId;
+        private int workerCount;
+        private Event pendingEvent;
+        private int batchedEvents;
 
         public StreamHandler(Receiver receiver) {
+            this(receiver, 0, 1);
+        }
+
+        public StreamHandler(Receiver receiver, int workerId, int workerCount) {
             this.receiver = receiver;
+            this.workerId = workerId;
+            this.workerCount = workerCount;
         }
 
         public void onEvent(Event event, long sequence, boolean endOfBatch) {
-            receiver.receive(event, endOfBatch);
+            if (workerCount == 1) {
+                deliver(event, endOfBatch);
+                return;
+            }
+            if (sequence % workerCount == workerId) {
+                Event previousEvent = pendingEvent;
+                pendingEvent = event;
+                if (previousEvent != null) {
+                    deliver(previousEvent, false);
+                }
+            }
+            if (endOfBatch && pendingEvent != null) {
+                Event lastEvent = pendingEvent;
+                pendingEvent = null;
+                deliver(lastEvent, true);
+            }
+        }
+
+        private void deliver(Event event, boolean endOfBatch) {
+            if (endOfBatch || ++batchedEvents == batchSizeMax) {
+                batchedEvents = 0;
+                receiver.receive(event, true);
+            } else {
+                receiver.receive(event, false);
+            }
         }
     }
 
@@ -350,6 +509,10 @@ public class StreamJunction implements EventBufferHolder {
             this.streamJunction = streamJunction;
         }
 
+        public StreamJunction getStreamJunction() {
+            return streamJunction;
+        }
+
         public void send(ComplexEvent complexEvent) {
             streamJunction.sendEvent(complexEvent);
         }
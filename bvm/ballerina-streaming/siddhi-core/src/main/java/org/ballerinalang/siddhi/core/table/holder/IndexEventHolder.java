@@ -41,15 +41,20 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 
+import static org.ballerinalang.siddhi.query.api.definition.Attribute.Type.STRING;
+
 /**
  * EventHolder implementation where events will be indexed and stored. This will offer faster access compared to
  * other EventHolder implementations. User can only add unique events based on a given primary key.
+ * <p>
+ * Numeric primary keys are kept unboxed in a {@link NumericPrimaryKeyIndex}, events of a secondary index value are
+ * kept in a compact {@link IndexedEventSet}, and string index values are shared between the events holding them.
  */
 public class IndexEventHolder implements IndexedEventHolder, Serializable {
 
     private static final Logger log = LoggerFactory.getLogger(IndexEventHolder.class);
     private static final long serialVersionUID = 1272291743721603253L;
-    private final Map<Object, StreamEvent> primaryKeyData;
+    private final PrimaryKeyIndex primaryKeyData;
     private final Map<String, TreeMap<Object, Set<StreamEvent>>> indexData;
     private final PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders;
     private final String tableName;
@@ -60,6 +65,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
     private Map<String, Integer> indexMetaData;
     private Map<String, Integer> multiPrimaryKeyMetaData = new LinkedHashMap<>();
     private Map<String, Integer> allIndexMetaData = new HashMap<>();
+    private Set<String> stringIndexAttributes = new HashSet<>();
 
     public IndexEventHolder(StreamEventPool tableStreamEventPool, StreamEventConverter eventConverter,
                             PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders,
@@ -74,9 +80,10 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
 
         if (primaryKeyReferenceHolders != null) {
             if (isPrimaryNumeric) {
-                primaryKeyData = new TreeMap<Object, StreamEvent>();
+                primaryKeyData = new NumericPrimaryKeyIndex(tableDefinition.getAttributeType(
+                        primaryKeyReferenceHolders[0].getPrimaryKeyAttribute()));
             } else {
-                primaryKeyData = new HashMap<Object, StreamEvent>();
+                primaryKeyData = new MapPrimaryKeyIndex(false);
             }
             if (primaryKeyReferenceHolders.length == 1) {
                 allIndexMetaData.put(primaryKeyReferenceHolders[0].getPrimaryKeyAttribute(),
@@ -99,6 +106,9 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
             indexData = new HashMap<String, TreeMap<Object, Set<StreamEvent>>>();
             for (String indexAttributeName : indexMetaData.keySet()) {
                 indexData.put(indexAttributeName, new TreeMap<Object, Set<StreamEvent>>());
+                if (tableDefinition.getAttributeType(indexAttributeName) == STRING) {
+                    stringIndexAttributes.add(indexAttributeName);
+                }
             }
             allIndexMetaData.putAll(indexMetaData);
         } else {
@@ -161,21 +171,34 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
 
         if (indexData != null) {
             for (Map.Entry<String, Integer> indexEntry : indexMetaData.entrySet()) {
-                TreeMap<Object, Set<StreamEvent>> indexMap = indexData.get(indexEntry.getKey());
-                Object key = streamEvent.getOutputData()[indexEntry.getValue()];
-                Set<StreamEvent> values = indexMap.get(key);
-                if (values == null) {
-                    values = new HashSet<StreamEvent>();
-                    values.add(streamEvent);
-                    indexMap.put(streamEvent.getOutputData()[indexEntry.getValue()], values);
-                } else {
-                    values.add(streamEvent);
-                }
+                addToIndex(indexEntry.getKey(), indexEntry.getValue(), streamEvent);
             }
         }
 
     }
 
+    private void addToIndex(String indexAttribute, int position, StreamEvent streamEvent) {
+        TreeMap<Object, Set<StreamEvent>> indexMap = indexData.get(indexAttribute);
+        Object key = streamEvent.getOutputData()[position];
+        if (stringIndexAttributes.contains(indexAttribute)) {
+            // Share the string already held by the index, so repeated values are only retained once.
+            Map.Entry<Object, Set<StreamEvent>> indexEntry = indexMap.ceilingEntry(key);
+            if (indexEntry != null && indexEntry.getKey().equals(key)) {
+                streamEvent.getOutputData()[position] = indexEntry.getKey();
+                indexEntry.getValue().add(streamEvent);
+                return;
+            }
+        }
+        Set<StreamEvent> values = indexMap.get(key);
+        if (values == null) {
+            values = new IndexedEventSet();
+            values.add(streamEvent);
+            indexMap.put(key, values);
+        } else {
+            values.add(streamEvent);
+        }
+    }
+
     private Object constructPrimaryKey(StreamEvent streamEvent,
                                        PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders) {
         if (primaryKeyReferenceHolders.length == 1) {
@@ -190,6 +213,11 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         }
     }
 
+    @Override
+    public void updated(StreamEvent streamEvent) {
+        // events are held by reference, hence in place updates are already visible
+    }
+
     @Override
     public void overwrite(StreamEvent streamEvent) {
         StreamEvent deletedEvent = null;
@@ -209,14 +237,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                         indexMap.remove(key);
                     }
                 }
-                Set<StreamEvent> values = indexMap.get(key);
-                if (values == null) {
-                    values = new HashSet<StreamEvent>();
-                    values.add(streamEvent);
-                    indexMap.put(streamEvent.getOutputData()[indexEntry.getValue()], values);
-                } else {
-                    values.add(streamEvent);
-                }
+                addToIndex(indexEntry.getKey(), indexEntry.getValue(), streamEvent);
             }
         }
     }
@@ -249,13 +270,13 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
 
             switch (operator) {
                 case LESS_THAN:
-                    return ((TreeMap<Object, StreamEvent>) primaryKeyData).headMap(value, false).values();
+                    return primaryKeyData.headValues(value, false);
                 case GREATER_THAN:
-                    return ((TreeMap<Object, StreamEvent>) primaryKeyData).tailMap(value, false).values();
+                    return primaryKeyData.tailValues(value, false);
                 case LESS_THAN_EQUAL:
-                    return ((TreeMap<Object, StreamEvent>) primaryKeyData).headMap(value, true).values();
+                    return primaryKeyData.headValues(value, true);
                 case GREATER_THAN_EQUAL:
-                    return ((TreeMap<Object, StreamEvent>) primaryKeyData).tailMap(value, true).values();
+                    return primaryKeyData.tailValues(value, true);
                 case EQUAL:
                     resultEventSet = new HashSet<StreamEvent>();
                     resultEvent = primaryKeyData.get(value);
@@ -361,38 +382,26 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
             switch (operator) {
 
                 case LESS_THAN:
-                    for (Iterator<StreamEvent> iterator = ((TreeMap<Object, StreamEvent>) primaryKeyData).
-                            headMap(value, false).values().iterator();
-                         iterator.hasNext(); ) {
-                        StreamEvent toDeleteEvent = iterator.next();
-                        iterator.remove();
+                    for (StreamEvent toDeleteEvent : primaryKeyData.headValues(value, false)) {
+                        primaryKeyData.remove(constructPrimaryKey(toDeleteEvent, primaryKeyReferenceHolders));
                         deleteFromIndexes(toDeleteEvent);
                     }
                     return;
                 case GREATER_THAN:
-                    for (Iterator<StreamEvent> iterator = ((TreeMap<Object, StreamEvent>) primaryKeyData).
-                            tailMap(value, false).values().iterator();
-                         iterator.hasNext(); ) {
-                        StreamEvent toDeleteEvent = iterator.next();
-                        iterator.remove();
+                    for (StreamEvent toDeleteEvent : primaryKeyData.tailValues(value, false)) {
+                        primaryKeyData.remove(constructPrimaryKey(toDeleteEvent, primaryKeyReferenceHolders));
                         deleteFromIndexes(toDeleteEvent);
                     }
                     return;
                 case LESS_THAN_EQUAL:
-                    for (Iterator<StreamEvent> iterator = ((TreeMap<Object, StreamEvent>) primaryKeyData).
-                            headMap(value, true).values().iterator();
-                         iterator.hasNext(); ) {
-                        StreamEvent toDeleteEvent = iterator.next();
-                        iterator.remove();
+                    for (StreamEvent toDeleteEvent : primaryKeyData.headValues(value, true)) {
+                        primaryKeyData.remove(constructPrimaryKey(toDeleteEvent, primaryKeyReferenceHolders));
                         deleteFromIndexes(toDeleteEvent);
                     }
                     return;
                 case GREATER_THAN_EQUAL:
-                    for (Iterator<StreamEvent> iterator = ((TreeMap<Object, StreamEvent>) primaryKeyData).
-                            tailMap(value, true).values().iterator();
-                         iterator.hasNext(); ) {
-                        StreamEvent toDeleteEvent = iterator.next();
-                        iterator.remove();
+                    for (StreamEvent toDeleteEvent : primaryKeyData.tailValues(value, true)) {
+                        primaryKeyData.remove(constructPrimaryKey(toDeleteEvent, primaryKeyReferenceHolders));
                         deleteFromIndexes(toDeleteEvent);
                     }
                     return;
@@ -473,13 +482,13 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         if (primaryKeyData != null && attribute.equals(primaryKeyAttributes)) {
             switch (operator) {
                 case LESS_THAN:
-                    return ((TreeMap<Object, StreamEvent>) primaryKeyData).lowerKey(value) != null;
+                    return primaryKeyData.lowerKey(value) != null;
                 case GREATER_THAN:
-                    return ((TreeMap<Object, StreamEvent>) primaryKeyData).higherKey(value) != null;
+                    return primaryKeyData.higherKey(value) != null;
                 case LESS_THAN_EQUAL:
-                    return ((TreeMap<Object, StreamEvent>) primaryKeyData).ceilingKey(value) != null;
+                    return primaryKeyData.ceilingKey(value) != null;
                 case GREATER_THAN_EQUAL:
-                    return ((TreeMap<Object, StreamEvent>) primaryKeyData).floorKey(value) != null;
+                    return primaryKeyData.floorKey(value) != null;
                 case EQUAL:
                     return primaryKeyData.get(value) != null;
                 case NOT_EQUAL:
@@ -47,6 +47,14 @@ public interface IndexedEventHolder extends EventHolder {
 
     void overwrite(StreamEvent streamEvent);
 
+    /**
+     * Called once the non indexed attributes of an event found in this holder are updated in place, so that holders
+     * which return copies of their events can store the update.
+     *
+     * @param streamEvent the updated event
+     */
+    void updated(StreamEvent streamEvent);
+
     Set<Object> getAllPrimaryKeyValues();
 
     PrimaryKeyReferenceHolder[] getPrimaryKeyReferenceHolders();
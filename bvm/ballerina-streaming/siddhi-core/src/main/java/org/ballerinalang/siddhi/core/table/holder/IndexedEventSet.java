@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.table.holder;
+
+import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Set of {@link StreamEvent}s stored against a single index value. Most index values only map to a handful of
+ * events, so they are kept in a small array and the set only switches to a {@link HashSet} when it grows beyond
+ * {@link #ARRAY_THRESHOLD} events.
+ */
+class IndexedEventSet extends AbstractSet<StreamEvent> implements Serializable {
+
+    private static final long serialVersionUID = -6129083470187354519L;
+    private static final int ARRAY_THRESHOLD = 8;
+    private StreamEvent[] events = new StreamEvent[2];
+    private int size = 0;
+    private HashSet<StreamEvent> eventSet;
+
+    @Override
+    public boolean add(StreamEvent streamEvent) {
+        if (eventSet != null) {
+            return eventSet.add(streamEvent);
+        }
+        if (indexOf(streamEvent) >= 0) {
+            return false;
+        }
+        if (size == ARRAY_THRESHOLD) {
+            eventSet = new HashSet<>(Arrays.asList(events).subList(0, size));
+            events = null;
+            return eventSet.add(streamEvent);
+        }
+        if (size == events.length) {
+            events = Arrays.copyOf(events, Math.min(size << 1, ARRAY_THRESHOLD));
+        }
+        events[size++] = streamEvent;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (eventSet != null) {
+            return eventSet.remove(o);
+        }
+        int index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (eventSet != null) {
+            return eventSet.contains(o);
+        }
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public int size() {
+        if (eventSet != null) {
+            return eventSet.size();
+        }
+        return size;
+    }
+
+    @Override
+    public Iterator<StreamEvent> iterator() {
+        if (eventSet != null) {
+            return eventSet.iterator();
+        }
+        return new Iterator<StreamEvent>() {
+            private int index = 0;
+            private boolean removable = false;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public StreamEvent next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                removable = true;
+                return events[index++];
+            }
+
+            @Override
+            public void remove() {
+                if (!removable) {
+                    throw new IllegalStateException();
+                }
+                removeAt(--index);
+                removable = false;
+            }
+        };
+    }
+
+    private int indexOf(Object o) {
+        for (int i = 0; i < size; i++) {
+            if (events[i].equals(o)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void removeAt(int index) {
+        size--;
+        System.arraycopy(events, index + 1, events, index, size - index);
+        events[size] = null;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.table.holder;
+
+import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
+import org.ballerinalang.siddhi.core.exception.OperationNotSupportedException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * {@link PrimaryKeyIndex} backed by a {@link HashMap}, or by a {@link TreeMap} when range operations are needed.
+ * Used for string, boolean, object and composite primary keys.
+ */
+class MapPrimaryKeyIndex implements PrimaryKeyIndex {
+
+    private static final long serialVersionUID = -3176523810418379215L;
+    private final Map<Object, StreamEvent> primaryKeyData;
+
+    MapPrimaryKeyIndex(boolean isSorted) {
+        if (isSorted) {
+            primaryKeyData = new TreeMap<>();
+        } else {
+            primaryKeyData = new HashMap<>();
+        }
+    }
+
+    @Override
+    public StreamEvent get(Object key) {
+        return primaryKeyData.get(key);
+    }
+
+    @Override
+    public StreamEvent put(Object key, StreamEvent streamEvent) {
+        return primaryKeyData.put(key, streamEvent);
+    }
+
+    @Override
+    public StreamEvent putIfAbsent(Object key, StreamEvent streamEvent) {
+        return primaryKeyData.putIfAbsent(key, streamEvent);
+    }
+
+    @Override
+    public StreamEvent remove(Object key) {
+        return primaryKeyData.remove(key);
+    }
+
+    @Override
+    public int size() {
+        return primaryKeyData.size();
+    }
+
+    @Override
+    public void clear() {
+        primaryKeyData.clear();
+    }
+
+    @Override
+    public Set<Object> keySet() {
+        return primaryKeyData.keySet();
+    }
+
+    @Override
+    public Collection<StreamEvent> values() {
+        return primaryKeyData.values();
+    }
+
+    @Override
+    public Collection<StreamEvent> headValues(Object key, boolean inclusive) {
+        return new ArrayList<>(navigableMap().headMap(key, inclusive).values());
+    }
+
+    @Override
+    public Collection<StreamEvent> tailValues(Object key, boolean inclusive) {
+        return new ArrayList<>(navigableMap().tailMap(key, inclusive).values());
+    }
+
+    @Override
+    public Object lowerKey(Object key) {
+        return navigableMap().lowerKey(key);
+    }
+
+    @Override
+    public Object higherKey(Object key) {
+        return navigableMap().higherKey(key);
+    }
+
+    @Override
+    public Object floorKey(Object key) {
+        return navigableMap().floorKey(key);
+    }
+
+    @Override
+    public Object ceilingKey(Object key) {
+        return navigableMap().ceilingKey(key);
+    }
+
+    private NavigableMap<Object, StreamEvent> navigableMap() {
+        if (primaryKeyData instanceof NavigableMap) {
+            return (NavigableMap<Object, StreamEvent>) primaryKeyData;
+        }
+        throw new OperationNotSupportedException("Range operations are not supported on unsorted primary keys");
+    }
+}
@@ -0,0 +1,398 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.table.holder;
+
+import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
+import org.ballerinalang.siddhi.query.api.definition.Attribute;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * {@link PrimaryKeyIndex} for INT, LONG, FLOAT and DOUBLE primary keys. Keys are kept unboxed in an open addressing
+ * hash table, so point lookups do not allocate and no per entry objects are retained. Range operations are served
+ * from a {@link SortedLongSet} of the keys, which is built on the first range operation and maintained on each put
+ * and remove afterwards, so that tables which are only looked up by their key do not pay for it. Range operations run
+ * under the read lock of the table, hence the set is published through a volatile field once it is built, while puts
+ * and removes run under its write lock.
+ * <p>
+ * Probes of INT and LONG keys may be non-integral, as when a table is compared with a FLOAT or DOUBLE attribute. They
+ * never equal a key, and range operations compare them with the keys as doubles. NaN probes compare greater than every
+ * key, as in {@link Double#compare(double, double)}.
+ */
+class NumericPrimaryKeyIndex implements PrimaryKeyIndex {
+
+    private static final long serialVersionUID = 5127683712093812737L;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long SIGN_MASK = 0x7FFFFFFFFFFFFFFFL;
+
+    private final Attribute.Type keyType;
+    private final boolean isFloatingPoint;
+    private long[] keys;
+    private StreamEvent[] values;
+    private int size = 0;
+    private StreamEvent nullKeyValue;
+    private transient volatile SortedLongSet sortedKeys;
+
+    NumericPrimaryKeyIndex(Attribute.Type keyType) {
+        this.keyType = keyType;
+        this.isFloatingPoint = keyType == Attribute.Type.FLOAT || keyType == Attribute.Type.DOUBLE;
+        this.keys = new long[DEFAULT_CAPACITY];
+        this.values = new StreamEvent[DEFAULT_CAPACITY];
+    }
+
+    @Override
+    public StreamEvent get(Object key) {
+        if (key == null) {
+            return nullKeyValue;
+        }
+        if (!isIntegral(key)) {
+            return null;
+        }
+        int index = indexOf(encode(key));
+        return index < 0 ? null : values[index];
+    }
+
+    @Override
+    public StreamEvent put(Object key, StreamEvent streamEvent) {
+        return put(key, streamEvent, true);
+    }
+
+    @Override
+    public StreamEvent putIfAbsent(Object key, StreamEvent streamEvent) {
+        return put(key, streamEvent, false);
+    }
+
+    private StreamEvent put(Object key, StreamEvent streamEvent, boolean overwrite) {
+        if (key == null) {
+            StreamEvent previous = nullKeyValue;
+            if (previous == null || overwrite) {
+                nullKeyValue = streamEvent;
+            }
+            return previous;
+        }
+        long encodedKey = encode(key);
+        int mask = keys.length - 1;
+        int index = hash(encodedKey) & mask;
+        while (values[index] != null) {
+            if (keys[index] == encodedKey) {
+                StreamEvent previous = values[index];
+                if (overwrite) {
+                    values[index] = streamEvent;
+                }
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = encodedKey;
+        values[index] = streamEvent;
+        SortedLongSet sorted = sortedKeys;
+        if (sorted != null) {
+            sorted.add(sortable(encodedKey));
+        }
+        if (++size > (keys.length >> 1) + (keys.length >> 2)) {
+            resize(keys.length << 1);
+        }
+        return null;
+    }
+
+    @Override
+    public StreamEvent remove(Object key) {
+        if (key == null) {
+            StreamEvent previous = nullKeyValue;
+            nullKeyValue = null;
+            return previous;
+        }
+        if (!isIntegral(key)) {
+            return null;
+        }
+        int index = indexOf(encode(key));
+        if (index < 0) {
+            return null;
+        }
+        StreamEvent previous = values[index];
+        removeAt(index);
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return nullKeyValue == null ? size : size + 1;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+        nullKeyValue = null;
+        sortedKeys = null;
+    }
+
+    @Override
+    public Set<Object> keySet() {
+        Set<Object> keySet = new HashSet<>(size());
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                keySet.add(decode(keys[i]));
+            }
+        }
+        if (nullKeyValue != null) {
+            keySet.add(null);
+        }
+        return keySet;
+    }
+
+    @Override
+    public Collection<StreamEvent> values() {
+        return new AbstractCollection<StreamEvent>() {
+            @Override
+            public Iterator<StreamEvent> iterator() {
+                return new ValueIterator();
+            }
+
+            @Override
+            public int size() {
+                return NumericPrimaryKeyIndex.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Collection<StreamEvent> headValues(Object key, boolean inclusive) {
+        SortedLongSet sorted = sortedKeys();
+        return collect(sorted, sorted.first(), boundary(sorted, key, inclusive));
+    }
+
+    @Override
+    public Collection<StreamEvent> tailValues(Object key, boolean inclusive) {
+        SortedLongSet sorted = sortedKeys();
+        return collect(sorted, boundary(sorted, key, !inclusive), sorted.end());
+    }
+
+    @Override
+    public Object lowerKey(Object key) {
+        SortedLongSet sorted = sortedKeys();
+        return keyAt(sorted, sorted.previous(boundary(sorted, key, false)));
+    }
+
+    @Override
+    public Object higherKey(Object key) {
+        SortedLongSet sorted = sortedKeys();
+        return keyAt(sorted, boundary(sorted, key, true));
+    }
+
+    @Override
+    public Object floorKey(Object key) {
+        SortedLongSet sorted = sortedKeys();
+        return keyAt(sorted, sorted.previous(boundary(sorted, key, true)));
+    }
+
+    @Override
+    public Object ceilingKey(Object key) {
+        SortedLongSet sorted = sortedKeys();
+        return keyAt(sorted, boundary(sorted, key, false));
+    }
+
+    private Collection<StreamEvent> collect(SortedLongSet sorted, long from, long to) {
+        Collection<StreamEvent> result = new ArrayList<>();
+        for (long position = from; position < to; position = sorted.next(position)) {
+            result.add(values[indexOf(sortable(sorted.keyAt(position)))]);
+        }
+        return result;
+    }
+
+    private Object keyAt(SortedLongSet sorted, long position) {
+        if (!sorted.hasKey(position)) {
+            return null;
+        }
+        return decode(sortable(sorted.keyAt(position)));
+    }
+
+    /**
+     * Position of the first key which is not lower than the given probe, or not lower than or equal to it when
+     * inclusive.
+     */
+    private long boundary(SortedLongSet sorted, Object key, boolean inclusive) {
+        if (!isIntegral(key)) {
+            double probe = ((Number) key).doubleValue();
+            if (Double.isNaN(probe) || probe >= 0x1p63) {
+                return sorted.end();
+            } else if (probe < -0x1p63) {
+                return sorted.first();
+            }
+            // No key equals the probe, so the keys below it are the keys up to and including its floor.
+            return sorted.seek((long) Math.floor(probe), true);
+        }
+        return sorted.seek(sortable(encode(key)), inclusive);
+    }
+
+    /**
+     * Keys sorted in their natural order. Floating point keys are stored as their raw bits, which are mapped to longs
+     * preserving the {@link Double#compare(double, double)} order. Readers which find the set missing may build it
+     * concurrently, each of them publishes a complete set.
+     */
+    private SortedLongSet sortedKeys() {
+        SortedLongSet sorted = sortedKeys;
+        if (sorted == null) {
+            long[] keysInOrder = new long[size];
+            int position = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    keysInOrder[position++] = sortable(keys[i]);
+                }
+            }
+            Arrays.sort(keysInOrder, 0, position);
+            sorted = new SortedLongSet(keysInOrder, position);
+            sortedKeys = sorted;
+        }
+        return sorted;
+    }
+
+    /**
+     * Whether the key can be encoded as is. A non-integral probe of INT or LONG keys would be truncated instead.
+     */
+    private boolean isIntegral(Object key) {
+        if (isFloatingPoint || !(key instanceof Double || key instanceof Float)) {
+            return true;
+        }
+        double value = ((Number) key).doubleValue();
+        return value == Math.rint(value) && value >= -0x1p63 && value < 0x1p63;
+    }
+
+    private long sortable(long encodedKey) {
+        if (isFloatingPoint) {
+            return encodedKey ^ ((encodedKey >> 63) & SIGN_MASK);
+        }
+        return encodedKey;
+    }
+
+    private long encode(Object key) {
+        if (isFloatingPoint) {
+            return Double.doubleToLongBits(((Number) key).doubleValue());
+        }
+        return ((Number) key).longValue();
+    }
+
+    private Object decode(long encodedKey) {
+        switch (keyType) {
+            case INT:
+                return (int) encodedKey;
+            case FLOAT:
+                return (float) Double.longBitsToDouble(encodedKey);
+            case DOUBLE:
+                return Double.longBitsToDouble(encodedKey);
+            default:
+                return encodedKey;
+        }
+    }
+
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private int indexOf(long encodedKey) {
+        int mask = keys.length - 1;
+        int index = hash(encodedKey) & mask;
+        while (values[index] != null) {
+            if (keys[index] == encodedKey) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void removeAt(int index) {
+        int mask = keys.length - 1;
+        int gap = index;
+        SortedLongSet sorted = sortedKeys;
+        if (sorted != null) {
+            sorted.remove(sortable(keys[gap]));
+        }
+        values[gap] = null;
+        int current = (gap + 1) & mask;
+        while (values[current] != null) {
+            int ideal = hash(keys[current]) & mask;
+            // Shift the entry back to the gap, unless its ideal slot lies cyclically between the gap and itself.
+            boolean movable = gap <= current ? (ideal <= gap || ideal > current) : (ideal <= gap && ideal > current);
+            if (movable) {
+                keys[gap] = keys[current];
+                values[gap] = values[current];
+                values[current] = null;
+                gap = current;
+            }
+            current = (current + 1) & mask;
+        }
+        size--;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        StreamEvent[] oldValues = values;
+        keys = new long[capacity];
+        values = new StreamEvent[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int index = hash(oldKeys[i]) & mask;
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Iterates over the stored events without allocating per entry objects.
+     */
+    private class ValueIterator implements Iterator<StreamEvent> {
+
+        private int index = 0;
+        private boolean nullKeyReturned = nullKeyValue == null;
+
+        @Override
+        public boolean hasNext() {
+            while (index < values.length && values[index] == null) {
+                index++;
+            }
+            return index < values.length || !nullKeyReturned;
+        }
+
+        @Override
+        public StreamEvent next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (index < values.length) {
+                return values[index++];
+            }
+            nullKeyReturned = true;
+            return nullKeyValue;
+        }
+    }
+}
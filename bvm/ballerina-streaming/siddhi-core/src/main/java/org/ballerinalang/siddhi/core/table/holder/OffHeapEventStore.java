@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.table.holder;
+
+import org.ballerinalang.siddhi.core.exception.OperationNotSupportedException;
+import org.ballerinalang.siddhi.query.api.definition.Attribute;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores table rows outside the Java heap in direct {@link ByteBuffer} segments. Each row is addressed by an int row
+ * id which stays stable for the lifetime of the row, and is encoded as its timestamp followed by each attribute in a
+ * null flag + value binary form. Space of removed rows is reclaimed by compacting the segments once more than half
+ * of the allocated space is unused.
+ */
+class OffHeapEventStore {
+
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 20;
+    private static final int INITIAL_ROW_CAPACITY = 64;
+    private static final byte NULL = 0;
+    private static final byte NOT_NULL = 1;
+
+    private final Attribute.Type[] attributeTypes;
+    private final int segmentSize;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private ByteBuffer writeSegment;
+    private ByteBuffer encodeBuffer = ByteBuffer.allocate(256);
+    private long[] rowAddresses = new long[INITIAL_ROW_CAPACITY];
+    private int[] rowLengths = new int[INITIAL_ROW_CAPACITY];
+    private int[] freeRowIds = new int[INITIAL_ROW_CAPACITY];
+    private int freeRowCount = 0;
+    private int rowIdLimit = 0;
+    private long allocatedBytes = 0;
+    private long liveBytes = 0;
+
+    OffHeapEventStore(Attribute.Type[] attributeTypes, int segmentSize) {
+        for (Attribute.Type attributeType : attributeTypes) {
+            if (attributeType == Attribute.Type.OBJECT) {
+                throw new OperationNotSupportedException("Attributes of type " + attributeType + " cannot be " +
+                        "stored off heap");
+            }
+        }
+        this.attributeTypes = attributeTypes;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Stores the given row and returns its row id.
+     *
+     * @param timestamp timestamp of the row
+     * @param data      attribute values of the row
+     * @return id of the stored row
+     */
+    int add(long timestamp, Object[] data) {
+        int rowId;
+        if (freeRowCount > 0) {
+            rowId = freeRowIds[--freeRowCount];
+        } else {
+            rowId = rowIdLimit++;
+            if (rowId == rowAddresses.length) {
+                rowAddresses = Arrays.copyOf(rowAddresses, rowId << 1);
+                rowLengths = Arrays.copyOf(rowLengths, rowId << 1);
+            }
+        }
+        write(rowId, timestamp, data);
+        return rowId;
+    }
+
+    /**
+     * Replaces the content of an existing row, reusing its space when the new content fits in it.
+     *
+     * @param rowId     id of the row
+     * @param timestamp timestamp of the row
+     * @param data      attribute values of the row
+     */
+    void update(int rowId, long timestamp, Object[] data) {
+        int length = encode(timestamp, data);
+        if (length <= rowLengths[rowId]) {
+            ByteBuffer segment = segments.get(segmentIndex(rowAddresses[rowId]));
+            int offset = segmentOffset(rowAddresses[rowId]);
+            for (int i = 0; i < length; i++) {
+                segment.put(offset + i, encodeBuffer.get(i));
+            }
+            liveBytes += length - rowLengths[rowId];
+            rowLengths[rowId] = length;
+        } else {
+            liveBytes -= rowLengths[rowId];
+            append(rowId, length);
+            compactIfNeeded();
+        }
+    }
+
+    void remove(int rowId) {
+        liveBytes -= rowLengths[rowId];
+        rowLengths[rowId] = 0;
+        if (freeRowCount == freeRowIds.length) {
+            freeRowIds = Arrays.copyOf(freeRowIds, freeRowCount << 1);
+        }
+        freeRowIds[freeRowCount++] = rowId;
+        compactIfNeeded();
+    }
+
+    boolean isLive(int rowId) {
+        return rowId < rowIdLimit && rowLengths[rowId] > 0;
+    }
+
+    int getRowIdLimit() {
+        return rowIdLimit;
+    }
+
+    long getTimestamp(int rowId) {
+        return segments.get(segmentIndex(rowAddresses[rowId])).getLong(segmentOffset(rowAddresses[rowId]));
+    }
+
+    /**
+     * Decodes all the attributes of a row into the given array.
+     *
+     * @param rowId  id of the row
+     * @param target array to which the attribute values are written
+     */
+    void read(int rowId, Object[] target) {
+        ByteBuffer segment = segments.get(segmentIndex(rowAddresses[rowId]));
+        int offset = segmentOffset(rowAddresses[rowId]) + Long.BYTES;
+        for (int i = 0; i < attributeTypes.length; i++) {
+            target[i] = decodeAttribute(segment, offset, i);
+            offset = skipAttribute(segment, offset, i);
+        }
+    }
+
+    /**
+     * Decodes a single attribute of a row, skipping over the attributes preceding it.
+     *
+     * @param rowId    id of the row
+     * @param position position of the attribute
+     * @return value of the attribute
+     */
+    Object readAttribute(int rowId, int position) {
+        ByteBuffer segment = segments.get(segmentIndex(rowAddresses[rowId]));
+        int offset = segmentOffset(rowAddresses[rowId]) + Long.BYTES;
+        for (int i = 0; i < position; i++) {
+            offset = skipAttribute(segment, offset, i);
+        }
+        return decodeAttribute(segment, offset, position);
+    }
+
+    void clear() {
+        segments.clear();
+        writeSegment = null;
+        freeRowCount = 0;
+        rowIdLimit = 0;
+        allocatedBytes = 0;
+        liveBytes = 0;
+        Arrays.fill(rowLengths, 0);
+    }
+
+    private void write(int rowId, long timestamp, Object[] data) {
+        append(rowId, encode(timestamp, data));
+        compactIfNeeded();
+    }
+
+    private void append(int rowId, int length) {
+        if (writeSegment == null || writeSegment.remaining() < length) {
+            writeSegment = ByteBuffer.allocateDirect(Math.max(segmentSize, length));
+            segments.add(writeSegment);
+        }
+        rowAddresses[rowId] = ((long) (segments.size() - 1) << 32) | writeSegment.position();
+        rowLengths[rowId] = length;
+        encodeBuffer.limit(length).position(0);
+        writeSegment.put(encodeBuffer);
+        encodeBuffer.clear();
+        allocatedBytes += length;
+        liveBytes += length;
+    }
+
+    private void compactIfNeeded() {
+        if (allocatedBytes - liveBytes > segmentSize && allocatedBytes - liveBytes > liveBytes) {
+            List<ByteBuffer> oldSegments = new ArrayList<>(segments);
+            segments.clear();
+            writeSegment = null;
+            allocatedBytes = 0;
+            liveBytes = 0;
+            for (int rowId = 0; rowId < rowIdLimit; rowId++) {
+                int length = rowLengths[rowId];
+                if (length > 0) {
+                    ByteBuffer source = oldSegments.get(segmentIndex(rowAddresses[rowId])).duplicate();
+                    int offset = segmentOffset(rowAddresses[rowId]);
+                    source.limit(offset + length).position(offset);
+                    encodeBuffer.clear();
+                    ensureEncodeCapacity(length);
+                    encodeBuffer.put(source);
+                    append(rowId, length);
+                }
+            }
+        }
+    }
+
+    private int encode(long timestamp, Object[] data) {
+        encodeBuffer.clear();
+        ensureEncodeCapacity(Long.BYTES);
+        encodeBuffer.putLong(timestamp);
+        for (int i = 0; i < attributeTypes.length; i++) {
+            Object value = data[i];
+            if (value == null) {
+                ensureEncodeCapacity(1);
+                encodeBuffer.put(NULL);
+                continue;
+            }
+            switch (attributeTypes[i]) {
+                case STRING:
+                    byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+                    ensureEncodeCapacity(1 + Integer.BYTES + bytes.length);
+                    encodeBuffer.put(NOT_NULL).putInt(bytes.length).put(bytes);
+                    break;
+                case INT:
+                    ensureEncodeCapacity(1 + Integer.BYTES);
+                    encodeBuffer.put(NOT_NULL).putInt((Integer) value);
+                    break;
+                case LONG:
+                    ensureEncodeCapacity(1 + Long.BYTES);
+                    encodeBuffer.put(NOT_NULL).putLong((Long) value);
+                    break;
+                case FLOAT:
+                    ensureEncodeCapacity(1 + Float.BYTES);
+                    encodeBuffer.put(NOT_NULL).putFloat((Float) value);
+                    break;
+                case DOUBLE:
+                    ensureEncodeCapacity(1 + Double.BYTES);
+                    encodeBuffer.put(NOT_NULL).putDouble((Double) value);
+                    break;
+                case BOOL:
+                    ensureEncodeCapacity(2);
+                    encodeBuffer.put(NOT_NULL).put((Boolean) value ? (byte) 1 : (byte) 0);
+                    break;
+                default:
+                    throw new OperationNotSupportedException("Attributes of type " + attributeTypes[i] +
+                            " cannot be stored off heap");
+            }
+        }
+        return encodeBuffer.position();
+    }
+
+    private void ensureEncodeCapacity(int length) {
+        if (encodeBuffer.remaining() < length) {
+            ByteBuffer newBuffer = ByteBuffer.allocate(Math.max(encodeBuffer.capacity() << 1,
+                    encodeBuffer.position() + length));
+            encodeBuffer.flip();
+            newBuffer.put(encodeBuffer);
+            encodeBuffer = newBuffer;
+        }
+    }
+
+    private Object decodeAttribute(ByteBuffer segment, int offset, int position) {
+        if (segment.get(offset++) == NULL) {
+            return null;
+        }
+        switch (attributeTypes[position]) {
+            case STRING:
+                byte[] bytes = new byte[segment.getInt(offset)];
+                ByteBuffer view = segment.duplicate();
+                view.position(offset + Integer.BYTES);
+                view.get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            case INT:
+                return segment.getInt(offset);
+            case LONG:
+                return segment.getLong(offset);
+            case FLOAT:
+                return segment.getFloat(offset);
+            case DOUBLE:
+                return segment.getDouble(offset);
+            default:
+                return segment.get(offset) == 1;
+        }
+    }
+
+    private int skipAttribute(ByteBuffer segment, int offset, int position) {
+        if (segment.get(offset++) == NULL) {
+            return offset;
+        }
+        switch (attributeTypes[position]) {
+            case STRING:
+                return offset + Integer.BYTES + segment.getInt(offset);
+            case INT:
+                return offset + Integer.BYTES;
+            case FLOAT:
+                return offset + Float.BYTES;
+            case LONG:
+            case DOUBLE:
+                return offset + Long.BYTES;
+            default:
+                return offset + 1;
+        }
+    }
+
+    private static int segmentIndex(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int segmentOffset(long address) {
+        return (int) address;
+    }
+}
@@ -0,0 +1,432 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.table.holder;
+
+import org.ballerinalang.siddhi.core.config.SiddhiAppContext;
+import org.ballerinalang.siddhi.core.event.ComplexEvent;
+import org.ballerinalang.siddhi.core.event.ComplexEventChunk;
+import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
+import org.ballerinalang.siddhi.core.event.stream.StreamEventFactory;
+import org.ballerinalang.siddhi.core.exception.OperationNotSupportedException;
+import org.ballerinalang.siddhi.core.util.SiddhiConstants;
+import org.ballerinalang.siddhi.query.api.definition.AbstractDefinition;
+import org.ballerinalang.siddhi.query.api.definition.Attribute;
+import org.ballerinalang.siddhi.query.api.expression.condition.Compare;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@link IndexedEventHolder} which keeps the table rows off heap in an {@link OffHeapEventStore}, so that large
+ * reference tables do not add to the GC load. Rows are indexed by their primary key through an int based hash index
+ * kept on heap, and are decoded into {@link StreamEvent}s only when they are looked up. Secondary indexes are not
+ * supported, and conditions on other attributes are evaluated by scanning the rows.
+ * <p>
+ * Events returned by this holder are copies, hence modifications done on them are not reflected in the table unless
+ * they are written back via {@link #overwrite(StreamEvent)} or {@link #updated(StreamEvent)}. The copies are newly
+ * created rather than borrowed from the event pool of the table, since the holder is not told when a caller is done
+ * with them.
+ * <p>
+ * Numeric primary key values are compared by their value rather than their boxed type, so that an INT probe finds a
+ * LONG key and vice versa, as with the on heap {@link IndexEventHolder}.
+ */
+public class OffHeapIndexEventHolder implements IndexedEventHolder, Serializable {
+
+    private static final Logger log = LoggerFactory.getLogger(OffHeapIndexEventHolder.class);
+    private static final long serialVersionUID = -2830961183092867612L;
+    private static final int NO_ROW = -1;
+
+    private final PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders;
+    private final Attribute.Type[] attributeTypes;
+    private final String tableName;
+    private final String siddhiAppName;
+    private final String primaryKeyAttributes;
+    private final Map<String, Integer> multiPrimaryKeyMetaData = new LinkedHashMap<>();
+    private final StreamEventFactory streamEventFactory;
+    private transient OffHeapEventStore eventStore;
+    private transient int[] buckets;
+    private transient int[] nextRows;
+    private transient int[] rowHashes;
+    private transient int size;
+
+    public OffHeapIndexEventHolder(PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders,
+                                   AbstractDefinition tableDefinition, SiddhiAppContext siddhiAppContext) {
+        this.primaryKeyReferenceHolders = primaryKeyReferenceHolders;
+        this.attributeTypes = tableDefinition.getAttributeList().stream()
+                .map(Attribute::getType).toArray(Attribute.Type[]::new);
+        this.streamEventFactory = new StreamEventFactory(0, 0, attributeTypes.length);
+        this.tableName = tableDefinition.getId();
+        this.siddhiAppName = siddhiAppContext.getName();
+        if (primaryKeyReferenceHolders.length == 1) {
+            primaryKeyAttributes = primaryKeyReferenceHolders[0].getPrimaryKeyAttribute();
+        } else {
+            StringBuilder primaryKeyAttributesBuilder = new StringBuilder();
+            for (PrimaryKeyReferenceHolder primaryKeyReferenceHolder : primaryKeyReferenceHolders) {
+                multiPrimaryKeyMetaData.put(primaryKeyReferenceHolder.getPrimaryKeyAttribute(),
+                        primaryKeyReferenceHolder.getPrimaryKeyPosition());
+                primaryKeyAttributesBuilder.append(primaryKeyReferenceHolder.getPrimaryKeyAttribute())
+                        .append(SiddhiConstants.KEY_DELIMITER);
+            }
+            primaryKeyAttributes = primaryKeyAttributesBuilder.toString();
+        }
+        init();
+    }
+
+    private void init() {
+        eventStore = new OffHeapEventStore(attributeTypes, OffHeapEventStore.DEFAULT_SEGMENT_SIZE);
+        buckets = new int[16];
+        Arrays.fill(buckets, NO_ROW);
+        nextRows = new int[16];
+        rowHashes = new int[16];
+        size = 0;
+    }
+
+    @Override
+    public Set<Object> getAllPrimaryKeyValues() {
+        Set<Object> primaryKeys = new HashSet<>(size);
+        for (int rowId = 0; rowId < eventStore.getRowIdLimit(); rowId++) {
+            if (eventStore.isLive(rowId)) {
+                primaryKeys.add(readPrimaryKey(rowId));
+            }
+        }
+        return primaryKeys;
+    }
+
+    @Override
+    public PrimaryKeyReferenceHolder[] getPrimaryKeyReferenceHolders() {
+        return primaryKeyReferenceHolders;
+    }
+
+    @Override
+    public boolean isMultiPrimaryKeyAttribute(String attributeName) {
+        return multiPrimaryKeyMetaData.containsKey(attributeName);
+    }
+
+    @Override
+    public boolean isAttributeIndexed(String attribute) {
+        return primaryKeyReferenceHolders.length == 1 && primaryKeyAttributes.equals(attribute);
+    }
+
+    @Override
+    public boolean isAttributeIndexed(int position) {
+        return primaryKeyReferenceHolders.length == 1 &&
+                primaryKeyReferenceHolders[0].getPrimaryKeyPosition() == position;
+    }
+
+    @Override
+    public void add(ComplexEventChunk<StreamEvent> addingEventChunk) {
+        addingEventChunk.reset();
+        while (addingEventChunk.hasNext()) {
+            ComplexEvent complexEvent = addingEventChunk.next();
+            add(complexEvent.getTimestamp(), complexEvent.getOutputData());
+        }
+    }
+
+    private void add(long timestamp, Object[] data) {
+        Object primaryKey = constructPrimaryKey(data);
+        int hash = hash(primaryKey);
+        if (findRow(primaryKey, hash) != NO_ROW) {
+            log.error("Siddhi App '" + siddhiAppName + "' table '" + tableName + "' drooping event : " +
+                    Arrays.toString(data) + ", as there is already an event stored with primary key '" +
+                    primaryKey + "'");
+            return;
+        }
+        int rowId = eventStore.add(timestamp, data);
+        link(rowId, hash);
+    }
+
+    @Override
+    public void overwrite(StreamEvent streamEvent) {
+        Object primaryKey = constructPrimaryKey(streamEvent.getOutputData());
+        int hash = hash(primaryKey);
+        int rowId = findRow(primaryKey, hash);
+        if (rowId == NO_ROW) {
+            link(eventStore.add(streamEvent.getTimestamp(), streamEvent.getOutputData()), hash);
+        } else {
+            eventStore.update(rowId, streamEvent.getTimestamp(), streamEvent.getOutputData());
+        }
+    }
+
+    @Override
+    public void updated(StreamEvent streamEvent) {
+        // off heap rows are read as copies, hence the updated copy has to be written back
+        overwrite(streamEvent);
+    }
+
+    @Override
+    public Collection<StreamEvent> getAllEvents() {
+        List<StreamEvent> events = new ArrayList<>(size);
+        for (int rowId = 0; rowId < eventStore.getRowIdLimit(); rowId++) {
+            if (eventStore.isLive(rowId)) {
+                events.add(readEvent(rowId));
+            }
+        }
+        return events;
+    }
+
+    @Override
+    public Collection<StreamEvent> findEvents(String attribute, Compare.Operator operator, Object value) {
+        validateAttribute(attribute, operator, value);
+        if (operator == Compare.Operator.EQUAL) {
+            List<StreamEvent> events = new ArrayList<>(1);
+            int rowId = findRow(value, hash(value));
+            if (rowId != NO_ROW) {
+                events.add(readEvent(rowId));
+            }
+            return events;
+        }
+        List<StreamEvent> events = new ArrayList<>();
+        for (int rowId = 0; rowId < eventStore.getRowIdLimit(); rowId++) {
+            if (eventStore.isLive(rowId) && matches(readPrimaryKey(rowId), operator, value)) {
+                events.add(readEvent(rowId));
+            }
+        }
+        return events;
+    }
+
+    @Override
+    public void deleteAll() {
+        eventStore.clear();
+        Arrays.fill(buckets, NO_ROW);
+        size = 0;
+    }
+
+    @Override
+    public void deleteAll(Collection<StreamEvent> storeEventSet) {
+        for (StreamEvent streamEvent : storeEventSet) {
+            Object primaryKey = constructPrimaryKey(streamEvent.getOutputData());
+            int rowId = findRow(primaryKey, hash(primaryKey));
+            if (rowId != NO_ROW) {
+                removeRow(rowId);
+            }
+        }
+    }
+
+    @Override
+    public void delete(String attribute, Compare.Operator operator, Object value) {
+        validateAttribute(attribute, operator, value);
+        if (operator == Compare.Operator.EQUAL) {
+            int rowId = findRow(value, hash(value));
+            if (rowId != NO_ROW) {
+                removeRow(rowId);
+            }
+            return;
+        }
+        for (int rowId = 0; rowId < eventStore.getRowIdLimit(); rowId++) {
+            if (eventStore.isLive(rowId) && matches(readPrimaryKey(rowId), operator, value)) {
+                removeRow(rowId);
+            }
+        }
+    }
+
+    @Override
+    public boolean containsEventSet(String attribute, Compare.Operator operator, Object value) {
+        validateAttribute(attribute, operator, value);
+        if (operator == Compare.Operator.EQUAL) {
+            return findRow(value, hash(value)) != NO_ROW;
+        }
+        for (int rowId = 0; rowId < eventStore.getRowIdLimit(); rowId++) {
+            if (eventStore.isLive(rowId) && matches(readPrimaryKey(rowId), operator, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void validateAttribute(String attribute, Compare.Operator operator, Object value) {
+        if (!primaryKeyAttributes.equals(attribute)) {
+            throw new OperationNotSupportedException(operator + " not supported for '" + value + "' on attribute '" +
+                    attribute + "' by " + getClass().getName());
+        }
+    }
+
+    private boolean matches(Object key, Compare.Operator operator, Object value) {
+        if (key == null || value == null) {
+            return operator == Compare.Operator.NOT_EQUAL && key != value;
+        }
+        switch (operator) {
+            case NOT_EQUAL:
+                return !keyEquals(key, value);
+            case LESS_THAN:
+                return compareKeys(key, value) < 0;
+            case GREATER_THAN:
+                return compareKeys(key, value) > 0;
+            case LESS_THAN_EQUAL:
+                return compareKeys(key, value) <= 0;
+            case GREATER_THAN_EQUAL:
+                return compareKeys(key, value) >= 0;
+            default:
+                return keyEquals(key, value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareKeys(Object key, Object value) {
+        if (key instanceof Number && value instanceof Number) {
+            Object normalizedKey = normalize(key);
+            Object normalizedValue = normalize(value);
+            if (normalizedKey instanceof Long && normalizedValue instanceof Long) {
+                return Long.compare((Long) normalizedKey, (Long) normalizedValue);
+            }
+            return Double.compare(((Number) key).doubleValue(), ((Number) value).doubleValue());
+        }
+        return ((Comparable<Object>) key).compareTo(value);
+    }
+
+    private static boolean keyEquals(Object key, Object value) {
+        return Objects.equals(normalize(key), normalize(value));
+    }
+
+    /**
+     * Maps the numeric key values to a single boxed type, longs for the integral types and doubles for the floating
+     * point types, so that their hash codes and equality do not depend on the type they were boxed as.
+     */
+    private static Object normalize(Object key) {
+        if (key instanceof Integer || key instanceof Short || key instanceof Byte) {
+            return ((Number) key).longValue();
+        } else if (key instanceof Float) {
+            return ((Float) key).doubleValue();
+        }
+        return key;
+    }
+
+    private StreamEvent readEvent(int rowId) {
+        StreamEvent streamEvent = streamEventFactory.newInstance();
+        streamEvent.setTimestamp(eventStore.getTimestamp(rowId));
+        eventStore.read(rowId, streamEvent.getOutputData());
+        return streamEvent;
+    }
+
+    private Object readPrimaryKey(int rowId) {
+        if (primaryKeyReferenceHolders.length == 1) {
+            return eventStore.readAttribute(rowId, primaryKeyReferenceHolders[0].getPrimaryKeyPosition());
+        }
+        StringBuilder stringBuilder = new StringBuilder();
+        for (PrimaryKeyReferenceHolder primaryKeyReferenceHolder : primaryKeyReferenceHolders) {
+            stringBuilder.append(eventStore.readAttribute(rowId, primaryKeyReferenceHolder.getPrimaryKeyPosition()))
+                    .append(SiddhiConstants.KEY_DELIMITER);
+        }
+        return stringBuilder.toString();
+    }
+
+    private Object constructPrimaryKey(Object[] data) {
+        if (primaryKeyReferenceHolders.length == 1) {
+            return data[primaryKeyReferenceHolders[0].getPrimaryKeyPosition()];
+        }
+        StringBuilder stringBuilder = new StringBuilder();
+        for (PrimaryKeyReferenceHolder primaryKeyReferenceHolder : primaryKeyReferenceHolders) {
+            stringBuilder.append(data[primaryKeyReferenceHolder.getPrimaryKeyPosition()])
+                    .append(SiddhiConstants.KEY_DELIMITER);
+        }
+        return stringBuilder.toString();
+    }
+
+    private static int hash(Object key) {
+        int hash = Objects.hashCode(normalize(key));
+        return hash ^ (hash >>> 16);
+    }
+
+    private int findRow(Object primaryKey, int hash) {
+        int rowId = buckets[hash & (buckets.length - 1)];
+        while (rowId != NO_ROW) {
+            if (rowHashes[rowId] == hash && keyEquals(readPrimaryKey(rowId), primaryKey)) {
+                return rowId;
+            }
+            rowId = nextRows[rowId];
+        }
+        return NO_ROW;
+    }
+
+    private void link(int rowId, int hash) {
+        if (rowId >= nextRows.length) {
+            nextRows = Arrays.copyOf(nextRows, Math.max(nextRows.length << 1, rowId + 1));
+            rowHashes = Arrays.copyOf(rowHashes, nextRows.length);
+        }
+        int bucket = hash & (buckets.length - 1);
+        rowHashes[rowId] = hash;
+        nextRows[rowId] = buckets[bucket];
+        buckets[bucket] = rowId;
+        if (++size > buckets.length - (buckets.length >> 2)) {
+            rehash(buckets.length << 1);
+        }
+    }
+
+    private void removeRow(int rowId) {
+        int bucket = rowHashes[rowId] & (buckets.length - 1);
+        if (buckets[bucket] == rowId) {
+            buckets[bucket] = nextRows[rowId];
+        } else {
+            int previous = buckets[bucket];
+            while (nextRows[previous] != rowId) {
+                previous = nextRows[previous];
+            }
+            nextRows[previous] = nextRows[rowId];
+        }
+        eventStore.remove(rowId);
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        buckets = new int[capacity];
+        Arrays.fill(buckets, NO_ROW);
+        for (int rowId = 0; rowId < eventStore.getRowIdLimit(); rowId++) {
+            if (eventStore.isLive(rowId)) {
+                int bucket = rowHashes[rowId] & (capacity - 1);
+                nextRows[rowId] = buckets[bucket];
+                buckets[bucket] = rowId;
+            }
+        }
+    }
+
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        stream.writeInt(size);
+        for (int rowId = 0; rowId < eventStore.getRowIdLimit(); rowId++) {
+            if (eventStore.isLive(rowId)) {
+                Object[] data = new Object[attributeTypes.length];
+                eventStore.read(rowId, data);
+                stream.writeLong(eventStore.getTimestamp(rowId));
+                stream.writeObject(data);
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        init();
+        int rowCount = stream.readInt();
+        for (int i = 0; i < rowCount; i++) {
+            long timestamp = stream.readLong();
+            add(timestamp, (Object[]) stream.readObject());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.table.holder;
+
+import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Primary key index used by {@link IndexEventHolder} to map a primary key value to the {@link StreamEvent} stored
+ * against it. Range operations are only supported by sorted implementations.
+ */
+interface PrimaryKeyIndex extends Serializable {
+
+    StreamEvent get(Object key);
+
+    StreamEvent put(Object key, StreamEvent streamEvent);
+
+    StreamEvent putIfAbsent(Object key, StreamEvent streamEvent);
+
+    StreamEvent remove(Object key);
+
+    int size();
+
+    void clear();
+
+    Set<Object> keySet();
+
+    Collection<StreamEvent> values();
+
+    /**
+     * Returns the events whose keys are less than (or equal to, if inclusive is true) the given key. The returned
+     * collection is not backed by the index, hence the index can be modified while iterating over it.
+     *
+     * @param key       key to compare with
+     * @param inclusive whether the events with the given key should be included
+     * @return matching events
+     */
+    Collection<StreamEvent> headValues(Object key, boolean inclusive);
+
+    /**
+     * Returns the events whose keys are greater than (or equal to, if inclusive is true) the given key. The returned
+     * collection is not backed by the index, hence the index can be modified while iterating over it.
+     *
+     * @param key       key to compare with
+     * @param inclusive whether the events with the given key should be included
+     * @return matching events
+     */
+    Collection<StreamEvent> tailValues(Object key, boolean inclusive);
+
+    Object lowerKey(Object key);
+
+    Object higherKey(Object key);
+
+    Object floorKey(Object key);
+
+    Object ceilingKey(Object key);
+}
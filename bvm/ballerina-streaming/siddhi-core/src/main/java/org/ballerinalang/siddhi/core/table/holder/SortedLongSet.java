@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.table.holder;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of longs kept unboxed in chunks of bounded size, used by {@link NumericPrimaryKeyIndex} for its range
+ * operations. The chunk of a key is found by a binary search over the first keys of the chunks, so adding or removing
+ * a key moves at most a chunk of keys, and only the chunk references when a chunk is split or dropped.
+ * <p>
+ * Keys are addressed by positions, which pack the index of a chunk and the offset in it so that positions compare in
+ * the order of their keys. The position after the last key is {@link #end()}. Positions are invalidated when the set
+ * is modified.
+ */
+final class SortedLongSet {
+
+    private static final int CHUNK_CAPACITY = 512;
+    // Chunks are filled up to this when the set is built from keys, leaving room for later additions
+    private static final int BUILD_FILL = CHUNK_CAPACITY * 3 / 4;
+    private static final int MIN_CHUNK_COUNT = 4;
+
+    private long[][] chunks;
+    private int[] chunkSizes;
+    private int chunkCount;
+
+    /**
+     * Builds the set from the given keys, which must be sorted and distinct.
+     *
+     * @param sortedKeys keys in ascending order
+     * @param count      number of keys to take from the start of the array
+     */
+    SortedLongSet(long[] sortedKeys, int count) {
+        int capacity = Math.max(MIN_CHUNK_COUNT, (count + BUILD_FILL - 1) / BUILD_FILL);
+        this.chunks = new long[capacity][];
+        this.chunkSizes = new int[capacity];
+        for (int from = 0; from < count; from += BUILD_FILL) {
+            int chunkSize = Math.min(BUILD_FILL, count - from);
+            long[] chunk = new long[CHUNK_CAPACITY];
+            System.arraycopy(sortedKeys, from, chunk, 0, chunkSize);
+            chunks[chunkCount] = chunk;
+            chunkSizes[chunkCount++] = chunkSize;
+        }
+    }
+
+    /**
+     * Adds a key to the set.
+     *
+     * @param key the key
+     * @return true if the key was not in the set
+     */
+    boolean add(long key) {
+        if (chunkCount == 0) {
+            insertChunk(0, new long[CHUNK_CAPACITY], 0);
+        }
+        int chunk = findChunk(key);
+        int offset = Arrays.binarySearch(chunks[chunk], 0, chunkSizes[chunk], key);
+        if (offset >= 0) {
+            return false;
+        }
+        offset = -(offset + 1);
+        if (chunkSizes[chunk] == CHUNK_CAPACITY) {
+            int half = CHUNK_CAPACITY >> 1;
+            long[] upper = new long[CHUNK_CAPACITY];
+            System.arraycopy(chunks[chunk], half, upper, 0, CHUNK_CAPACITY - half);
+            chunkSizes[chunk] = half;
+            insertChunk(chunk + 1, upper, CHUNK_CAPACITY - half);
+            if (offset > half) {
+                chunk++;
+                offset -= half;
+            }
+        }
+        long[] keys = chunks[chunk];
+        System.arraycopy(keys, offset, keys, offset + 1, chunkSizes[chunk] - offset);
+        keys[offset] = key;
+        chunkSizes[chunk]++;
+        return true;
+    }
+
+    /**
+     * Removes a key from the set.
+     *
+     * @param key the key
+     * @return true if the key was in the set
+     */
+    boolean remove(long key) {
+        if (chunkCount == 0) {
+            return false;
+        }
+        int chunk = findChunk(key);
+        int offset = Arrays.binarySearch(chunks[chunk], 0, chunkSizes[chunk], key);
+        if (offset < 0) {
+            return false;
+        }
+        long[] keys = chunks[chunk];
+        System.arraycopy(keys, offset + 1, keys, offset, chunkSizes[chunk] - offset - 1);
+        chunkSizes[chunk]--;
+        if (chunkSizes[chunk] == 0) {
+            removeChunk(chunk);
+        } else if (chunk + 1 < chunkCount && chunkSizes[chunk] + chunkSizes[chunk + 1] <= CHUNK_CAPACITY >> 1) {
+            // Merging sparse neighbours keeps the number of chunks proportional to the number of keys
+            System.arraycopy(chunks[chunk + 1], 0, keys, chunkSizes[chunk], chunkSizes[chunk + 1]);
+            chunkSizes[chunk] += chunkSizes[chunk + 1];
+            removeChunk(chunk + 1);
+        }
+        return true;
+    }
+
+    /**
+     * Position of the first key greater than the given key, or greater than or equal to it if not after.
+     *
+     * @param key   the key to seek
+     * @param after whether a key equal to the given key comes before the position
+     * @return the position, which is {@link #end()} if there is no such key
+     */
+    long seek(long key, boolean after) {
+        if (chunkCount == 0) {
+            return end();
+        }
+        int chunk = findChunk(key);
+        int offset = Arrays.binarySearch(chunks[chunk], 0, chunkSizes[chunk], key);
+        if (offset < 0) {
+            offset = -(offset + 1);
+        } else if (after) {
+            offset++;
+        }
+        return normalize(chunk, offset);
+    }
+
+    long first() {
+        return position(0, 0);
+    }
+
+    long end() {
+        return position(chunkCount, 0);
+    }
+
+    long next(long position) {
+        return normalize(chunkIndex(position), offset(position) + 1);
+    }
+
+    /**
+     * Position of the key before the given position.
+     *
+     * @param position a position of the set
+     * @return the position, or -1 if the given position is the first
+     */
+    long previous(long position) {
+        int chunk = chunkIndex(position);
+        int offset = offset(position);
+        if (offset > 0) {
+            return position(chunk, offset - 1);
+        }
+        return chunk > 0 ? position(chunk - 1, chunkSizes[chunk - 1] - 1) : -1;
+    }
+
+    /**
+     * Whether there is a key at the given position.
+     *
+     * @param position a position of the set, or -1
+     * @return false for -1 and {@link #end()}
+     */
+    boolean hasKey(long position) {
+        return position >= 0 && chunkIndex(position) < chunkCount;
+    }
+
+    long keyAt(long position) {
+        return chunks[chunkIndex(position)][offset(position)];
+    }
+
+    /**
+     * Index of the last chunk which starts with a key lower than or equal to the given key, or 0 if there's none.
+     */
+    private int findChunk(long key) {
+        int low = 1;
+        int high = chunkCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (chunks[mid][0] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low - 1;
+    }
+
+    private long normalize(int chunk, int offset) {
+        if (offset == chunkSizes[chunk]) {
+            return position(chunk + 1, 0);
+        }
+        return position(chunk, offset);
+    }
+
+    private void insertChunk(int index, long[] keys, int size) {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount << 1);
+            chunkSizes = Arrays.copyOf(chunkSizes, chunkCount << 1);
+        }
+        System.arraycopy(chunks, index, chunks, index + 1, chunkCount - index);
+        System.arraycopy(chunkSizes, index, chunkSizes, index + 1, chunkCount - index);
+        chunks[index] = keys;
+        chunkSizes[index] = size;
+        chunkCount++;
+    }
+
+    private void removeChunk(int index) {
+        System.arraycopy(chunks, index + 1, chunks, index, chunkCount - index - 1);
+        System.arraycopy(chunkSizes, index + 1, chunkSizes, index, chunkCount - index - 1);
+        chunks[--chunkCount] = null;
+    }
+
+    private static long position(int chunk, int offset) {
+        return ((long) chunk << 32) | offset;
+    }
+
+    private static int chunkIndex(long position) {
+        return (int) (position >>> 32);
+    }
+
+    private static int offset(long position) {
+        return (int) position;
+    }
+}
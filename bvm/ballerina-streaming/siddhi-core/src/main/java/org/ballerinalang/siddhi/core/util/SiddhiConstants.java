@@ -52,6 +52,8 @@ public final class SiddhiConstants {
     public static final String ANNOTATION_INDEX_BY = "IndexBy";
     public static final String ANNOTATION_INDEX = "Index";
     public static final String ANNOTATION_PRIMARY_KEY = "PrimaryKey";
+    public static final String ANNOTATION_OFF_HEAP = "OffHeap";
+    public static final String ANNOTATION_PURGE = "Purge";
     public static final String ANNOTATION_STORE = "Store";
     public static final String ANNOTATION_SOURCE = "Source";
     public static final String ANNOTATION_SINK = "Sink";
@@ -62,8 +64,14 @@ public final class SiddhiConstants {
     public static final String ANNOTATION_ATTRIBUTES = "Attributes";
     public static final String ANNOTATION_PAYLOAD = "Payload";
     public static final String ANNOTATION_ELEMENT_BUFFER_SIZE = "buffer.size";
+    public static final String ANNOTATION_ELEMENT_WORKERS = "workers";
+    public static final String ANNOTATION_ELEMENT_BATCH_SIZE_MAX = "batch.size.max";
+    public static final String ANNOTATION_ELEMENT_WAIT_STRATEGY = "wait.strategy";
+    public static final String ANNOTATION_ELEMENT_BLOCK_ON_FULL = "block.on.full";
     public static final String ANNOTATION_ELEMENT_IDLE_TIME = "idle.time";
     public static final String ANNOTATION_ELEMENT_INCREMENT = "increment";
+    public static final String ANNOTATION_ELEMENT_INTERVAL = "interval";
+    public static final String ANNOTATION_ELEMENT_IDLE_PERIOD = "idle.period";
     public static final String ANNOTATION_ELEMENT_TYPE = "type";
     public static final String ANNOTATION_BUFFER_SIZE = "BufferSize";
     public static final String ANNOTATION_IGNORE_EVENTS_OLDER_THAN_BUFFER = "IgnoreEventsOlderThanBuffer";
@@ -74,6 +82,11 @@ public final class SiddhiConstants {
     public static final String TRUE = "true";
     public static final String TRIGGER_START = "start";
     public static final int DEFAULT_EVENT_BUFFER_SIZE = 1024;
+    public static final String WAIT_STRATEGY_BLOCKING = "blocking";
+    public static final String WAIT_STRATEGY_LITE_BLOCKING = "lite.blocking";
+    public static final String WAIT_STRATEGY_SLEEPING = "sleeping";
+    public static final String WAIT_STRATEGY_YIELDING = "yielding";
+    public static final String WAIT_STRATEGY_BUSY_SPIN = "busy.spin";
     public static final int HAVING_STATE = -2;
     public static final int UNKNOWN_STATE = -1;
     public static final int CURRENT = -1;
@@ -186,6 +186,7 @@ public class IndexOperator implements Operator {
                             compiledUpdateSet.getExpressionExecutorMap().entrySet()) {
                         streamEvent.setOutputData(entry.getValue().execute(overwritingOrAddingEvent), entry.getKey());
                     }
+                    storeEvents.updated(streamEvent);
                 }
             }
         }
@@ -26,6 +26,7 @@ import org.ballerinalang.siddhi.core.exception.SiddhiAppCreationException;
 import org.ballerinalang.siddhi.core.table.holder.EventHolder;
 import org.ballerinalang.siddhi.core.table.holder.IndexEventHolder;
 import org.ballerinalang.siddhi.core.table.holder.ListEventHolder;
+import org.ballerinalang.siddhi.core.table.holder.OffHeapIndexEventHolder;
 import org.ballerinalang.siddhi.core.table.holder.PrimaryKeyReferenceHolder;
 import org.ballerinalang.siddhi.core.util.SiddhiConstants;
 import org.ballerinalang.siddhi.query.api.annotation.Annotation;
@@ -98,6 +99,28 @@ public class EventHolderPasser {
                     " at '" + tableDefinition.getId() + "'");
         }
 
+        // offHeap.
+        Annotation offHeapAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_OFF_HEAP,
+                tableDefinition.getAnnotations());
+        if (offHeapAnnotation != null) {
+            if (primaryKeyReferenceHolders == null || indexMetaData.size() > 0) {
+                throw new SiddhiAppCreationException(SiddhiConstants.ANNOTATION_OFF_HEAP + " annotation is only " +
+                        "supported with a " + SiddhiConstants.ANNOTATION_PRIMARY_KEY + " annotation and without " +
+                        SiddhiConstants.ANNOTATION_INDEX + " annotations, at '" + tableDefinition.getId() + "'",
+                        offHeapAnnotation.getQueryContextStartIndex(), offHeapAnnotation.getQueryContextEndIndex());
+            }
+            for (Attribute attribute : tableDefinition.getAttributeList()) {
+                if (attribute.getType() == Attribute.Type.OBJECT) {
+                    throw new SiddhiAppCreationException(SiddhiConstants.ANNOTATION_OFF_HEAP + " annotation does " +
+                            "not support attributes of type " + attribute.getType() + ", but found '" +
+                            attribute.getName() + "' at '" + tableDefinition.getId() + "'",
+                            offHeapAnnotation.getQueryContextStartIndex(),
+                            offHeapAnnotation.getQueryContextEndIndex());
+                }
+            }
+            return new OffHeapIndexEventHolder(primaryKeyReferenceHolders, tableDefinition, siddhiAppContext);
+        }
+
         if (primaryKeyReferenceHolders != null || indexMetaData.size() > 0) {
             boolean isNumeric = false;
             if (primaryKeyReferenceHolders != null) {
@@ -31,7 +31,10 @@ import org.ballerinalang.siddhi.core.query.input.stream.join.JoinStreamRuntime;
 import org.ballerinalang.siddhi.core.query.input.stream.single.SingleStreamRuntime;
 import org.ballerinalang.siddhi.core.query.output.callback.OutputCallback;
 import org.ballerinalang.siddhi.core.query.output.ratelimit.OutputRateLimiter;
+import org.ballerinalang.siddhi.core.query.output.ratelimit.PassThroughOutputRateLimiter;
 import org.ballerinalang.siddhi.core.query.output.ratelimit.snapshot.WrappedSnapshotOutputRateLimiter;
+import org.ballerinalang.siddhi.core.query.processor.Processor;
+import org.ballerinalang.siddhi.core.query.processor.filter.FilterProcessor;
 import org.ballerinalang.siddhi.core.query.selector.QuerySelector;
 import org.ballerinalang.siddhi.core.table.Table;
 import org.ballerinalang.siddhi.core.util.ExceptionUtil;
@@ -214,6 +217,18 @@ public class QueryParser {
             }
             outputRateLimiter.init(siddhiAppContext, lockWrapper, queryName);
 
+            if (streamRuntime instanceof SingleStreamRuntime && lockWrapper == null && selector.isStateless() &&
+                    outputRateLimiter instanceof PassThroughOutputRateLimiter) {
+                // Only filters between the receiver and the selector, hence each event is processed on its own
+                SingleStreamRuntime singleStreamRuntime = (SingleStreamRuntime) streamRuntime;
+                Processor processor = singleStreamRuntime.getProcessorChain();
+                while (processor instanceof FilterProcessor) {
+                    processor = processor.getNextProcessor();
+                }
+                singleStreamRuntime.getProcessStreamReceiver().setStateless(processor == null ||
+                        processor == selector);
+            }
+
         } catch (DuplicateDefinitionException e) {
             if (nameElement != null) {
                 throw new DuplicateDefinitionException(e.getMessageWithOutContext() + ", when creating query " +
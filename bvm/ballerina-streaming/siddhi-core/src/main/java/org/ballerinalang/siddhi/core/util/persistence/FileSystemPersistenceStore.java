@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.siddhi.core.util.persistence;
+
+import org.ballerinalang.siddhi.core.exception.SiddhiAppRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+/**
+ * Implementation of {@link PersistenceStore} which stores each revision as a file, in a directory per Siddhi app
+ * under the directory given by the {@code location} property. Revisions are written to a temporary file which is
+ * then moved in place, so that a partially written revision is never loaded.
+ */
+public class FileSystemPersistenceStore implements PersistenceStore {
+
+    public static final String LOCATION = "location";
+
+    private static final Logger log = LoggerFactory.getLogger(FileSystemPersistenceStore.class);
+    private static final String DEFAULT_LOCATION = "siddhi-app-persistence";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private Path location = Paths.get(DEFAULT_LOCATION);
+
+    public FileSystemPersistenceStore() {
+    }
+
+    public FileSystemPersistenceStore(String location) {
+        this.location = Paths.get(location);
+    }
+
+    @Override
+    public void save(String siddhiAppId, String revision, byte[] snapshot) {
+        Path directory = location.resolve(siddhiAppId);
+        Path file = directory.resolve(revision);
+        Path tempFile = directory.resolve(revision + TEMP_FILE_SUFFIX);
+        try {
+            Files.createDirectories(directory);
+            Files.write(tempFile, snapshot);
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new SiddhiAppRuntimeException("Cannot persist revision " + revision + " of Siddhi app " +
+                    siddhiAppId + " to " + file, e);
+        }
+    }
+
+    @Override
+    public void setProperties(Map properties) {
+        Object configuredLocation = properties.get(LOCATION);
+        if (configuredLocation != null) {
+            location = Paths.get(configuredLocation.toString());
+        }
+    }
+
+    @Override
+    public byte[] load(String siddhiAppId, String revision) {
+        Path file = location.resolve(siddhiAppId).resolve(revision);
+        try {
+            return Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            log.warn("Revision " + revision + " not found for the siddhi app " + siddhiAppId);
+            return null;
+        } catch (IOException e) {
+            throw new SiddhiAppRuntimeException("Cannot load revision " + revision + " of Siddhi app " +
+                    siddhiAppId + " from " + file, e);
+        }
+    }
+
+    @Override
+    public String getLastRevision(String siddhiAppId) {
+        Path directory = location.resolve(siddhiAppId);
+        if (!Files.isDirectory(directory)) {
+            return null;
+        }
+        String lastRevision = null;
+        long lastRevisionTime = -1;
+        try (DirectoryStream<Path> revisions = Files.newDirectoryStream(directory)) {
+            for (Path revisionFile : revisions) {
+                String revision = revisionFile.getFileName().toString();
+                long revisionTime = getRevisionTime(revision);
+                if (revisionTime < 0) {
+                    continue;
+                }
+                if (lastRevision == null || revisionTime > lastRevisionTime ||
+                        (revisionTime == lastRevisionTime && revision.compareTo(lastRevision) > 0)) {
+                    lastRevision = revision;
+                    lastRevisionTime = revisionTime;
+                }
+            }
+        } catch (IOException e) {
+            throw new SiddhiAppRuntimeException("Cannot list revisions of Siddhi app " + siddhiAppId + " in " +
+                    directory, e);
+        }
+        return lastRevision;
+    }
+
+    /**
+     * Revisions are named as {@code <timestamp>_<siddhi app name>}. Returns -1 for temporary and unknown files, so
+     * that they are skipped.
+     */
+    private static long getRevisionTime(String revision) {
+        if (revision.endsWith(TEMP_FILE_SUFFIX)) {
+            return -1;
+        }
+        int separator = revision.indexOf('_');
+        try {
+            return Long.parseLong(separator < 0 ? revision : revision.substring(0, separator));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -20,10 +20,16 @@ package org.ballerinalang.siddhi.core.util.persistence;
 import org.ballerinalang.siddhi.core.config.SiddhiAppContext;
 import org.ballerinalang.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
 import org.ballerinalang.siddhi.core.exception.NoPersistenceStoreException;
+import org.ballerinalang.siddhi.core.exception.SiddhiAppRuntimeException;
+import org.ballerinalang.siddhi.core.util.snapshot.Snapshot;
 import org.ballerinalang.siddhi.core.util.snapshot.SnapshotService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Persistence Service is the service layer to handle state persistence tasks such as persisting current state and
  * restoring previous states.
@@ -48,9 +54,19 @@ public class PersistenceService {
             if (log.isDebugEnabled()) {
                 log.debug("Persisting...");
             }
-            byte[] snapshot = snapshotService.snapshot();
-            String revision = System.currentTimeMillis() + "_" + siddhiAppName;
-            persistenceStore.save(siddhiAppName, revision, snapshot);
+            Snapshot snapshot = snapshotService.incrementalSnapshot();
+            String revision = snapshot.getRevision();
+            try {
+                persistenceStore.save(siddhiAppName, revision, snapshot.toBytes());
+            } catch (IOException e) {
+                snapshotService.snapshotFailed(revision);
+                throw new SiddhiAppRuntimeException("Error when encoding snapshot revision " + revision +
+                        " of Siddhi app " + siddhiAppName, e);
+            } catch (RuntimeException e) {
+                snapshotService.snapshotFailed(revision);
+                throw e;
+            }
+            snapshotService.snapshotPersisted(revision);
             if (log.isDebugEnabled()) {
                 log.debug("Persisted.");
             }
@@ -68,7 +84,11 @@ public class PersistenceService {
                 log.debug("Restoring revision: " + revision + " ...");
             }
             byte[] snapshot = persistenceStore.load(siddhiAppName, revision);
-            snapshotService.restore(snapshot);
+            if (Snapshot.isSnapshot(snapshot)) {
+                snapshotService.restore(loadElementStates(revision, snapshot));
+            } else {
+                snapshotService.restore(snapshot);
+            }
             if (log.isDebugEnabled()) {
                 log.debug("Restored revision: " + revision);
             }
@@ -78,6 +98,38 @@ public class PersistenceService {
         }
     }
 
+    /**
+     * Merges the element states of the given revision with those of the revisions it is based on, where the state
+     * in a later revision takes precedence.
+     */
+    private Map<String, byte[]> loadElementStates(String revision, byte[] bytes)
+            throws CannotRestoreSiddhiAppStateException {
+        Map<String, byte[]> elementStates = new HashMap<>();
+        String currentRevision = revision;
+        while (true) {
+            if (bytes == null) {
+                throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppName +
+                        " failed as revision " + currentRevision + " required by revision " + revision +
+                        " is not found in the persistence store.");
+            }
+            Snapshot snapshot;
+            try {
+                snapshot = Snapshot.fromBytes(bytes);
+            } catch (IOException e) {
+                throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppName +
+                        " failed as revision " + currentRevision + " cannot be decoded.", e);
+            }
+            for (Map.Entry<String, byte[]> entry : snapshot.getElementStates().entrySet()) {
+                elementStates.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+            if (!snapshot.isIncremental()) {
+                return elementStates;
+            }
+            currentRevision = snapshot.getBaseRevision();
+            bytes = persistenceStore.load(siddhiAppName, currentRevision);
+        }
+    }
+
     public String restoreLastRevision() throws CannotRestoreSiddhiAppStateException {
         if (persistenceStore != null) {
             String revision = persistenceStore.getLastRevision(siddhiAppName);
@@ -15,20 +15,24 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-
 package org.ballerinalang.siddhi.core.util.snapshot;
 
 import org.ballerinalang.siddhi.core.exception.NoPersistenceStoreException;
+import org.ballerinalang.siddhi.core.exception.SiddhiAppRuntimeException;
 import org.ballerinalang.siddhi.core.util.persistence.PersistenceStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+
 /**
  * {@link Runnable} which is responsible for persisting the snapshots that are taken.
  */
 public class AsyncSnapshotPersistor implements Runnable {
     private static final Logger log = LoggerFactory.getLogger(AsyncSnapshotPersistor.class);
     private byte[] snapshots;
+    private Snapshot snapshot;
+    private SnapshotService snapshotService;
     private PersistenceStore persistenceStore;
     private String siddhiAppName;
     private String revision;
@@ -41,6 +45,24 @@ public class AsyncSnapshotPersistor implements Runnable {
         revision = System.currentTimeMillis() + "_" + siddhiAppName;
     }
 
+    /**
+     * Creates a persistor which encodes the given snapshot on the persisting thread. The snapshot service is told
+     * whether the snapshot was stored, so that later incremental snapshots only build on stored revisions.
+     *
+     * @param snapshot         snapshot to persist
+     * @param persistenceStore store to persist to
+     * @param siddhiAppName    name of the Siddhi app
+     * @param snapshotService  service the snapshot was taken from
+     */
+    public AsyncSnapshotPersistor(Snapshot snapshot, PersistenceStore persistenceStore, String siddhiAppName,
+                                  SnapshotService snapshotService) {
+        this.snapshot = snapshot;
+        this.persistenceStore = persistenceStore;
+        this.siddhiAppName = siddhiAppName;
+        this.snapshotService = snapshotService;
+        revision = snapshot.getRevision();
+    }
+
     public String getRevision() {
         return revision;
     }
@@ -51,14 +73,33 @@ public class AsyncSnapshotPersistor implements Runnable {
             if (log.isDebugEnabled()) {
                 log.debug("Persisting...");
             }
-            persistenceStore.save(siddhiAppName, revision, snapshots);
+            try {
+                persistenceStore.save(siddhiAppName, revision, snapshot != null ? snapshot.toBytes() : snapshots);
+            } catch (IOException e) {
+                snapshotFailed();
+                throw new SiddhiAppRuntimeException("Error when encoding snapshot revision " + revision +
+                        " of Siddhi app " + siddhiAppName, e);
+            } catch (RuntimeException e) {
+                snapshotFailed();
+                throw e;
+            }
+            if (snapshotService != null) {
+                snapshotService.snapshotPersisted(revision);
+            }
             if (log.isDebugEnabled()) {
                 log.debug("Persisted.");
             }
         } else {
+            snapshotFailed();
             throw new NoPersistenceStoreException("No persistence store assigned for siddhi app " +
                     siddhiAppName);
         }
 
     }
+
+    private void snapshotFailed() {
+        if (snapshotService != null) {
+            snapshotService.snapshotFailed(revision);
+        }
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.util.snapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Snapshot of a Siddhi app, holding the serialized state of each {@link Snapshotable} element against its element
+ * id. A full snapshot contains every element, while an incremental snapshot only contains the elements whose state
+ * changed since the snapshot it is based on.
+ */
+public class Snapshot {
+
+    private static final int MAGIC = 0x53444853;
+    private static final byte VERSION = 1;
+    private static final byte FULL = 0;
+    private static final byte INCREMENTAL = 1;
+
+    private final String revision;
+    private final String baseRevision;
+    private final Map<String, byte[]> elementStates;
+
+    public Snapshot(String revision, String baseRevision, Map<String, byte[]> elementStates) {
+        this.revision = revision;
+        this.baseRevision = baseRevision;
+        this.elementStates = elementStates;
+    }
+
+    public String getRevision() {
+        return revision;
+    }
+
+    /**
+     * Returns the revision this snapshot is based on.
+     *
+     * @return the base revision, or null if this is a full snapshot
+     */
+    public String getBaseRevision() {
+        return baseRevision;
+    }
+
+    public boolean isIncremental() {
+        return baseRevision != null;
+    }
+
+    public Map<String, byte[]> getElementStates() {
+        return elementStates;
+    }
+
+    public byte[] toBytes() throws IOException {
+        int size = 0;
+        for (byte[] state : elementStates.values()) {
+            size += state.length;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size + 64 * elementStates.size() + 64);
+        DataOutputStream output = new DataOutputStream(out);
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        output.writeByte(isIncremental() ? INCREMENTAL : FULL);
+        output.writeUTF(revision);
+        if (isIncremental()) {
+            output.writeUTF(baseRevision);
+        }
+        output.writeInt(elementStates.size());
+        for (Map.Entry<String, byte[]> entry : elementStates.entrySet()) {
+            output.writeUTF(entry.getKey());
+            output.writeInt(entry.getValue().length);
+            output.write(entry.getValue());
+        }
+        output.flush();
+        return out.toByteArray();
+    }
+
+    /**
+     * Checks whether the given bytes are in the snapshot format, as opposed to the Java serialized snapshots
+     * created by previous versions.
+     *
+     * @param bytes persisted snapshot
+     * @return true if the bytes can be read by {@link #fromBytes(byte[])}
+     */
+    public static boolean isSnapshot(byte[] bytes) {
+        return bytes != null && bytes.length >= 4 && (((bytes[0] & 0xFF) << 24) | ((bytes[1] & 0xFF) << 16) |
+                ((bytes[2] & 0xFF) << 8) | (bytes[3] & 0xFF)) == MAGIC;
+    }
+
+    public static Snapshot fromBytes(byte[] bytes) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a Siddhi snapshot");
+        }
+        byte version = input.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version '" + version + "'");
+        }
+        boolean incremental = input.readByte() == INCREMENTAL;
+        String revision = input.readUTF();
+        String baseRevision = incremental ? input.readUTF() : null;
+        int elementCount = input.readInt();
+        Map<String, byte[]> elementStates = new LinkedHashMap<>(elementCount * 2);
+        for (int i = 0; i < elementCount; i++) {
+            String elementId = input.readUTF();
+            byte[] state = new byte[input.readInt()];
+            input.readFully(state);
+            elementStates.put(elementId, state);
+        }
+        return new Snapshot(revision, baseRevision, elementStates);
+    }
+}
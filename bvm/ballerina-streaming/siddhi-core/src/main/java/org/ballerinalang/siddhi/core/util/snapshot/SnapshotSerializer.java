@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.util.snapshot;
+
+import org.ballerinalang.siddhi.core.event.ComplexEvent;
+import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary serializer for the state returned by {@link Snapshotable#currentState()}.
+ * <p>
+ * Nulls, strings, primitive wrappers, byte arrays, object arrays, {@link ArrayList}s, {@link HashMap}s and
+ * {@link LinkedHashMap}s are written with a one byte type tag followed by a varint encoded value. Chains of
+ * {@link StreamEvent}s, which hold the contents of windows, are written event by event with their timestamps, types
+ * and attributes, and an event which is reached again is written as a reference to its first occurrence. Any other
+ * object is collected into a trailing section which is written with Java serialization in a single stream, so that
+ * references shared between those objects are preserved.
+ */
+public class SnapshotSerializer {
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte FLOAT = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte TRUE = 6;
+    private static final byte FALSE = 7;
+    private static final byte BYTES = 8;
+    private static final byte OBJECT_ARRAY = 9;
+    private static final byte ARRAY_LIST = 10;
+    private static final byte HASH_MAP = 11;
+    private static final byte LINKED_HASH_MAP = 12;
+    private static final byte SERIALIZED = 13;
+    private static final byte STREAM_EVENT = 14;
+    private static final byte STREAM_EVENT_REFERENCE = 15;
+
+    // Follows each event of a chain, telling how the chain continues
+    private static final byte END_OF_CHAIN = 0;
+    private static final byte NEXT_EVENT = 1;
+    private static final byte NEXT_EVENT_REFERENCE = 2;
+
+    private static final ComplexEvent.Type[] EVENT_TYPES = ComplexEvent.Type.values();
+
+    private SnapshotSerializer() {
+    }
+
+    public static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream taggedBytes = new ByteArrayOutputStream();
+        DataOutputStream taggedOutput = new DataOutputStream(taggedBytes);
+        List<Object> serializedObjects = new ArrayList<>();
+        write(taggedOutput, object, serializedObjects, new IdentityHashMap<>());
+        taggedOutput.flush();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(taggedBytes.size() + 16);
+        DataOutputStream output = new DataOutputStream(out);
+        writeVarInt(output, taggedBytes.size());
+        taggedBytes.writeTo(output);
+        if (!serializedObjects.isEmpty()) {
+            output.flush();
+            ObjectOutputStream objectOutput = new ObjectOutputStream(out);
+            objectOutput.writeObject(serializedObjects);
+            objectOutput.flush();
+        }
+        output.flush();
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+        DataInputStream input = new DataInputStream(in);
+        byte[] taggedBytes = new byte[readVarInt(input)];
+        input.readFully(taggedBytes);
+        List<Object> serializedObjects = null;
+        if (in.available() > 0) {
+            serializedObjects = (List<Object>) new ObjectInputStream(in).readObject();
+        }
+        return read(new DataInputStream(new ByteArrayInputStream(taggedBytes)), serializedObjects,
+                new ArrayList<>());
+    }
+
+    private static void write(DataOutputStream output, Object object, List<Object> serializedObjects,
+                              Map<StreamEvent, Integer> writtenEvents) throws IOException {
+        if (object == null) {
+            output.writeByte(NULL);
+        } else if (object instanceof String) {
+            output.writeByte(STRING);
+            writeBytes(output, ((String) object).getBytes(StandardCharsets.UTF_8));
+        } else if (object instanceof Integer) {
+            output.writeByte(INT);
+            writeVarLong(output, zigZag((Integer) object));
+        } else if (object instanceof Long) {
+            output.writeByte(LONG);
+            writeVarLong(output, zigZag((Long) object));
+        } else if (object instanceof Float) {
+            output.writeByte(FLOAT);
+            output.writeFloat((Float) object);
+        } else if (object instanceof Double) {
+            output.writeByte(DOUBLE);
+            output.writeDouble((Double) object);
+        } else if (object instanceof Boolean) {
+            output.writeByte((Boolean) object ? TRUE : FALSE);
+        } else if (object instanceof byte[]) {
+            output.writeByte(BYTES);
+            writeBytes(output, (byte[]) object);
+        } else if (object.getClass() == Object[].class) {
+            Object[] array = (Object[]) object;
+            output.writeByte(OBJECT_ARRAY);
+            writeVarInt(output, array.length);
+            for (Object element : array) {
+                write(output, element, serializedObjects, writtenEvents);
+            }
+        } else if (object.getClass() == ArrayList.class) {
+            List<?> list = (List<?>) object;
+            output.writeByte(ARRAY_LIST);
+            writeVarInt(output, list.size());
+            for (Object element : list) {
+                write(output, element, serializedObjects, writtenEvents);
+            }
+        } else if (object.getClass() == HashMap.class || object.getClass() == LinkedHashMap.class) {
+            Map<?, ?> map = (Map<?, ?>) object;
+            output.writeByte(object.getClass() == HashMap.class ? HASH_MAP : LINKED_HASH_MAP);
+            writeVarInt(output, map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                write(output, entry.getKey(), serializedObjects, writtenEvents);
+                write(output, entry.getValue(), serializedObjects, writtenEvents);
+            }
+        } else if (object.getClass() == StreamEvent.class) {
+            writeStreamEvents(output, (StreamEvent) object, serializedObjects, writtenEvents);
+        } else {
+            output.writeByte(SERIALIZED);
+            writeVarInt(output, serializedObjects.size());
+            serializedObjects.add(object);
+        }
+    }
+
+    private static Object read(DataInputStream input, List<Object> serializedObjects, List<StreamEvent> readEvents)
+            throws IOException {
+        byte tag = input.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return new String(readBytes(input), StandardCharsets.UTF_8);
+            case INT:
+                return (int) unZigZag(readVarLong(input));
+            case LONG:
+                return unZigZag(readVarLong(input));
+            case FLOAT:
+                return input.readFloat();
+            case DOUBLE:
+                return input.readDouble();
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case BYTES:
+                return readBytes(input);
+            case OBJECT_ARRAY:
+                Object[] array = new Object[readVarInt(input)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = read(input, serializedObjects, readEvents);
+                }
+                return array;
+            case ARRAY_LIST:
+                int listSize = readVarInt(input);
+                List<Object> list = new ArrayList<>(listSize);
+                for (int i = 0; i < listSize; i++) {
+                    list.add(read(input, serializedObjects, readEvents));
+                }
+                return list;
+            case HASH_MAP:
+            case LINKED_HASH_MAP:
+                int mapSize = readVarInt(input);
+                Map<Object, Object> map = tag == HASH_MAP ? new HashMap<>() : new LinkedHashMap<>();
+                for (int i = 0; i < mapSize; i++) {
+                    map.put(read(input, serializedObjects, readEvents), read(input, serializedObjects, readEvents));
+                }
+                return map;
+            case SERIALIZED:
+                if (serializedObjects == null) {
+                    throw new IOException("Snapshot refers to a serialized object, but has none");
+                }
+                return serializedObjects.get(readVarInt(input));
+            case STREAM_EVENT:
+                return readStreamEvents(input, serializedObjects, readEvents);
+            case STREAM_EVENT_REFERENCE:
+                return readEvents.get(readVarInt(input));
+            default:
+                throw new IOException("Unknown type tag '" + tag + "' found in snapshot");
+        }
+    }
+
+    private static void writeStreamEvents(DataOutputStream output, StreamEvent first, List<Object> serializedObjects,
+                                          Map<StreamEvent, Integer> writtenEvents) throws IOException {
+        Integer index = writtenEvents.get(first);
+        if (index != null) {
+            output.writeByte(STREAM_EVENT_REFERENCE);
+            writeVarInt(output, index);
+            return;
+        }
+        output.writeByte(STREAM_EVENT);
+        // Chains are written iteratively, as they can be as long as a window
+        StreamEvent event = first;
+        while (true) {
+            writtenEvents.put(event, writtenEvents.size());
+            writeVarLong(output, zigZag(event.getTimestamp()));
+            output.writeByte(event.getType().ordinal());
+            write(output, event.getBeforeWindowData(), serializedObjects, writtenEvents);
+            write(output, event.getOnAfterWindowData(), serializedObjects, writtenEvents);
+            write(output, event.getOutputData(), serializedObjects, writtenEvents);
+            StreamEvent next = event.getNext();
+            if (next == null) {
+                output.writeByte(END_OF_CHAIN);
+                return;
+            }
+            index = writtenEvents.get(next);
+            if (index != null) {
+                output.writeByte(NEXT_EVENT_REFERENCE);
+                writeVarInt(output, index);
+                return;
+            }
+            output.writeByte(NEXT_EVENT);
+            event = next;
+        }
+    }
+
+    private static StreamEvent readStreamEvents(DataInputStream input, List<Object> serializedObjects,
+                                                List<StreamEvent> readEvents) throws IOException {
+        StreamEvent first = null;
+        StreamEvent previous = null;
+        while (true) {
+            StreamEvent event = new StreamEvent(0, 0, 0);
+            readEvents.add(event);
+            if (previous == null) {
+                first = event;
+            } else {
+                previous.setNext(event);
+            }
+            event.setTimestamp(unZigZag(readVarLong(input)));
+            int type = input.readByte();
+            if (type < 0 || type >= EVENT_TYPES.length) {
+                throw new IOException("Unknown event type '" + type + "' found in snapshot");
+            }
+            event.setType(EVENT_TYPES[type]);
+            event.setBeforeWindowData((Object[]) read(input, serializedObjects, readEvents));
+            event.setOnAfterWindowData((Object[]) read(input, serializedObjects, readEvents));
+            event.setOutputData((Object[]) read(input, serializedObjects, readEvents));
+            byte link = input.readByte();
+            if (link == END_OF_CHAIN) {
+                return first;
+            } else if (link == NEXT_EVENT_REFERENCE) {
+                event.setNext(readEvents.get(readVarInt(input)));
+                return first;
+            } else if (link != NEXT_EVENT) {
+                throw new IOException("Unknown event link '" + link + "' found in snapshot");
+            }
+            previous = event;
+        }
+    }
+
+    private static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException {
+        writeVarInt(output, bytes.length);
+        output.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[readVarInt(input)];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        writeVarLong(output, value & 0xFFFFFFFFL);
+    }
+
+    private static int readVarInt(DataInputStream input) throws IOException {
+        return (int) readVarLong(input);
+    }
+
+    private static void writeVarLong(DataOutputStream output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream input) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = input.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length number found in snapshot");
+    }
+}
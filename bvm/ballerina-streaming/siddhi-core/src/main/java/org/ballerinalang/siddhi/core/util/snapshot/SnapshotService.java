@@ -18,13 +18,17 @@
 package org.ballerinalang.siddhi.core.util.snapshot;
 
 import org.ballerinalang.siddhi.core.config.SiddhiAppContext;
+import org.ballerinalang.siddhi.core.config.SiddhiContext;
 import org.ballerinalang.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
+import org.ballerinalang.siddhi.core.exception.SiddhiAppRuntimeException;
 import org.ballerinalang.siddhi.core.util.ThreadBarrier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -36,10 +40,19 @@ public class SnapshotService {
 
     private static final Logger log = LoggerFactory.getLogger(SnapshotService.class);
     private static final ThreadLocal<Boolean> skipSnapshotableThreadLocal = new ThreadLocal<Boolean>();
+    private static final ThreadLocal<List<Snapshotable>> addedSnapshotablesThreadLocal =
+            new ThreadLocal<List<Snapshotable>>();
 
     private final ThreadBarrier threadBarrier;
     private HashMap<String, List<Snapshotable>> snapshotableMap = new HashMap<String, List<Snapshotable>>();
     private SiddhiAppContext siddhiAppContext;
+    private Map<String, PendingSnapshot> pendingSnapshots = new HashMap<>();
+    private Map<String, Long> persistedFingerprints = new HashMap<>();
+    private String persistedRevision;
+    private long persistedRevisionTime;
+    private int snapshotsSinceFull;
+    private int incrementalEpoch;
+    private long lastRevisionTime;
 
     public SnapshotService(SiddhiAppContext siddhiAppContext) {
         this.siddhiAppContext = siddhiAppContext;
@@ -51,6 +64,16 @@ public class SnapshotService {
         return skipSnapshotableThreadLocal;
     }
 
+    /**
+     * Thread local which, when set, collects the {@link Snapshotable}s added by the current thread, so that they
+     * can be removed later through {@link #removeSnapshotables(List)}.
+     *
+     * @return thread local holding the list to add to
+     */
+    public static ThreadLocal<List<Snapshotable>> getAddedSnapshotablesThreadLocal() {
+        return addedSnapshotablesThreadLocal;
+    }
+
     public synchronized void addSnapshotable(String queryName, Snapshotable snapshotable) {
         Boolean skipSnapshotable = skipSnapshotableThreadLocal.get();
         if (skipSnapshotable == null || !skipSnapshotable) {
@@ -67,38 +90,212 @@ public class SnapshotService {
                     snapshotableList.add(snapshotable);
                 }
             }
+            List<Snapshotable> addedSnapshotables = addedSnapshotablesThreadLocal.get();
+            if (addedSnapshotables != null) {
+                addedSnapshotables.add(snapshotable);
+            }
+        }
+    }
+
+    /**
+     * Removes the given elements, e.g. the elements of a purged partition, so that they are no longer snapshotted.
+     *
+     * @param snapshotables elements to remove
+     */
+    public synchronized void removeSnapshotables(List<Snapshotable> snapshotables) {
+        Iterator<List<Snapshotable>> iterator = snapshotableMap.values().iterator();
+        while (iterator.hasNext()) {
+            List<Snapshotable> snapshotableList = iterator.next();
+            snapshotableList.removeAll(snapshotables);
+            if (snapshotableList.isEmpty()) {
+                iterator.remove();
+            }
+        }
+        // Fingerprints are replaced rather than modified, as they are read by snapshots being encoded
+        Map<String, Long> fingerprints = new HashMap<>(persistedFingerprints);
+        for (Snapshotable snapshotable : snapshotables) {
+            fingerprints.remove(snapshotable.getElementId());
         }
+        persistedFingerprints = fingerprints;
     }
 
     public byte[] snapshot() {
-        HashMap<String, Map<String, Object>> snapshots = new HashMap<>(snapshotableMap.size());
-        List<Snapshotable> snapshotableList;
-        byte[] serializedSnapshots;
+        Map<String, Object> states;
+        String revision;
+        synchronized (this) {
+            states = captureStates();
+            revision = nextRevision();
+        }
+        Snapshot snapshot = new Snapshot(revision, null, encodeStates(states));
+        try {
+            return snapshot.toBytes();
+        } catch (IOException e) {
+            throw new SiddhiAppRuntimeException("Error when encoding snapshot of Siddhi app '" +
+                    siddhiAppContext.getName() + "'", e);
+        }
+    }
+
+    /**
+     * Takes a snapshot containing only the elements whose state changed since the last persisted snapshot taken
+     * through this method. Every {@link SiddhiContext#getFullSnapshotInterval()} snapshots, or when there is no
+     * persisted snapshot to build on, a full snapshot is taken instead.
+     * <p>
+     * Event processing is only held back while the element states are copied. The states are encoded and compared
+     * against the last persisted snapshot afterwards. Once the snapshot is persisted, or fails to persist,
+     * {@link #snapshotPersisted(String)} or {@link #snapshotFailed(String)} should be called with its revision.
+     *
+     * @return the snapshot taken
+     */
+    public Snapshot incrementalSnapshot() {
+        Map<String, Object> states;
+        String revision;
+        String baseRevision;
+        Map<String, Long> baseFingerprints;
+        boolean full;
+        int epoch;
+        synchronized (this) {
+            int fullSnapshotInterval = siddhiAppContext.getSiddhiContext().getFullSnapshotInterval();
+            full = persistedRevision == null || snapshotsSinceFull >= fullSnapshotInterval - 1;
+            baseRevision = persistedRevision;
+            baseFingerprints = persistedFingerprints;
+            epoch = incrementalEpoch;
+            states = captureStates();
+            revision = nextRevision();
+        }
+
+        Map<String, byte[]> elementStates = encodeStates(states);
+        Map<String, Long> fingerprints = new HashMap<>(elementStates.size());
+        Map<String, byte[]> changedStates = new HashMap<>();
+        for (Map.Entry<String, byte[]> entry : elementStates.entrySet()) {
+            Long fingerprint = fingerprint(entry.getValue());
+            fingerprints.put(entry.getKey(), fingerprint);
+            if (!fingerprint.equals(baseFingerprints.get(entry.getKey()))) {
+                changedStates.put(entry.getKey(), entry.getValue());
+            }
+        }
+        Snapshot snapshot = full ? new Snapshot(revision, null, elementStates) :
+                new Snapshot(revision, baseRevision, changedStates);
+        synchronized (this) {
+            pendingSnapshots.put(revision, new PendingSnapshot(fingerprints, full, epoch));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug((full ? "Full" : "Incremental") + " snapshot taken for Siddhi app '" +
+                    siddhiAppContext.getName() + "' with " + snapshot.getElementStates().size() + " of " +
+                    elementStates.size() + " elements");
+        }
+        return snapshot;
+    }
+
+    /**
+     * Marks the snapshot of the given revision as persisted, so that the following incremental snapshots are based
+     * on it. A snapshot persisted after a later snapshot has been persisted is not used as the base.
+     *
+     * @param revision revision of the snapshot taken through {@link #incrementalSnapshot()}
+     */
+    public synchronized void snapshotPersisted(String revision) {
+        PendingSnapshot pendingSnapshot = pendingSnapshots.remove(revision);
+        if (pendingSnapshot == null || pendingSnapshot.epoch != incrementalEpoch ||
+                getRevisionTime(revision) <= persistedRevisionTime) {
+            return;
+        }
+        persistedFingerprints = pendingSnapshot.fingerprints;
+        persistedRevision = revision;
+        persistedRevisionTime = getRevisionTime(revision);
+        snapshotsSinceFull = pendingSnapshot.full ? 0 : snapshotsSinceFull + 1;
+    }
+
+    /**
+     * Discards the snapshot of the given revision, which could not be persisted. The following incremental
+     * snapshots remain based on the last persisted snapshot.
+     *
+     * @param revision revision of the snapshot taken through {@link #incrementalSnapshot()}
+     */
+    public synchronized void snapshotFailed(String revision) {
+        pendingSnapshots.remove(revision);
+    }
+
+    /**
+     * Discards the state fingerprints of the persisted snapshots, so that the next incremental snapshot is a full
+     * snapshot. Used when the restored state differs from the state of the persisted snapshots.
+     */
+    public synchronized void resetIncrementalState() {
+        persistedRevision = null;
+        persistedRevisionTime = 0;
+        persistedFingerprints = new HashMap<>();
+        pendingSnapshots.clear();
+        snapshotsSinceFull = 0;
+        incrementalEpoch++;
+    }
+
+    /**
+     * Copies the current state of all the elements, while holding back the events entering the Siddhi app.
+     */
+    private Map<String, Object> captureStates() {
+        Map<String, Object> states = new HashMap<>(snapshotableMap.size());
         if (log.isDebugEnabled()) {
             log.debug("Taking snapshot ...");
         }
         try {
             threadBarrier.lock();
             for (Map.Entry<String, List<Snapshotable>> entry : snapshotableMap.entrySet()) {
-                snapshotableList = entry.getValue();
-                snapshotableList.forEach(snapshotableElement -> snapshots.put(snapshotableElement.getElementId(),
-                        snapshotableElement.currentState()));
-            }
-            if (log.isDebugEnabled()) {
-                log.debug("Snapshot serialization started ...");
-            }
-            serializedSnapshots = ByteSerializer.objectToByte(snapshots, siddhiAppContext);
-            if (log.isDebugEnabled()) {
-                log.debug("Snapshot serialization finished.");
+                for (Snapshotable snapshotable : entry.getValue()) {
+                    states.put(snapshotable.getElementId(),
+                            SnapshotStateCopier.copyState(snapshotable.currentState()));
+                }
             }
+        } catch (IOException e) {
+            throw new SiddhiAppRuntimeException("Error when copying state of Siddhi app '" +
+                    siddhiAppContext.getName() + "'", e);
         } finally {
             threadBarrier.unlock();
         }
-        if (log.isDebugEnabled()) {
-            log.debug("Snapshot taken for Siddhi app '" + siddhiAppContext.getName() + "'");
+        return states;
+    }
+
+    private Map<String, byte[]> encodeStates(Map<String, Object> states) {
+        Map<String, byte[]> elementStates = new HashMap<>(states.size());
+        try {
+            for (Map.Entry<String, Object> entry : states.entrySet()) {
+                elementStates.put(entry.getKey(), SnapshotSerializer.serialize(entry.getValue()));
+            }
+        } catch (IOException e) {
+            throw new SiddhiAppRuntimeException("Error when serializing state of Siddhi app '" +
+                    siddhiAppContext.getName() + "'", e);
+        }
+        return elementStates;
+    }
+
+    private String nextRevision() {
+        lastRevisionTime = Math.max(System.currentTimeMillis(), lastRevisionTime + 1);
+        return lastRevisionTime + "_" + siddhiAppContext.getName();
+    }
+
+    private static long getRevisionTime(String revision) {
+        return Long.parseLong(revision.substring(0, revision.indexOf('_')));
+    }
+
+    /**
+     * 64 bit fingerprint of an encoded state. It's only used to detect whether the state of an element changed
+     * between snapshots, hence a cryptographic digest is not needed.
+     */
+    private static long fingerprint(byte[] state) {
+        long hash = 0x9E3779B97F4A7C15L ^ state.length;
+        int i = 0;
+        for (; i + 8 <= state.length; i += 8) {
+            long word = (state[i] & 0xFFL) | (state[i + 1] & 0xFFL) << 8 | (state[i + 2] & 0xFFL) << 16 |
+                    (state[i + 3] & 0xFFL) << 24 | (state[i + 4] & 0xFFL) << 32 | (state[i + 5] & 0xFFL) << 40 |
+                    (state[i + 6] & 0xFFL) << 48 | (state[i + 7] & 0xFFL) << 56;
+            hash = mix(hash ^ word);
         }
+        for (; i < state.length; i++) {
+            hash = mix(hash ^ (state[i] & 0xFFL));
+        }
+        return mix(hash);
+    }
 
-        return serializedSnapshots;
+    private static long mix(long value) {
+        value *= 0xBF58476D1CE4E5B9L;
+        return value ^ (value >>> 31);
     }
 
     public Map<String, Object> queryState(String queryName) {
@@ -126,8 +323,49 @@ public class SnapshotService {
     }
 
     public void restore(byte[] snapshot) throws CannotRestoreSiddhiAppStateException {
-        Map<String, Map<String, Object>> snapshots = (Map<String, Map<String, Object>>)
-                ByteSerializer.byteToObject(snapshot, siddhiAppContext);
+        if (!Snapshot.isSnapshot(snapshot)) {
+            // Snapshot taken by an earlier version, which serialized all the states as a single object
+            restoreStates((Map<String, Map<String, Object>>) ByteSerializer.byteToObject(snapshot,
+                    siddhiAppContext));
+            return;
+        }
+        Snapshot decodedSnapshot;
+        try {
+            decodedSnapshot = Snapshot.fromBytes(snapshot);
+        } catch (IOException e) {
+            throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppContext.getName() +
+                    " failed as the snapshot cannot be decoded.", e);
+        }
+        if (decodedSnapshot.isIncremental()) {
+            throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppContext.getName() +
+                    " failed as revision " + decodedSnapshot.getRevision() + " is an incremental snapshot based on " +
+                    decodedSnapshot.getBaseRevision() + ". Restore it through the persistence store.");
+        }
+        restore(decodedSnapshot.getElementStates());
+    }
+
+    /**
+     * Restores the states of the elements, given as serialized by {@link SnapshotSerializer} against their element
+     * ids.
+     *
+     * @param elementStates serialized state of each element
+     * @throws CannotRestoreSiddhiAppStateException if a state cannot be decoded or restored
+     */
+    public void restore(Map<String, byte[]> elementStates) throws CannotRestoreSiddhiAppStateException {
+        Map<String, Map<String, Object>> snapshots = new HashMap<>(elementStates.size());
+        for (Map.Entry<String, byte[]> entry : elementStates.entrySet()) {
+            try {
+                snapshots.put(entry.getKey(), (Map<String, Object>) SnapshotSerializer.deserialize(entry.getValue()));
+            } catch (IOException | ClassNotFoundException e) {
+                throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppContext.
+                        getName() + " failed as the state of element " + entry.getKey() + " cannot be decoded.", e);
+            }
+        }
+        restoreStates(snapshots);
+    }
+
+    private void restoreStates(Map<String, Map<String, Object>> snapshots)
+            throws CannotRestoreSiddhiAppStateException {
         List<Snapshotable> snapshotableList;
         try {
             threadBarrier.lock();
@@ -162,5 +400,22 @@ public class SnapshotService {
         } finally {
             threadBarrier.unlock();
         }
+        // Restored state differs from the state the previous snapshots were compared against
+        resetIncrementalState();
+    }
+
+    /**
+     * Snapshot taken through {@link #incrementalSnapshot()} which is yet to be persisted.
+     */
+    private static class PendingSnapshot {
+        private final Map<String, Long> fingerprints;
+        private final boolean full;
+        private final int epoch;
+
+        PendingSnapshot(Map<String, Long> fingerprints, boolean full, int epoch) {
+            this.fingerprints = fingerprints;
+            this.full = full;
+            this.epoch = epoch;
+        }
     }
 }
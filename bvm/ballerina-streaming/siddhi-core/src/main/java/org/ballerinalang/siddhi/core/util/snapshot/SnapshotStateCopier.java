@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.siddhi.core.util.snapshot;
+
+import org.ballerinalang.siddhi.core.event.state.StateEvent;
+import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Copies the state returned by {@link Snapshotable#currentState()}, so that the state can be encoded after event
+ * processing has resumed without seeing later modifications.
+ * <p>
+ * Events, arrays and the common collection and map types are copied structurally, which only copies references to
+ * the immutable attribute values. An object referred to more than once within the state of an element is copied once,
+ * as Java serialization would. Other objects are deep copied through Java serialization, hence references between
+ * such an object and the rest of the state are not shared in the copy.
+ */
+class SnapshotStateCopier {
+
+    private final Map<Object, Object> copies = new IdentityHashMap<>();
+
+    /**
+     * Copies the given state.
+     *
+     * @param state state of an element
+     * @return the copy
+     * @throws IOException if an object which is not copied structurally cannot be serialized
+     */
+    static Object copyState(Object state) throws IOException {
+        return new SnapshotStateCopier().copy(state);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object copy(Object object) throws IOException {
+        if (object == null || isImmutable(object)) {
+            return object;
+        }
+        Object copy = copies.get(object);
+        if (copy != null) {
+            return copy;
+        }
+        Class<?> type = object.getClass();
+        if (type == StreamEvent.class) {
+            return copyStreamEvents((StreamEvent) object);
+        } else if (type == StateEvent.class) {
+            return copyStateEvents((StateEvent) object);
+        } else if (type.isArray()) {
+            return copyArray(object);
+        } else if (type == ArrayList.class || type == LinkedList.class || type == ArrayDeque.class ||
+                type == HashSet.class || type == LinkedHashSet.class) {
+            Collection<Object> collection = (Collection<Object>) object;
+            Collection<Object> collectionCopy = newCollection(type, collection.size());
+            copies.put(object, collectionCopy);
+            for (Object element : collection) {
+                collectionCopy.add(copy(element));
+            }
+            return collectionCopy;
+        } else if (type == HashMap.class || type == LinkedHashMap.class || type == TreeMap.class ||
+                type == ConcurrentHashMap.class) {
+            Map<Object, Object> map = (Map<Object, Object>) object;
+            Map<Object, Object> mapCopy = newMap(map);
+            copies.put(object, mapCopy);
+            for (Map.Entry<Object, Object> entry : map.entrySet()) {
+                mapCopy.put(copy(entry.getKey()), copy(entry.getValue()));
+            }
+            return mapCopy;
+        }
+        copy = deepCopy(object);
+        copies.put(object, copy);
+        return copy;
+    }
+
+    private static boolean isImmutable(Object object) {
+        return object instanceof String || object instanceof Number && object.getClass().getName()
+                .startsWith("java.lang.") || object instanceof Boolean || object instanceof Character ||
+                object instanceof Enum || object instanceof Class;
+    }
+
+    private StreamEvent copyStreamEvents(StreamEvent first) throws IOException {
+        // Chains are copied iteratively, as they can be as long as a window
+        StreamEvent firstCopy = null;
+        StreamEvent previousCopy = null;
+        for (StreamEvent event = first; event != null; event = event.getNext()) {
+            StreamEvent eventCopy = new StreamEvent(0, 0, 0);
+            if (previousCopy == null) {
+                firstCopy = eventCopy;
+                copies.put(event, eventCopy);
+            } else {
+                previousCopy.setNext(eventCopy);
+            }
+            eventCopy.setBeforeWindowData((Object[]) copy(event.getBeforeWindowData()));
+            eventCopy.setOnAfterWindowData((Object[]) copy(event.getOnAfterWindowData()));
+            eventCopy.setOutputData((Object[]) copy(event.getOutputData()));
+            eventCopy.setTimestamp(event.getTimestamp());
+            eventCopy.setType(event.getType());
+            previousCopy = eventCopy;
+        }
+        return firstCopy;
+    }
+
+    private StateEvent copyStateEvents(StateEvent first) throws IOException {
+        StateEvent firstCopy = null;
+        StateEvent previousCopy = null;
+        for (StateEvent event = first; event != null; event = event.getNext()) {
+            Object copied = copies.get(event);
+            if (copied != null) {
+                // Rest of the chain has already been copied
+                if (previousCopy == null) {
+                    return (StateEvent) copied;
+                }
+                previousCopy.setNext((StateEvent) copied);
+                break;
+            }
+            StreamEvent[] streamEvents = event.getStreamEvents();
+            Object[] outputData = event.getOutputData();
+            StateEvent eventCopy = new StateEvent(streamEvents.length, outputData == null ? 0 : outputData.length);
+            copies.put(event, eventCopy);
+            if (previousCopy == null) {
+                firstCopy = eventCopy;
+            } else {
+                previousCopy.setNext(eventCopy);
+            }
+            for (int i = 0; i < streamEvents.length; i++) {
+                eventCopy.setEvent(i, (StreamEvent) copy(streamEvents[i]));
+            }
+            if (outputData != null) {
+                for (int i = 0; i < outputData.length; i++) {
+                    eventCopy.setOutputData(copy(outputData[i]), i);
+                }
+            }
+            eventCopy.setTimestamp(event.getTimestamp());
+            eventCopy.setType(event.getType());
+            eventCopy.setId(event.getId());
+            previousCopy = eventCopy;
+        }
+        return firstCopy;
+    }
+
+    private Object copyArray(Object array) throws IOException {
+        Class<?> componentType = array.getClass().getComponentType();
+        int length = Array.getLength(array);
+        if (componentType.isPrimitive()) {
+            Object arrayCopy = Array.newInstance(componentType, length);
+            System.arraycopy(array, 0, arrayCopy, 0, length);
+            copies.put(array, arrayCopy);
+            return arrayCopy;
+        }
+        Object[] elements = (Object[]) array;
+        Object[] arrayCopy = (Object[]) Array.newInstance(componentType, length);
+        copies.put(array, arrayCopy);
+        for (int i = 0; i < length; i++) {
+            arrayCopy[i] = copy(elements[i]);
+        }
+        return arrayCopy;
+    }
+
+    private static Collection<Object> newCollection(Class<?> type, int size) {
+        if (type == ArrayList.class) {
+            return new ArrayList<>(size);
+        } else if (type == LinkedList.class) {
+            return new LinkedList<>();
+        } else if (type == ArrayDeque.class) {
+            return new ArrayDeque<>(Math.max(size, 1));
+        } else if (type == HashSet.class) {
+            return new HashSet<>();
+        }
+        return new LinkedHashSet<>();
+    }
+
+    private static Map<Object, Object> newMap(Map<Object, Object> map) {
+        Class<?> type = map.getClass();
+        if (type == HashMap.class) {
+            return new HashMap<>();
+        } else if (type == LinkedHashMap.class) {
+            return new LinkedHashMap<>();
+        } else if (type == TreeMap.class) {
+            return new TreeMap<>(((TreeMap<Object, Object>) map).comparator());
+        }
+        return new ConcurrentHashMap<>();
+    }
+
+    private static Object deepCopy(Object object) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutput = new ObjectOutputStream(out)) {
+            objectOutput.writeObject(object);
+        }
+        try (ObjectInputStream objectInput = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            return objectInput.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Error when copying state object of " + object.getClass(), e);
+        }
+    }
+}
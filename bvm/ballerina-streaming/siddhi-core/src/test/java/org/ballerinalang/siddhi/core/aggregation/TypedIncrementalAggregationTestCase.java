@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.aggregation;
+
+import org.ballerinalang.siddhi.core.SiddhiAppRuntime;
+import org.ballerinalang.siddhi.core.SiddhiManager;
+import org.ballerinalang.siddhi.core.event.Event;
+import org.ballerinalang.siddhi.core.stream.input.InputHandler;
+import org.ballerinalang.siddhi.core.util.EventPrinter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Testcase for the sum, count, avg, min and max aggregates which incremental aggregation keeps typed.
+ */
+public class TypedIncrementalAggregationTestCase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TypedIncrementalAggregationTestCase.class);
+
+    @Test
+    public void typedIncrementalAggregationTest1() throws InterruptedException {
+        LOG.info("typedIncrementalAggregationTest1");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String stockStream =
+                "define stream stockStream (symbol string, price float, volume long, quantity int, " +
+                        "timestamp long);";
+        String query = " define aggregation stockAggregation " +
+                "from stockStream " +
+                "select symbol, sum(quantity) as totalQuantity, count() as count, avg(price) as avgPrice, " +
+                "min(price) as minPrice, max(price) as maxPrice, max(volume) as maxVolume " +
+                "group by symbol " +
+                "aggregate by timestamp every sec...min ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(stockStream + query);
+        try {
+            InputHandler stockStreamInputHandler = siddhiAppRuntime.getInputHandler("stockStream");
+            siddhiAppRuntime.start();
+
+            // Thursday, June 1, 2017 4:05:50 AM
+            stockStreamInputHandler.send(new Object[]{"WSO2", 50f, 90L, 6, 1496289950000L});
+            stockStreamInputHandler.send(new Object[]{"WSO2", 70f, 40L, 10, 1496289950000L});
+
+            // Thursday, June 1, 2017 4:05:52 AM
+            stockStreamInputHandler.send(new Object[]{"WSO2", 60f, 200L, 56, 1496289952000L});
+
+            // Thursday, June 1, 2017 4:05:54 AM
+            stockStreamInputHandler.send(new Object[]{"IBM", 100f, 200L, 26, 1496289954000L});
+            stockStreamInputHandler.send(new Object[]{"IBM", 80f, 300L, 96, 1496289954000L});
+            Thread.sleep(100);
+
+            Event[] events = sorted(siddhiAppRuntime.query("from stockAggregation " +
+                    "within \"2017-06-** **:**:**\" " +
+                    "per \"seconds\""));
+            EventPrinter.print(events);
+            AssertJUnit.assertEquals(3, events.length);
+            AssertJUnit.assertArrayEquals(new Object[]{1496289950000L, "WSO2", 16L, 2L, 60.0, 50f, 70f, 90L},
+                    events[0].getData());
+            AssertJUnit.assertArrayEquals(new Object[]{1496289952000L, "WSO2", 56L, 1L, 60.0, 60f, 60f, 200L},
+                    events[1].getData());
+            AssertJUnit.assertArrayEquals(new Object[]{1496289954000L, "IBM", 122L, 2L, 90.0, 80f, 100f, 300L},
+                    events[2].getData());
+
+            // the last second is not rolled up yet, hence it is aggregated from the in-memory values
+            events = sorted(siddhiAppRuntime.query("from stockAggregation " +
+                    "within \"2017-06-** **:**:**\" " +
+                    "per \"minutes\""));
+            EventPrinter.print(events);
+            AssertJUnit.assertEquals(2, events.length);
+            AssertJUnit.assertArrayEquals(new Object[]{1496289900000L, "IBM", 122L, 2L, 90.0, 80f, 100f, 300L},
+                    events[0].getData());
+            AssertJUnit.assertArrayEquals(new Object[]{1496289900000L, "WSO2", 72L, 3L, 60.0, 50f, 70f, 200L},
+                    events[1].getData());
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test(dependsOnMethods = {"typedIncrementalAggregationTest1"})
+    public void typedIncrementalAggregationTest2() throws InterruptedException {
+        LOG.info("typedIncrementalAggregationTest2");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String stockStream =
+                "define stream stockStream (symbol string, price double, volume long, quantity int, " +
+                        "timestamp long);";
+        String query = " define aggregation stockAggregation " +
+                "from stockStream " +
+                "select sum(price) as totalPrice, count() as count, min(quantity) as minQuantity, " +
+                "max(quantity) as maxQuantity " +
+                "aggregate by timestamp every sec...min ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(stockStream + query);
+        try {
+            InputHandler stockStreamInputHandler = siddhiAppRuntime.getInputHandler("stockStream");
+            siddhiAppRuntime.start();
+
+            // Thursday, June 1, 2017 4:05:50 AM
+            stockStreamInputHandler.send(new Object[]{"WSO2", 50.5, 90L, 6, 1496289950000L});
+            stockStreamInputHandler.send(new Object[]{"IBM", 70.25, 40L, -10, 1496289950000L});
+
+            // Thursday, June 1, 2017 4:05:51 AM
+            stockStreamInputHandler.send(new Object[]{"WSO2", 60.0, 200L, 56, 1496289951000L});
+
+            // Thursday, June 1, 2017 4:06:01 AM
+            stockStreamInputHandler.send(new Object[]{"IBM", 100.0, 200L, 26, 1496289961000L});
+            Thread.sleep(100);
+
+            Event[] events = sorted(siddhiAppRuntime.query("from stockAggregation " +
+                    "within \"2017-06-** **:**:**\" " +
+                    "per \"seconds\""));
+            EventPrinter.print(events);
+            AssertJUnit.assertEquals(3, events.length);
+            AssertJUnit.assertArrayEquals(new Object[]{1496289950000L, 120.75, 2L, -10, 6}, events[0].getData());
+            AssertJUnit.assertArrayEquals(new Object[]{1496289951000L, 60.0, 1L, 56, 56}, events[1].getData());
+            AssertJUnit.assertArrayEquals(new Object[]{1496289961000L, 100.0, 1L, 26, 26}, events[2].getData());
+
+            events = sorted(siddhiAppRuntime.query("from stockAggregation " +
+                    "within \"2017-06-** **:**:**\" " +
+                    "per \"minutes\""));
+            EventPrinter.print(events);
+            AssertJUnit.assertEquals(2, events.length);
+            AssertJUnit.assertArrayEquals(new Object[]{1496289900000L, 180.75, 3L, -10, 56}, events[0].getData());
+            AssertJUnit.assertArrayEquals(new Object[]{1496289960000L, 100.0, 1L, 26, 26}, events[1].getData());
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    private static Event[] sorted(Event[] events) {
+        Arrays.sort(events, Comparator.comparing((Event event) -> (Long) event.getData(0))
+                .thenComparing(event -> String.valueOf(event.getData(1))));
+        return events;
+    }
+}
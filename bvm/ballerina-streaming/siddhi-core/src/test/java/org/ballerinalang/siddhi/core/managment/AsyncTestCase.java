@@ -22,15 +22,22 @@ import org.ballerinalang.siddhi.core.SiddhiAppRuntime;
 import org.ballerinalang.siddhi.core.SiddhiManager;
 import org.ballerinalang.siddhi.core.event.Event;
 import org.ballerinalang.siddhi.core.exception.SiddhiAppCreationException;
+import org.ballerinalang.siddhi.core.exception.SiddhiAppRuntimeException;
 import org.ballerinalang.siddhi.core.stream.input.InputHandler;
 import org.ballerinalang.siddhi.core.stream.output.StreamCallback;
 import org.ballerinalang.siddhi.core.util.EventPrinter;
+import org.ballerinalang.siddhi.core.util.SiddhiTestHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Testcase for async streaming queries.
  */
@@ -164,4 +171,197 @@ public class AsyncTestCase {
 
     }
 
+    @Test
+    public void asyncTest6() throws InterruptedException {
+        log.info("async test 6 - bounded batches");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(buffer.size='64', batch.size.max='8', wait.strategy='yielding')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[volume > 90] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        AtomicInteger eventCount = new AtomicInteger(0);
+        AtomicInteger maxBatchSize = new AtomicInteger(0);
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                eventCount.addAndGet(events.length);
+                maxBatchSize.accumulateAndGet(events.length, Math::max);
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 10000; i++) {
+            inputHandler.send(new Object[]{"WSO2", 55.6f, 100});
+        }
+        SiddhiTestHelper.waitForEvents(10, 10000, eventCount, 10000);
+        siddhiAppRuntime.shutdown();
+        AssertJUnit.assertEquals(10000, eventCount.get());
+        AssertJUnit.assertTrue(maxBatchSize.get() <= 8);
+    }
+
+    @Test
+    public void asyncTest7() throws InterruptedException {
+        log.info("async test 7 - multiple workers on a stateless query");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(buffer.size='64', workers='4', wait.strategy='yielding')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[volume > 90] " +
+                "select symbol, volume " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        AtomicInteger eventCount = new AtomicInteger(0);
+        Set<Integer> volumes = ConcurrentHashMap.newKeySet();
+        AtomicInteger mismatches = new AtomicInteger(0);
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    int volume = (Integer) event.getData(1);
+                    if (!("WSO2" + volume).equals(event.getData(0)) || !volumes.add(volume)) {
+                        mismatches.incrementAndGet();
+                    }
+                }
+                eventCount.addAndGet(events.length);
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 10000; i++) {
+            inputHandler.send(new Object[]{"WSO2" + (100 + i), 55.6f, 100 + i});
+        }
+        SiddhiTestHelper.waitForEvents(10, 10000, eventCount, 10000);
+        siddhiAppRuntime.shutdown();
+        AssertJUnit.assertEquals(10000, eventCount.get());
+        AssertJUnit.assertEquals(10000, volumes.size());
+        AssertJUnit.assertEquals(0, mismatches.get());
+    }
+
+    @Test
+    public void asyncTest10() throws InterruptedException {
+        log.info("async test 10 - multiple workers on a stateful query keep the order");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(buffer.size='64', workers='4', wait.strategy='yielding')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.length(2) " +
+                "select symbol, volume, sum(volume) as totalVolume " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        AtomicInteger eventCount = new AtomicInteger(0);
+        AtomicInteger mismatches = new AtomicInteger(0);
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    int index = eventCount.getAndIncrement();
+                    // Each event is summed with the previous one, which only holds if events arrive in order
+                    long expectedTotal = index == 0 ? 0 : 2 * index - 1;
+                    if ((Integer) event.getData(1) != index || (Long) event.getData(2) != expectedTotal) {
+                        mismatches.incrementAndGet();
+                    }
+                }
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 10000; i++) {
+            inputHandler.send(new Object[]{"WSO2", 55.6f, i});
+        }
+        SiddhiTestHelper.waitForEvents(10, 10000, eventCount, 10000);
+        siddhiAppRuntime.shutdown();
+        AssertJUnit.assertEquals(10000, eventCount.get());
+        AssertJUnit.assertEquals(0, mismatches.get());
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void asyncTest8() {
+        log.info("async test 8 - unknown wait strategy");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(wait.strategy='eager')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select * " +
+                "insert into outputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test
+    public void asyncTest9() throws InterruptedException {
+        log.info("async test 9 - rejecting events when the buffer is full");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(buffer.size='2', block.on.full='false')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        CountDownLatch latch = new CountDownLatch(1);
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    log.error(e.getMessage(), e);
+                }
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        boolean rejected = false;
+        try {
+            for (int i = 0; i < 10; i++) {
+                inputHandler.send(new Object[]{"WSO2", 55.6f, 100});
+            }
+        } catch (SiddhiAppRuntimeException e) {
+            rejected = true;
+        } finally {
+            latch.countDown();
+            siddhiAppRuntime.shutdown();
+        }
+        AssertJUnit.assertTrue(rejected);
+    }
 }
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.siddhi.core.managment;
+
+import org.ballerinalang.siddhi.core.SiddhiAppRuntime;
+import org.ballerinalang.siddhi.core.SiddhiManager;
+import org.ballerinalang.siddhi.core.event.ComplexEvent;
+import org.ballerinalang.siddhi.core.event.Event;
+import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
+import org.ballerinalang.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
+import org.ballerinalang.siddhi.core.query.output.callback.QueryCallback;
+import org.ballerinalang.siddhi.core.stream.input.InputHandler;
+import org.ballerinalang.siddhi.core.util.EventPrinter;
+import org.ballerinalang.siddhi.core.util.persistence.FileSystemPersistenceStore;
+import org.ballerinalang.siddhi.core.util.persistence.InMemoryPersistenceStore;
+import org.ballerinalang.siddhi.core.util.persistence.PersistenceStore;
+import org.ballerinalang.siddhi.core.util.snapshot.PersistenceReference;
+import org.ballerinalang.siddhi.core.util.snapshot.Snapshot;
+import org.ballerinalang.siddhi.core.util.snapshot.SnapshotSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+
+/**
+ * Testcase for incremental snapshot persistence.
+ */
+public class IncrementalPersistenceTestCase {
+    private static final Logger log = LoggerFactory.getLogger(IncrementalPersistenceTestCase.class);
+    private static final String SIDDHI_APP = "" +
+            "@app:name('IncrementalTest') " +
+            "" +
+            "define stream StockStream ( symbol string, price float, volume int );" +
+            "define stream CheckStream ( symbol string, volume int );" +
+            "" +
+            "@info(name = 'query1')" +
+            "from StockStream#window.length(10) " +
+            "select symbol, price, sum(volume) as totalVol " +
+            "insert into OutStream; " +
+            "" +
+            "@info(name = 'query2')" +
+            "from CheckStream#window.length(10) " +
+            "select symbol, sum(volume) as totalVol " +
+            "insert into CheckOutStream; ";
+    private Long lastValue;
+
+    @BeforeMethod
+    public void init() {
+        lastValue = 0L;
+    }
+
+    @Test
+    public void incrementalPersistenceTest1() throws InterruptedException, ExecutionException, IOException,
+            CannotRestoreSiddhiAppStateException {
+        log.info("incremental persistence test 1 - only changed elements are persisted");
+
+        PersistenceStore persistenceStore = new InMemoryPersistenceStore();
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(persistenceStore);
+        siddhiManager.setFullSnapshotInterval(3);
+
+        SiddhiAppRuntime siddhiAppRuntime = createSiddhiAppRuntime(siddhiManager);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        InputHandler checkHandler = siddhiAppRuntime.getInputHandler("CheckStream");
+
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        checkHandler.send(new Object[]{"IBM", 10});
+        Snapshot fullSnapshot = persist(siddhiAppRuntime, persistenceStore);
+        AssertJUnit.assertFalse(fullSnapshot.isIncremental());
+
+        inputHandler.send(new Object[]{"WSO2", 75.6f, 100});
+        Snapshot incrementalSnapshot = persist(siddhiAppRuntime, persistenceStore);
+        AssertJUnit.assertTrue(incrementalSnapshot.isIncremental());
+        AssertJUnit.assertEquals(fullSnapshot.getRevision(), incrementalSnapshot.getBaseRevision());
+        AssertJUnit.assertTrue(incrementalSnapshot.getElementStates().size() > 0);
+        AssertJUnit.assertTrue(incrementalSnapshot.getElementStates().size() <
+                fullSnapshot.getElementStates().size());
+
+        Snapshot unchangedSnapshot = persist(siddhiAppRuntime, persistenceStore);
+        AssertJUnit.assertTrue(unchangedSnapshot.isIncremental());
+        AssertJUnit.assertEquals(incrementalSnapshot.getRevision(), unchangedSnapshot.getBaseRevision());
+        AssertJUnit.assertEquals(0, unchangedSnapshot.getElementStates().size());
+
+        AssertJUnit.assertFalse(persist(siddhiAppRuntime, persistenceStore).isIncremental());
+
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        AssertJUnit.assertTrue(persist(siddhiAppRuntime, persistenceStore).isIncremental());
+        siddhiAppRuntime.shutdown();
+
+        siddhiAppRuntime = createSiddhiAppRuntime(siddhiManager);
+        inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.restoreLastRevision();
+        inputHandler.send(new Object[]{"WSO2", 75.6f, 100});
+        AssertJUnit.assertEquals(Long.valueOf(400), lastValue);
+
+        // The first snapshot after restoring is a full snapshot, as the restored state is the new base
+        AssertJUnit.assertFalse(persist(siddhiAppRuntime, persistenceStore).isIncremental());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void incrementalPersistenceTest2() throws InterruptedException, ExecutionException, IOException,
+            CannotRestoreSiddhiAppStateException {
+        log.info("incremental persistence test 2 - file system persistence store");
+
+        Path location = Files.createTempDirectory("siddhi-persistence");
+        try {
+            PersistenceStore persistenceStore = new FileSystemPersistenceStore(location.toString());
+            SiddhiManager siddhiManager = new SiddhiManager();
+            siddhiManager.setPersistenceStore(persistenceStore);
+            siddhiManager.setFullSnapshotInterval(10);
+
+            SiddhiAppRuntime siddhiAppRuntime = createSiddhiAppRuntime(siddhiManager);
+            InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+            for (int i = 0; i < 5; i++) {
+                inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+                persist(siddhiAppRuntime, persistenceStore);
+            }
+            siddhiAppRuntime.shutdown();
+            AssertJUnit.assertNotNull(persistenceStore.getLastRevision("IncrementalTest"));
+
+            siddhiAppRuntime = createSiddhiAppRuntime(siddhiManager);
+            inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+            siddhiAppRuntime.restoreLastRevision();
+            inputHandler.send(new Object[]{"WSO2", 75.6f, 100});
+            AssertJUnit.assertEquals(Long.valueOf(600), lastValue);
+            siddhiAppRuntime.shutdown();
+        } finally {
+            try (Stream<Path> paths = Files.walk(location)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    @Test(expectedExceptions = CannotRestoreSiddhiAppStateException.class)
+    public void incrementalPersistenceTest3() throws InterruptedException, ExecutionException, IOException,
+            CannotRestoreSiddhiAppStateException {
+        log.info("incremental persistence test 3 - restoring without the base revision");
+
+        PersistenceStore persistenceStore = new InMemoryPersistenceStore();
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(persistenceStore);
+        siddhiManager.setFullSnapshotInterval(5);
+
+        SiddhiAppRuntime siddhiAppRuntime = createSiddhiAppRuntime(siddhiManager);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        persist(siddhiAppRuntime, persistenceStore);
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        Snapshot incrementalSnapshot = persist(siddhiAppRuntime, persistenceStore);
+        siddhiAppRuntime.shutdown();
+
+        // Store holding the incremental snapshot, but not the full snapshot it is based on
+        PersistenceStore incompleteStore = new InMemoryPersistenceStore();
+        incompleteStore.save("IncrementalTest", incrementalSnapshot.getRevision(), incrementalSnapshot.toBytes());
+        siddhiManager.setPersistenceStore(incompleteStore);
+        siddhiAppRuntime = createSiddhiAppRuntime(siddhiManager);
+        try {
+            siddhiAppRuntime.restoreLastRevision();
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void incrementalPersistenceTest4() throws InterruptedException, ExecutionException, IOException,
+            CannotRestoreSiddhiAppStateException {
+        log.info("incremental persistence test 4 - failed persist does not break the incremental chain");
+
+        FailingPersistenceStore persistenceStore = new FailingPersistenceStore();
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(persistenceStore);
+        siddhiManager.setFullSnapshotInterval(10);
+
+        SiddhiAppRuntime siddhiAppRuntime = createSiddhiAppRuntime(siddhiManager);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        Snapshot fullSnapshot = persist(siddhiAppRuntime, persistenceStore);
+        AssertJUnit.assertFalse(fullSnapshot.isIncremental());
+
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        persistenceStore.failing = true;
+        try {
+            siddhiAppRuntime.persist().getFuture().get();
+            AssertJUnit.fail("Persisting should have failed");
+        } catch (ExecutionException e) {
+            AssertJUnit.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        persistenceStore.failing = false;
+
+        // The state changed by the failed revision is persisted again, based on the last stored revision
+        Snapshot incrementalSnapshot = persist(siddhiAppRuntime, persistenceStore);
+        AssertJUnit.assertTrue(incrementalSnapshot.isIncremental());
+        AssertJUnit.assertEquals(fullSnapshot.getRevision(), incrementalSnapshot.getBaseRevision());
+        AssertJUnit.assertTrue(incrementalSnapshot.getElementStates().size() > 0);
+        siddhiAppRuntime.shutdown();
+
+        siddhiAppRuntime = createSiddhiAppRuntime(siddhiManager);
+        inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.restoreLastRevision();
+        inputHandler.send(new Object[]{"WSO2", 75.6f, 100});
+        AssertJUnit.assertEquals(Long.valueOf(300), lastValue);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void incrementalPersistenceTest5() throws IOException, ClassNotFoundException {
+        log.info("incremental persistence test 5 - window contents are encoded without Java serialization");
+
+        StreamEvent first = createStreamEvent(1000, "IBM", 100);
+        StreamEvent second = createStreamEvent(2000, "WSO2", 200);
+        second.setType(ComplexEvent.Type.EXPIRED);
+        first.setNext(second);
+        List<StreamEvent> sortedWindow = new ArrayList<>();
+        sortedWindow.add(second);
+        Map<String, Object> state = new HashMap<>();
+        state.put("ExpiredEventChunk", first);
+        state.put("SortedWindow", sortedWindow);
+
+        byte[] bytes = SnapshotSerializer.serialize(state);
+        for (int i = 0; i < bytes.length - 1; i++) {
+            // Stream magic number of Java serialization
+            AssertJUnit.assertFalse(bytes[i] == (byte) 0xAC && bytes[i + 1] == (byte) 0xED);
+        }
+        Map<String, Object> restoredState = (Map<String, Object>) SnapshotSerializer.deserialize(bytes);
+        StreamEvent restoredFirst = (StreamEvent) restoredState.get("ExpiredEventChunk");
+        AssertJUnit.assertEquals(first, restoredFirst);
+        AssertJUnit.assertEquals(second, restoredFirst.getNext());
+        AssertJUnit.assertEquals(ComplexEvent.Type.EXPIRED, restoredFirst.getNext().getType());
+        AssertJUnit.assertNull(restoredFirst.getNext().getNext());
+        // An event reached through two paths is restored as one event
+        AssertJUnit.assertSame(restoredFirst.getNext(),
+                ((List<StreamEvent>) restoredState.get("SortedWindow")).get(0));
+    }
+
+    private static StreamEvent createStreamEvent(long timestamp, String symbol, int volume) {
+        StreamEvent streamEvent = new StreamEvent(0, 2, 2);
+        streamEvent.setTimestamp(timestamp);
+        streamEvent.setOnAfterWindowData(new Object[]{symbol, volume});
+        streamEvent.setOutputData(new Object[]{symbol, (long) volume});
+        return streamEvent;
+    }
+
+    private SiddhiAppRuntime createSiddhiAppRuntime(SiddhiManager siddhiManager) {
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(SIDDHI_APP);
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event inEvent : inEvents) {
+                    lastValue = (Long) inEvent.getData(2);
+                }
+            }
+        });
+        siddhiAppRuntime.start();
+        return siddhiAppRuntime;
+    }
+
+    private Snapshot persist(SiddhiAppRuntime siddhiAppRuntime, PersistenceStore persistenceStore)
+            throws InterruptedException, ExecutionException, IOException {
+        PersistenceReference persistenceReference = siddhiAppRuntime.persist();
+        persistenceReference.getFuture().get();
+        return Snapshot.fromBytes(persistenceStore.load(siddhiAppRuntime.getName(),
+                persistenceReference.getRevision()));
+    }
+
+    /**
+     * In memory persistence store which can be made to fail on save.
+     */
+    private static class FailingPersistenceStore extends InMemoryPersistenceStore {
+        private volatile boolean failing;
+
+        @Override
+        public void save(String siddhiAppId, String revision, byte[] snapshot) {
+            if (failing) {
+                throw new IllegalStateException("Persistence store unavailable");
+            }
+            super.save(siddhiAppId, revision, snapshot);
+        }
+    }
+}
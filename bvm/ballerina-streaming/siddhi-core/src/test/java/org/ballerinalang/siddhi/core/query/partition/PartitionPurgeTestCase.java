@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.siddhi.core.query.partition;
+
+import org.ballerinalang.siddhi.core.SiddhiAppRuntime;
+import org.ballerinalang.siddhi.core.SiddhiManager;
+import org.ballerinalang.siddhi.core.event.Event;
+import org.ballerinalang.siddhi.core.exception.SiddhiAppCreationException;
+import org.ballerinalang.siddhi.core.stream.input.InputHandler;
+import org.ballerinalang.siddhi.core.stream.output.StreamCallback;
+import org.ballerinalang.siddhi.core.util.EventPrinter;
+import org.ballerinalang.siddhi.core.util.SiddhiTestHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testcase for creating partition instances of new keys concurrently and purging idle keys.
+ */
+public class PartitionPurgeTestCase {
+    private static final Logger log = LoggerFactory.getLogger(PartitionPurgeTestCase.class);
+    private AtomicInteger count = new AtomicInteger(0);
+
+    @BeforeMethod
+    public void init() {
+        count.set(0);
+    }
+
+    @Test
+    public void testPartitionPurge() throws InterruptedException {
+        log.info("Partition testPartitionPurge");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "@app:name('testPartitionPurge') " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "@purge(enable='true', interval='100 millisec', idle.period='500 millisec') " +
+                "partition with (symbol of cseEventStream) begin @info(name = 'query1') from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume insert into OutStockStream ; end ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        final Long[] lastTotals = new Long[2];
+        siddhiAppRuntime.addCallback("OutStockStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                for (Event event : events) {
+                    count.incrementAndGet();
+                    lastTotals["IBM".equals(event.getData(0)) ? 0 : 1] = (Long) event.getData(1);
+                }
+            }
+        });
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        inputHandler.send(new Object[]{"WSO2", 75.6f, 100});
+        for (int i = 0; i < 10; i++) {
+            Thread.sleep(100);
+            inputHandler.send(new Object[]{"WSO2", 75.6f, 100});
+        }
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        SiddhiTestHelper.waitForEvents(100, 13, count, 60000);
+        // IBM was idle for longer than the idle period, hence its sum started again
+        AssertJUnit.assertEquals(Long.valueOf(100), lastTotals[0]);
+        AssertJUnit.assertEquals(Long.valueOf(1100), lastTotals[1]);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testPartitionCreationWithConcurrentNewKeys() throws InterruptedException {
+        log.info("Partition testPartitionCreationWithConcurrentNewKeys");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "@app:name('testPartitionCreationWithConcurrentNewKeys') " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "partition with (symbol of cseEventStream) begin @info(name = 'query1') from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume insert into OutStockStream ; end ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        final AtomicInteger totalVolume = new AtomicInteger(0);
+        siddhiAppRuntime.addCallback("OutStockStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    count.incrementAndGet();
+                    if ((Long) event.getData(1) == 2) {
+                        totalVolume.incrementAndGet();
+                    }
+                }
+            }
+        });
+        final InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        Thread[] publishers = new Thread[4];
+        for (int i = 0; i < publishers.length; i++) {
+            publishers[i] = new Thread(() -> {
+                try {
+                    for (int key = 0; key < 250; key++) {
+                        inputHandler.send(new Object[]{"KEY" + key, 75.6f, 1});
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            publishers[i].start();
+        }
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+        SiddhiTestHelper.waitForEvents(100, 1000, count, 60000);
+        AssertJUnit.assertEquals(1000, count.get());
+        // Every key reaches a sum of 2 exactly once, which fails if an event went to a duplicate partition instance
+        AssertJUnit.assertEquals(250, totalVolume.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testPartitionPurgeWithConcurrentPublishers() throws InterruptedException {
+        log.info("Partition testPartitionPurgeWithConcurrentPublishers");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "@app:name('testPartitionPurgeWithConcurrentPublishers') " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "@purge(enable='true', interval='10 millisec', idle.period='1 millisec') " +
+                "partition with (symbol of cseEventStream) begin @info(name = 'query1') from cseEventStream " +
+                "select symbol, volume insert into OutStockStream ; end ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutStockStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                count.addAndGet(events.length);
+            }
+        });
+        final InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        Thread[] publishers = new Thread[4];
+        for (int i = 0; i < publishers.length; i++) {
+            publishers[i] = new Thread(() -> {
+                try {
+                    for (int j = 0; j < 5000; j++) {
+                        inputHandler.send(new Object[]{"KEY" + (j % 20), 75.6f, 1});
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            publishers[i].start();
+        }
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+        SiddhiTestHelper.waitForEvents(100, 20000, count, 60000);
+        // Keys are purged while events are sent to them, which must not drop any of the events
+        AssertJUnit.assertEquals(20000, count.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testPartitionPurgeWithInnerStream() throws InterruptedException {
+        log.info("Partition testPartitionPurgeWithInnerStream");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "@app:name('testPartitionPurgeWithInnerStream') " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "@purge(enable='true', interval='100 millisec', idle.period='200 millisec') " +
+                "partition with (symbol of cseEventStream) begin " +
+                "@info(name = 'query1') from cseEventStream select symbol, volume insert into #InnerStream ; " +
+                "@info(name = 'query2') from #InnerStream select symbol, sum(volume) as totalVolume " +
+                "insert into OutStockStream ; end ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        final AtomicInteger restartedSums = new AtomicInteger(0);
+        siddhiAppRuntime.addCallback("OutStockStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    count.incrementAndGet();
+                    if ((Long) event.getData(1) == 1) {
+                        restartedSums.incrementAndGet();
+                    }
+                }
+            }
+        });
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int round = 0; round < 3; round++) {
+            for (int key = 0; key < 10; key++) {
+                inputHandler.send(new Object[]{"KEY" + key, 75.6f, 1});
+            }
+            // Lets the keys idle until they are purged along with their inner streams
+            Thread.sleep(500);
+        }
+        SiddhiTestHelper.waitForEvents(100, 30, count, 60000);
+        // Each round reaches the keys through new inner streams, hence their sums start again
+        AssertJUnit.assertEquals(30, count.get());
+        AssertJUnit.assertEquals(30, restartedSums.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testPartitionPurgeWithoutIdlePeriod() {
+        log.info("Partition testPartitionPurgeWithoutIdlePeriod");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "@app:name('testPartitionPurgeWithoutIdlePeriod') " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "@purge(enable='true', interval='1 sec') " +
+                "partition with (symbol of cseEventStream) begin @info(name = 'query1') from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume insert into OutStockStream ; end ";
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.query.table;
+
+import org.ballerinalang.siddhi.core.SiddhiAppRuntime;
+import org.ballerinalang.siddhi.core.SiddhiManager;
+import org.ballerinalang.siddhi.core.event.Event;
+import org.ballerinalang.siddhi.core.exception.SiddhiAppCreationException;
+import org.ballerinalang.siddhi.core.query.output.callback.QueryCallback;
+import org.ballerinalang.siddhi.core.stream.input.InputHandler;
+import org.ballerinalang.siddhi.core.util.EventPrinter;
+import org.ballerinalang.siddhi.core.util.SiddhiTestHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testcase for tables stored off heap.
+ */
+public class OffHeapTableTestCase {
+    private static final Logger log = LoggerFactory.getLogger(OffHeapTableTestCase.class);
+    private AtomicInteger inEventCount = new AtomicInteger(0);
+    private List<Object[]> inEventsList;
+
+    @BeforeMethod
+    public void init() {
+        inEventCount.set(0);
+        inEventsList = new ArrayList<Object[]>();
+    }
+
+    @Test
+    public void offHeapTableTest1() throws InterruptedException {
+        log.info("offHeapTableTest1");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream CheckStockStream (symbol string, volume long); " +
+                "@PrimaryKey('symbol') " +
+                "@OffHeap " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from CheckStockStream join StockTable " +
+                " on CheckStockStream.symbol==StockTable.symbol " +
+                "select CheckStockStream.symbol, StockTable.price, StockTable.volume " +
+                "insert into OutStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            siddhiAppRuntime.addCallback("query2", new OutputCallback());
+
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+
+            siddhiAppRuntime.start();
+            stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+            stockStream.send(new Object[]{"IBM", 55.6f, 100L});
+            stockStream.send(new Object[]{"IBM", 56.6f, 200L});
+            stockStream.send(new Object[]{"GOOG", null, 300L});
+            checkStockStream.send(new Object[]{"IBM", 100L});
+            checkStockStream.send(new Object[]{"WSO2", 100L});
+            checkStockStream.send(new Object[]{"GOOG", 100L});
+            checkStockStream.send(new Object[]{"ORACLE", 100L});
+
+            List<Object[]> expected = Arrays.asList(
+                    new Object[]{"IBM", 55.6f, 100L},
+                    new Object[]{"WSO2", 55.6f, 100L},
+                    new Object[]{"GOOG", null, 300L}
+            );
+            SiddhiTestHelper.waitForEvents(100, 3, inEventCount, 60000);
+            AssertJUnit.assertEquals("In events matched", true, SiddhiTestHelper.isEventsMatch(inEventsList, expected));
+            AssertJUnit.assertEquals("Number of success events", 3, inEventCount.get());
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void offHeapTableTest2() throws InterruptedException {
+        log.info("offHeapTableTest2");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream UpdateStockStream (symbol string, price float, volume long); " +
+                "define stream DeleteStockStream (volume long); " +
+                "define stream CheckStockStream (volume long); " +
+                "@PrimaryKey('volume') " +
+                "@OffHeap " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from UpdateStockStream " +
+                "update StockTable " +
+                "   set StockTable.symbol = symbol, StockTable.price = price " +
+                "   on StockTable.volume == volume ;" +
+                "" +
+                "@info(name = 'query3') " +
+                "from DeleteStockStream " +
+                "delete StockTable " +
+                "   on StockTable.volume < volume ;" +
+                "" +
+                "@info(name = 'query4') " +
+                "from CheckStockStream join StockTable " +
+                " on StockTable.volume >= CheckStockStream.volume " +
+                "select StockTable.symbol, StockTable.price, StockTable.volume " +
+                "insert into OutStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            siddhiAppRuntime.addCallback("query4", new OutputCallback());
+
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler updateStockStream = siddhiAppRuntime.getInputHandler("UpdateStockStream");
+            InputHandler deleteStockStream = siddhiAppRuntime.getInputHandler("DeleteStockStream");
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+
+            siddhiAppRuntime.start();
+            stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+            stockStream.send(new Object[]{"IBM", 75.6f, 200L});
+            stockStream.send(new Object[]{"GOOG", 50.5f, 300L});
+            updateStockStream.send(new Object[]{"ORACLE", 57.6f, 300L});
+            deleteStockStream.send(new Object[]{200L});
+            checkStockStream.send(new Object[]{0L});
+
+            List<Object[]> expected = Arrays.asList(
+                    new Object[]{"IBM", 75.6f, 200L},
+                    new Object[]{"ORACLE", 57.6f, 300L}
+            );
+            SiddhiTestHelper.waitForEvents(100, 2, inEventCount, 60000);
+            AssertJUnit.assertEquals("In events matched", true, SiddhiTestHelper.isEventsMatch(inEventsList, expected));
+            AssertJUnit.assertEquals("Number of success events", 2, inEventCount.get());
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void offHeapTableTest4() throws InterruptedException {
+        log.info("offHeapTableTest4");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream CheckStockStream (volume int); " +
+                "@PrimaryKey('volume') " +
+                "@OffHeap " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from CheckStockStream join StockTable " +
+                " on StockTable.volume == CheckStockStream.volume " +
+                "select StockTable.symbol, StockTable.price, StockTable.volume " +
+                "insert into OutStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            siddhiAppRuntime.addCallback("query2", new OutputCallback());
+
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+
+            siddhiAppRuntime.start();
+            stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+            stockStream.send(new Object[]{"IBM", 75.6f, 200L});
+            checkStockStream.send(new Object[]{200});
+            checkStockStream.send(new Object[]{300});
+            checkStockStream.send(new Object[]{100});
+
+            List<Object[]> expected = Arrays.asList(
+                    new Object[]{"IBM", 75.6f, 200L},
+                    new Object[]{"WSO2", 55.6f, 100L}
+            );
+            SiddhiTestHelper.waitForEvents(100, 2, inEventCount, 60000);
+            AssertJUnit.assertEquals("In events matched", true, SiddhiTestHelper.isEventsMatch(inEventsList, expected));
+            AssertJUnit.assertEquals("Number of success events", 2, inEventCount.get());
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void offHeapTableTest3() {
+        log.info("offHeapTableTest3");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@OffHeap " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;";
+
+        siddhiManager.createSiddhiAppRuntime(streams + query);
+    }
+
+    private class OutputCallback extends QueryCallback {
+        @Override
+        public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+            EventPrinter.print(timestamp, inEvents, removeEvents);
+            if (inEvents != null) {
+                for (Event event : inEvents) {
+                    inEventsList.add(event.getData());
+                    inEventCount.incrementAndGet();
+                }
+            }
+        }
+    }
+}
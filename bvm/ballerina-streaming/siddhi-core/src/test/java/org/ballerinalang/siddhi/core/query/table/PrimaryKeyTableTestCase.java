@@ -2535,6 +2535,149 @@ public class PrimaryKeyTableTestCase {
         }
     }
 
+    @Test
+    public void primaryKeyTableTest40() throws InterruptedException {
+        log.info("primaryKeyTableTest40");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream DeleteStockStream (volume long); " +
+                "define stream CheckStockStream (volume long); " +
+                "@PrimaryKey('volume') " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from DeleteStockStream " +
+                "delete StockTable " +
+                "   on StockTable.volume == volume ;" +
+                "" +
+                "@info(name = 'query3') " +
+                "from CheckStockStream join StockTable " +
+                " on StockTable.volume > CheckStockStream.volume " +
+                "select StockTable.symbol, StockTable.volume " +
+                "insert into OutStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            siddhiAppRuntime.addCallback("query3", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            inEventsList.add(event.getData());
+                            inEventCount.incrementAndGet();
+                        }
+                        eventArrived = true;
+                    }
+                }
+            });
+
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler deleteStockStream = siddhiAppRuntime.getInputHandler("DeleteStockStream");
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+
+            siddhiAppRuntime.start();
+            stockStream.send(new Object[]{"WSO2", 55.6f, 300L});
+            stockStream.send(new Object[]{"IBM", 55.6f, 100L});
+            checkStockStream.send(new Object[]{150L});
+            stockStream.send(new Object[]{"GOOG", 55.6f, 200L});
+            stockStream.send(new Object[]{"ORACLE", 55.6f, 400L});
+            deleteStockStream.send(new Object[]{300L});
+            checkStockStream.send(new Object[]{150L});
+
+            List<Object[]> expected = Arrays.asList(
+                    new Object[]{"WSO2", 300L},
+                    new Object[]{"GOOG", 200L},
+                    new Object[]{"ORACLE", 400L}
+            );
+            SiddhiTestHelper.waitForEvents(100, 3, inEventCount, 60000);
+            AssertJUnit.assertEquals("In events matched", true, SiddhiTestHelper.isEventsMatch(inEventsList, expected));
+            AssertJUnit.assertEquals("Number of success events", 3, inEventCount.get());
+            AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void primaryKeyTableTest41() throws InterruptedException {
+        log.info("primaryKeyTableTest41");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream CheckRangeStream (level double); " +
+                "define stream CheckEqualStream (level double); " +
+                "@PrimaryKey('volume') " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from CheckRangeStream join StockTable " +
+                " on StockTable.volume >= CheckRangeStream.level " +
+                "select StockTable.symbol, StockTable.volume " +
+                "insert into OutStream;" +
+                "" +
+                "@info(name = 'query3') " +
+                "from CheckEqualStream join StockTable " +
+                " on StockTable.volume == CheckEqualStream.level " +
+                "select StockTable.symbol, StockTable.volume " +
+                "insert into OutStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            QueryCallback queryCallback = new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            inEventsList.add(event.getData());
+                            inEventCount.incrementAndGet();
+                        }
+                        eventArrived = true;
+                    }
+                }
+            };
+            siddhiAppRuntime.addCallback("query2", queryCallback);
+            siddhiAppRuntime.addCallback("query3", queryCallback);
+
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler checkRangeStream = siddhiAppRuntime.getInputHandler("CheckRangeStream");
+            InputHandler checkEqualStream = siddhiAppRuntime.getInputHandler("CheckEqualStream");
+
+            siddhiAppRuntime.start();
+            stockStream.send(new Object[]{"WSO2", 55.6f, 300L});
+            stockStream.send(new Object[]{"IBM", 55.6f, 100L});
+            stockStream.send(new Object[]{"GOOG", 55.6f, 200L});
+            checkRangeStream.send(new Object[]{100.5});
+            checkEqualStream.send(new Object[]{100.5});
+            checkEqualStream.send(new Object[]{100.0});
+
+            List<Object[]> expected = Arrays.asList(
+                    new Object[]{"GOOG", 200L},
+                    new Object[]{"WSO2", 300L},
+                    new Object[]{"IBM", 100L}
+            );
+            SiddhiTestHelper.waitForEvents(100, 3, inEventCount, 60000);
+            AssertJUnit.assertEquals("In events matched", true, SiddhiTestHelper.isUnsortedEventsMatch(inEventsList,
+                    expected));
+            AssertJUnit.assertEquals("Number of success events", 3, inEventCount.get());
+            AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
 //
 //    @Test
 //    public void primaryKeyTableTest33() throws InterruptedException {
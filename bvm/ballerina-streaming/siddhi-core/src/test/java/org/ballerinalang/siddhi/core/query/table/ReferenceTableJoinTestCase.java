@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.query.table;
+
+import org.ballerinalang.siddhi.core.SiddhiAppRuntime;
+import org.ballerinalang.siddhi.core.SiddhiManager;
+import org.ballerinalang.siddhi.core.event.Event;
+import org.ballerinalang.siddhi.core.stream.input.InputHandler;
+import org.ballerinalang.siddhi.core.stream.output.StreamCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.AssertJUnit;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Testcase for stream joins looking up a reference table, for each of the table index layouts.
+ */
+public class ReferenceTableJoinTestCase {
+    private static final Logger log = LoggerFactory.getLogger(ReferenceTableJoinTestCase.class);
+    private static final int TABLE_SIZE = 10000;
+    private static final int LOOKUPS = 20000;
+
+    @DataProvider(name = "indexLayouts")
+    public Object[][] indexLayouts() {
+        return new Object[][]{
+                {"@PrimaryKey('id') ", "id"},
+                {"@PrimaryKey('name') ", "name"},
+                {"@PrimaryKey('id') @OffHeap ", "id"},
+                {"@Index('name') ", "name"}
+        };
+    }
+
+    @Test(dataProvider = "indexLayouts")
+    public void referenceTableJoinTest(String annotations, String joinAttribute) throws InterruptedException {
+        log.info("referenceTableJoinTest " + annotations);
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream ReferenceStream (id long, name string, category string, price double); " +
+                "define stream LookupStream (id long, name string); " +
+                annotations +
+                "define table ReferenceTable (id long, name string, category string, price double); " +
+                "from ReferenceStream " +
+                "insert into ReferenceTable; " +
+                "from LookupStream join ReferenceTable " +
+                "   on LookupStream." + joinAttribute + " == ReferenceTable." + joinAttribute + " " +
+                "select LookupStream.id as lookupId, ReferenceTable.id, ReferenceTable.category, " +
+                "   ReferenceTable.price " +
+                "insert into OutputStream; ";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        AtomicLong matches = new AtomicLong();
+        AtomicLong mismatches = new AtomicLong();
+        siddhiAppRuntime.addCallback("OutputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    Object[] data = event.getData();
+                    long id = (Long) data[1];
+                    if (!data[0].equals(id) || !data[2].equals("category-" + (id % 100)) ||
+                            !data[3].equals(id * 1.5)) {
+                        mismatches.incrementAndGet();
+                    }
+                    matches.incrementAndGet();
+                }
+            }
+        });
+        siddhiAppRuntime.start();
+        try {
+            InputHandler referenceStream = siddhiAppRuntime.getInputHandler("ReferenceStream");
+            InputHandler lookupStream = siddhiAppRuntime.getInputHandler("LookupStream");
+            for (long i = 0; i < TABLE_SIZE; i++) {
+                referenceStream.send(new Object[]{i, "name-" + i, "category-" + (i % 100), i * 1.5});
+            }
+            for (long i = 0; i < LOOKUPS; i++) {
+                long id = (i * 7919) % (TABLE_SIZE * 2);
+                lookupStream.send(new Object[]{id, "name-" + id});
+            }
+            AssertJUnit.assertEquals("Number of matched lookups", LOOKUPS / 2, matches.get());
+            AssertJUnit.assertEquals("Number of mismatched rows", 0, mismatches.get());
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.query.table;
+
+import org.ballerinalang.siddhi.core.SiddhiAppRuntime;
+import org.ballerinalang.siddhi.core.SiddhiManager;
+import org.ballerinalang.siddhi.core.event.Event;
+import org.ballerinalang.siddhi.core.stream.input.InputHandler;
+import org.ballerinalang.siddhi.core.stream.output.StreamCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark of stream joins looking up a large reference table, for each of the table index layouts. It reports the
+ * time to load the table, the heap retained by it and the lookup throughput, which is measured after a warmup round
+ * of lookups. Run it with {@code mvn verify -P benchmarks} in this module, or run the main method with the table
+ * size, the number of warmup lookups and the number of measured lookups as arguments.
+ */
+public class TableJoinBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(TableJoinBenchmark.class);
+
+    public static void main(String[] args) throws InterruptedException {
+        int tableSize = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int warmupLookups = args.length > 1 ? Integer.parseInt(args[1]) : 1000000;
+        int lookups = args.length > 2 ? Integer.parseInt(args[2]) : 5000000;
+
+        String equalsId = "LookupStream.id == ReferenceTable.id";
+        String equalsName = "LookupStream.name == ReferenceTable.name";
+        // Matches the row of the id and its successor, through the sorted keys of the index
+        String idRange = "ReferenceTable.id >= LookupStream.id and ReferenceTable.id <= LookupStream.id + 1";
+        run("long primary key", "@PrimaryKey('id') ", equalsId, tableSize, warmupLookups, lookups);
+        run("string primary key", "@PrimaryKey('name') ", equalsName, tableSize, warmupLookups, lookups);
+        run("long primary key off heap", "@PrimaryKey('id') @OffHeap ", equalsId, tableSize, warmupLookups, lookups);
+        run("string index", "@Index('name') ", equalsName, tableSize, warmupLookups, lookups);
+        run("long primary key range", "@PrimaryKey('id') ", idRange, tableSize, warmupLookups, lookups);
+    }
+
+    private static void run(String name, String annotations, String condition, int tableSize, int warmupLookups,
+                            int lookups) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream ReferenceStream (id long, name string, category string, price double); " +
+                "define stream LookupStream (id long, name string); " +
+                annotations +
+                "define table ReferenceTable (id long, name string, category string, price double); " +
+                "from ReferenceStream " +
+                "insert into ReferenceTable; " +
+                "from LookupStream join ReferenceTable " +
+                "   on " + condition + " " +
+                "select ReferenceTable.id, ReferenceTable.category, ReferenceTable.price " +
+                "insert into OutputStream; ";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        AtomicLong matches = new AtomicLong();
+        siddhiAppRuntime.addCallback("OutputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                matches.addAndGet(events.length);
+            }
+        });
+        siddhiAppRuntime.start();
+        try {
+            InputHandler referenceStream = siddhiAppRuntime.getInputHandler("ReferenceStream");
+            InputHandler lookupStream = siddhiAppRuntime.getInputHandler("LookupStream");
+
+            System.gc();
+            long heapBefore = usedHeap();
+            long loadStart = System.nanoTime();
+            for (long i = 0; i < tableSize; i++) {
+                referenceStream.send(new Object[]{i, "name-" + i, "category-" + (i % 100), i * 1.5});
+            }
+            long loadTime = System.nanoTime() - loadStart;
+            System.gc();
+            long heapAfter = usedHeap();
+
+            lookUp(lookupStream, tableSize, warmupLookups);
+            matches.set(0);
+            long lookupStart = System.nanoTime();
+            lookUp(lookupStream, tableSize, lookups);
+            long lookupTime = System.nanoTime() - lookupStart;
+
+            log.info(name + ": loaded " + tableSize + " rows in " + loadTime / 1000000 + " ms, retained heap " +
+                    (heapAfter - heapBefore) / (1024 * 1024) + " MB, " + lookups + " join lookups (" + matches.get() +
+                    " matches) at " + (lookups * 1000000000L / lookupTime) + " lookups/sec");
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    private static void lookUp(InputHandler lookupStream, int tableSize, int lookups) throws InterruptedException {
+        for (long i = 0; i < lookups; i++) {
+            long id = (i * 7919) % tableSize;
+            lookupStream.send(new Object[]{id, "name-" + id});
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -20,6 +20,7 @@ package org.ballerinalang.nativeimpl.builtin.streamlib;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
 import org.ballerinalang.bre.bvm.StreamingRuntimeManager;
+import org.ballerinalang.config.ConfigRegistry;
 import org.ballerinalang.model.types.BField;
 import org.ballerinalang.model.types.BStructureType;
 import org.ballerinalang.model.types.TypeKind;
@@ -56,6 +57,18 @@ import java.util.Set;
         isPublic = false)
 public class StartForever extends BlockingNativeCallableUnit {
 
+    /**
+     * Config table prefix of the async settings of a stream, given as {@code [b7a.streaming.async.<stream name>]}.
+     */
+    private static final String ASYNC_CONFIG_PREFIX = "b7a.streaming.async";
+    private static final String[][] ASYNC_CONFIG_ELEMENTS = {
+            {"bufferSize", "buffer.size"},
+            {"workers", "workers"},
+            {"batchSize", "batch.size.max"},
+            {"waitStrategy", "wait.strategy"},
+            {"blockOnFull", "block.on.full"}
+    };
+
     @Override
     public void execute(Context context) {
         context.setReturnValues();
@@ -69,7 +82,9 @@ public class StartForever extends BlockingNativeCallableUnit {
             siddhiQuery = siddhiQuery.replaceFirst("\\[\\[streamName\\]\\]", stream.getStreamId());
 
             BField[] structFieldArray = ((BStructureType) stream.getConstraintType()).getFields();
-            StringBuilder streamDefinition = new StringBuilder("define stream ");
+            StringBuilder streamDefinition = new StringBuilder();
+            addAsyncAnnotation(stream.getStreamId(), streamDefinition);
+            streamDefinition.append("define stream ");
             streamDefinition.append(stream.getStreamId()).append("( ");
             generateStreamDefinition(structFieldArray, streamDefinition);
             streamDefinitionQuery.append(streamDefinition).append("\n ");
@@ -99,6 +114,27 @@ public class StartForever extends BlockingNativeCallableUnit {
         }
     }
 
+    /**
+     * Makes the stream asynchronous if async settings are configured for it, so that publishers hand events over to
+     * a buffer drained by the query workers instead of running the queries on their own thread.
+     */
+    private void addAsyncAnnotation(String streamId, StringBuilder streamDefinition) {
+        ConfigRegistry configRegistry = ConfigRegistry.getInstance();
+        StringBuilder asyncElements = new StringBuilder();
+        for (String[] element : ASYNC_CONFIG_ELEMENTS) {
+            String value = configRegistry.getAsString(ASYNC_CONFIG_PREFIX + "." + streamId, element[0]);
+            if (value != null) {
+                if (asyncElements.length() > 0) {
+                    asyncElements.append(", ");
+                }
+                asyncElements.append(element[1]).append("='").append(value.replace("'", "")).append("'");
+            }
+        }
+        if (asyncElements.length() > 0) {
+            streamDefinition.append("@Async(").append(asyncElements).append(") ");
+        }
+    }
+
     private void generateStreamDefinition(BField[] structFieldArray,
                                           StringBuilder streamDefinition) {
         BField structField = structFieldArray[0];
@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Storage of a Ballerina cache. Keys are hashed into segments, each guarded by its own lock, which keep their entries
+ * in a hash map and in a list ordered by the last access. Hence a lookup, an access and the eviction of the least
+ * recently used entry take constant time. Entries which have not been used for the expiry time are dropped lazily,
+ * from the least recently used end of the list, when the segment is next used.
+ * <p>
+ * Small caches have a single segment so that they evict in exact least recently used order. Optionally, a new key is
+ * only admitted into a full segment if it is used more often than the key which would be evicted for it.
+ *
+ * @param <V> type of the cached values
+ * @since 0.980.0
+ */
+public class CacheStore<V> {
+
+    // Capacity of a segment below which the cache is not split further
+    private static final int MIN_SEGMENT_CAPACITY = 1024;
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment<V>[] segments;
+    private final int segmentMask;
+
+    /**
+     * Creates a store.
+     *
+     * @param capacity                maximum number of entries
+     * @param expiryTimeMillis        time after which an entry which has not been used expires
+     * @param evictionFactor          fraction of the capacity evicted when the cache is full
+     * @param frequencyBasedAdmission whether new keys are admitted into a full cache by their frequency of use
+     */
+    @SuppressWarnings("unchecked")
+    public CacheStore(int capacity, long expiryTimeMillis, double evictionFactor, boolean frequencyBasedAdmission) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+        if (expiryTimeMillis <= 0) {
+            throw new IllegalArgumentException("Expiry time must be greater than 0");
+        }
+        if (evictionFactor <= 0 || evictionFactor > 1) {
+            throw new IllegalArgumentException("Cache eviction factor must be between 0.0 (exclusive) and 1.0 "
+                    + "(inclusive)");
+        }
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && capacity / (segmentCount << 1) >= MIN_SEGMENT_CAPACITY) {
+            segmentCount <<= 1;
+        }
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        AtomicLong insertionCount = new AtomicLong();
+        for (int i = 0; i < segmentCount; i++) {
+            int segmentCapacity = capacity / segmentCount + (i < capacity % segmentCount ? 1 : 0);
+            segments[i] = new Segment<>(segmentCapacity, expiryTimeMillis, evictionFactor, frequencyBasedAdmission,
+                    insertionCount);
+        }
+    }
+
+    /**
+     * Adds a value for a key, replacing the value already cached for the key.
+     *
+     * @param key   the key
+     * @param value the value
+     * @param now   current time in milliseconds
+     */
+    public void put(String key, V value, long now) {
+        int hash = hash(key);
+        Segment<V> segment = segmentFor(hash);
+        synchronized (segment) {
+            segment.purgeExpired(now);
+            segment.put(key, hash, value, now);
+        }
+    }
+
+    /**
+     * Provides the value cached for a key and marks the key as used.
+     *
+     * @param key the key
+     * @param now current time in milliseconds
+     * @return the value, or null if the key is not in the cache
+     */
+    public V get(String key, long now) {
+        int hash = hash(key);
+        Segment<V> segment = segmentFor(hash);
+        synchronized (segment) {
+            segment.purgeExpired(now);
+            Node<V> node = segment.nodes.get(key);
+            if (segment.sketch != null) {
+                segment.sketch.increment(hash);
+            }
+            if (node == null) {
+                return null;
+            }
+            node.lastAccessedTime = now;
+            segment.moveToTail(node);
+            return node.value;
+        }
+    }
+
+    public boolean hasKey(String key, long now) {
+        Segment<V> segment = segmentFor(hash(key));
+        synchronized (segment) {
+            segment.purgeExpired(now);
+            return segment.nodes.containsKey(key);
+        }
+    }
+
+    public void remove(String key) {
+        Segment<V> segment = segmentFor(hash(key));
+        synchronized (segment) {
+            Node<V> node = segment.nodes.remove(key);
+            if (node != null) {
+                segment.unlink(node);
+            }
+        }
+    }
+
+    /**
+     * Number of entries which have not expired.
+     *
+     * @param now current time in milliseconds
+     * @return the number of entries
+     */
+    public int size(long now) {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                segment.purgeExpired(now);
+                size += segment.nodes.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Keys of the entries which have not expired, in the order they were added.
+     *
+     * @param now current time in milliseconds
+     * @return the keys
+     */
+    public List<String> keys(long now) {
+        List<Node<V>> nodes = new ArrayList<>();
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                segment.purgeExpired(now);
+                nodes.addAll(segment.nodes.values());
+            }
+        }
+        nodes.sort(Comparator.comparingLong(node -> node.insertionOrder));
+        List<String> keys = new ArrayList<>(nodes.size());
+        for (Node<V> node : nodes) {
+            keys.add(node.key);
+        }
+        return keys;
+    }
+
+    private Segment<V> segmentFor(int hash) {
+        return segments[hash & segmentMask];
+    }
+
+    private static int hash(String key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Entries of the keys hashed to a segment. The list is circular around a sentinel node, with the least recently
+     * used entry after the sentinel and the most recently used one before it.
+     */
+    private static class Segment<T> {
+        private final int capacity;
+        private final long expiryTimeMillis;
+        private final int evictionCount;
+        private final AtomicLong insertionCount;
+        private final Map<String, Node<T>> nodes = new HashMap<>();
+        private final Node<T> sentinel = new Node<>(null, null, 0, 0);
+        private final FrequencySketch sketch;
+
+        private Segment(int capacity, long expiryTimeMillis, double evictionFactor, boolean frequencyBasedAdmission,
+                        AtomicLong insertionCount) {
+            this.capacity = capacity;
+            this.expiryTimeMillis = expiryTimeMillis;
+            this.evictionCount = Math.max(1, (int) (capacity * evictionFactor));
+            this.insertionCount = insertionCount;
+            this.sketch = frequencyBasedAdmission ? new FrequencySketch(capacity) : null;
+            sentinel.previous = sentinel;
+            sentinel.next = sentinel;
+        }
+
+        private void put(String key, int hash, T value, long now) {
+            if (sketch != null) {
+                sketch.increment(hash);
+            }
+            Node<T> node = nodes.get(key);
+            if (node != null) {
+                node.value = value;
+                node.lastAccessedTime = now;
+                moveToTail(node);
+                return;
+            }
+            if (nodes.size() >= capacity) {
+                Node<T> victim = sentinel.next;
+                if (sketch != null && sketch.frequency(hash) <= sketch.frequency(hash(victim.key))) {
+                    return;
+                }
+                evict();
+            }
+            node = new Node<>(key, value, now, insertionCount.getAndIncrement());
+            nodes.put(key, node);
+            linkLast(node);
+        }
+
+        private void evict() {
+            for (int i = 0; i < evictionCount && sentinel.next != sentinel; i++) {
+                Node<T> node = sentinel.next;
+                nodes.remove(node.key);
+                unlink(node);
+            }
+        }
+
+        private void purgeExpired(long now) {
+            // Entries are ordered by the last access, hence the expired ones are at the head of the list
+            while (sentinel.next != sentinel && now >= sentinel.next.lastAccessedTime + expiryTimeMillis) {
+                Node<T> node = sentinel.next;
+                nodes.remove(node.key);
+                unlink(node);
+            }
+        }
+
+        private void moveToTail(Node<T> node) {
+            unlink(node);
+            linkLast(node);
+        }
+
+        private void linkLast(Node<T> node) {
+            node.previous = sentinel.previous;
+            node.next = sentinel;
+            sentinel.previous.next = node;
+            sentinel.previous = node;
+        }
+
+        private void unlink(Node<T> node) {
+            node.previous.next = node.next;
+            node.next.previous = node.previous;
+        }
+    }
+
+    /**
+     * Entry of the cache.
+     */
+    private static class Node<T> {
+        private final String key;
+        private final long insertionOrder;
+        private T value;
+        private long lastAccessedTime;
+        private Node<T> previous;
+        private Node<T> next;
+
+        private Node(String key, T value, long lastAccessedTime, long insertionOrder) {
+            this.key = key;
+            this.value = value;
+            this.lastAccessedTime = lastAccessedTime;
+            this.insertionOrder = insertionOrder;
+        }
+    }
+}
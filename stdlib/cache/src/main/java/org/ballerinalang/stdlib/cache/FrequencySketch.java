@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache;
+
+/**
+ * Estimates how often keys are used, for deciding whether a new key is worth evicting another one for. This is a
+ * count-min sketch of four bit counters, four counters per key, packed sixteen to a long. The counters are halved
+ * once enough uses have been recorded, so that the estimates follow the recent use of the keys.
+ *
+ * @since 0.980.0
+ */
+public class FrequencySketch {
+
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+            0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long MAX_COUNTER = 0xfL;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * Creates a sketch.
+     *
+     * @param capacity number of keys of which the use is estimated
+     */
+    public FrequencySketch(int capacity) {
+        int tableSize = Integer.highestOneBit(Math.max(8, capacity - 1) << 1);
+        this.table = new long[tableSize];
+        this.tableMask = tableSize - 1;
+        this.sampleSize = 10 * Math.max(8, capacity);
+    }
+
+    /**
+     * Records a use of a key.
+     *
+     * @param hash hash code of the key
+     */
+    public void increment(int hash) {
+        int start = (spread(hash) & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Estimates the number of recent uses of a key, up to fifteen.
+     *
+     * @param hash hash code of the key
+     * @return the estimate
+     */
+    public int frequency(int hash) {
+        int start = (spread(hash) & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long counter = (table[indexOf(hash, i)] >>> ((start + i) << 2)) & MAX_COUNTER;
+            frequency = Math.min(frequency, (int) counter);
+        }
+        return frequency;
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = MAX_COUNTER << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    private int indexOf(int hash, int row) {
+        long index = (hash + SEEDS[row]) * SEEDS[row];
+        index += index >>> 32;
+        return (int) index & tableMask;
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.stdlib.cache.CacheStore;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+/**
+ * Base class of the extern functions of the Cache object, which work on the store attached to the object.
+ *
+ * @since 0.980.0
+ */
+public abstract class AbstractCacheFunction extends BlockingNativeCallableUnit {
+
+    @SuppressWarnings("unchecked")
+    protected static CacheStore<BValue> getCacheStore(Context context) {
+        BMap<String, BValue> cache = (BMap<String, BValue>) context.getRefArgument(0);
+        CacheStore<BValue> cacheStore = (CacheStore<BValue>) cache.getNativeData(CacheConstants.CACHE_STORE);
+        if (cacheStore == null) {
+            throw new BallerinaException("Cache is not initialized");
+        }
+        return cacheStore;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+/**
+ * Constants used in Ballerina cache package.
+ *
+ * @since 0.980.0
+ */
+public final class CacheConstants {
+
+    private CacheConstants() {
+    }
+
+    public static final String CACHE_PACKAGE_PATH = "ballerina/cache";
+    public static final String CACHE = "Cache";
+    public static final String CACHE_STORE = "CacheStore";
+
+    public static final String CAPACITY_FIELD = "capacity";
+    public static final String EXPIRY_TIME_FIELD = "expiryTimeMillis";
+    public static final String EVICTION_FACTOR_FIELD = "evictionFactor";
+    public static final String FREQUENCY_BASED_ADMISSION_FIELD = "frequencyBasedAdmission";
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.Receiver;
+import org.ballerinalang.stdlib.cache.CacheStore;
+
+/**
+ * Extern function ballerina.cache:Cache.initialize, which attaches the store to a new cache.
+ *
+ * @since 0.980.0
+ */
+@BallerinaFunction(
+        orgName = "ballerina",
+        packageName = "cache",
+        functionName = "initialize",
+        receiver = @Receiver(type = TypeKind.OBJECT, structType = CacheConstants.CACHE,
+                structPackage = CacheConstants.CACHE_PACKAGE_PATH)
+)
+public class CacheInitialize extends BlockingNativeCallableUnit {
+
+    @Override
+    public void execute(Context context) {
+        BMap<String, BValue> cache = (BMap<String, BValue>) context.getRefArgument(0);
+        int capacity = (int) ((BInteger) cache.get(CacheConstants.CAPACITY_FIELD)).intValue();
+        long expiryTimeMillis = ((BInteger) cache.get(CacheConstants.EXPIRY_TIME_FIELD)).intValue();
+        double evictionFactor = ((BFloat) cache.get(CacheConstants.EVICTION_FACTOR_FIELD)).floatValue();
+        boolean frequencyBasedAdmission = ((BBoolean) cache.get(CacheConstants.FREQUENCY_BASED_ADMISSION_FIELD))
+                .booleanValue();
+        cache.addNativeData(CacheConstants.CACHE_STORE,
+                new CacheStore<BValue>(capacity, expiryTimeMillis, evictionFactor, frequencyBasedAdmission));
+        context.setReturnValues();
+    }
+}
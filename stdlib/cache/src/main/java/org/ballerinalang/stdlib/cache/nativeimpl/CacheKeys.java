@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BStringArray;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.Receiver;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+import java.util.List;
+
+/**
+ * Extern function ballerina.cache:Cache.keys.
+ *
+ * @since 0.980.0
+ */
+@BallerinaFunction(
+        orgName = "ballerina",
+        packageName = "cache",
+        functionName = "keys",
+        receiver = @Receiver(type = TypeKind.OBJECT, structType = CacheConstants.CACHE,
+                structPackage = CacheConstants.CACHE_PACKAGE_PATH),
+        returnType = {@ReturnType(type = TypeKind.ARRAY, elementType = TypeKind.STRING)},
+        isPublic = true
+)
+public class CacheKeys extends AbstractCacheFunction {
+
+    @Override
+    public void execute(Context context) {
+        List<String> keys = getCacheStore(context).keys(System.currentTimeMillis());
+        context.setReturnValues(new BStringArray(keys.toArray(new String[0])));
+    }
+}
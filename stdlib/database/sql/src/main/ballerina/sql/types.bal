@@ -30,6 +30,8 @@ documentation {
     F{{minimumIdle}} Minimum number of idle connections that pool tries to maintain in the pool. Default is same as maximumPoolSize
     F{{maxLifetime}} Maximum lifetime of a connection in the pool. Default is 30 minutes
     F{{validationTimeout}} Maximum amount of time that a connection will be tested for aliveness. Default 5 seconds
+    F{{statementCacheSize}} Maximum number of prepared statements cached per connection. Default is 0, which disables
+                              the cache. The cache is not used with XA connections
 }
 public type PoolOptions record {
     string connectionInitSql,
@@ -42,6 +44,7 @@ public type PoolOptions record {
     int minimumIdle = -1,
     int maxLifetime = 1800000,
     int validationTimeout = 5000,
+    int statementCacheSize = 0,
 };
 
 documentation {
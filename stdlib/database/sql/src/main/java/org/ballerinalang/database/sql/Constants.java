@@ -167,6 +167,7 @@ public final class Constants {
         public static final String MINIMUM_IDLE = "minimumIdle";
         public static final String MAX_LIFE_TIME = "maxLifetime";
         public static final String VALIDATION_TIMEOUT = "validationTimeout";
+        public static final String STATEMENT_CACHE_SIZE = "statementCacheSize";
     }
 
     /**
@@ -204,4 +205,10 @@ public final class Constants {
     public static final String PARAMETER_VALUE_FIELD = "value";
     public static final String PARAMETER_DIRECTION_FIELD = "direction";
     public static final String PARAMETER_RECORD_TYPE_FIELD = "recordType";
+
+    /**
+     * Configuration which enables the execution of the actions on the executor of the datasource.
+     */
+    public static final String ASYNC_EXECUTION_CONFIG = "b7a.sql.async";
+    public static final String EXECUTOR_THREAD_PREFIX = "BLangSQL";
 }
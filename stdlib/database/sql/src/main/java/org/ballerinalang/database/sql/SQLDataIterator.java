@@ -48,9 +48,8 @@ import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Struct;
-import java.sql.Time;
-import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 import javax.sql.rowset.CachedRowSet;
@@ -69,6 +68,9 @@ public class SQLDataIterator extends TableIterator {
     private static final String UNASSIGNABLE_UNIONTYPE_EXCEPTION =
             "Corresponding Union type in the record is not an assignable nillable type";
     private static final String MISMATCHING_FIELD_ASSIGNMENT = "Trying to assign to a mismatching type";
+    private ColumnMapper[] columnMappers;
+    private String[] columnNames;
+    private int[] sqlTypes;
 
     public SQLDataIterator(Calendar utcCalendar, BStructureType structType, StructureTypeInfo timeStructInfo,
                            StructureTypeInfo zoneStructInfo, TableResourceManager rm,
@@ -128,124 +130,213 @@ public class SQLDataIterator extends TableIterator {
         if (this.type == null) {
             throw new BallerinaException("the expected struct type is not specified in action");
         }
+        return mapRow();
+    }
+
+    /**
+     * Maps the current row of the result set to a record, through the column mappers which are compiled for the
+     * columns of the result set and the fields of the record type on the first row.
+     */
+    private BMap<String, BValue> mapRow() {
+        if (columnMappers == null) {
+            compileColumnMappers();
+        }
         BMap<String, BValue> bStruct = new BMap<>(this.type);
-        int index = 0;
-        String columnName = null;
-        int sqlType = -1;
+        int column = 0;
         try {
-            BField[] structFields = this.type.getFields();
-            for (ColumnDefinition columnDef : columnDefs) {
-                if (columnDef instanceof SQLColumnDefinition) {
-                    SQLColumnDefinition def = (SQLColumnDefinition) columnDef;
-                    columnName = def.getName();
-                    sqlType = def.getSqlType();
-                    ++index;
-                    BField field = structFields[index - 1];
-                    BType fieldType = field.getFieldType();
-                    String fieldName = field.fieldName;
-                    switch (sqlType) {
-                    case Types.ARRAY:
-                        Array data = rs.getArray(index);
-                        handleArrayValue(bStruct, fieldName, data, fieldType);
-                        break;
-                    case Types.CHAR:
-                    case Types.VARCHAR:
-                    case Types.LONGVARCHAR:
-                    case Types.NCHAR:
-                    case Types.NVARCHAR:
-                    case Types.LONGNVARCHAR:
-                        String sValue = rs.getString(index);
-                        handleStringValue(sValue, fieldName, bStruct, fieldType);
-                        break;
-                    case Types.BINARY:
-                    case Types.VARBINARY:
-                    case Types.LONGVARBINARY:
-                        byte[] binaryValue = rs.getBytes(index);
-                        handleBinaryValue(bStruct, fieldName, binaryValue, fieldType);
-                        break;
-                    case Types.BLOB:
-                        Blob blobValue = rs.getBlob(index);
-                        handleBinaryValue(bStruct, fieldName,
-                                blobValue == null ? null : blobValue.getBytes(1L, (int) blobValue.length()), fieldType);
-                        break;
-                    case Types.CLOB:
-                        String clobValue = SQLDatasourceUtils.getString((rs.getClob(index)));
-                        handleStringValue(clobValue, fieldName, bStruct, fieldType);
-                        break;
-                    case Types.NCLOB:
-                        String nClobValue = SQLDatasourceUtils.getString((rs.getNClob(index)));
-                        handleStringValue(nClobValue, fieldName, bStruct, fieldType);
-                        break;
-                    case Types.DATE:
-                        Date date = rs.getDate(index);
-                        handleDateValue(bStruct, fieldName, date, fieldType);
-                        break;
-                    case Types.TIME:
-                    case Types.TIME_WITH_TIMEZONE:
-                        Time time = rs.getTime(index, utcCalendar);
-                        handleDateValue(bStruct, fieldName, time, fieldType);
-                        break;
-                    case Types.TIMESTAMP:
-                    case Types.TIMESTAMP_WITH_TIMEZONE:
-                        Timestamp timestamp = rs.getTimestamp(index, utcCalendar);
-                        handleDateValue(bStruct, fieldName, timestamp, fieldType);
-                        break;
-                    case Types.ROWID:
-                        sValue = new String(rs.getRowId(index).getBytes(), "UTF-8");
-                        handleStringValue(sValue, fieldName, bStruct, fieldType);
-                        break;
-                    case Types.TINYINT:
-                    case Types.SMALLINT:
-                        long iValue = rs.getInt(index);
-                        handleLongValue(iValue, bStruct, fieldName, fieldType);
-                        break;
-                    case Types.INTEGER:
-                    case Types.BIGINT:
-                        long lValue = rs.getLong(index);
-                        handleLongValue(lValue, bStruct, fieldName, fieldType);
-                        break;
-                    case Types.REAL:
-                    case Types.FLOAT:
-                        double fValue = rs.getFloat(index);
-                        handleDoubleValue(fValue, bStruct, fieldName, fieldType);
-                        break;
-                    case Types.DOUBLE:
-                        double dValue = rs.getDouble(index);
-                        handleDoubleValue(dValue, bStruct, fieldName, fieldType);
-                        break;
-                    case Types.NUMERIC:
-                    case Types.DECIMAL:
-                        double decimalValue = 0;
-                        BigDecimal bigDecimalValue = rs.getBigDecimal(index);
-                        if (bigDecimalValue != null) {
-                            decimalValue = bigDecimalValue.doubleValue();
-                        }
-                        handleDoubleValue(decimalValue, bStruct, fieldName, fieldType);
-                        break;
-                    case Types.BIT:
-                    case Types.BOOLEAN:
-                        boolean boolValue = rs.getBoolean(index);
-                        handleBooleanValue(bStruct, fieldName, boolValue, fieldType);
-                        break;
-                    case Types.STRUCT:
-                        Struct structData = (Struct) rs.getObject(index);
-                        handleStructValue(bStruct, fieldName, structData, fieldType);
-                        break;
-                    default:
-                        throw new BallerinaException(
-                                "unsupported sql type " + sqlType + " found for the column " + columnName + " index:"
-                                        + index);
-                    }
-                }
+            for (; column < columnMappers.length; column++) {
+                columnMappers[column].map(bStruct);
             }
         } catch (Throwable e) {
             throw new BallerinaException(
-                    "error in retrieving next value for column: " + columnName + ": of SQL Type: " + sqlType + ": "
-                            + "at " + "index:" + index + ":" + e.getMessage());
+                    "error in retrieving next value for column: " + columnNames[column] + ": of SQL Type: "
+                            + sqlTypes[column] + ": " + "at " + "index:" + (column + 1) + ":" + e.getMessage());
         }
         return bStruct;
     }
 
+    private void compileColumnMappers() {
+        BField[] structFields = this.type.getFields();
+        List<ColumnMapper> mappers = new ArrayList<>(columnDefs.size());
+        List<String> names = new ArrayList<>(columnDefs.size());
+        List<Integer> types = new ArrayList<>(columnDefs.size());
+        int index = 0;
+        for (ColumnDefinition columnDef : columnDefs) {
+            if (columnDef instanceof SQLColumnDefinition) {
+                SQLColumnDefinition def = (SQLColumnDefinition) columnDef;
+                ++index;
+                ColumnMapper mapper;
+                try {
+                    mapper = compileColumnMapper(def, index, structFields);
+                } catch (Throwable e) {
+                    //Errors of the mapping are reported when a row is mapped
+                    mapper = bStruct -> {
+                        throw e;
+                    };
+                }
+                mappers.add(mapper);
+                names.add(def.getName());
+                types.add(def.getSqlType());
+            }
+        }
+        columnMappers = mappers.toArray(new ColumnMapper[0]);
+        columnNames = names.toArray(new String[0]);
+        sqlTypes = types.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private ColumnMapper compileColumnMapper(SQLColumnDefinition def, int index, BField[] structFields) {
+        BField field = structFields[index - 1];
+        BType fieldType = field.getFieldType();
+        String fieldName = field.fieldName;
+        int sqlType = def.getSqlType();
+        switch (sqlType) {
+        case Types.ARRAY:
+            return bStruct -> handleArrayValue(bStruct, fieldName, rs.getArray(index), fieldType);
+        case Types.CHAR:
+        case Types.VARCHAR:
+        case Types.LONGVARCHAR:
+        case Types.NCHAR:
+        case Types.NVARCHAR:
+        case Types.LONGNVARCHAR:
+            return compileStringMapper(index, fieldName, fieldType);
+        case Types.BINARY:
+        case Types.VARBINARY:
+        case Types.LONGVARBINARY:
+            return bStruct -> handleBinaryValue(bStruct, fieldName, rs.getBytes(index), fieldType);
+        case Types.BLOB:
+            return bStruct -> {
+                Blob blobValue = rs.getBlob(index);
+                handleBinaryValue(bStruct, fieldName,
+                        blobValue == null ? null : blobValue.getBytes(1L, (int) blobValue.length()), fieldType);
+            };
+        case Types.CLOB:
+            return bStruct -> handleStringValue(SQLDatasourceUtils.getString((rs.getClob(index))), fieldName,
+                    bStruct, fieldType);
+        case Types.NCLOB:
+            return bStruct -> handleStringValue(SQLDatasourceUtils.getString((rs.getNClob(index))), fieldName,
+                    bStruct, fieldType);
+        case Types.DATE:
+            return bStruct -> handleDateValue(bStruct, fieldName, rs.getDate(index), fieldType);
+        case Types.TIME:
+        case Types.TIME_WITH_TIMEZONE:
+            return bStruct -> handleDateValue(bStruct, fieldName, rs.getTime(index, utcCalendar), fieldType);
+        case Types.TIMESTAMP:
+        case Types.TIMESTAMP_WITH_TIMEZONE:
+            return bStruct -> handleDateValue(bStruct, fieldName, rs.getTimestamp(index, utcCalendar), fieldType);
+        case Types.ROWID:
+            return bStruct -> handleStringValue(new String(rs.getRowId(index).getBytes(), "UTF-8"), fieldName,
+                    bStruct, fieldType);
+        case Types.TINYINT:
+        case Types.SMALLINT:
+        case Types.INTEGER:
+        case Types.BIGINT:
+            return compileLongMapper(index, fieldName, fieldType, sqlType);
+        case Types.REAL:
+        case Types.FLOAT:
+        case Types.DOUBLE:
+        case Types.NUMERIC:
+        case Types.DECIMAL:
+            return compileDoubleMapper(index, fieldName, fieldType, sqlType);
+        case Types.BIT:
+        case Types.BOOLEAN:
+            return compileBooleanMapper(index, fieldName, fieldType);
+        case Types.STRUCT:
+            return bStruct -> handleStructValue(bStruct, fieldName, (Struct) rs.getObject(index), fieldType);
+        default:
+            throw new BallerinaException(
+                    "unsupported sql type " + sqlType + " found for the column " + def.getName() + " index:"
+                            + index);
+        }
+    }
+
+    private ColumnMapper compileStringMapper(int index, String fieldName, BType fieldType) {
+        if (fieldType.getTag() == TypeTags.UNION_TAG) {
+            checkNonNilTypeTag(fieldType, TypeTags.STRING_TAG);
+            return bStruct -> {
+                String stringValue = rs.getString(index);
+                bStruct.put(fieldName, stringValue == null ? null : new BString(stringValue));
+            };
+        }
+        return bStruct -> {
+            String stringValue = rs.getString(index);
+            if (stringValue == null) {
+                handleNilToNonNillableFieldAssignment();
+            }
+            bStruct.put(fieldName, new BString(stringValue));
+        };
+    }
+
+    private ColumnMapper compileLongMapper(int index, String fieldName, BType fieldType, int sqlType) {
+        boolean smallInt = sqlType == Types.TINYINT || sqlType == Types.SMALLINT;
+        if (fieldType.getTag() == TypeTags.UNION_TAG) {
+            checkNonNilTypeTag(fieldType, TypeTags.INT_TAG);
+            return bStruct -> {
+                long longValue = smallInt ? rs.getInt(index) : rs.getLong(index);
+                bStruct.put(fieldName, rs.wasNull() ? null : new BInteger(longValue));
+            };
+        }
+        return bStruct -> {
+            long longValue = smallInt ? rs.getInt(index) : rs.getLong(index);
+            if (rs.wasNull()) {
+                handleNilToNonNillableFieldAssignment();
+            }
+            bStruct.put(fieldName, new BInteger(longValue));
+        };
+    }
+
+    private ColumnMapper compileDoubleMapper(int index, String fieldName, BType fieldType, int sqlType) {
+        if (fieldType.getTag() == TypeTags.UNION_TAG) {
+            checkNonNilTypeTag(fieldType, TypeTags.FLOAT_TAG);
+            return bStruct -> {
+                double doubleValue = getDouble(index, sqlType);
+                bStruct.put(fieldName, rs.wasNull() ? null : new BFloat(doubleValue));
+            };
+        }
+        return bStruct -> {
+            double doubleValue = getDouble(index, sqlType);
+            if (rs.wasNull()) {
+                handleNilToNonNillableFieldAssignment();
+            }
+            bStruct.put(fieldName, new BFloat(doubleValue));
+        };
+    }
+
+    private ColumnMapper compileBooleanMapper(int index, String fieldName, BType fieldType) {
+        if (fieldType.getTag() == TypeTags.UNION_TAG) {
+            checkNonNilTypeTag(fieldType, TypeTags.BOOLEAN_TAG);
+            return bStruct -> {
+                boolean boolValue = rs.getBoolean(index);
+                bStruct.put(fieldName, rs.wasNull() ? null : new BBoolean(boolValue));
+            };
+        }
+        return bStruct -> {
+            boolean boolValue = rs.getBoolean(index);
+            if (rs.wasNull()) {
+                handleNilToNonNillableFieldAssignment();
+            }
+            bStruct.put(fieldName, new BBoolean(boolValue));
+        };
+    }
+
+    private double getDouble(int index, int sqlType) throws SQLException {
+        switch (sqlType) {
+        case Types.REAL:
+        case Types.FLOAT:
+            return rs.getFloat(index);
+        case Types.DOUBLE:
+            return rs.getDouble(index);
+        default:
+            BigDecimal bigDecimalValue = rs.getBigDecimal(index);
+            return bigDecimalValue == null ? 0 : bigDecimalValue.doubleValue();
+        }
+    }
+
+    private void checkNonNilTypeTag(BType fieldType, int expectedTypeTag) {
+        if (retrieveNonNilTypeTag(fieldType) != expectedTypeTag) {
+            throw new BallerinaException(UNASSIGNABLE_UNIONTYPE_EXCEPTION);
+        }
+    }
+
     private void validateAndSetRefRecordField(BMap<String, BValue> bStruct, String fieldName, int expectedTypeTag,
                                               int actualTypeTag, BRefType value, String exceptionMessage) {
         if (expectedTypeTag == actualTypeTag) {
@@ -428,23 +519,6 @@ public class SQLDataIterator extends TableIterator {
         }
     }
 
-    private void handleBooleanValue(BMap<String, BValue> bStruct, String fieldName, boolean boolValue, BType fieldType)
-            throws SQLException {
-        int fieldTypeTag = fieldType.getTag();
-        boolean isOriginalValueNull = rs.wasNull();
-        if (fieldTypeTag == TypeTags.UNION_TAG) {
-            BRefType refValue = isOriginalValueNull ? null : new BBoolean(boolValue);
-            validateAndSetRefRecordField(bStruct, fieldName, TypeTags.BOOLEAN_TAG,
-                    retrieveNonNilTypeTag(fieldType), refValue, UNASSIGNABLE_UNIONTYPE_EXCEPTION);
-        } else {
-            if (isOriginalValueNull) {
-                handleNilToNonNillableFieldAssignment();
-            } else {
-                bStruct.put(fieldName, new BBoolean(boolValue));
-            }
-        }
-    }
-
     private void handleDateValue(BMap<String, BValue> bStruct, String fieldName, java.util.Date date,
                                  BType fieldType) {
         int fieldTypeTag = fieldType.getTag();
@@ -495,40 +569,6 @@ public class SQLDataIterator extends TableIterator {
         }
     }
 
-    private void handleLongValue(long longValue, BMap<String, BValue> bStruct, String fieldName, BType fieldType)
-            throws SQLException {
-        boolean isOriginalValueNull = rs.wasNull();
-        int fieldTypeTag = fieldType.getTag();
-        if (fieldTypeTag == TypeTags.UNION_TAG) {
-            BRefType refValue = isOriginalValueNull ? null : new BInteger(longValue);
-            validateAndSetRefRecordField(bStruct, fieldName, TypeTags.INT_TAG,
-                    retrieveNonNilTypeTag(fieldType), refValue, UNASSIGNABLE_UNIONTYPE_EXCEPTION);
-        } else {
-            if (isOriginalValueNull) {
-                handleNilToNonNillableFieldAssignment();
-            } else {
-                bStruct.put(fieldName, new BInteger(longValue));
-            }
-        }
-    }
-
-    private void handleDoubleValue(double fValue, BMap<String, BValue> bStruct, String fieldName, BType fieldType)
-            throws SQLException {
-        boolean isOriginalValueNull = rs.wasNull();
-        int fieldTypeTag = fieldType.getTag();
-        if (fieldTypeTag == TypeTags.UNION_TAG) {
-            BRefType refValue = isOriginalValueNull ? null : new BFloat(fValue);
-            validateAndSetRefRecordField(bStruct, fieldName, TypeTags.FLOAT_TAG,
-                    retrieveNonNilTypeTag(fieldType), refValue, UNASSIGNABLE_UNIONTYPE_EXCEPTION);
-        } else {
-            if (isOriginalValueNull) {
-                handleNilToNonNillableFieldAssignment();
-            } else {
-                bStruct.put(fieldName, new BFloat(fValue));
-            }
-        }
-    }
-
     private void handleMappingDateValueToUnionType(BType fieldType, BMap<String, BValue> bStruct,
                                                    String fieldName, java.util.Date date) {
         int type = retrieveNonNilTypeTag(fieldType);
@@ -572,6 +612,14 @@ public class SQLDataIterator extends TableIterator {
         }
     }
 
+    /**
+     * Maps a column of the current row of the result set to the corresponding field of a record.
+     */
+    @FunctionalInterface
+    private interface ColumnMapper {
+        void map(BMap<String, BValue> bStruct) throws Throwable;
+    }
+
     /**
      * This represents a column definition for a column in a table.
      */
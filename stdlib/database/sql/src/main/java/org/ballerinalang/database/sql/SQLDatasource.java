@@ -29,6 +29,7 @@ import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BRefType;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.runtime.threadpool.BLangThreadFactory;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.io.File;
@@ -39,6 +40,10 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.sql.XADataSource;
 
 /**
@@ -48,12 +53,24 @@ import javax.sql.XADataSource;
  */
 public class SQLDatasource implements BValue {
 
+    /**
+     * Number of seconds an idle thread of the executor is kept alive.
+     */
+    private static final long EXECUTOR_KEEP_ALIVE_TIME = 60;
+
+    /**
+     * Number of actions the executor queues per connection of the pool.
+     */
+    private static final int EXECUTOR_QUEUED_ACTIONS_PER_CONNECTION = 64;
+
     private HikariDataSource hikariDataSource;
     private String peerAddress;
     private String databaseName;
     private String databaseProductName;
     private String connectorId;
     private boolean xaConn;
+    private volatile ExecutorService executor;
+    private SQLStatementCache statementCache;
 
     public SQLDatasource() {
     }
@@ -65,6 +82,12 @@ public class SQLDatasource implements BValue {
         buildDataSource(options, url, dbType, hostOrPath, dbName, port, username, password, dbOptions, dbOptionsMap);
         connectorId = UUID.randomUUID().toString();
         xaConn = isXADataSource();
+        if (options != null && !xaConn) {
+            int statementCacheSize = (int) options.getIntField(Constants.Options.STATEMENT_CACHE_SIZE);
+            if (statementCacheSize > 0) {
+                statementCache = new SQLStatementCache(statementCacheSize);
+            }
+        }
         try (Connection con = getSQLConnection()) {
             databaseProductName = con.getMetaData().getDatabaseProductName().toLowerCase(Locale.ENGLISH);
         } catch (SQLException e) {
@@ -129,7 +152,50 @@ public class SQLDatasource implements BValue {
         return xaDataSource;
     }
 
+    /**
+     * Get the executor which runs the actions of this datasource when the actions are executed asynchronously. The
+     * executor has a thread per connection of the pool, actions which are submitted while all the connections are
+     * in use will be queued until a thread is available. The queue is bounded, an action is rejected once it is full.
+     *
+     * @return The executor of this datasource.
+     */
+    public ExecutorService getExecutor() {
+        ExecutorService executorService = executor;
+        if (executorService != null) {
+            return executorService;
+        }
+        synchronized (this) {
+            if (executor == null) {
+                int poolSize = hikariDataSource.getMaximumPoolSize();
+                ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(poolSize, poolSize,
+                        EXECUTOR_KEEP_ALIVE_TIME, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(poolSize * EXECUTOR_QUEUED_ACTIONS_PER_CONNECTION),
+                        new BLangThreadFactory(Constants.EXECUTOR_THREAD_PREFIX));
+                threadPoolExecutor.allowCoreThreadTimeOut(true);
+                executor = threadPoolExecutor;
+            }
+            return executor;
+        }
+    }
+
+    /**
+     * Get the cache of the prepared statements of this datasource.
+     *
+     * @return The statement cache, or null if statements should not be cached.
+     */
+    public SQLStatementCache getStatementCache() {
+        return statementCache;
+    }
+
     public void closeConnectionPool() {
+        synchronized (this) {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+        if (statementCache != null) {
+            statementCache.clear();
+        }
         hikariDataSource.close();
     }
 
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code SQLStatementCache} caches the prepared statements of the connections of a datasource.
+ * <p>
+ * Statements are cached per physical connection, keyed by the SQL text and the fetch size, and the least recently
+ * used statement of a connection is closed once the cache of the connection is full. A cached statement is handed
+ * out through a proxy, closing the proxy returns the statement to the cache instead of closing it. The statement is
+ * removed from the cache while it's in use, so that a statement whose result set is still being iterated is not
+ * executed again by another action which uses the same connection.
+ *
+ * @since 0.980.0
+ */
+public class SQLStatementCache {
+
+    private final int maximumSize;
+    private final Map<Connection, ConnectionStatements> connections = new ConcurrentHashMap<>();
+
+    public SQLStatementCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Get a prepared statement of the given query, which is forward only and read only. The statement is taken from
+     * the cache if it has been prepared earlier on the same physical connection.
+     *
+     * @param conn      SQL connection
+     * @param query     SQL query
+     * @param fetchSize Fetch size of the statement, 0 if the default of the driver should be used
+     * @return the prepared statement which should be closed once it's no longer used
+     * @throws SQLException if the statement could not be prepared
+     */
+    public PreparedStatement prepareStatement(Connection conn, String query, int fetchSize) throws SQLException {
+        //The connection handed out by the pool closes the statements created through it once it's closed
+        Connection physicalConnection = conn.unwrap(Connection.class);
+        ConnectionStatements statements = connections.get(physicalConnection);
+        if (statements == null) {
+            removeClosedConnections();
+            statements = connections.computeIfAbsent(physicalConnection, key -> new ConnectionStatements());
+        }
+        StatementKey key = new StatementKey(query, fetchSize);
+        PreparedStatement stmt = statements.take(key);
+        if (stmt == null) {
+            stmt = physicalConnection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            if (fetchSize != 0) {
+                try {
+                    stmt.setFetchSize(fetchSize);
+                } catch (SQLException e) {
+                    stmt.close();
+                    throw e;
+                }
+            }
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(SQLStatementCache.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, new CachedStatementHandler(statements, key, stmt));
+    }
+
+    /**
+     * Close all the statements in the cache.
+     */
+    public void clear() {
+        Iterator<ConnectionStatements> iterator = connections.values().iterator();
+        while (iterator.hasNext()) {
+            iterator.next().close();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Remove the statements of the connections which have been closed by the pool.
+     */
+    private void removeClosedConnections() throws SQLException {
+        Iterator<Map.Entry<Connection, ConnectionStatements>> iterator = connections.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Connection, ConnectionStatements> entry = iterator.next();
+            if (entry.getKey().isClosed()) {
+                entry.getValue().close();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Key of a cached statement.
+     */
+    private static class StatementKey {
+        private final String query;
+        private final int fetchSize;
+
+        StatementKey(String query, int fetchSize) {
+            this.query = query;
+            this.fetchSize = fetchSize;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof StatementKey)) {
+                return false;
+            }
+            StatementKey that = (StatementKey) o;
+            return fetchSize == that.fetchSize && query.equals(that.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, fetchSize);
+        }
+    }
+
+    /**
+     * Idle statements of a physical connection in the least recently used order.
+     */
+    private class ConnectionStatements {
+        private final LinkedHashMap<StatementKey, PreparedStatement> statements = new LinkedHashMap<>(16, 0.75f,
+                true);
+        private boolean closed;
+
+        synchronized PreparedStatement take(StatementKey key) throws SQLException {
+            PreparedStatement stmt = statements.remove(key);
+            if (stmt != null && stmt.isClosed()) {
+                return null;
+            }
+            return stmt;
+        }
+
+        void release(StatementKey key, PreparedStatement stmt) {
+            List<PreparedStatement> evicted = new ArrayList<>(1);
+            try {
+                stmt.clearParameters();
+            } catch (SQLException e) {
+                closeQuietly(stmt);
+                return;
+            }
+            synchronized (this) {
+                if (closed || statements.containsKey(key)) {
+                    //Another statement of the same query was returned while this statement was in use
+                    evicted.add(stmt);
+                } else {
+                    statements.put(key, stmt);
+                    Iterator<PreparedStatement> iterator = statements.values().iterator();
+                    while (statements.size() > maximumSize) {
+                        evicted.add(iterator.next());
+                        iterator.remove();
+                    }
+                }
+            }
+            evicted.forEach(SQLStatementCache::closeQuietly);
+        }
+
+        void close() {
+            List<PreparedStatement> idleStatements;
+            synchronized (this) {
+                closed = true;
+                idleStatements = new ArrayList<>(statements.values());
+                statements.clear();
+            }
+            idleStatements.forEach(SQLStatementCache::closeQuietly);
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException ignore) {
+            //The connection could have already been closed
+        }
+    }
+
+    /**
+     * Handles the invocations of the proxy of a statement which has been taken from the cache.
+     */
+    private static class CachedStatementHandler implements InvocationHandler {
+        private final ConnectionStatements statements;
+        private final StatementKey key;
+        private final PreparedStatement stmt;
+        private boolean closed;
+
+        CachedStatementHandler(ConnectionStatements statements, StatementKey key, PreparedStatement stmt) {
+            this.statements = statements;
+            this.key = key;
+            this.stmt = stmt;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+            case "close":
+                if (!closed) {
+                    closed = true;
+                    try {
+                        ResultSet rs = stmt.getResultSet();
+                        if (rs != null) {
+                            rs.close();
+                        }
+                    } catch (SQLException e) {
+                        closeQuietly(stmt);
+                        return null;
+                    }
+                    statements.release(key, stmt);
+                }
+                return null;
+            case "isClosed":
+                return closed || stmt.isClosed();
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                if (closed) {
+                    throw new SQLException("statement is closed");
+                }
+                try {
+                    return method.invoke(stmt, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        }
+    }
+}
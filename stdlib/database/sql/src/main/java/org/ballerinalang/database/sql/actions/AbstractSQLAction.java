@@ -18,11 +18,15 @@
 package org.ballerinalang.database.sql.actions;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BLangVMErrors;
 import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.bre.bvm.CallableUnitCallback;
+import org.ballerinalang.config.ConfigRegistry;
 import org.ballerinalang.database.sql.Constants;
 import org.ballerinalang.database.sql.SQLDataIterator;
 import org.ballerinalang.database.sql.SQLDatasource;
 import org.ballerinalang.database.sql.SQLDatasourceUtils;
+import org.ballerinalang.database.sql.SQLStatementCache;
 import org.ballerinalang.database.table.BCursorTable;
 import org.ballerinalang.database.table.BMirrorTable;
 import org.ballerinalang.model.ColumnDefinition;
@@ -52,6 +56,7 @@ import org.ballerinalang.stdlib.time.util.TimeUtils;
 import org.ballerinalang.util.TableResourceManager;
 import org.ballerinalang.util.codegen.PackageInfo;
 import org.ballerinalang.util.codegen.StructureTypeInfo;
+import org.ballerinalang.util.exceptions.BLangNullReferenceException;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.observability.ObservabilityConstants;
 import org.ballerinalang.util.observability.ObservabilityUtils;
@@ -81,6 +86,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.TimeZone;
+import java.util.concurrent.RejectedExecutionException;
 import javax.sql.rowset.CachedRowSet;
 import javax.sql.rowset.RowSetProvider;
 
@@ -96,17 +102,59 @@ import static org.ballerinalang.util.observability.ObservabilityConstants.TAG_KE
 
 /**
  * {@code AbstractSQLAction} is the base class for all SQL Action.
+ * <p>
+ * When {@value Constants#ASYNC_EXECUTION_CONFIG} is enabled, the actions are executed on the executor of the
+ * datasource instead of the worker which invoked the action. The worker is released while the JDBC call is in
+ * progress and is resumed through the callback once the result is available. The configuration is read once, when
+ * the action is loaded.
  *
  * @since 0.8.0
  */
 public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
     
     private Calendar utcCalendar;
+    private final boolean asyncExecution;
     private static final BTupleType executeUpdateWithKeysTupleType = new BTupleType(
             Arrays.asList(BTypes.typeInt, new BArrayType(BTypes.typeString)));
 
     public AbstractSQLAction() {
         utcCalendar = Calendar.getInstance(TimeZone.getTimeZone(Constants.TIMEZONE_UTC));
+        asyncExecution = ConfigRegistry.getInstance().getAsBoolean(Constants.ASYNC_EXECUTION_CONFIG);
+    }
+
+    @Override
+    public void execute(Context context, CallableUnitCallback callback) {
+        if (callback == null) {
+            execute(context);
+            return;
+        }
+        BMap<String, BValue> bConnector = (BMap<String, BValue>) context.getRefArgument(0);
+        SQLDatasource datasource = (SQLDatasource) bConnector.getNativeData(Constants.CALLER_ACTIONS);
+        try {
+            datasource.getExecutor().execute(() -> executeAsync(context, callback));
+        } catch (RejectedExecutionException e) {
+            //The datasource has been closed or all of its connections are in use with a full queue, hence the action
+            //is executed in the caller
+            executeAsync(context, callback);
+        }
+    }
+
+    @Override
+    public boolean isBlocking() {
+        return !asyncExecution;
+    }
+
+    private void executeAsync(Context context, CallableUnitCallback callback) {
+        try {
+            execute(context);
+        } catch (BLangNullReferenceException e) {
+            callback.notifyFailure(BLangVMErrors.createNullRefException(context));
+            return;
+        } catch (Throwable e) {
+            callback.notifyFailure(BLangVMErrors.createError(context, e.getMessage()));
+            return;
+        }
+        callback.notifySuccess();
     }
 
     protected void executeQuery(Context context, SQLDatasource datasource, String query, BRefValueArray parameters,
@@ -119,7 +167,8 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
             BRefValueArray generatedParams = constructParameters(context, parameters);
             conn = SQLDatasourceUtils.getDatabaseConnection(context, datasource, isInTransaction);
             String processedQuery = createProcessedQueryString(query, generatedParams);
-            stmt = getPreparedStatement(conn, datasource, processedQuery, loadSQLTableToMemory);
+            stmt = getPreparedStatement(conn, datasource, processedQuery, loadSQLTableToMemory,
+                    isInTransactionBlock(context));
             createProcessedStatement(conn, stmt, generatedParams);
             rs = stmt.executeQuery();
             TableResourceManager rm = new TableResourceManager(conn, stmt);
@@ -148,7 +197,7 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
             BRefValueArray generatedParams = constructParameters(context, parameters);
             conn = SQLDatasourceUtils.getDatabaseConnection(context, datasource, isInTransaction);
             String processedQuery = createProcessedQueryString(query, generatedParams);
-            stmt = conn.prepareStatement(processedQuery);
+            stmt = prepareStatement(conn, datasource, processedQuery, 0, isInTransactionBlock(context));
             createProcessedStatement(conn, stmt, generatedParams, datasource.getDatabaseProductName());
             int count = stmt.executeUpdate();
             context.setReturnValues(new BInteger(count));
@@ -265,7 +314,7 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
         int paramArrayCount = 0;
         try {
             conn = datasource.getSQLConnection();
-            stmt = conn.prepareStatement(query);
+            stmt = prepareStatement(conn, datasource, query, 0, false);
             conn.setAutoCommit(false);
             if (parameters != null) {
                 paramArrayCount = (int) parameters.size();
@@ -446,16 +495,35 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
     }
 
     private PreparedStatement getPreparedStatement(Connection conn, SQLDatasource datasource, String query,
-            boolean loadToMemory) throws SQLException {
-        PreparedStatement stmt;
+            boolean loadToMemory, boolean isInTransactionBlock) throws SQLException {
         boolean mysql = datasource.getDatabaseProductName().contains("mysql");
         /* In MySQL by default, ResultSets are completely retrieved and stored in memory.
            Following properties are set to stream the results back one row at a time.*/
         if (mysql && !loadToMemory) {
+            return prepareStatement(conn, datasource, query, Integer.MIN_VALUE, isInTransactionBlock);
+        }
+        return prepareStatement(conn, datasource, query, 0, isInTransactionBlock);
+    }
+
+    /**
+     * Prepare a forward only and read only statement, which is taken from the statement cache of the datasource if
+     * the cache is enabled.
+     */
+    private PreparedStatement prepareStatement(Connection conn, SQLDatasource datasource, String query,
+            int fetchSize, boolean isInTransactionBlock) throws SQLException {
+        SQLStatementCache statementCache = datasource.getStatementCache();
+        /* The pool rolls back the uncommitted work of a connection when it's returned only if statements created
+           through the connection were executed. Transactions are committed or rolled back explicitly, otherwise
+           statements are cached only if auto commit is enabled. */
+        if (statementCache != null && (isInTransactionBlock || conn.getAutoCommit())) {
+            return statementCache.prepareStatement(conn, query, fetchSize);
+        }
+        PreparedStatement stmt;
+        if (fetchSize != 0) {
             stmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
             // To fulfill OBL_UNSATISFIED_OBLIGATION_EXCEPTION_EDGE findbugs validation.
             try {
-                stmt.setFetchSize(Integer.MIN_VALUE);
+                stmt.setFetchSize(fetchSize);
             } catch (SQLException e) {
                 stmt.close();
             }
@@ -465,6 +533,10 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
         return stmt;
     }
 
+    private boolean isInTransactionBlock(Context context) {
+        return context.isInTransaction() && context.getLocalTransactionInfo().hasTransactionBlock();
+    }
+
     private CallableStatement getPreparedCall(Connection conn, SQLDatasource datasource, String query,
             BRefValueArray parameters) throws SQLException {
         CallableStatement stmt;
@@ -49,4 +49,10 @@ public class Close extends AbstractSQLAction {
         SQLDatasource datasource = (SQLDatasource) bConnector.getNativeData(Constants.CALLER_ACTIONS);
         closeConnections(datasource);
     }
+
+    @Override
+    public boolean isBlocking() {
+        //The executor of the datasource is shut down by this action
+        return true;
+    }
 }
@@ -16,6 +16,7 @@
 package org.ballerinalang.net.grpc;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 
 import java.io.IOException;
 import java.util.ArrayDeque;
@@ -35,6 +36,13 @@ public class CompositeContent {
 
     public final int readInt() {
         checkReadable(4);
+        ByteBuf buffer = skipEmptyBuffers();
+        if (buffer.readableBytes() >= 4) {
+            // Fast path, the whole value is in the first buffer.
+            int value = buffer.readInt();
+            readableBytes -= 4;
+            return value;
+        }
         int b1 = readUnsignedByte();
         int b2 = readUnsignedByte();
         int b3 = readUnsignedByte();
@@ -61,15 +69,10 @@ public class CompositeContent {
     }
 
     public int readUnsignedByte() {
-        ReadOperation op = new ReadOperation() {
-            @Override
-            int readInternal(ByteBuf buffer, int length) {
-
-                return buffer.readUnsignedByte();
-            }
-        };
-        execute(op, 1);
-        return op.value;
+        checkReadable(1);
+        int value = skipEmptyBuffers().readUnsignedByte();
+        readableBytes--;
+        return value;
     }
 
     public void readBytes(final byte[] dest, final int destOffset, int length) {
@@ -85,17 +88,44 @@ public class CompositeContent {
         }, length);
     }
 
+    /**
+     * Reads up to {@code length} bytes without copying. If the first buffer holds more than {@code length} bytes,
+     * a retained slice of it is returned, otherwise the first buffer itself is removed and returned.
+     *
+     * @param length maximum number of bytes to read.
+     * @return buffer owned by the caller.
+     */
     public ByteBuf readBuffer(int length) {
         ByteBuf buffer = buffers.peek();
         if (buffer.readableBytes() > length) {
             readableBytes -= length;
-            return buffer.readBytes(length);
+            return buffer.readRetainedSlice(length);
         } else {
             readableBytes -= buffer.readableBytes();
             return buffers.poll();
         }
     }
 
+    /**
+     * Transfers all the readable bytes to a single {@link ByteBuf} without copying. If the content is composed of
+     * more than one buffer, a composite buffer is returned. Ownership of the returned buffer is passed to the caller.
+     *
+     * @return buffer holding all the readable bytes.
+     */
+    public ByteBuf readAll() {
+        skipEmptyBuffers();
+        readableBytes = 0;
+        if (buffers.isEmpty()) {
+            return Unpooled.EMPTY_BUFFER;
+        }
+        if (buffers.size() == 1) {
+            return buffers.remove();
+        }
+        ByteBuf[] components = buffers.toArray(new ByteBuf[0]);
+        buffers.clear();
+        return Unpooled.wrappedBuffer(components.length, components);
+    }
+
     public void close() {
         while (!buffers.isEmpty()) {
             ByteBuf byteBuf = buffers.remove();
@@ -130,6 +160,22 @@ public class CompositeContent {
         }
     }
 
+    /**
+     * Removes and releases the exhausted buffers at the head of the list.
+     *
+     * @return the first readable buffer, or null if there is none.
+     */
+    private ByteBuf skipEmptyBuffers() {
+        ByteBuf buffer;
+        while ((buffer = buffers.peek()) != null && !buffer.isReadable()) {
+            buffers.remove();
+            if (buffer.refCnt() != 0) {
+                buffer.release();
+            }
+        }
+        return buffer;
+    }
+
     /**
      * If the current buffer is exhausted, removes and closes it.
      */
@@ -148,15 +194,11 @@ public class CompositeContent {
      */
     private abstract static class ReadOperation {
 
-        /**
-         * Only used by {@link CompositeContent#readUnsignedByte()}.
-         */
-        int value;
         IOException ex;
 
         final void read(ByteBuf buffer, int length) {
             try {
-                value = readInternal(buffer, length);
+                readInternal(buffer, length);
             } catch (IOException e) {
                 ex = e;
             }
@@ -37,6 +37,7 @@ public class GrpcConstants {
     //server side endpoint constants.
     public static final String SERVICE_REGISTRY_BUILDER = "SERVICE_REGISTRY_BUILDER";
     public static final String SERVER_CONNECTOR = "SERVER_CONNECTOR";
+    public static final String SERVER_CONNECTOR_LISTENER = "SERVER_CONNECTOR_LISTENER";
     public static final String CONNECTOR_STARTED = "CONNECTOR_STARTED";
     public static final String SERVICE_ENDPOINT_TYPE = "Listener";
     public static final String CALLER_ACTION = "CallerAction";
@@ -156,6 +157,8 @@ public class GrpcConstants {
     static final String TE_KEY = "te";
     static final String TO_HEADER = "TO";
     static final String STATUS_HEADER = "HTTP_STATUS_CODE";
+    // Property of the inbound carbon message holding the Netty context of the connection
+    static final String CHANNEL_HANDLER_CONTEXT = "CHNL_HNDLR_CTX";
     public static final String SCHEME_HEADER = "scheme";
     public static final String AUTHORITY = "authority";
 
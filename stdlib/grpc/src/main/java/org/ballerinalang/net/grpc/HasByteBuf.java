@@ -0,0 +1,35 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.ballerinalang.net.grpc;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Extension to an {@link java.io.InputStream} whose unread content is held in a {@link ByteBuf}, so that it can be
+ * parsed in place instead of being copied out through the stream.
+ *
+ * @since 0.980.0
+ */
+public interface HasByteBuf {
+
+    /**
+     * Returns the buffer holding the unread content of the stream. The buffer is still owned by the stream and
+     * is released when the stream is closed.
+     *
+     * @return readable content of the stream.
+     */
+    ByteBuf buffer();
+}
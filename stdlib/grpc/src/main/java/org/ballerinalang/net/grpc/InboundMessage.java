@@ -15,9 +15,12 @@
  */
 package org.ballerinalang.net.grpc;
 
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http2.HttpConversionUtil;
 import org.wso2.transport.http.netty.contract.HttpResponseFuture;
 import org.wso2.transport.http.netty.contract.ServerConnectorException;
 import org.wso2.transport.http.netty.message.HttpCarbonMessage;
@@ -25,6 +28,7 @@ import org.wso2.transport.http.netty.message.HttpCarbonMessage;
 import java.io.InputStream;
 import java.util.Map;
 
+import static org.ballerinalang.net.grpc.GrpcConstants.CHANNEL_HANDLER_CONTEXT;
 import static org.ballerinalang.net.grpc.GrpcConstants.MESSAGE_ENCODING;
 import static org.ballerinalang.net.grpc.GrpcConstants.STATUS_HEADER;
 import static org.ballerinalang.net.grpc.GrpcConstants.TO_HEADER;
@@ -112,6 +116,22 @@ public class InboundMessage {
                 .getProperty(org.wso2.transport.http.netty.common.Constants.HTTP_METHOD);
     }
 
+    /**
+     * @return the channel the message is read from, or null if the transport does not provide it.
+     */
+    public Channel getChannel() {
+        Object context = httpCarbonMessage.getProperty(CHANNEL_HANDLER_CONTEXT);
+        return context instanceof ChannelHandlerContext ? ((ChannelHandlerContext) context).channel() : null;
+    }
+
+    /**
+     * @return the id of the HTTP/2 stream the message is read from, or -1 if the message is not read over HTTP/2.
+     */
+    public int getStreamId() {
+        Integer streamId = getHeaders().getInt(HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text());
+        return streamId != null ? streamId : -1;
+    }
+
     /**
      * Get underlying HttpCarbonMessage.
      *
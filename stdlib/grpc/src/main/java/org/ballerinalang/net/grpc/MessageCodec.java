@@ -0,0 +1,373 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.ballerinalang.net.grpc;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.WireFormat;
+import org.ballerinalang.net.grpc.exception.UnsupportedFieldTypeException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes the fields of a proto3 message type. A codec is compiled once per message descriptor, resolving
+ * the field lookup by field number, the wire type and the value type of each field up front, so that coding a
+ * message does not walk the descriptor. Codecs are held by the {@link MessageRegistry}, with the descriptors they
+ * are compiled from.
+ *
+ * @since 0.980.0
+ */
+public class MessageCodec {
+
+    // Field numbers up to this are looked up in an array, larger ones in a map
+    private static final int MAX_INDEXED_FIELD_NUMBER = 1024;
+
+    private final Descriptors.Descriptor descriptor;
+    private final FieldCodec[] fields;
+    private final FieldCodec[] fieldsByNumber;
+    private final Map<Integer, FieldCodec> fieldsByLargeNumber = new HashMap<>();
+
+    MessageCodec(Descriptors.Descriptor descriptor) {
+        this.descriptor = descriptor;
+        List<Descriptors.FieldDescriptor> fieldDescriptors = descriptor.getFields();
+        this.fields = new FieldCodec[fieldDescriptors.size()];
+        int maxIndexedNumber = 0;
+        for (Descriptors.FieldDescriptor fieldDescriptor : fieldDescriptors) {
+            if (fieldDescriptor.getNumber() <= MAX_INDEXED_FIELD_NUMBER) {
+                maxIndexedNumber = Math.max(maxIndexedNumber, fieldDescriptor.getNumber());
+            }
+        }
+        this.fieldsByNumber = new FieldCodec[maxIndexedNumber + 1];
+        for (int i = 0; i < fields.length; i++) {
+            FieldCodec field = new FieldCodec(fieldDescriptors.get(i));
+            fields[i] = field;
+            if (field.number <= MAX_INDEXED_FIELD_NUMBER) {
+                fieldsByNumber[field.number] = field;
+            } else {
+                fieldsByLargeNumber.put(field.number, field);
+            }
+        }
+    }
+
+    Descriptors.Descriptor getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * Reads the fields of a message until the end of the input, or of the current limit of the input. Repeated
+     * fields are read as lists, accepting both packed and unpacked encodings, and unknown fields are skipped.
+     *
+     * @param input  the input
+     * @param values field values by field name, to read into
+     * @throws IOException if the input is not a valid message
+     */
+    void read(CodedInputStream input, Map<String, Object> values) throws IOException {
+        while (true) {
+            int tag = input.readTag();
+            if (tag == 0) {
+                return;
+            }
+            FieldCodec field = getField(WireFormat.getTagFieldNumber(tag));
+            int wireType = WireFormat.getTagWireType(tag);
+            if (field == null) {
+                input.skipField(tag);
+            } else if (wireType == field.wireType) {
+                if (field.repeated) {
+                    getList(values, field.name).add(field.readValue(input));
+                } else {
+                    values.put(field.name, field.readValue(input));
+                }
+            } else if (field.packable && wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                List<Object> list = getList(values, field.name);
+                int oldLimit = input.pushLimit(input.readRawVarint32());
+                while (input.getBytesUntilLimit() > 0) {
+                    list.add(field.readValue(input));
+                }
+                input.popLimit(oldLimit);
+            } else {
+                input.skipField(tag);
+            }
+        }
+    }
+
+    /**
+     * Writes the fields of a message, in field order. Repeated fields are given as arrays.
+     *
+     * @param output the output
+     * @param values field values by field name
+     * @throws IOException if the output could not be written
+     */
+    void write(CodedOutputStream output, Map<String, Object> values) throws IOException {
+        for (FieldCodec field : fields) {
+            Object value = values.get(field.name);
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof Object[]) {
+                for (Object element : (Object[]) value) {
+                    field.writeValue(output, element);
+                }
+            } else {
+                field.writeValue(output, value);
+            }
+        }
+    }
+
+    /**
+     * Computes the number of bytes written for the fields of a message.
+     *
+     * @param values field values by field name
+     * @return the number of bytes
+     */
+    int computeSize(Map<String, Object> values) {
+        int size = 0;
+        for (FieldCodec field : fields) {
+            Object value = values.get(field.name);
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof Object[]) {
+                for (Object element : (Object[]) value) {
+                    size += field.computeValueSize(element);
+                }
+            } else {
+                size += field.computeValueSize(value);
+            }
+        }
+        return size;
+    }
+
+    private FieldCodec getField(int number) {
+        if (number < fieldsByNumber.length) {
+            return fieldsByNumber[number];
+        }
+        return fieldsByLargeNumber.isEmpty() ? null : fieldsByLargeNumber.get(number);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> getList(Map<String, Object> values, String name) {
+        List<Object> list = (List<Object>) values.get(name);
+        if (list == null) {
+            list = new ArrayList<>();
+            values.put(name, list);
+        }
+        return list;
+    }
+
+    /**
+     * Value types of the fields, with the protobuf types they are read from.
+     */
+    private enum FieldKind {
+        DOUBLE, FLOAT, INT64, UINT64, INT32, FIXED64, FIXED32, BOOL, STRING, ENUM, MESSAGE, UNSUPPORTED
+    }
+
+    /**
+     * Reads and writes the values of a field.
+     */
+    private static class FieldCodec {
+        private final String name;
+        private final int number;
+        private final int wireType;
+        private final boolean repeated;
+        private final boolean packable;
+        private final FieldKind kind;
+        private final Descriptors.FieldDescriptor descriptor;
+        // Resolved on first use, as message types may refer to themselves
+        private volatile MessageCodec messageCodec;
+
+        private FieldCodec(Descriptors.FieldDescriptor descriptor) {
+            this.descriptor = descriptor;
+            this.name = descriptor.getName();
+            this.number = descriptor.getNumber();
+            this.wireType = MessageUtils.getFieldWireType(descriptor.getType());
+            this.repeated = descriptor.isRepeated();
+            this.kind = getKind(descriptor.getType());
+            this.packable = repeated && wireType != WireFormat.WIRETYPE_LENGTH_DELIMITED;
+        }
+
+        private static FieldKind getKind(Descriptors.FieldDescriptor.Type type) {
+            switch (type) {
+                case DOUBLE:
+                    return FieldKind.DOUBLE;
+                case FLOAT:
+                    return FieldKind.FLOAT;
+                case INT64:
+                    return FieldKind.INT64;
+                case UINT64:
+                    return FieldKind.UINT64;
+                case INT32:
+                    return FieldKind.INT32;
+                case FIXED64:
+                    return FieldKind.FIXED64;
+                case FIXED32:
+                    return FieldKind.FIXED32;
+                case BOOL:
+                    return FieldKind.BOOL;
+                case STRING:
+                    return FieldKind.STRING;
+                case ENUM:
+                    return FieldKind.ENUM;
+                case MESSAGE:
+                    return FieldKind.MESSAGE;
+                default:
+                    return FieldKind.UNSUPPORTED;
+            }
+        }
+
+        private Object readValue(CodedInputStream input) throws IOException {
+            switch (kind) {
+                case DOUBLE:
+                    return input.readDouble();
+                case FLOAT:
+                    return input.readFloat();
+                case INT64:
+                    return input.readInt64();
+                case UINT64:
+                    return input.readUInt64();
+                case INT32:
+                    return input.readInt32();
+                case FIXED64:
+                    return input.readFixed64();
+                case FIXED32:
+                    return input.readFixed32();
+                case BOOL:
+                    return input.readBool();
+                case STRING:
+                    return input.readStringRequireUtf8();
+                case ENUM:
+                    return input.readEnum();
+                case MESSAGE:
+                    return readMessage(input);
+                default:
+                    throw new UnsupportedFieldTypeException("Error while decoding request message. Field " +
+                            "type is not supported : " + descriptor.getType());
+            }
+        }
+
+        private Message readMessage(CodedInputStream input) throws IOException {
+            int oldLimit = input.pushLimit(input.readRawVarint32());
+            Message message = new Message(descriptor.getMessageType().getName(), getMessageCodec());
+            getMessageCodec().read(input, message.getFields());
+            input.popLimit(oldLimit);
+            return message;
+        }
+
+        private void writeValue(CodedOutputStream output, Object value) throws IOException {
+            switch (kind) {
+                case DOUBLE:
+                    output.writeDouble(number, ((Number) value).doubleValue());
+                    break;
+                case FLOAT:
+                    output.writeFloat(number, ((Number) value).floatValue());
+                    break;
+                case INT64:
+                    output.writeInt64(number, ((Number) value).longValue());
+                    break;
+                case UINT64:
+                    output.writeUInt64(number, ((Number) value).longValue());
+                    break;
+                case INT32:
+                    output.writeInt32(number, ((Number) value).intValue());
+                    break;
+                case FIXED64:
+                    output.writeFixed64(number, ((Number) value).longValue());
+                    break;
+                case FIXED32:
+                    output.writeFixed32(number, ((Number) value).intValue());
+                    break;
+                case BOOL:
+                    output.writeBool(number, (Boolean) value);
+                    break;
+                case STRING:
+                    if (value instanceof String) {
+                        output.writeString(number, (String) value);
+                    } else {
+                        output.writeBytes(number, (ByteString) value);
+                    }
+                    break;
+                case ENUM:
+                    output.writeEnum(number, getEnumNumber(value));
+                    break;
+                case MESSAGE:
+                    Message message = (Message) value;
+                    output.writeTag(number, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                    output.writeUInt32NoTag(message.getSerializedSize());
+                    message.writeTo(output);
+                    break;
+                default:
+                    throw new UnsupportedFieldTypeException("Error while writing output stream. Field " +
+                            "type is not supported : " + descriptor.getType());
+            }
+        }
+
+        private int computeValueSize(Object value) {
+            switch (kind) {
+                case DOUBLE:
+                    return CodedOutputStream.computeDoubleSize(number, ((Number) value).doubleValue());
+                case FLOAT:
+                    return CodedOutputStream.computeFloatSize(number, ((Number) value).floatValue());
+                case INT64:
+                    return CodedOutputStream.computeInt64Size(number, ((Number) value).longValue());
+                case UINT64:
+                    return CodedOutputStream.computeUInt64Size(number, ((Number) value).longValue());
+                case INT32:
+                    return CodedOutputStream.computeInt32Size(number, ((Number) value).intValue());
+                case FIXED64:
+                    return CodedOutputStream.computeFixed64Size(number, ((Number) value).longValue());
+                case FIXED32:
+                    return CodedOutputStream.computeFixed32Size(number, ((Number) value).intValue());
+                case BOOL:
+                    return CodedOutputStream.computeBoolSize(number, (Boolean) value);
+                case STRING:
+                    if (value instanceof String) {
+                        return CodedOutputStream.computeStringSize(number, (String) value);
+                    }
+                    return CodedOutputStream.computeBytesSize(number, (ByteString) value);
+                case ENUM:
+                    return CodedOutputStream.computeEnumSize(number, getEnumNumber(value));
+                case MESSAGE:
+                    int messageSize = ((Message) value).getSerializedSize();
+                    return CodedOutputStream.computeTagSize(number) + CodedOutputStream.computeUInt32SizeNoTag(
+                            messageSize) + messageSize;
+                default:
+                    throw new UnsupportedFieldTypeException("Error while calculating the serialized type. Field " +
+                            "type is not supported : " + descriptor.getType());
+            }
+        }
+
+        private static int getEnumNumber(Object value) {
+            if (value instanceof Descriptors.EnumValueDescriptor) {
+                return ((Descriptors.EnumValueDescriptor) value).getNumber();
+            }
+            return ((Number) value).intValue();
+        }
+
+        private MessageCodec getMessageCodec() {
+            MessageCodec codec = messageCodec;
+            if (codec == null) {
+                codec = MessageRegistry.getInstance().getMessageCodec(descriptor.getMessageType());
+                messageCodec = codec;
+            }
+            return codec;
+        }
+    }
+}
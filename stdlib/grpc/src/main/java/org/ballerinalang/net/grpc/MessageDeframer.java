@@ -251,20 +251,21 @@ public class MessageDeframer implements Closeable {
     }
 
     /**
-     * Processes message body.
+     * Processes message body. The frame is handed over to the listener as a stream that owns the frame buffer, so
+     * the bytes are not copied here and are released when the listener closes the stream.
      */
     private void processBody() {
         InputStream stream = compressedFlag ? getCompressedBody() : getUncompressedBody();
-        listener.messagesAvailable(stream);
         // Done with this frame, begin processing the next header.
         state = State.HEADER;
         requiredLength = HEADER_LENGTH;
         nextFrame.close();
         nextFrame = null;
+        listener.messagesAvailable(stream);
     }
 
     private InputStream getUncompressedBody() {
-        return new BufferInputStream(nextFrame);
+        return new BufferInputStream(nextFrame.readAll());
     }
 
     private InputStream getCompressedBody() {
@@ -273,43 +274,46 @@ public class MessageDeframer implements Closeable {
                     "Can't decode compressed frame as compression not configured.")
                     .asRuntimeException();
         }
+        BufferInputStream compressed = new BufferInputStream(nextFrame.readAll());
         try {
-            return decompressor.decompress(new BufferInputStream(nextFrame));
+            return decompressor.decompress(compressed);
         } catch (IOException e) {
+            MessageUtils.closeQuietly(compressed);
             throw new RuntimeException(e);
         }
     }
 
     /**
-     * Buffer Input Stream.
+     * Input stream over a single message frame. The frame buffer is released when the stream is closed.
      *
      * <p>
      * Referenced from grpc-java implementation.
      * <p>
      */
-    private static final class BufferInputStream extends InputStream implements KnownLength {
-        final CompositeContent buffer;
+    private static final class BufferInputStream extends InputStream implements KnownLength, HasByteBuf {
+        private final ByteBuf buffer;
+        private boolean closed;
 
-        BufferInputStream(CompositeContent buffer) {
+        BufferInputStream(ByteBuf buffer) {
             this.buffer = buffer;
         }
 
         @Override
         public int available() {
-            return buffer.readableBytes();
+            return closed ? 0 : buffer.readableBytes();
         }
 
         @Override
         public int read() {
-            if (buffer.readableBytes() == 0) {
+            if (available() == 0) {
                 return -1;
             }
             return buffer.readUnsignedByte();
         }
 
         @Override
-        public int read(byte[] dest, int destOffset, int length) throws IOException {
-            if (buffer.readableBytes() == 0) {
+        public int read(byte[] dest, int destOffset, int length) {
+            if (available() == 0) {
                 // EOF.
                 return -1;
             }
@@ -317,5 +321,20 @@ public class MessageDeframer implements Closeable {
             buffer.readBytes(dest, destOffset, length);
             return length;
         }
+
+        @Override
+        public ByteBuf buffer() {
+            return buffer;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                if (buffer.refCnt() != 0) {
+                    buffer.release();
+                }
+            }
+        }
     }
 }
@@ -16,6 +16,9 @@
 package org.ballerinalang.net.grpc;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.DefaultLastHttpContent;
@@ -25,14 +28,13 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.nio.ByteBuffer;
-import java.util.ArrayList;
-import java.util.List;
-
-import static java.lang.Math.min;
 
 /**
  * Framer for gRPC messages to be delivered via the transport layer.
+ * <p>
+ * Frames are written into pooled {@link ByteBuf}s which are handed over to the transport as they are, so a message
+ * is serialized once, straight into the buffer that goes on the wire. Ownership of a buffer passes to the transport
+ * once it is added to the carbon message, which releases it after the write.
  *
  * <p>
  * Referenced from grpc-java implementation.
@@ -47,12 +49,12 @@ public class MessageFramer {
     private static final byte UNCOMPRESSED = 0;
     private static final byte COMPRESSED = 1;
 
+    private final ByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
     private int maxOutboundMessageSize = NO_MAX_OUTBOUND_MESSAGE_SIZE;
-    private ByteBuffer buffer;
+    private ByteBuf buffer;
     private Compressor compressor = Codec.Identity.NONE;
     private boolean messageCompression = true;
     private final OutputStreamAdapter outputStreamAdapter = new OutputStreamAdapter();
-    private final byte[] headerScratch = new byte[HEADER_LENGTH];
     private final HttpCarbonMessage carbonMessage;
     private boolean closed;
 
@@ -106,32 +108,36 @@ public class MessageFramer {
         if (messageLength != -1) {
             return writeKnownLengthUncompressed(message, messageLength);
         }
-        BufferChainOutputStream bufferChain = new BufferChainOutputStream();
-        int written = writeToOutputStream(message, bufferChain);
-        if (maxOutboundMessageSize >= 0 && written > maxOutboundMessageSize) {
-            throw Status.Code.RESOURCE_EXHAUSTED.toStatus()
-                    .withDescription(
-                            String.format("message too large %d > %d", written, maxOutboundMessageSize))
-                    .asRuntimeException();
+        ByteBuf body = allocator.buffer();
+        try {
+            int written = writeToOutputStream(message, new ByteBufOutputStream(body));
+            checkMessageSize(written);
+            writeFrame(body, false);
+            body = null;
+            return written;
+        } finally {
+            if (body != null) {
+                body.release();
+            }
         }
-        writeBufferChain(bufferChain, false);
-        return written;
     }
 
     private int writeCompressed(InputStream message) throws IOException {
-        BufferChainOutputStream bufferChain = new BufferChainOutputStream();
-        int written;
-        try (OutputStream compressingStream = compressor.compress(bufferChain)) {
-            written = writeToOutputStream(message, compressingStream);
-        }
-        if (maxOutboundMessageSize >= 0 && written > maxOutboundMessageSize) {
-            throw Status.Code.RESOURCE_EXHAUSTED.toStatus()
-                    .withDescription(
-                            String.format("message too large %d > %d", written, maxOutboundMessageSize))
-                    .asRuntimeException();
+        ByteBuf body = allocator.buffer();
+        try {
+            int written;
+            try (OutputStream compressingStream = compressor.compress(new ByteBufOutputStream(body))) {
+                written = writeToOutputStream(message, compressingStream);
+            }
+            checkMessageSize(written);
+            writeFrame(body, true);
+            body = null;
+            return written;
+        } finally {
+            if (body != null) {
+                body.release();
+            }
         }
-        writeBufferChain(bufferChain, true);
-        return written;
     }
 
     private int getKnownLength(InputStream inputStream) throws IOException {
@@ -141,50 +147,76 @@ public class MessageFramer {
         return -1;
     }
 
-    /**
-     * Write an unserialized/uncompressed message with a known length.
-     */
-    private int writeKnownLengthUncompressed(InputStream message, int messageLength)
-            throws IOException {
+    private void checkMessageSize(int messageLength) {
         if (maxOutboundMessageSize >= 0 && messageLength > maxOutboundMessageSize) {
             throw Status.Code.RESOURCE_EXHAUSTED.toStatus()
                     .withDescription(String.format("message too large %d > %d", messageLength, maxOutboundMessageSize))
                     .asRuntimeException();
         }
-        ByteBuffer header = ByteBuffer.wrap(headerScratch);
-        header.put(UNCOMPRESSED);
-        header.putInt(messageLength);
-        // Allocate the initial buffer chunk based on frame header + payload length.
+    }
+
+    /**
+     * Write an unserialized/uncompressed message with a known length. The frame header and the message are written
+     * into the same buffer, and a proto message is serialized directly into it.
+     */
+    private int writeKnownLengthUncompressed(InputStream message, int messageLength)
+            throws IOException {
+        checkMessageSize(messageLength);
+        if (buffer != null && buffer.writableBytes() < HEADER_LENGTH + messageLength) {
+            commitToSink(false);
+        }
         if (buffer == null) {
-            buffer = ByteBuffer.allocate(header.position() + messageLength);
+            // Allocate the buffer based on frame header + payload length.
+            buffer = allocator.buffer(HEADER_LENGTH + messageLength);
+        }
+        int frameStart = buffer.writerIndex();
+        boolean success = false;
+        try {
+            buffer.writeByte(UNCOMPRESSED);
+            buffer.writeInt(messageLength);
+            int written;
+            if (message instanceof ProtoInputStream) {
+                written = ((ProtoInputStream) message).drainTo(buffer);
+            } else {
+                written = writeToOutputStream(message, outputStreamAdapter);
+            }
+            success = true;
+            return written;
+        } finally {
+            if (!success) {
+                // Drop the partially written frame.
+                buffer.writerIndex(frameStart);
+            }
         }
-        writeRaw(headerScratch, 0, header.position());
-        return writeToOutputStream(message, outputStreamAdapter);
     }
 
     /**
-     * Write a message that has been serialized to a sequence of buffers.
+     * Write a message that has been serialized to a separate buffer. The header is prepended without copying the
+     * message, and the ownership of the message buffer is passed to the transport.
      */
-    private void writeBufferChain(BufferChainOutputStream bufferChain, boolean compressed) {
-        ByteBuffer header = ByteBuffer.wrap(headerScratch);
-        header.put(compressed ? COMPRESSED : UNCOMPRESSED);
-        int messageLength = bufferChain.readableBytes();
-        header.putInt(messageLength);
-        ByteBuffer writeableHeader = ByteBuffer.allocate(HEADER_LENGTH);
-        writeableHeader.put(headerScratch, 0, header.position());
+    private void writeFrame(ByteBuf body, boolean compressed) {
+        int messageLength = body.readableBytes();
         if (messageLength == 0) {
-            buffer = writeableHeader;
+            body.release();
+            writeHeader(compressed ? COMPRESSED : UNCOMPRESSED, 0);
             return;
         }
-        // Write content as default http content.
-        carbonMessage.addHttpContent(new DefaultHttpContent(Unpooled.wrappedBuffer(writeableHeader)));
-        List<ByteBuffer> bufferList = bufferChain.bufferList;
-        for (ByteBuffer aBufferList : bufferList) {
-            carbonMessage.addHttpContent(new DefaultHttpContent((Unpooled.wrappedBuffer(aBufferList))));
+        // Commit pending frames first to keep the order of the messages.
+        if (buffer != null && buffer.isReadable()) {
+            commitToSink(false);
         }
-        // Assign the current buffer to the last in the chain so it can be used
-        // for future writes or written with end-of-stream=true on close.
-        buffer = bufferList.get(bufferList.size() - 1);
+        ByteBuf header = allocator.buffer(HEADER_LENGTH);
+        header.writeByte(compressed ? COMPRESSED : UNCOMPRESSED);
+        header.writeInt(messageLength);
+        carbonMessage.addHttpContent(new DefaultHttpContent(Unpooled.wrappedBuffer(header, body)));
+    }
+
+    private void writeHeader(byte flag, int messageLength) {
+        if (buffer == null) {
+            buffer = allocator.buffer(HEADER_LENGTH);
+        }
+        buffer.writeByte(flag);
+        buffer.writeInt(messageLength);
     }
 
     private static int writeToOutputStream(InputStream message, OutputStream outputStream)
@@ -197,26 +229,18 @@ public class MessageFramer {
     }
 
     private void writeRaw(byte[] b, int off, int len) {
-        while (len > 0) {
-            if (buffer != null && buffer.limit() == 0) {
-                commitToSink(false);
-            }
-            if (buffer == null) {
-                // InboundMessage a buffer allocation using the message length as a hint.
-                buffer = ByteBuffer.allocate(len);
-            }
-            int toWrite = min(len, buffer.limit());
-            buffer.put(b, off, toWrite);
-            off += toWrite;
-            len -= toWrite;
+        if (buffer == null) {
+            // Allocate a buffer using the message length as a hint.
+            buffer = allocator.buffer(len);
         }
+        buffer.writeBytes(b, off, len);
     }
 
     /**
      * Writes any pending buffered data in the framer to carbon message.
      */
     public void flush() {
-        if (buffer != null && buffer.limit() > 0) {
+        if (buffer != null && buffer.isReadable()) {
             commitToSink(false);
         }
     }
@@ -235,7 +259,7 @@ public class MessageFramer {
         if (!isClosed()) {
             closed = true;
             //Release all the pending buffer before close.
-            if (buffer != null && buffer.limit() == 0) {
+            if (buffer != null && !buffer.isReadable()) {
                 releaseBuffer();
             }
             commitToSink(true);
@@ -252,22 +276,20 @@ public class MessageFramer {
 
     private void releaseBuffer() {
         if (buffer != null) {
-            buffer.clear();
+            buffer.release();
             buffer = null;
         }
     }
 
     private void commitToSink(boolean endOfStream) {
-        ByteBuf content = Unpooled.buffer(0);
-        if (buffer != null) {
-            content = Unpooled.wrappedBuffer((ByteBuffer) buffer.rewind());
-        }
+        ByteBuf content = buffer != null ? buffer : Unpooled.EMPTY_BUFFER;
+        // The transport owns the buffer from here on.
+        buffer = null;
         if (endOfStream) {
             carbonMessage.addHttpContent(new DefaultLastHttpContent(content));
         } else {
             carbonMessage.addHttpContent(new DefaultHttpContent(content));
         }
-        buffer = null;
     }
 
     private void verifyNotClosed() {
@@ -301,64 +323,4 @@ public class MessageFramer {
             writeRaw(b, off, len);
         }
     }
-
-    /**
-     * Produce a collection of ByteBuffer instances from the data written to an
-     * {@link OutputStream}.
-     *
-     * <p>
-     * Referenced from grpc-java implementation.
-     * <p>
-     */
-    private static final class BufferChainOutputStream extends OutputStream {
-
-        private final List<ByteBuffer> bufferList = new ArrayList<ByteBuffer>();
-        private ByteBuffer current;
-
-        /**
-         * This is slow, don't call it.  If you care about write overhead, use a BufferedOutputStream.
-         * Better yet, you can use your own single byte buffer and call
-         * {@link #write(byte[], int, int)}.
-         */
-        @Override
-        public void write(int b) {
-            if (current != null && current.limit() > 0) {
-                current.put((byte) b);
-                return;
-            }
-            byte[] singleByte = new byte[]{(byte) b};
-            write(singleByte, 0, 1);
-        }
-
-        @Override
-        public void write(byte[] b, int off, int len) {
-            if (current == null) {
-                // InboundMessage len bytes initially from the allocator, it may give us more.
-                current = ByteBuffer.allocate(len);
-                bufferList.add(current);
-            }
-            while (len > 0) {
-                int canWrite = Math.min(len, current.limit());
-                if (canWrite == 0) {
-                    // Assume message is twice as large as previous assumption if were still not done,
-                    // the allocator may allocate more or less than this amount.
-                    int needed = Math.max(len, current.limit() * 2);
-                    current = ByteBuffer.allocate(needed);
-                    bufferList.add(current);
-                } else {
-                    current.put(b, off, canWrite);
-                    off += canWrite;
-                    len -= canWrite;
-                }
-            }
-        }
-
-        private int readableBytes() {
-            int readable = 0;
-            for (ByteBuffer writableBuffer : bufferList) {
-                readable += writableBuffer.limit();
-            }
-            return readable;
-        }
-    }
 }
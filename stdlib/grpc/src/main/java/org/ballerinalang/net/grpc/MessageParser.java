@@ -16,6 +16,7 @@
 package org.ballerinalang.net.grpc;
 
 import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.Descriptors;
 
 import java.io.IOException;
 
@@ -27,6 +28,7 @@ import java.io.IOException;
 public class MessageParser {
 
     private final String messageName;
+    private volatile MessageCodec codec;
 
     MessageParser(String messageName) {
         this.messageName = messageName;
@@ -34,6 +36,18 @@ public class MessageParser {
 
     public Message parseFrom(CodedInputStream input) throws
             IOException {
-        return new Message(messageName, input);
+        MessageCodec messageCodec = codec;
+        if (messageCodec == null) {
+            Descriptors.Descriptor messageDescriptor = MessageRegistry.getInstance().getMessageDescriptor(messageName);
+            if (messageDescriptor == null) {
+                // Fails with the error of a message type which is not registered
+                return new Message(messageName, input);
+            }
+            messageCodec = MessageRegistry.getInstance().getMessageCodec(messageDescriptor);
+            codec = messageCodec;
+        }
+        Message message = new Message(messageName, messageCodec);
+        messageCodec.read(input, message.getFields());
+        return message;
     }
 }
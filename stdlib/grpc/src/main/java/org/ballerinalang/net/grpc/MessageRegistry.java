@@ -20,6 +20,7 @@ import com.google.protobuf.Descriptors;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Proto Message Registry.
@@ -30,6 +31,7 @@ import java.util.Map;
 public class MessageRegistry {
 
     private Map<String, Descriptors.Descriptor> messageDescriptors = new HashMap<>();
+    private final Map<String, MessageCodec> messageCodecs = new ConcurrentHashMap<>();
 
     private static volatile MessageRegistry messageRegistry = new MessageRegistry();
 
@@ -41,6 +43,27 @@ public class MessageRegistry {
 
     void addMessageDescriptor(String messageName, Descriptors.Descriptor messageDescriptor) {
         messageDescriptors.put(messageName, messageDescriptor);
+        // Compiles the codec of the message type up front, so that the first call does not pay for it. The codec of
+        // a descriptor registered before under the same name is dropped with it.
+        MessageCodec codec = messageCodecs.get(messageName);
+        if (codec == null || codec.getDescriptor() != messageDescriptor) {
+            messageCodecs.put(messageName, new MessageCodec(messageDescriptor));
+        }
+    }
+
+    /**
+     * Provides the codec of a message type. A message type which is not registered, or registered with another
+     * descriptor, gets a codec which is not kept by the registry.
+     *
+     * @param messageDescriptor descriptor of the message type
+     * @return the codec
+     */
+    MessageCodec getMessageCodec(Descriptors.Descriptor messageDescriptor) {
+        MessageCodec codec = messageCodecs.get(messageDescriptor.getName());
+        if (codec != null && codec.getDescriptor() == messageDescriptor) {
+            return codec;
+        }
+        return new MessageCodec(messageDescriptor);
     }
 
     public Descriptors.Descriptor getMessageDescriptor(String messageName) {
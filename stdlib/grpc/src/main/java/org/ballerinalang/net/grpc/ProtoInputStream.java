@@ -18,11 +18,13 @@
 package org.ballerinalang.net.grpc;
 
 import com.google.protobuf.CodedOutputStream;
+import io.netty.buffer.ByteBuf;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 import static com.google.protobuf.CodedOutputStream.DEFAULT_BUFFER_SIZE;
 
@@ -121,4 +123,32 @@ class ProtoInputStream extends InputStream implements Drainable, KnownLength {
         }
         return written;
     }
+
+    /**
+     * Serializes the message directly into the writable region of the given buffer.
+     *
+     * @param target buffer to write to. It is expanded if it has not got enough writable bytes.
+     * @return number of bytes written.
+     */
+    int drainTo(ByteBuf target) throws IOException {
+        int written;
+        if (message != null) {
+            written = message.getSerializedSize();
+            target.ensureWritable(written);
+            ByteBuffer region = target.nioBuffer(target.writerIndex(), written);
+            CodedOutputStream codedOutput = CodedOutputStream.newInstance(region);
+            message.writeTo(codedOutput);
+            codedOutput.flush();
+            codedOutput.checkNoSpaceLeft();
+            target.writerIndex(target.writerIndex() + written);
+            message = null;
+        } else if (partial != null) {
+            written = partial.available();
+            target.writeBytes(partial, written);
+            partial = null;
+        } else {
+            written = 0;
+        }
+        return written;
+    }
 }
@@ -18,6 +18,7 @@
 package org.ballerinalang.net.grpc;
 
 import com.google.protobuf.CodedInputStream;
+import io.netty.buffer.ByteBuf;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -58,7 +59,12 @@ public class ProtoUtils {
                 CodedInputStream cis = null;
                 try {
                     int size = stream.available();
-                    if (size > 0 && size <= DEFAULT_MAX_MESSAGE_SIZE) {
+                    if (size > 0 && size <= DEFAULT_MAX_MESSAGE_SIZE && stream instanceof HasByteBuf) {
+                        // Parse straight from the frame buffer. A buffer with a single component is exposed as a
+                        // view, so the bytes are not copied before decoding.
+                        ByteBuf buffer = ((HasByteBuf) stream).buffer();
+                        cis = CodedInputStream.newInstance(buffer.nioBuffer());
+                    } else if (size > 0 && size <= DEFAULT_MAX_MESSAGE_SIZE) {
                         // buf should not be used after this method has returned.
                         byte[] buf = bufs.get().get();
                         if (buf == null || buf.length < size) {
@@ -17,6 +17,7 @@
  */
 package org.ballerinalang.net.grpc;
 
+import io.netty.channel.Channel;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.HttpHeaders;
 import org.ballerinalang.net.grpc.exception.ServerRuntimeException;
@@ -187,6 +188,24 @@ public final class ServerCall {
         return method;
     }
 
+    /**
+     * Returns the channel the request messages of the call are read from.
+     *
+     * @return the channel, or null if the transport does not provide it.
+     */
+    public Channel getInboundChannel() {
+        return inboundMessage.getChannel();
+    }
+
+    /**
+     * Returns the id of the HTTP/2 stream the request messages of the call are read from.
+     *
+     * @return the id, or -1 if the call is not made over HTTP/2.
+     */
+    public int getInboundStreamId() {
+        return inboundMessage.getStreamId();
+    }
+
     /**
      * Server Stream Listener instance.
      */
@@ -20,6 +20,7 @@ import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.LastHttpContent;
 import org.ballerinalang.connector.api.BallerinaConnectorException;
 import org.ballerinalang.net.http.HttpUtil;
+import org.ballerinalang.runtime.threadpool.BLangThreadFactory;
 import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.slf4j.Logger;
@@ -28,6 +29,8 @@ import org.wso2.transport.http.netty.contract.HttpConnectorListener;
 import org.wso2.transport.http.netty.message.HttpCarbonMessage;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.ballerinalang.net.grpc.GrpcConstants.DEFAULT_MAX_MESSAGE_SIZE;
 import static org.ballerinalang.net.grpc.GrpcConstants.GRPC_MESSAGE_KEY;
@@ -43,6 +46,11 @@ public class ServerConnectorListener implements HttpConnectorListener {
     private static final Logger log = LoggerFactory.getLogger(ServerConnectorListener.class);
 
     private final ServicesRegistry servicesRegistry;
+    // Reads the inbound content of the calls in which the client streams messages. A reader blocks for as long as the
+    // client keeps its stream open, so it runs on a thread of its own rather than on the worker pool which runs the
+    // resources. The content of the other calls is a single message, which is read on the worker pool.
+    private final ExecutorService inboundReader = Executors.newCachedThreadPool(
+            new BLangThreadFactory(new ThreadGroup("grpc-inbound"), "grpc-inbound-reader"));
 
     public ServerConnectorListener(ServicesRegistry servicesRegistry) {
 
@@ -75,6 +83,14 @@ public class ServerConnectorListener implements HttpConnectorListener {
         log.error("Error in http server connector" + throwable.getMessage(), throwable);
     }
 
+    /**
+     * Stops reading the content of client streaming calls once the calls in progress end. Called when the server
+     * connector is stopped.
+     */
+    public void stop() {
+        inboundReader.shutdown();
+    }
+
     private void deliver(String method, InboundMessage inboundMessage, OutboundMessage outboundMessage) {
         ServerMethodDefinition methodDefinition = servicesRegistry.lookupMethod(method);
         if (methodDefinition == null) {
@@ -84,8 +100,9 @@ public class ServerConnectorListener implements HttpConnectorListener {
             return;
         }
 
-        final Executor wrappedExecutor = ThreadPoolFactory.getInstance().getWorkerExecutor();
-        wrappedExecutor.execute(() -> {
+        Executor executor = methodDefinition.getMethodDescriptor().getType().clientSendsOneMessage() ?
+                ThreadPoolFactory.getInstance().getWorkerExecutor() : inboundReader;
+        executor.execute(() -> {
             ServerCall.ServerStreamListener listener;
             try {
                 listener = startCall(inboundMessage, outboundMessage, method);
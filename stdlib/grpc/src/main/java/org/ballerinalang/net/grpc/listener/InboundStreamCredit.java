@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.grpc.listener;
+
+import io.netty.channel.Channel;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2ConnectionHandler;
+import io.netty.handler.codec.http2.Http2Exception;
+import io.netty.handler.codec.http2.Http2LocalFlowController;
+import io.netty.handler.codec.http2.Http2Stream;
+
+/**
+ * Withholds the flow control credit of the HTTP/2 stream of a call, so that the client stops sending on that stream
+ * while the other streams of the connection carry on.
+ * <p>
+ * The transport consumes the inbound bytes as soon as they are read. While the credit is withheld, the initial window
+ * of the stream is set to zero, so no window update is sent for the stream although the bytes are consumed. The
+ * window of the connection is still updated. Giving the credit back restores the initial window, which sends the
+ * update for the bytes consumed in the meantime.
+ *
+ * @since 0.980.0
+ */
+class InboundStreamCredit {
+
+    private final Channel channel;
+    private final Http2Connection connection;
+    private final int streamId;
+    private volatile boolean withheld;
+    // Initial window of the stream before the credit was withheld, or -1. Only accessed on the event loop.
+    private int initialWindowSize = -1;
+
+    InboundStreamCredit(Channel channel, Http2Connection connection, int streamId) {
+        this.channel = channel;
+        this.connection = connection;
+        this.streamId = streamId;
+    }
+
+    /**
+     * Creates the credit of a stream of an HTTP/2 connection.
+     *
+     * @param channel  channel of the connection, or null.
+     * @param streamId id of the stream, or -1 if the call is not made over HTTP/2.
+     * @return the credit, or null if the channel does not carry an HTTP/2 connection.
+     */
+    static InboundStreamCredit of(Channel channel, int streamId) {
+        if (channel == null || streamId <= 0) {
+            return null;
+        }
+        Http2ConnectionHandler handler = channel.pipeline().get(Http2ConnectionHandler.class);
+        return handler == null ? null : new InboundStreamCredit(channel, handler.connection(), streamId);
+    }
+
+    /**
+     * Withholds or gives back the credit of the stream. Can be called on any thread, the latest call takes effect.
+     *
+     * @param withheld whether the credit is withheld.
+     */
+    void setWithheld(boolean withheld) {
+        this.withheld = withheld;
+        channel.eventLoop().execute(this::apply);
+    }
+
+    private void apply() {
+        Http2Stream stream = connection.stream(streamId);
+        if (stream == null || stream.state() == Http2Stream.State.CLOSED) {
+            return;
+        }
+        Http2LocalFlowController flowController = connection.local().flowController();
+        try {
+            if (withheld && initialWindowSize < 0) {
+                initialWindowSize = flowController.initialWindowSize(stream);
+                flowController.incrementWindowSize(stream, -initialWindowSize);
+            } else if (!withheld && initialWindowSize >= 0) {
+                flowController.incrementWindowSize(stream, initialWindowSize);
+                initialWindowSize = -1;
+                channel.flush();
+            }
+        } catch (Http2Exception e) {
+            channel.pipeline().fireExceptionCaught(e);
+        }
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.grpc.listener;
+
+import org.ballerinalang.bre.bvm.CallableUnitCallback;
+import org.ballerinalang.bre.bvm.WorkerExecutionContext;
+import org.ballerinalang.connector.api.Executor;
+import org.ballerinalang.connector.api.Resource;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes the resources of a single streaming call one at a time, in the order the events of the call arrived.
+ * <p>
+ * Resources run asynchronously on the worker pool, so the next event is dispatched once the previous one completes.
+ * Request messages that pile up while a resource is slow are taken off the queue as one batch and run back to back,
+ * and their window is given back once the whole batch is consumed. When {@code window} request messages are
+ * pending, the flow control credit of the HTTP/2 stream of the call is withheld until the resource catches up, which
+ * pushes back on the client without holding the other calls of the connection. The messages the client sent before
+ * running out of credit are still queued, up to twice the window, after which submitting a message blocks. Messages
+ * are submitted by the thread which reads the inbound content of the call, so only that call is held.
+ *
+ * @since 0.980.0
+ */
+class SerialResourceExecutor {
+
+    private final int window;
+    private final int limit;
+    private final InboundStreamCredit credit;
+    private final Queue<Task> queue = new ArrayDeque<>();
+    private final Queue<Task> batch = new ArrayDeque<>();
+    private WorkerExecutionContext context;
+    private int pendingMessages;
+    private int consumedMessages;
+    private boolean running;
+    private boolean paused;
+    private boolean cancelled;
+
+    /**
+     * Creates an executor for a call.
+     *
+     * @param window number of pending request messages at which the credit of the stream is withheld.
+     * @param credit flow control credit of the stream of the call, or null if the call is not made over HTTP/2.
+     */
+    SerialResourceExecutor(int window, InboundStreamCredit credit) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window must be greater than zero");
+        }
+        this.window = window;
+        this.limit = window * 2;
+        this.credit = credit;
+    }
+
+    /**
+     * Queues a request message to be delivered to the resource. Withholds the credit of the stream when the window
+     * of pending messages is full, and blocks while the queue is at its limit. Messages submitted after the call is
+     * cancelled are dropped.
+     *
+     * @param resource resource to be invoked.
+     * @param callback callback of the resource invocation.
+     * @param params   resource parameters.
+     */
+    void executeMessage(Resource resource, CallableUnitCallback callback, BValue... params) {
+        submit(new Task(resource, callback, params, true));
+    }
+
+    /**
+     * Queues a call event, such as open, completion or error, to be executed after the events queued before it.
+     *
+     * @param resource resource to be invoked.
+     * @param callback callback of the resource invocation.
+     * @param params   resource parameters.
+     */
+    void execute(Resource resource, CallableUnitCallback callback, BValue... params) {
+        submit(new Task(resource, callback, params, false));
+    }
+
+    /**
+     * Drops the request messages which have not been dispatched yet and gives the credit of the stream back. Events
+     * queued afterwards are still executed in order.
+     */
+    void cancel() {
+        boolean resume;
+        synchronized (this) {
+            cancelled = true;
+            pendingMessages -= removeMessages(queue) + removeMessages(batch);
+            resume = paused;
+            paused = false;
+            notifyAll();
+        }
+        if (resume) {
+            withholdCredit(false);
+        }
+    }
+
+    /**
+     * Invokes a resource. The callback is notified once the resource completes, on any thread.
+     *
+     * @param resource resource to be invoked.
+     * @param callback callback of the resource invocation.
+     * @param params   resource parameters.
+     */
+    void invoke(Resource resource, CallableUnitCallback callback, BValue[] params) {
+        Executor.submit(resource, callback, null, null, getContext(resource), params);
+    }
+
+    private void submit(Task task) {
+        boolean pause = false;
+        synchronized (this) {
+            if (task.message) {
+                awaitCapacity();
+                if (cancelled) {
+                    return;
+                }
+                pendingMessages++;
+                if (pendingMessages >= window && !paused) {
+                    paused = true;
+                    pause = true;
+                }
+            }
+            queue.add(task);
+            if (running) {
+                task = null;
+            } else {
+                running = true;
+            }
+        }
+        if (pause) {
+            withholdCredit(true);
+        }
+        if (task != null) {
+            dispatch();
+        }
+    }
+
+    /**
+     * Waits while the queue of pending messages is at its limit. Pending messages are only counted while tasks are
+     * running, so the wait always ends once they complete.
+     */
+    private void awaitCapacity() {
+        boolean interrupted = false;
+        while (pendingMessages >= limit && !cancelled) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs the queued tasks until one of them completes asynchronously. The thread which completes that task then
+     * carries on, so tasks completing on the dispatching thread do not nest calls.
+     */
+    private void dispatch() {
+        RuntimeException failure = null;
+        while (true) {
+            Task task = next();
+            if (task == null) {
+                break;
+            }
+            ChainedCallback callback = new ChainedCallback(task);
+            try {
+                invoke(task.resource, callback, task.params);
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+                completed(task);
+                continue;
+            }
+            if (callback.handOver()) {
+                // The task is still running, its callback dispatches the rest.
+                break;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private Task next() {
+        boolean resume = false;
+        Task task;
+        synchronized (this) {
+            if (batch.isEmpty()) {
+                if (consumedMessages > 0) {
+                    // The whole batch is consumed, give its window back in one go.
+                    pendingMessages -= consumedMessages;
+                    consumedMessages = 0;
+                    notifyAll();
+                    if (paused && pendingMessages < window) {
+                        paused = false;
+                        resume = true;
+                    }
+                }
+                Task next;
+                while ((next = queue.poll()) != null) {
+                    batch.add(next);
+                }
+            }
+            task = batch.poll();
+            if (task == null) {
+                running = false;
+            }
+        }
+        if (resume) {
+            withholdCredit(false);
+        }
+        return task;
+    }
+
+    private void completed(Task task) {
+        if (task.message) {
+            synchronized (this) {
+                consumedMessages++;
+            }
+        }
+    }
+
+    private void withholdCredit(boolean withheld) {
+        if (credit != null) {
+            credit.setWithheld(withheld);
+        }
+    }
+
+    private WorkerExecutionContext getContext(Resource resource) {
+        // Resources of the call never run concurrently, so they can share one parent context.
+        if (context == null) {
+            context = new WorkerExecutionContext(resource.getResourceInfo().getPackageInfo().getProgramFile());
+        }
+        return context;
+    }
+
+    private static int removeMessages(Queue<Task> tasks) {
+        int removed = 0;
+        for (Iterator<Task> iterator = tasks.iterator(); iterator.hasNext(); ) {
+            if (iterator.next().message) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * A resource invocation waiting to be executed.
+     */
+    private static final class Task {
+        final Resource resource;
+        final CallableUnitCallback callback;
+        final BValue[] params;
+        final boolean message;
+
+        Task(Resource resource, CallableUnitCallback callback, BValue[] params, boolean message) {
+            this.resource = resource;
+            this.callback = callback;
+            this.params = params;
+            this.message = message;
+        }
+    }
+
+    /**
+     * Notifies the callback of the task and moves on to the next one. Whichever of the dispatching thread and the
+     * completing thread gets here last carries on dispatching.
+     */
+    private final class ChainedCallback implements CallableUnitCallback {
+        private static final int RUNNING = 0;
+        private static final int HANDED_OVER = 1;
+        private static final int COMPLETED = 2;
+
+        private final Task task;
+        private final AtomicInteger state = new AtomicInteger(RUNNING);
+
+        ChainedCallback(Task task) {
+            this.task = task;
+        }
+
+        @Override
+        public void notifySuccess() {
+            try {
+                task.callback.notifySuccess();
+            } finally {
+                done();
+            }
+        }
+
+        @Override
+        public void notifyFailure(BMap<String, BValue> error) {
+            try {
+                task.callback.notifyFailure(error);
+            } finally {
+                done();
+            }
+        }
+
+        /**
+         * Called by the dispatching thread once the task is submitted.
+         *
+         * @return true if the task is still running, so that its completion dispatches the next task.
+         */
+        boolean handOver() {
+            return state.compareAndSet(RUNNING, HANDED_OVER);
+        }
+
+        private void done() {
+            completed(task);
+            if (!state.compareAndSet(RUNNING, COMPLETED)) {
+                dispatch();
+            }
+        }
+    }
+}
@@ -195,7 +195,7 @@ public abstract class ServerCallHandler {
         return methodDescriptor != null && MessageUtils.isEmptyResponse(methodDescriptor.getOutputType());
     }
 
-    void onErrorInvoke(Resource resource, StreamObserver responseObserver, Message error) {
+    BValue[] computeErrorParams(Resource resource, StreamObserver responseObserver, Message error) {
         if (resource == null) {
             String message = "Error in listener service definition. onError resource does not exists";
             LOG.error(message);
@@ -215,8 +215,7 @@ public abstract class ServerCallHandler {
         if (headerStruct != null && signatureParams.length == 3) {
             signatureParams[2] = headerStruct;
         }
-        CallableUnitCallback callback = new GrpcCallableUnitCallBack(null);
-        Executor.submit(resource, callback, null, null, signatureParams);
+        return signatureParams;
     }
 
     void onMessageInvoke(Resource resource, Message request, StreamObserver responseObserver) {
@@ -20,7 +20,6 @@ package org.ballerinalang.net.grpc.listener;
 
 import com.google.protobuf.Descriptors;
 import org.ballerinalang.bre.bvm.CallableUnitCallback;
-import org.ballerinalang.connector.api.Executor;
 import org.ballerinalang.connector.api.Resource;
 import org.ballerinalang.net.grpc.GrpcCallableUnitCallBack;
 import org.ballerinalang.net.grpc.GrpcConstants;
@@ -39,6 +38,10 @@ import java.util.Map;
  */
 public class StreamingServerCallHandler extends ServerCallHandler {
 
+    // Number of request messages of a call pending while the onMessage resource is busy, at which the credit of its
+    // stream is withheld.
+    private static final int MESSAGE_WINDOW = 32;
+
     private final Map<String, Resource> resourceMap;
 
     public StreamingServerCallHandler(Descriptors.MethodDescriptor methodDescriptor, Map<String, Resource>
@@ -50,29 +53,38 @@ public class StreamingServerCallHandler extends ServerCallHandler {
     @Override
     public Listener startCall(ServerCall call) {
         ServerCallStreamObserver responseObserver = new ServerCallStreamObserver(call);
-        StreamObserver requestObserver = invoke(responseObserver);
-        return new StreamingServerCallListener(requestObserver, responseObserver);
+        SerialResourceExecutor executor = new SerialResourceExecutor(MESSAGE_WINDOW,
+                InboundStreamCredit.of(call.getInboundChannel(), call.getInboundStreamId()));
+        StreamObserver requestObserver = invoke(responseObserver, executor);
+        return new StreamingServerCallListener(requestObserver, responseObserver, executor);
     }
 
-    public StreamObserver invoke(StreamObserver responseObserver) {
+    /**
+     * Starts the call and returns the observer of its request messages. All the resources of the call are run
+     * through the given executor, one at a time and in the order the call events arrive.
+     *
+     * @param responseObserver observer of the response messages.
+     * @param executor         executor of the resources of the call.
+     * @return observer of the request messages.
+     */
+    StreamObserver invoke(StreamObserver responseObserver, SerialResourceExecutor executor) {
         Resource onOpen = resourceMap.get(GrpcConstants.ON_OPEN_RESOURCE);
-        CallableUnitCallback callback = new GrpcCallableUnitCallBack(null);
-        Executor.submit(onOpen, callback, null, null, computeMessageParams
-                (onOpen, null, responseObserver));
+        executor.execute(onOpen, new GrpcCallableUnitCallBack(null), computeMessageParams(onOpen, null,
+                responseObserver));
 
         return new StreamObserver() {
             @Override
             public void onNext(Message value) {
                 Resource onMessage = resourceMap.get(GrpcConstants.ON_MESSAGE_RESOURCE);
-                CallableUnitCallback callback = new GrpcCallableUnitCallBack(null);
-                Executor.submit(onMessage, callback, null, null, computeMessageParams
+                executor.executeMessage(onMessage, new GrpcCallableUnitCallBack(null), computeMessageParams
                         (onMessage, value, responseObserver));
             }
 
             @Override
             public void onError(Message error) {
                 Resource onError = resourceMap.get(GrpcConstants.ON_ERROR_RESOURCE);
-                onErrorInvoke(onError, responseObserver, error);
+                executor.execute(onError, new GrpcCallableUnitCallBack(null), computeErrorParams(onError,
+                        responseObserver, error));
             }
 
             @Override
@@ -83,8 +95,8 @@ public class StreamingServerCallHandler extends ServerCallHandler {
                     throw new ServerRuntimeException(message);
                 }
                 CallableUnitCallback callback = new GrpcCallableUnitCallBack(responseObserver, Boolean.FALSE);
-                Executor.submit(onCompleted, callback, null, null, computeMessageParams
-                        (onCompleted, null, responseObserver));
+                executor.execute(onCompleted, callback, computeMessageParams(onCompleted, null,
+                        responseObserver));
             }
         };
     }
@@ -93,14 +105,17 @@ public class StreamingServerCallHandler extends ServerCallHandler {
 
         private final StreamObserver requestObserver;
         private final ServerCallStreamObserver responseObserver;
+        private final SerialResourceExecutor executor;
         private boolean halfClosed = false;
 
         // Non private to avoid synthetic class
         StreamingServerCallListener(
                 StreamObserver requestObserver,
-                ServerCallStreamObserver responseObserver) {
+                ServerCallStreamObserver responseObserver,
+                SerialResourceExecutor executor) {
             this.requestObserver = requestObserver;
             this.responseObserver = responseObserver;
+            this.executor = executor;
         }
 
         @Override
@@ -117,6 +132,8 @@ public class StreamingServerCallHandler extends ServerCallHandler {
         @Override
         public void onCancel() {
             responseObserver.cancelled = true;
+            // The client will not process any further messages, drop the ones not delivered yet.
+            executor.cancel();
             if (!halfClosed) {
                 Message message = new Message(Status.Code.CANCELLED.toStatus()
                         .withDescription("cancelled before receiving half close")
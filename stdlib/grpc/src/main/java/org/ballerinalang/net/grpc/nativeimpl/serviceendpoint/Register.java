@@ -39,6 +39,7 @@ import org.wso2.transport.http.netty.contract.ServerConnectorFuture;
 import static org.ballerinalang.net.grpc.GrpcConstants.ORG_NAME;
 import static org.ballerinalang.net.grpc.GrpcConstants.PROTOCOL_PACKAGE_GRPC;
 import static org.ballerinalang.net.grpc.GrpcConstants.PROTOCOL_STRUCT_PACKAGE_GRPC;
+import static org.ballerinalang.net.grpc.GrpcConstants.SERVER_CONNECTOR_LISTENER;
 import static org.ballerinalang.net.grpc.GrpcConstants.SERVICE_ENDPOINT_TYPE;
 
 /**
@@ -83,7 +84,9 @@ public class Register extends AbstractGrpcNativeFunction {
     private void startServerConnector(Struct serviceEndpoint, ServicesRegistry servicesRegistry) {
         ServerConnector serverConnector = getServerConnector(serviceEndpoint);
         ServerConnectorFuture serverConnectorFuture = serverConnector.start();
-        serverConnectorFuture.setHttpConnectorListener(new ServerConnectorListener(servicesRegistry));
+        ServerConnectorListener serverConnectorListener = new ServerConnectorListener(servicesRegistry);
+        serverConnectorFuture.setHttpConnectorListener(serverConnectorListener);
+        serviceEndpoint.addNativeData(SERVER_CONNECTOR_LISTENER, serverConnectorListener);
 
         serverConnectorFuture.setPortBindingEventListener(new ServerConnectorPortBindingListener());
         try {
@@ -21,11 +21,13 @@ import org.ballerinalang.connector.api.Struct;
 import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.Receiver;
+import org.ballerinalang.net.grpc.ServerConnectorListener;
 import org.ballerinalang.net.grpc.nativeimpl.AbstractGrpcNativeFunction;
 
 import static org.ballerinalang.net.grpc.GrpcConstants.ORG_NAME;
 import static org.ballerinalang.net.grpc.GrpcConstants.PROTOCOL_PACKAGE_GRPC;
 import static org.ballerinalang.net.grpc.GrpcConstants.PROTOCOL_STRUCT_PACKAGE_GRPC;
+import static org.ballerinalang.net.grpc.GrpcConstants.SERVER_CONNECTOR_LISTENER;
 import static org.ballerinalang.net.grpc.GrpcConstants.SERVICE_ENDPOINT_TYPE;
 
 /**
@@ -47,6 +49,11 @@ public class Stop extends AbstractGrpcNativeFunction {
     public void execute(Context context) {
         Struct serverEndpoint = BLangConnectorSPIUtil.getConnectorEndpointStruct(context);
         getServerConnector(serverEndpoint).stop();
+        ServerConnectorListener serverConnectorListener = (ServerConnectorListener) serverEndpoint.getNativeData(
+                SERVER_CONNECTOR_LISTENER);
+        if (serverConnectorListener != null) {
+            serverConnectorListener.stop();
+        }
         context.setReturnValues();
     }
 }
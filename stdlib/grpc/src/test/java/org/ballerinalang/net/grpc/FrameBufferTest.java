@@ -0,0 +1,306 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.ballerinalang.net.grpc;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.DescriptorProtos.DescriptorProto;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.Descriptors;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ResourceLeakDetector;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.transport.http.netty.message.HttpCarbonMessage;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test cases for the ownership of the {@link ByteBuf}s passed between the transport, the framers and protobuf. Every
+ * buffer is allocated from the pooled allocator and tracked by the leak detector, and each test checks that the
+ * buffers are released exactly once.
+ */
+public class FrameBufferTest {
+
+    private static final String MESSAGE_NAME = "FrameBufferTestMessage";
+
+    private ResourceLeakDetector.Level leakDetectionLevel;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        leakDetectionLevel = ResourceLeakDetector.getLevel();
+        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+
+        FileDescriptorProto fileProto = FileDescriptorProto.newBuilder()
+                .setName("frame_buffer_test.proto")
+                .setSyntax("proto3")
+                .addMessageType(DescriptorProto.newBuilder().setName(MESSAGE_NAME)
+                        .addField(FieldDescriptorProto.newBuilder()
+                                .setName("text")
+                                .setNumber(1)
+                                .setType(FieldDescriptorProto.Type.TYPE_STRING)
+                                .setLabel(FieldDescriptorProto.Label.LABEL_OPTIONAL)))
+                .build();
+        Descriptors.Descriptor descriptor = Descriptors.FileDescriptor.buildFrom(fileProto,
+                new Descriptors.FileDescriptor[0]).findMessageTypeByName(MESSAGE_NAME);
+        MessageRegistry.getInstance().addMessageDescriptor(MESSAGE_NAME, descriptor);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        ResourceLeakDetector.setLevel(leakDetectionLevel);
+    }
+
+    @Test(description = "Tests the reference counts of the slices read from a composite content")
+    public void testReadBufferSlices() {
+        ByteBuf first = buffer(new byte[]{1, 2, 3, 4, 5});
+        ByteBuf second = buffer(new byte[]{6, 7});
+        CompositeContent content = new CompositeContent();
+        content.addBuffer(first);
+        content.addBuffer(second);
+
+        // A part of the first buffer is a retained slice of it
+        ByteBuf slice = content.readBuffer(3);
+        Assert.assertEquals(slice.readableBytes(), 3);
+        Assert.assertEquals(first.refCnt(), 2);
+        slice.release();
+        Assert.assertEquals(first.refCnt(), 1);
+
+        // The rest of the first buffer is handed over as it is
+        ByteBuf rest = content.readBuffer(10);
+        Assert.assertSame(rest, first);
+        Assert.assertEquals(content.readableBytes(), 2);
+        rest.release();
+        Assert.assertEquals(first.refCnt(), 0);
+
+        content.close();
+        Assert.assertEquals(second.refCnt(), 0);
+    }
+
+    @Test(description = "Tests handing the bytes of several buffers over as a single buffer")
+    public void testReadAll() {
+        ByteBuf first = buffer(new byte[]{1, 2});
+        ByteBuf second = buffer(new byte[]{3});
+        CompositeContent content = new CompositeContent();
+        content.addBuffer(first);
+        content.addBuffer(second);
+
+        ByteBuf all = content.readAll();
+        Assert.assertEquals(toBytes(all), new byte[]{1, 2, 3});
+        Assert.assertEquals(content.readableBytes(), 0);
+        content.close();
+        Assert.assertEquals(first.refCnt(), 1);
+        Assert.assertEquals(second.refCnt(), 1);
+
+        all.release();
+        Assert.assertEquals(first.refCnt(), 0);
+        Assert.assertEquals(second.refCnt(), 0);
+    }
+
+    @Test(description = "Tests that deframed messages own their buffers until they are closed")
+    public void testDeframedStreamsOwnBuffers() throws Exception {
+        byte[] frames = concat(frame(message("first")), frame(message("second")));
+        List<ByteBuf> chunks = new ArrayList<>();
+        List<InputStream> streams = new ArrayList<>();
+        MessageDeframer deframer = new MessageDeframer(new CollectingListener(streams), Codec.Identity.NONE,
+                GrpcConstants.DEFAULT_MAX_MESSAGE_SIZE);
+        // Splits the frames into chunks which cut through headers and messages
+        for (int offset = 0; offset < frames.length; offset += 4) {
+            byte[] chunk = new byte[Math.min(4, frames.length - offset)];
+            System.arraycopy(frames, offset, chunk, 0, chunk.length);
+            ByteBuf buffer = buffer(chunk);
+            chunks.add(buffer);
+            deframer.deframe(new DefaultHttpContent(buffer));
+        }
+        deframer.closeWhenComplete();
+        Assert.assertTrue(deframer.isClosed());
+        Assert.assertEquals(streams.size(), 2);
+
+        MethodDescriptor.Marshaller marshaller = ProtoUtils.marshaller(new Message(MESSAGE_NAME));
+        String[] texts = {"first", "second"};
+        for (int i = 0; i < streams.size(); i++) {
+            InputStream stream = streams.get(i);
+            Assert.assertTrue(stream instanceof HasByteBuf);
+            ByteBuf buffer = ((HasByteBuf) stream).buffer();
+            Message message = (Message) marshaller.parse(stream);
+            Assert.assertEquals(message.getFields().get("text"), texts[i]);
+            // Parsing reads the buffer in place, it is released only when the stream is closed
+            Assert.assertEquals(buffer.refCnt(), 1);
+            stream.close();
+            Assert.assertEquals(buffer.refCnt(), 0);
+            stream.close();
+        }
+        for (ByteBuf chunk : chunks) {
+            Assert.assertEquals(chunk.refCnt(), 0);
+        }
+    }
+
+    @Test(description = "Tests releasing the buffers of a partial frame when the deframer is closed")
+    public void testDeframerClosedWithPartialFrame() throws Exception {
+        byte[] frame = frame(message("partial"));
+        ByteBuf chunk = buffer(new byte[]{frame[0], frame[1], frame[2], frame[3], frame[4], frame[5]});
+        List<InputStream> streams = new ArrayList<>();
+        MessageDeframer deframer = new MessageDeframer(new CollectingListener(streams), Codec.Identity.NONE,
+                GrpcConstants.DEFAULT_MAX_MESSAGE_SIZE);
+        deframer.deframe(new DefaultHttpContent(chunk));
+        deframer.close();
+
+        Assert.assertTrue(streams.isEmpty());
+        Assert.assertEquals(chunk.refCnt(), 0);
+    }
+
+    @Test(description = "Tests that the framer hands every pooled buffer over to the transport")
+    public void testFramerBuffers() throws Exception {
+        HttpCarbonMessage carbonMessage = new HttpCarbonMessage(new DefaultHttpRequest(HttpVersion.HTTP_1_1,
+                HttpMethod.POST, "/"));
+        MessageFramer framer = new MessageFramer(carbonMessage);
+        byte[] first = message("first");
+        byte[] second = message("second");
+        byte[] third = message("third");
+        framer.writePayload(new ByteArrayInputStream(first));
+        // A message of unknown length is serialized into a buffer of its own
+        framer.writePayload(new BufferedInputStream(new ByteArrayInputStream(second)));
+        try {
+            framer.writePayload(new FailingInputStream(third));
+            Assert.fail("Writing a failing stream did not fail");
+        } catch (RuntimeException e) {
+            // The partially written frame is dropped
+        }
+        framer.writePayload(new ByteArrayInputStream(third));
+        framer.close();
+
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        HttpContent content;
+        do {
+            content = carbonMessage.getHttpContent();
+            written.write(toBytes(content.content()));
+            content.release();
+            Assert.assertEquals(content.refCnt(), 0);
+        } while (!(content instanceof LastHttpContent));
+        Assert.assertEquals(written.toByteArray(), concat(frame(first), frame(second), frame(third)));
+    }
+
+    @Test(description = "Tests releasing the pending buffer of a framer which is disposed")
+    public void testFramerDispose() throws Exception {
+        HttpCarbonMessage carbonMessage = new HttpCarbonMessage(new DefaultHttpRequest(HttpVersion.HTTP_1_1,
+                HttpMethod.POST, "/"));
+        MessageFramer framer = new MessageFramer(carbonMessage);
+        framer.writePayload(new ByteArrayInputStream(message("first")));
+        framer.dispose();
+
+        Assert.assertTrue(framer.isClosed());
+        framer.dispose();
+    }
+
+    private static ByteBuf buffer(byte[] bytes) {
+        ByteBuf buffer = PooledByteBufAllocator.DEFAULT.buffer(bytes.length);
+        buffer.writeBytes(bytes);
+        return buffer;
+    }
+
+    private static byte[] toBytes(ByteBuf buffer) {
+        byte[] bytes = new byte[buffer.readableBytes()];
+        buffer.getBytes(buffer.readerIndex(), bytes);
+        return bytes;
+    }
+
+    private static byte[] message(String text) throws IOException {
+        Message message = new Message(MESSAGE_NAME);
+        message.getFields().put("text", text);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CodedOutputStream output = CodedOutputStream.newInstance(out);
+        message.writeTo(output);
+        output.flush();
+        return out.toByteArray();
+    }
+
+    private static byte[] frame(byte[] message) {
+        byte[] frame = new byte[5 + message.length];
+        frame[1] = (byte) (message.length >>> 24);
+        frame[2] = (byte) (message.length >>> 16);
+        frame[3] = (byte) (message.length >>> 8);
+        frame[4] = (byte) message.length;
+        System.arraycopy(message, 0, frame, 5, message.length);
+        return frame;
+    }
+
+    private static byte[] concat(byte[]... arrays) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] array : arrays) {
+            out.write(array, 0, array.length);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Collects the messages delivered by a deframer.
+     */
+    private static class CollectingListener implements MessageDeframer.Listener {
+
+        private final List<InputStream> streams;
+
+        private CollectingListener(List<InputStream> streams) {
+            this.streams = streams;
+        }
+
+        @Override
+        public void messagesAvailable(InputStream inputStream) {
+            streams.add(inputStream);
+        }
+
+        @Override
+        public void deframerClosed(boolean hasPartialMessage) {
+        }
+
+        @Override
+        public void deframeFailed(Throwable cause) {
+            Assert.fail("Deframing failed", cause);
+        }
+    }
+
+    /**
+     * A stream of known length which fails after the first byte.
+     */
+    private static class FailingInputStream extends ByteArrayInputStream {
+
+        private FailingInputStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            if (pos > 0) {
+                throw new IllegalStateException("Stream failed");
+            }
+            return super.read(b, off, 1);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.ballerinalang.net.grpc;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.DescriptorProtos.DescriptorProto;
+import com.google.protobuf.DescriptorProtos.EnumDescriptorProto;
+import com.google.protobuf.DescriptorProtos.EnumValueDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Test cases for reading and writing messages with {@link MessageCodec}. Messages are checked against the encoding
+ * of the protobuf library.
+ */
+public class MessageCodecTest {
+
+    private Descriptors.FileDescriptor file;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        file = buildFile();
+        MessageRegistry messageRegistry = MessageRegistry.getInstance();
+        for (Descriptors.Descriptor messageType : file.getMessageTypes()) {
+            messageRegistry.addMessageDescriptor(messageType.getName(), messageType);
+        }
+    }
+
+    @Test(description = "Tests skipping the fields which are not in the message type read")
+    public void testUnknownFieldsSkipped() throws Exception {
+        Descriptors.Descriptor personV2 = file.findMessageTypeByName("CodecTestPersonV2");
+        Descriptors.Descriptor address = file.findMessageTypeByName("CodecTestAddress");
+        DynamicMessage input = DynamicMessage.newBuilder(personV2)
+                .setField(personV2.findFieldByName("name"), "Alice")
+                .setField(personV2.findFieldByName("nickname"), "Al")
+                .addRepeatedField(personV2.findFieldByName("scores"), 1)
+                .addRepeatedField(personV2.findFieldByName("scores"), 2)
+                .setField(personV2.findFieldByName("id"), 7L)
+                .setField(personV2.findFieldByName("address"), DynamicMessage.newBuilder(address)
+                        .setField(address.findFieldByName("street"), "Main Street").build())
+                .setField(personV2.findFieldByName("age"), 30L)
+                .build();
+
+        Message message = parse("CodecTestPerson", input.toByteArray());
+
+        Assert.assertEquals(message.getFields().size(), 2);
+        Assert.assertEquals(message.getFields().get("name"), "Alice");
+        Assert.assertEquals(message.getFields().get("age"), 30L);
+    }
+
+    @Test(description = "Tests reading packed repeated scalars and writing repeated scalars")
+    public void testPackedRepeatedScalars() throws Exception {
+        Descriptors.Descriptor scores = file.findMessageTypeByName("CodecTestScores");
+        Assert.assertTrue(scores.findFieldByName("values").isPacked());
+        DynamicMessage input = DynamicMessage.newBuilder(scores)
+                .addRepeatedField(scores.findFieldByName("values"), 1)
+                .addRepeatedField(scores.findFieldByName("values"), 300)
+                .addRepeatedField(scores.findFieldByName("values"), -5)
+                .addRepeatedField(scores.findFieldByName("weights"), 1.5)
+                .addRepeatedField(scores.findFieldByName("weights"), 2.5)
+                .build();
+
+        Message message = parse("CodecTestScores", input.toByteArray());
+        Assert.assertEquals(message.getFields().get("values"), Arrays.asList(1, 300, -5));
+        Assert.assertEquals(message.getFields().get("weights"), Arrays.asList(1.5, 2.5));
+
+        Message output = new Message("CodecTestScores");
+        output.getFields().put("values", new Object[]{1L, 300L, -5L});
+        output.getFields().put("weights", new Object[]{1.5, 2.5});
+        byte[] bytes = write(output);
+        Assert.assertEquals(bytes.length, output.getSerializedSize());
+
+        DynamicMessage written = DynamicMessage.parseFrom(scores, bytes);
+        Assert.assertEquals(written.getField(scores.findFieldByName("values")), Arrays.asList(1, 300, -5));
+        Assert.assertEquals(written.getField(scores.findFieldByName("weights")), Arrays.asList(1.5, 2.5));
+    }
+
+    @Test(description = "Tests the size of an enum value which takes more bytes than the field number")
+    public void testEnumSize() throws Exception {
+        Descriptors.Descriptor paint = file.findMessageTypeByName("CodecTestPaint");
+        Descriptors.EnumValueDescriptor green = file.findEnumTypeByName("CodecTestColor").findValueByNumber(300);
+        DynamicMessage expected = DynamicMessage.newBuilder(paint)
+                .setField(paint.findFieldByName("color"), green)
+                .build();
+
+        for (Object color : new Object[]{300L, green}) {
+            Message message = new Message("CodecTestPaint");
+            message.getFields().put("color", color);
+            byte[] bytes = write(message);
+
+            Assert.assertEquals(message.getSerializedSize(), expected.getSerializedSize());
+            Assert.assertEquals(bytes, expected.toByteArray());
+            Assert.assertEquals(parse("CodecTestPaint", bytes).getFields().get("color"), 300);
+        }
+    }
+
+    @Test(description = "Tests writing and reading a message with a nested message")
+    public void testNestedMessageRoundTrip() throws Exception {
+        Message address = new Message("CodecTestAddress");
+        address.getFields().put("street", "Main Street");
+        Message order = new Message("CodecTestOrder");
+        order.getFields().put("name", "Books");
+        order.getFields().put("address", address);
+        byte[] bytes = write(order);
+        Assert.assertEquals(bytes.length, order.getSerializedSize());
+
+        Descriptors.Descriptor orderType = file.findMessageTypeByName("CodecTestOrder");
+        DynamicMessage written = DynamicMessage.parseFrom(orderType, bytes);
+        Assert.assertEquals(written.getField(orderType.findFieldByName("name")), "Books");
+        DynamicMessage writtenAddress = (DynamicMessage) written.getField(orderType.findFieldByName("address"));
+        Assert.assertEquals(writtenAddress.getField(writtenAddress.getDescriptorForType().findFieldByName("street")),
+                "Main Street");
+
+        Message read = parse("CodecTestOrder", bytes);
+        Assert.assertEquals(read.getFields().get("name"), "Books");
+        Assert.assertEquals(((Message) read.getFields().get("address")).getFields(),
+                Collections.singletonMap("street", "Main Street"));
+    }
+
+    @Test(description = "Tests that the registry keeps only the codec of the descriptor registered last")
+    public void testCodecReplacedWithDescriptor() throws Exception {
+        MessageRegistry messageRegistry = MessageRegistry.getInstance();
+        Descriptors.Descriptor first = buildFile().findMessageTypeByName("CodecTestReplaced");
+        messageRegistry.addMessageDescriptor("CodecTestReplaced", first);
+        Descriptors.Descriptor second = buildFile().findMessageTypeByName("CodecTestReplaced");
+        messageRegistry.addMessageDescriptor("CodecTestReplaced", second);
+
+        Assert.assertSame(messageRegistry.getMessageCodec(second).getDescriptor(), second);
+        Assert.assertSame(messageRegistry.getMessageCodec(second), messageRegistry.getMessageCodec(second));
+        // The codec of the first descriptor is no longer held, so a new one is compiled on each request
+        Assert.assertSame(messageRegistry.getMessageCodec(first).getDescriptor(), first);
+        Assert.assertNotSame(messageRegistry.getMessageCodec(first), messageRegistry.getMessageCodec(first));
+    }
+
+    private static Message parse(String messageName, byte[] bytes) throws IOException {
+        return new MessageParser(messageName).parseFrom(CodedInputStream.newInstance(bytes));
+    }
+
+    private static byte[] write(Message message) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CodedOutputStream output = CodedOutputStream.newInstance(out);
+        message.writeTo(output);
+        output.flush();
+        return out.toByteArray();
+    }
+
+    private static Descriptors.FileDescriptor buildFile() throws Descriptors.DescriptorValidationException {
+        FileDescriptorProto fileProto = FileDescriptorProto.newBuilder()
+                .setName("codec_test.proto")
+                .setPackage("codectest")
+                .setSyntax("proto3")
+                .addEnumType(EnumDescriptorProto.newBuilder().setName("CodecTestColor")
+                        .addValue(EnumValueDescriptorProto.newBuilder().setName("RED").setNumber(0))
+                        .addValue(EnumValueDescriptorProto.newBuilder().setName("GREEN").setNumber(300)))
+                .addMessageType(DescriptorProto.newBuilder().setName("CodecTestAddress")
+                        .addField(field("street", 1, FieldDescriptorProto.Type.TYPE_STRING, false)))
+                .addMessageType(DescriptorProto.newBuilder().setName("CodecTestPerson")
+                        .addField(field("name", 1, FieldDescriptorProto.Type.TYPE_STRING, false))
+                        .addField(field("age", 7, FieldDescriptorProto.Type.TYPE_INT64, false)))
+                .addMessageType(DescriptorProto.newBuilder().setName("CodecTestPersonV2")
+                        .addField(field("name", 1, FieldDescriptorProto.Type.TYPE_STRING, false))
+                        .addField(field("nickname", 2, FieldDescriptorProto.Type.TYPE_STRING, false))
+                        .addField(field("scores", 3, FieldDescriptorProto.Type.TYPE_INT32, true))
+                        .addField(field("id", 4, FieldDescriptorProto.Type.TYPE_FIXED64, false))
+                        .addField(field("address", 5, FieldDescriptorProto.Type.TYPE_MESSAGE, false)
+                                .setTypeName(".codectest.CodecTestAddress"))
+                        .addField(field("age", 7, FieldDescriptorProto.Type.TYPE_INT64, false)))
+                .addMessageType(DescriptorProto.newBuilder().setName("CodecTestScores")
+                        .addField(field("values", 1, FieldDescriptorProto.Type.TYPE_INT32, true))
+                        .addField(field("weights", 2, FieldDescriptorProto.Type.TYPE_DOUBLE, true)))
+                .addMessageType(DescriptorProto.newBuilder().setName("CodecTestPaint")
+                        .addField(field("color", 1, FieldDescriptorProto.Type.TYPE_ENUM, false)
+                                .setTypeName(".codectest.CodecTestColor")))
+                .addMessageType(DescriptorProto.newBuilder().setName("CodecTestOrder")
+                        .addField(field("name", 1, FieldDescriptorProto.Type.TYPE_STRING, false))
+                        .addField(field("address", 2, FieldDescriptorProto.Type.TYPE_MESSAGE, false)
+                                .setTypeName(".codectest.CodecTestAddress")))
+                .addMessageType(DescriptorProto.newBuilder().setName("CodecTestReplaced")
+                        .addField(field("name", 1, FieldDescriptorProto.Type.TYPE_STRING, false)))
+                .build();
+        return Descriptors.FileDescriptor.buildFrom(fileProto, new Descriptors.FileDescriptor[0]);
+    }
+
+    private static FieldDescriptorProto.Builder field(String name, int number, FieldDescriptorProto.Type type,
+                                                      boolean repeated) {
+        return FieldDescriptorProto.newBuilder()
+                .setName(name)
+                .setNumber(number)
+                .setType(type)
+                .setLabel(repeated ? FieldDescriptorProto.Label.LABEL_REPEATED :
+                        FieldDescriptorProto.Label.LABEL_OPTIONAL);
+    }
+}
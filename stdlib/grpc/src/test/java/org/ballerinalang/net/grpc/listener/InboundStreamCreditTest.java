@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.grpc.listener;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2ConnectionHandler;
+import io.netty.handler.codec.http2.Http2ConnectionHandlerBuilder;
+import io.netty.handler.codec.http2.Http2FrameAdapter;
+import io.netty.handler.codec.http2.Http2LocalFlowController;
+import io.netty.handler.codec.http2.Http2Stream;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for withholding the flow control credit of HTTP/2 streams through {@link InboundStreamCredit}.
+ */
+public class InboundStreamCreditTest {
+
+    @Test(description = "Tests that withholding the credit of a stream leaves the other streams of the connection")
+    public void testWithholdOneStream() throws Exception {
+        Http2ConnectionHandler handler = new Http2ConnectionHandlerBuilder().server(true)
+                .frameListener(new Http2FrameAdapter()).build();
+        EmbeddedChannel channel = new EmbeddedChannel(handler);
+        Http2Connection connection = handler.connection();
+        Http2Stream paused = connection.remote().createStream(3, false);
+        Http2Stream other = connection.remote().createStream(5, false);
+        Http2LocalFlowController flowController = connection.local().flowController();
+
+        InboundStreamCredit credit = InboundStreamCredit.of(channel, 3);
+        Assert.assertNotNull(credit);
+        credit.setWithheld(true);
+        channel.runPendingTasks();
+        Assert.assertEquals(flowController.initialWindowSize(paused), 0);
+        Assert.assertEquals(flowController.initialWindowSize(other), Http2CodecUtil.DEFAULT_WINDOW_SIZE);
+        Assert.assertEquals(flowController.initialWindowSize(connection.connectionStream()),
+                Http2CodecUtil.DEFAULT_WINDOW_SIZE);
+
+        credit.setWithheld(false);
+        channel.runPendingTasks();
+        Assert.assertEquals(flowController.initialWindowSize(paused), Http2CodecUtil.DEFAULT_WINDOW_SIZE);
+        channel.finishAndReleaseAll();
+    }
+
+    @Test(description = "Tests that calls which are not made over HTTP/2 have no credit to withhold")
+    public void testNoHttp2Connection() {
+        Assert.assertNull(InboundStreamCredit.of(new EmbeddedChannel(), 3));
+        Assert.assertNull(InboundStreamCredit.of(null, 3));
+        Assert.assertNull(InboundStreamCredit.of(new EmbeddedChannel(), -1));
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.grpc.listener;
+
+import org.ballerinalang.bre.bvm.CallableUnitCallback;
+import org.ballerinalang.connector.api.Resource;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Test cases for running the resources of streaming calls through {@link SerialResourceExecutor}.
+ */
+public class SerialResourceExecutorTest {
+
+    private static final int WINDOW = 4;
+
+    @Test(description = "Tests more streams than pool threads, with the messages submitted from a reader per stream")
+    public void testMoreStreamsThanPoolThreads() throws Exception {
+        int streamCount = 8;
+        int messageCount = 200;
+        ExecutorService workerPool = Executors.newFixedThreadPool(2);
+        ExecutorService inboundReaders = Executors.newCachedThreadPool();
+        try {
+            CountDownLatch done = new CountDownLatch(streamCount * messageCount);
+            List<List<Long>> delivered = new ArrayList<>();
+            List<RecordingCredit> credits = new ArrayList<>();
+            AtomicBoolean overlapped = new AtomicBoolean();
+            for (int stream = 0; stream < streamCount; stream++) {
+                List<Long> messages = Collections.synchronizedList(new ArrayList<>());
+                delivered.add(messages);
+                RecordingCredit credit = new RecordingCredit();
+                credits.add(credit);
+                AtomicBoolean running = new AtomicBoolean();
+                SerialResourceExecutor executor = new SerialResourceExecutor(WINDOW, credit) {
+                    @Override
+                    void invoke(Resource resource, CallableUnitCallback callback, BValue[] params) {
+                        workerPool.execute(() -> {
+                            if (!running.compareAndSet(false, true)) {
+                                overlapped.set(true);
+                            }
+                            messages.add(((BInteger) params[0]).intValue());
+                            running.set(false);
+                            callback.notifySuccess();
+                        });
+                    }
+                };
+                // The inbound messages are delivered by a reader of their own, which blocks while the queue is full
+                inboundReaders.execute(() -> {
+                    for (int i = 0; i < messageCount; i++) {
+                        executor.executeMessage(null, new CountingCallback(done), new BInteger(i));
+                    }
+                });
+            }
+
+            Assert.assertTrue(done.await(30, TimeUnit.SECONDS), "messages left: " + done.getCount());
+            // Lets the last completions give their windows back
+            workerPool.shutdown();
+            Assert.assertTrue(workerPool.awaitTermination(10, TimeUnit.SECONDS));
+            Assert.assertFalse(overlapped.get());
+            for (List<Long> messages : delivered) {
+                Assert.assertEquals(messages.size(), messageCount);
+                for (int i = 0; i < messageCount; i++) {
+                    Assert.assertEquals(messages.get(i).longValue(), i);
+                }
+            }
+            for (RecordingCredit credit : credits) {
+                Assert.assertFalse(credit.withheld);
+            }
+        } finally {
+            workerPool.shutdownNow();
+            inboundReaders.shutdownNow();
+        }
+    }
+
+    @Test(description = "Tests withholding the credit of the stream while the window of pending messages is full")
+    public void testWithholdAndGiveBackCredit() {
+        RecordingCredit credit = new RecordingCredit();
+        PendingExecutor executor = new PendingExecutor(credit);
+        executor.execute(null, new CountingCallback(null));
+        for (int i = 0; i < WINDOW - 1; i++) {
+            executor.executeMessage(null, new CountingCallback(null));
+        }
+        Assert.assertFalse(credit.withheld);
+        executor.executeMessage(null, new CountingCallback(null));
+        Assert.assertTrue(credit.withheld);
+        // Messages the client sent before running out of credit are still queued
+        executor.executeMessage(null, new CountingCallback(null));
+
+        // The window is given back once the whole batch of pending messages is consumed
+        executor.completeNext();
+        for (int i = 0; i < WINDOW; i++) {
+            executor.completeNext();
+            Assert.assertTrue(credit.withheld);
+        }
+        executor.completeNext();
+        Assert.assertFalse(credit.withheld);
+        Assert.assertEquals(credit.changes, 2);
+        Assert.assertEquals(executor.callbacks.size(), 0);
+    }
+
+    @Test(description = "Tests blocking the submitter while the queue of pending messages is at its limit")
+    public void testBlockAtLimit() throws Exception {
+        PendingExecutor executor = new PendingExecutor(null);
+        for (int i = 0; i < WINDOW * 2; i++) {
+            executor.executeMessage(null, new CountingCallback(null));
+        }
+        CountDownLatch submitted = new CountDownLatch(1);
+        Thread reader = new Thread(() -> {
+            executor.executeMessage(null, new CountingCallback(null));
+            submitted.countDown();
+        });
+        reader.start();
+        Assert.assertFalse(submitted.await(200, TimeUnit.MILLISECONDS));
+
+        // Completing the running message gives its window back and lets the blocked message in
+        executor.completeNext();
+        Assert.assertTrue(submitted.await(10, TimeUnit.SECONDS));
+        reader.join(10000);
+    }
+
+    @Test(description = "Tests dropping the pending messages of a cancelled call")
+    public void testCancel() throws Exception {
+        RecordingCredit credit = new RecordingCredit();
+        PendingExecutor executor = new PendingExecutor(credit);
+        for (int i = 0; i < WINDOW * 2; i++) {
+            executor.executeMessage(null, new CountingCallback(null));
+        }
+        Assert.assertTrue(credit.withheld);
+        Thread reader = new Thread(() -> executor.executeMessage(null, new CountingCallback(null)));
+        reader.start();
+        executor.cancel();
+        Assert.assertFalse(credit.withheld);
+        // The blocked message is dropped
+        reader.join(10000);
+        Assert.assertFalse(reader.isAlive());
+
+        // Only the running message completes, events queued after the cancellation still run
+        executor.execute(null, new CountingCallback(null));
+        executor.executeMessage(null, new CountingCallback(null));
+        executor.completeNext();
+        Assert.assertEquals(executor.callbacks.size(), 1);
+        executor.completeNext();
+        Assert.assertEquals(executor.callbacks.size(), 0);
+        Assert.assertEquals(executor.invoked, 2);
+    }
+
+    @Test(description = "Tests completing many queued resources on the dispatching thread")
+    public void testCompletingOnDispatchingThread() {
+        int messageCount = 100000;
+        CountDownLatch done = new CountDownLatch(messageCount);
+        AtomicBoolean hold = new AtomicBoolean(true);
+        List<CallableUnitCallback> held = new ArrayList<>();
+        // The window is as large as the number of messages, so that they are all queued without blocking
+        SerialResourceExecutor executor = new SerialResourceExecutor(messageCount, null) {
+            @Override
+            void invoke(Resource resource, CallableUnitCallback callback, BValue[] params) {
+                if (hold.get()) {
+                    held.add(callback);
+                } else {
+                    callback.notifySuccess();
+                }
+            }
+        };
+        for (int i = 0; i < messageCount; i++) {
+            executor.executeMessage(null, new CountingCallback(done));
+        }
+        hold.set(false);
+        // The first message was held, completing it runs all the others on this thread
+        held.get(0).notifySuccess();
+        Assert.assertEquals(done.getCount(), 0);
+    }
+
+    /**
+     * Executor whose resources complete when the test completes them, in order.
+     */
+    private static class PendingExecutor extends SerialResourceExecutor {
+        private final List<CallableUnitCallback> callbacks = new ArrayList<>();
+        private int invoked;
+
+        PendingExecutor(InboundStreamCredit credit) {
+            super(WINDOW, credit);
+        }
+
+        @Override
+        void invoke(Resource resource, CallableUnitCallback callback, BValue[] params) {
+            invoked++;
+            callbacks.add(callback);
+        }
+
+        void completeNext() {
+            callbacks.remove(0).notifySuccess();
+        }
+    }
+
+    /**
+     * Records whether the credit of the stream is withheld.
+     */
+    private static class RecordingCredit extends InboundStreamCredit {
+        private volatile boolean withheld;
+        private int changes;
+
+        RecordingCredit() {
+            super(null, null, 0);
+        }
+
+        @Override
+        void setWithheld(boolean withheld) {
+            this.withheld = withheld;
+            changes++;
+        }
+    }
+
+    /**
+     * Counts down a latch when a resource completes.
+     */
+    private static class CountingCallback implements CallableUnitCallback {
+        private final CountDownLatch latch;
+
+        CountingCallback(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void notifySuccess() {
+            if (latch != null) {
+                latch.countDown();
+            }
+        }
+
+        @Override
+        public void notifyFailure(BMap<String, BValue> error) {
+            Assert.fail("Resource failed");
+        }
+    }
+}
@@ -15,15 +15,16 @@
 // under the License.
 
 
-import ballerina/cache;
-
 documentation {
     Implements a cache for storing HTTP responses. This cache complies with the caching policy set when configuring
-    HTTP caching in the HTTP client endpoint.
+    HTTP caching in the HTTP client endpoint. Responses are stored natively as their status code, headers and body
+    bytes, and a new `Response` is created each time a stored response is served.
+
+    F{{policy}} Gives the user some control over the caching behaviour
+    F{{isShared}} Specifies whether the HTTP caching layer should behave as a public cache or a private cache
 }
 public type HttpCache object {
 
-    public cache:Cache cache;
     public CachingPolicy policy = CACHE_CONTROL_AND_VALIDATORS;
     public boolean isShared;
 
@@ -56,92 +57,62 @@ public type HttpCache object {
             // IMPT: The call to getBinaryPayload() builds the payload from the stream. If this is not done, the stream
             // will be read by the client and the response will be after the first cache hit.
             match inboundResponse.getBinaryPayload() {
-                byte[] => {}
+                byte[] payload => {
+                    log:printDebug("Adding new cache entry for: " + key);
+                    addCachedResponse(self, key, inboundResponse, payload);
+                }
                 error => {}
             }
-            log:printDebug("Adding new cache entry for: " + key);
-            addEntry(cache, key, inboundResponse);
         }
     }
 
     function hasKey (string key) returns boolean {
-        return cache.hasKey(key);
+        return hasCachedResponse(self, key);
     }
 
     function get (string key) returns Response {
-        match <Response[]>cache.get(key) {
-            Response[] cacheEntry => return cacheEntry[lengthof cacheEntry - 1];
-            error err => throw err;
+        match getCachedResponse(self, key) {
+            Response cachedResponse => return cachedResponse;
+            () => {
+                error err = {message:"Cached response not found for: " + key};
+                throw err;
+            }
         }
     }
 
     function getAll (string key) returns Response[]|() {
-        try {
-            match <Response[]>cache.get(key) {
-                Response[] cacheEntry => return cacheEntry;
-                error err => return ();
-            }
-        } catch (error e) {
+        Response[] cachedResponses = getCachedResponses(self, key);
+        if (lengthof cachedResponses == 0) {
             return ();
         }
+        return cachedResponses;
     }
 
     function getAllByETag (string key, string etag) returns Response[] {
-        Response[] cachedResponses = [];
-        Response[] matchingResponses = [];
-        int i = 0;
-
-        match getAll(key) {
-            Response[] responses => cachedResponses = responses;
-            () => cachedResponses = [];
-        }
-
-        foreach cachedResp in cachedResponses {
-            if (cachedResp.getHeader(ETAG) == etag && !etag.hasPrefix(WEAK_VALIDATOR_TAG)) {
-                matchingResponses[i] = cachedResp;
-                i = i + 1;
-            }
-        }
-
-        return matchingResponses;
+        return getCachedResponsesByETag(self, key, etag, false);
     }
 
     function getAllByWeakETag (string key, string etag) returns Response[] {
-        Response[] cachedResponses = [];
-        Response[] matchingResponses = [];
-        int i = 0;
-
-        match getAll(key) {
-            Response[] responses => cachedResponses = responses;
-            () => cachedResponses = [];
-        }
-
-        foreach cachedResp in cachedResponses {
-            if (cachedResp.hasHeader(ETAG) && weakValidatorEquals(etag, cachedResp.getHeader(ETAG))) {
-                matchingResponses[i] = cachedResp;
-                i = i + 1;
-            }
-        }
+        return getCachedResponsesByETag(self, key, etag, true);
+    }
 
-        return matchingResponses;
+    function update (string key, Response cachedResponse) {
+        updateCachedResponse(self, key, cachedResponse);
     }
 
     function remove (string key) {
-        cache.remove(key);
+        removeCachedResponses(self, key);
     }
 };
 
 function createHttpCache (string name, CacheConfig cacheConfig) returns HttpCache {
     HttpCache httpCache = new;
-    cache:Cache backingCache = new(expiryTimeMillis = cacheConfig.expiryTimeMillis, capacity = cacheConfig.capacity,
-                                     evictionFactor = cacheConfig.evictionFactor);
-    httpCache.cache = backingCache;
     httpCache.policy = cacheConfig.policy;
     httpCache.isShared = cacheConfig.isShared;
+    initHttpCacheStore(httpCache, cacheConfig);
     return httpCache;
 }
 
-
 function isCacheableStatusCode (int statusCode) returns boolean {
     return statusCode == OK_200 || statusCode == NON_AUTHORITATIVE_INFORMATION_203 ||
            statusCode == NO_CONTENT_204 || statusCode == PARTIAL_CONTENT_206 ||
@@ -151,18 +122,79 @@ function isCacheableStatusCode (int statusCode) returns boolean {
            statusCode == NOT_IMPLEMENTED_501;
 }
 
-function addEntry (cache:Cache cache, string key, Response inboundResponse) {
-    try {
-        var existingResponses = cache.get(key);
-        match <Response[]>existingResponses {
-            Response[] cachedRespArray => cachedRespArray[lengthof cachedRespArray] = inboundResponse;
-            error err => throw err;
-        }
-    } catch (error e) {
-        Response[] cachedResponses = [inboundResponse];
-        cache.put(key, cachedResponses);
-    }
+documentation {
+    Creates the native store of an HTTP cache. The store keeps up to `capacity` bytes of responses, evicting the least
+    recently used responses when it is full, and responses which have not been used for `expiryTimeMillis`.
+
+    P{{cache}} The HTTP cache
+    P{{cacheConfig}} Configurations for the cache
+}
+extern function initHttpCacheStore(HttpCache cache, CacheConfig cacheConfig);
+
+documentation {
+    Stores a response as a new variant of the responses of a key.
+
+    P{{cache}} The HTTP cache
+    P{{key}} The cache key
+    P{{response}} The response to be stored
+    P{{payload}} The body of the response
+}
+extern function addCachedResponse(HttpCache cache, string key, Response response, byte[] payload);
+
+documentation {
+    Checks whether responses are stored for a key.
+
+    P{{cache}} The HTTP cache
+    P{{key}} The cache key
+    R{{}} Whether responses are stored for the key
+}
+extern function hasCachedResponse(HttpCache cache, string key) returns boolean;
+
+documentation {
+    Provides the latest response stored for a key.
+
+    P{{cache}} The HTTP cache
+    P{{key}} The cache key
+    R{{}} The response, or `()` if no response is stored for the key
+}
+extern function getCachedResponse(HttpCache cache, string key) returns Response|();
+
+documentation {
+    Provides the responses stored for a key.
+
+    P{{cache}} The HTTP cache
+    P{{key}} The cache key
+    R{{}} The responses, in the order they were stored
+}
+extern function getCachedResponses(HttpCache cache, string key) returns Response[];
+
+documentation {
+    Provides the responses stored for a key which match an entity tag.
+
+    P{{cache}} The HTTP cache
+    P{{key}} The cache key
+    P{{etag}} The entity tag
+    P{{weak}} Whether the entity tags are compared with the weak comparison function
+    R{{}} The matching responses
+}
+extern function getCachedResponsesByETag(HttpCache cache, string key, string etag, boolean weak) returns Response[];
+
+documentation {
+    Stores the headers of a response served from the cache in place of the headers of the stored response.
+
+    P{{cache}} The HTTP cache
+    P{{key}} The cache key
+    P{{cachedResponse}} A response served from the cache
+}
+extern function updateCachedResponse(HttpCache cache, string key, Response cachedResponse);
+
+documentation {
+    Removes the responses stored for a key.
+
+    P{{cache}} The HTTP cache
+    P{{key}} The cache key
 }
+extern function removeCachedResponses(HttpCache cache, string key);
 
 function weakValidatorEquals (string etag1, string etag2) returns boolean {
     string validatorPortion1 = etag1.hasPrefix(WEAK_VALIDATOR_TAG) ? etag1.substring(2, lengthof etag1) : etag1;
@@ -59,9 +59,9 @@ documentation {
 
     F{{enabled}} Specifies whether HTTP caching is enabled. Caching is enabled by default.
     F{{isShared}} Specifies whether the HTTP caching layer should behave as a public cache or a private cache
-    F{{expiryTimeMillis}} The number of milliseconds to keep an entry in the cache
-    F{{capacity}} The capacity of the cache
-    F{{evictionFactor}} The fraction of entries to be removed when the cache is full. The value should be
+    F{{expiryTimeMillis}} The number of milliseconds to keep an entry in the cache after it was last used
+    F{{capacity}} The capacity of the cache in bytes, counting the body and the headers of the stored responses
+    F{{evictionFactor}} The fraction of the capacity to be freed when the cache is full. The value should be
                         between 0 (exclusive) and 1 (inclusive).
     F{{policy}} Gives the user some control over the caching behaviour. By default, this is set to
                 `CACHE_CONTROL_AND_VALIDATORS`. The default behaviour is to allow caching only when the `cache-control`
@@ -569,6 +569,7 @@ function handle304Response(Response validationResponse, Response cachedResponse,
 
             foreach resp in matchingCachedResponses {
                 updateResponse(resp, validationResponse);
+                cache.update(getCacheKey(httpMethod, path), resp);
             }
             log:printDebug("304 response received, with a strong validator. Response(s) updated");
             return cachedResponse;
@@ -578,6 +579,7 @@ function handle304Response(Response validationResponse, Response cachedResponse,
 
             foreach resp in matchingCachedResponses {
                 updateResponse(resp, validationResponse);
+                cache.update(getCacheKey(httpMethod, path), resp);
             }
             log:printDebug("304 response received, with a weak validator. Response(s) updated");
             return cachedResponse;
@@ -590,6 +592,7 @@ function handle304Response(Response validationResponse, Response cachedResponse,
                                                         !validationResponse.hasHeader(LAST_MODIFIED)) {
         log:printDebug("304 response received and stored response do not have validators. Updating the stored response.");
         updateResponse(cachedResponse, validationResponse);
+        cache.update(getCacheKey(httpMethod, path), cachedResponse);
     }
 
     log:printDebug("304 response received, but stored responses were not updated.");
@@ -602,8 +605,8 @@ function invalidateResponses(HttpCache httpCache, Response inboundResponse, stri
     // TODO: Improve this logic in accordance with the spec
     if (isCacheableStatusCode(inboundResponse.statusCode) &&
         inboundResponse.statusCode >= 200 && inboundResponse.statusCode < 400) {
-        httpCache.cache.remove(getCacheKey(GET, path));
-        httpCache.cache.remove(getCacheKey(HEAD, path));
+        httpCache.remove(getCacheKey(GET, path));
+        httpCache.remove(getCacheKey(HEAD, path));
     }
 }
 
@@ -318,6 +318,7 @@ function createCircuitBreakerClient(string uri, ClientEndpointConfig configurati
                                                                 rollingWindow:cb.rollingWindow
                                                             };
             CircuitHealth circuitHealth = {startTime:circuitStartTime, totalBuckets: bucketArray};
+            initCircuitBreaker(circuitHealth, circuitBreakerInferredConfig);
             return new CircuitBreakerClient(uri, configuration, circuitBreakerInferredConfig, cbHttpClient, circuitHealth);
         }
         () => {
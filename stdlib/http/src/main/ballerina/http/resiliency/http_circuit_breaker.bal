@@ -14,7 +14,6 @@
 // specific language governing permissions and limitations
 // under the License.
 
-import ballerina/log;
 import ballerina/time;
 import ballerina/io;
 
@@ -48,16 +47,18 @@ documentation {
 @final public CircuitState CB_CLOSED_STATE = "CLOSED";
 
 documentation {
-    Maintains the health of the Circuit Breaker.
+    Maintains the health of the Circuit Breaker. The request counts and the state of the circuit are kept by the
+    native circuit breaker attached to this record, see `initCircuitBreaker()`. The other fields are deprecated, they
+    are copies of the native state which are refreshed on each request and are not read by the circuit breaker.
 
-    F{{lastRequestSuccess}} Whether last request is success or not
-    F{{totalRequestCount}} Total request count received within the `RollingWindow`
-    F{{lastUsedBucketId}} ID of the last bucket used in Circuit Breaker calculations
+    F{{lastRequestSuccess}} Whether last request is success or not. Deprecated.
+    F{{totalRequestCount}} Total request count received within the `RollingWindow`. Deprecated.
+    F{{lastUsedBucketId}} ID of the last bucket used in Circuit Breaker calculations. Deprecated.
     F{{startTime}} Circuit Breaker start time
-    F{{lastRequestTime}} The time that the last request received
-    F{{lastErrorTime}} The time that the last error occurred
-    F{{lastForcedOpenTime}} The time that circuit forcefully opened at last
-    F{{totalBuckets}} The discrete time buckets into which the time window is divided
+    F{{lastRequestTime}} The time that the last request received. Deprecated.
+    F{{lastErrorTime}} The time that the last error occurred. Deprecated.
+    F{{lastForcedOpenTime}} The time that circuit forcefully opened at last. Deprecated.
+    F{{totalBuckets}} The discrete time buckets into which the time window is divided. Deprecated.
 }
 public type CircuitHealth record {
     boolean lastRequestSuccess,
@@ -101,13 +102,15 @@ public type RollingWindow record {
 };
 
 documentation {
-    Represents a discrete sub-part of the time window (Bucket).
+    Represents a discrete sub-part of the time window (Bucket). The request counts are kept by the native circuit
+    breaker, the buckets of `CircuitHealth` are copies of them.
 
     F{{totalCount}} Total number of requests received during the sub-window time frame
     F{{failureCount}} Number of failed requests during the sub-window time frame
     F{{rejectedCount}} Number of rejected requests during the sub-window time frame
     F{{lastUpdatedTime}} The time that the `Bucket` is last updated.
 }
+deprecated {}
 public type Bucket record {
     int totalCount,
     int failureCount,
@@ -142,7 +145,7 @@ documentation {
     F{{circuitBreakerInferredConfig}} Configurations derived from `CircuitBreakerConfig`
     F{{httpClient}}  The underlying `HttpActions` instance which will be making the actual network calls
     F{{circuitHealth}} The circuit health monitor
-    F{{currentCircuitState}} The current state the cicuit is in
+    F{{currentCircuitState}} The current state the cicuit is in. Deprecated, use `getCurrentState()`.
 }
 public type CircuitBreakerClient object {
 
@@ -346,20 +349,20 @@ function CircuitBreakerClient::post(string path, Request|string|xml|json|byte[]|
     message) returns Response|error {
     Request req = buildRequest(message);
     CallerActions httpClient = self.httpClient;
-    CircuitBreakerInferredConfig cbic = self.circuitBreakerInferredConfig;
-    self.currentCircuitState = updateCircuitState(self.circuitHealth, self.currentCircuitState, cbic);
+    CircuitState currentCircuitState = updateCircuitState(self.circuitHealth);
+    self.currentCircuitState = currentCircuitState;
 
-    if (self.currentCircuitState == CB_OPEN_STATE) {
+    if (currentCircuitState == CB_OPEN_STATE) {
         // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-        return handleOpenCircuit(self.circuitHealth, self.circuitBreakerInferredConfig);
+        return handleOpenCircuit(self.circuitHealth);
     } else {
         match httpClient.post(path, req) {
             Response service_response => {
-                updateCircuitHealthSuccess(self.circuitHealth, service_response, self.circuitBreakerInferredConfig);
+                updateCircuitHealthSuccess(self.circuitHealth, service_response.statusCode);
                 return service_response;
             }
             error serviceError => {
-                updateCircuitHealthFailure(self.circuitHealth, serviceError, self.circuitBreakerInferredConfig);
+                updateCircuitHealthFailure(self.circuitHealth);
                 return serviceError;
             }
         }
@@ -370,20 +373,20 @@ function CircuitBreakerClient::head(string path, Request|string|xml|json|byte[]|
     message = ()) returns Response|error {
     Request request = buildRequest(message);
     CallerActions httpClient = self.httpClient;
-    CircuitBreakerInferredConfig cbic = self.circuitBreakerInferredConfig;
-    self.currentCircuitState = updateCircuitState(self.circuitHealth, self.currentCircuitState, cbic);
+    CircuitState currentCircuitState = updateCircuitState(self.circuitHealth);
+    self.currentCircuitState = currentCircuitState;
 
-    if (self.currentCircuitState == CB_OPEN_STATE) {
+    if (currentCircuitState == CB_OPEN_STATE) {
         // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-        return handleOpenCircuit(self.circuitHealth, self.circuitBreakerInferredConfig);
+        return handleOpenCircuit(self.circuitHealth);
     } else {
         match httpClient.head(path, message = request) {
             Response service_response => {
-                updateCircuitHealthSuccess(self.circuitHealth, service_response, self.circuitBreakerInferredConfig);
+                updateCircuitHealthSuccess(self.circuitHealth, service_response.statusCode);
                 return service_response;
             }
             error serviceError => {
-                updateCircuitHealthFailure(self.circuitHealth, serviceError, self.circuitBreakerInferredConfig);
+                updateCircuitHealthFailure(self.circuitHealth);
                 return serviceError;
             }
         }
@@ -394,20 +397,20 @@ function CircuitBreakerClient::put(string path, Request|string|xml|json|byte[]|i
     message) returns Response|error {
     Request request = buildRequest(message);
     CallerActions httpClient = self.httpClient;
-    CircuitBreakerInferredConfig cbic = self.circuitBreakerInferredConfig;
-    self.currentCircuitState = updateCircuitState(self.circuitHealth, self.currentCircuitState, cbic);
+    CircuitState currentCircuitState = updateCircuitState(self.circuitHealth);
+    self.currentCircuitState = currentCircuitState;
 
-    if (self.currentCircuitState == CB_OPEN_STATE) {
+    if (currentCircuitState == CB_OPEN_STATE) {
         // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-        return handleOpenCircuit(self.circuitHealth, self.circuitBreakerInferredConfig);
+        return handleOpenCircuit(self.circuitHealth);
     } else {
         match httpClient.put(path, request) {
             Response service_response => {
-                updateCircuitHealthSuccess(self.circuitHealth, service_response, self.circuitBreakerInferredConfig);
+                updateCircuitHealthSuccess(self.circuitHealth, service_response.statusCode);
                 return service_response;
             }
             error serviceError => {
-                updateCircuitHealthFailure(self.circuitHealth, serviceError, self.circuitBreakerInferredConfig);
+                updateCircuitHealthFailure(self.circuitHealth);
                 return serviceError;
             }
         }
@@ -418,20 +421,20 @@ function CircuitBreakerClient::execute(string httpVerb, string path, Request|str
     io:ByteChannel|mime:Entity[]|() message) returns Response|error {
     Request request = buildRequest(message);
     CallerActions httpClient = self.httpClient;
-    CircuitBreakerInferredConfig cbic = self.circuitBreakerInferredConfig;
-    self.currentCircuitState = updateCircuitState(self.circuitHealth, self.currentCircuitState, cbic);
+    CircuitState currentCircuitState = updateCircuitState(self.circuitHealth);
+    self.currentCircuitState = currentCircuitState;
 
-    if (self.currentCircuitState == CB_OPEN_STATE) {
+    if (currentCircuitState == CB_OPEN_STATE) {
         // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-        return handleOpenCircuit(self.circuitHealth, self.circuitBreakerInferredConfig);
+        return handleOpenCircuit(self.circuitHealth);
     } else {
         match httpClient.execute(httpVerb, path, request) {
             Response service_response => {
-                updateCircuitHealthSuccess(self.circuitHealth, service_response, self.circuitBreakerInferredConfig);
+                updateCircuitHealthSuccess(self.circuitHealth, service_response.statusCode);
                 return service_response;
             }
             error serviceError => {
-                updateCircuitHealthFailure(self.circuitHealth, serviceError, self.circuitBreakerInferredConfig);
+                updateCircuitHealthFailure(self.circuitHealth);
                 return serviceError;
             }
         }
@@ -442,20 +445,20 @@ function CircuitBreakerClient::patch(string path, Request|string|xml|json|byte[]
     message) returns Response|error {
     Request request = buildRequest(message);
     CallerActions httpClient = self.httpClient;
-    CircuitBreakerInferredConfig cbic = self.circuitBreakerInferredConfig;
-    self.currentCircuitState = updateCircuitState(self.circuitHealth, self.currentCircuitState, cbic);
+    CircuitState currentCircuitState = updateCircuitState(self.circuitHealth);
+    self.currentCircuitState = currentCircuitState;
 
-    if (self.currentCircuitState == CB_OPEN_STATE) {
+    if (currentCircuitState == CB_OPEN_STATE) {
         // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-        return handleOpenCircuit(self.circuitHealth, self.circuitBreakerInferredConfig);
+        return handleOpenCircuit(self.circuitHealth);
     } else {
         match httpClient.patch(path, request) {
             Response service_response => {
-                updateCircuitHealthSuccess(self.circuitHealth, service_response, self.circuitBreakerInferredConfig);
+                updateCircuitHealthSuccess(self.circuitHealth, service_response.statusCode);
                 return service_response;
             }
             error serviceError => {
-                updateCircuitHealthFailure(self.circuitHealth, serviceError, self.circuitBreakerInferredConfig);
+                updateCircuitHealthFailure(self.circuitHealth);
                 return serviceError;
             }
         }
@@ -466,20 +469,20 @@ function CircuitBreakerClient::delete(string path, Request|string|xml|json|byte[
     message) returns Response|error {
     Request request = buildRequest(message);
     CallerActions httpClient = self.httpClient;
-    CircuitBreakerInferredConfig cbic = self.circuitBreakerInferredConfig;
-    self.currentCircuitState = updateCircuitState(self.circuitHealth, self.currentCircuitState, cbic);
+    CircuitState currentCircuitState = updateCircuitState(self.circuitHealth);
+    self.currentCircuitState = currentCircuitState;
 
-    if (self.currentCircuitState == CB_OPEN_STATE) {
+    if (currentCircuitState == CB_OPEN_STATE) {
         // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-        return handleOpenCircuit(self.circuitHealth, self.circuitBreakerInferredConfig);
+        return handleOpenCircuit(self.circuitHealth);
     } else {
         match httpClient.delete(path, request) {
             Response service_response => {
-                updateCircuitHealthSuccess(self.circuitHealth, service_response, self.circuitBreakerInferredConfig);
+                updateCircuitHealthSuccess(self.circuitHealth, service_response.statusCode);
                 return service_response;
             }
             error serviceError => {
-                updateCircuitHealthFailure(self.circuitHealth, serviceError, self.circuitBreakerInferredConfig);
+                updateCircuitHealthFailure(self.circuitHealth);
                 return serviceError;
             }
         }
@@ -490,20 +493,20 @@ function CircuitBreakerClient::get(string path, Request|string|xml|json|byte[]|i
     message = ()) returns Response|error {
     Request request = buildRequest(message);
     CallerActions httpClient = self.httpClient;
-    CircuitBreakerInferredConfig cbic = self.circuitBreakerInferredConfig;
-    self.currentCircuitState = updateCircuitState(self.circuitHealth, self.currentCircuitState, cbic);
+    CircuitState currentCircuitState = updateCircuitState(self.circuitHealth);
+    self.currentCircuitState = currentCircuitState;
 
-    if (self.currentCircuitState == CB_OPEN_STATE) {
+    if (currentCircuitState == CB_OPEN_STATE) {
         // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-        return handleOpenCircuit(self.circuitHealth, self.circuitBreakerInferredConfig);
+        return handleOpenCircuit(self.circuitHealth);
     } else {
         match httpClient.get(path, message = request) {
             Response service_response => {
-                updateCircuitHealthSuccess(self.circuitHealth, service_response, self.circuitBreakerInferredConfig);
+                updateCircuitHealthSuccess(self.circuitHealth, service_response.statusCode);
                 return service_response;
             }
             error serviceError => {
-                updateCircuitHealthFailure(self.circuitHealth, serviceError, self.circuitBreakerInferredConfig);
+                updateCircuitHealthFailure(self.circuitHealth);
                 return serviceError;
             }
         }
@@ -514,20 +517,20 @@ function CircuitBreakerClient::options(string path, Request|string|xml|json|byte
     message = ()) returns Response|error {
     Request request = buildRequest(message);
     CallerActions httpClient = self.httpClient;
-    CircuitBreakerInferredConfig cbic = self.circuitBreakerInferredConfig;
-    self.currentCircuitState = updateCircuitState(self.circuitHealth, self.currentCircuitState, cbic);
+    CircuitState currentCircuitState = updateCircuitState(self.circuitHealth);
+    self.currentCircuitState = currentCircuitState;
 
-    if (self.currentCircuitState == CB_OPEN_STATE) {
+    if (currentCircuitState == CB_OPEN_STATE) {
         // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-        return handleOpenCircuit(self.circuitHealth, self.circuitBreakerInferredConfig);
+        return handleOpenCircuit(self.circuitHealth);
     } else {
         match httpClient.options(path, message = request) {
             Response service_response => {
-                updateCircuitHealthSuccess(self.circuitHealth, service_response, self.circuitBreakerInferredConfig);
+                updateCircuitHealthSuccess(self.circuitHealth, service_response.statusCode);
                 return service_response;
             }
             error serviceError => {
-                updateCircuitHealthFailure(self.circuitHealth, serviceError, self.circuitBreakerInferredConfig);
+                updateCircuitHealthFailure(self.circuitHealth);
                 return serviceError;
             }
         }
@@ -536,20 +539,20 @@ function CircuitBreakerClient::options(string path, Request|string|xml|json|byte
 
 function CircuitBreakerClient::forward(string path, Request request) returns Response|error {
     CallerActions httpClient = self.httpClient;
-    CircuitBreakerInferredConfig cbic = self.circuitBreakerInferredConfig;
-    self.currentCircuitState = updateCircuitState(self.circuitHealth, self.currentCircuitState, cbic);
+    CircuitState currentCircuitState = updateCircuitState(self.circuitHealth);
+    self.currentCircuitState = currentCircuitState;
 
-    if (self.currentCircuitState == CB_OPEN_STATE) {
+    if (currentCircuitState == CB_OPEN_STATE) {
         // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-        return handleOpenCircuit(self.circuitHealth, self.circuitBreakerInferredConfig);
+        return handleOpenCircuit(self.circuitHealth);
     } else {
         match httpClient.forward(path, request) {
             Response service_response => {
-                updateCircuitHealthSuccess(self.circuitHealth, service_response, self.circuitBreakerInferredConfig);
+                updateCircuitHealthSuccess(self.circuitHealth, service_response.statusCode);
                 return service_response;
             }
             error serviceError => {
-                updateCircuitHealthFailure(self.circuitHealth, serviceError, self.circuitBreakerInferredConfig);
+                updateCircuitHealthFailure(self.circuitHealth);
                 return serviceError;
             }
         }
@@ -583,296 +586,95 @@ function CircuitBreakerClient::rejectPromise(PushPromise promise) {
 }
 
 function CircuitBreakerClient::forceClose() {
+    setCircuitState(self.circuitHealth, CB_CLOSED_STATE);
     self.currentCircuitState = CB_CLOSED_STATE;
 }
 
 function CircuitBreakerClient::forceOpen() {
+    setCircuitState(self.circuitHealth, CB_OPEN_STATE);
     self.currentCircuitState = CB_OPEN_STATE;
-    self.circuitHealth.lastForcedOpenTime = time:currentTime();
 }
 
 function CircuitBreakerClient::getCurrentState() returns CircuitState {
+    self.currentCircuitState = getCircuitState(self.circuitHealth);
     return self.currentCircuitState;
 }
 
 documentation {
-    Update circuit state.
+    Initializes the native circuit breaker which keeps the health of the circuit. The request counts of the
+    `RollingWindow` and the state of the circuit are updated without locking, hence concurrent requests through
+    the same client do not wait on each other.
 
     P{{circuitHealth}}  Circuit Breaker health status
-    P{{currentStateValue}}  Circuit Breaker current state value
     P{{circuitBreakerInferredConfig}}   Configurations derived from `CircuitBreakerConfig`
-    R{{}} State of the circuit
-}
-function updateCircuitState(CircuitHealth circuitHealth, CircuitState currentStateValue,
-                            CircuitBreakerInferredConfig circuitBreakerInferredConfig) returns (CircuitState) {
-    lock {
-        CircuitState currentState = currentStateValue;
-        prepareRollingWindow(circuitHealth, circuitBreakerInferredConfig);
-        int currentBucketId = getCurrentBucketId(circuitHealth, circuitBreakerInferredConfig);
-        updateLastUsedBucketId(currentBucketId, circuitHealth);
-        circuitHealth.lastRequestTime = time:currentTime();
-        int totalRequestsCount = getTotalRequestsCount(circuitHealth);
-        circuitHealth.totalRequestCount = totalRequestsCount;
-        if (totalRequestsCount >= circuitBreakerInferredConfig.rollingWindow.requestVolumeThreshold) {
-            if (currentState == CB_OPEN_STATE) {
-                currentState = switchCircuitStateOpenToHalfOpenOnResetTime(circuitBreakerInferredConfig,
-                                                                                    circuitHealth, currentState);
-            } else if (currentState == CB_HALF_OPEN_STATE) {
-                if (!circuitHealth.lastRequestSuccess) {
-                    // If the trial run has failed, trip the circuit again
-                    currentState = CB_OPEN_STATE;
-                    log:printInfo("CircuitBreaker trial run has failed. Circuit switched from HALF_OPEN to OPEN state.")
-                    ;
-                } else {
-                    // If the trial run was successful reset the circuit
-                    currentState = CB_CLOSED_STATE;
-                    log:printInfo(
-                        "CircuitBreaker trial run  was successful. Circuit switched from HALF_OPEN to CLOSE state.");
-                }
-            } else {
-                float currentFailureRate = getCurrentFailureRatio(circuitHealth);
-
-                if (currentFailureRate > circuitBreakerInferredConfig.failureThreshold) {
-                    currentState = CB_OPEN_STATE;
-                    log:printInfo("CircuitBreaker failure threshold exceeded. Circuit tripped from CLOSE to OPEN state."
-                    );
-                }
-            }
-        } else {
-            currentState = switchCircuitStateOpenToHalfOpenOnResetTime(circuitBreakerInferredConfig,
-                                                                                    circuitHealth, currentState);
-        }
-        circuitHealth.totalBuckets[currentBucketId].totalCount++;
-        return currentState;
-    }
-}
-
-function updateCircuitHealthFailure(CircuitHealth circuitHealth,
-                                    error httpConnectorErr, CircuitBreakerInferredConfig circuitBreakerInferredConfig) {
-    lock {
-        int currentBucketId = getCurrentBucketId(circuitHealth, circuitBreakerInferredConfig);
-        circuitHealth.lastRequestSuccess = false;
-        updateLastUsedBucketId(currentBucketId, circuitHealth);
-        circuitHealth.totalBuckets[currentBucketId].failureCount++;
-        time:Time lastUpdated = time:currentTime();
-        circuitHealth.lastErrorTime = lastUpdated;
-        circuitHealth.totalBuckets[currentBucketId].lastUpdatedTime = lastUpdated;
-    }
-}
-
-function updateCircuitHealthSuccess(CircuitHealth circuitHealth, Response inResponse,
-                                    CircuitBreakerInferredConfig circuitBreakerInferredConfig) {
-    lock {
-        int currentBucketId = getCurrentBucketId(circuitHealth, circuitBreakerInferredConfig);
-        time:Time lastUpdated = time:currentTime();
-        updateLastUsedBucketId(currentBucketId, circuitHealth);
-        if (circuitBreakerInferredConfig.statusCodes[inResponse.statusCode] == true) {
-            circuitHealth.totalBuckets[currentBucketId].failureCount++;
-            circuitHealth.lastRequestSuccess = false;
-            circuitHealth.lastErrorTime = lastUpdated;
-            circuitHealth.totalBuckets[currentBucketId].lastUpdatedTime = lastUpdated;
-        } else {
-            circuitHealth.lastRequestSuccess = true;
-            circuitHealth.totalBuckets[currentBucketId].lastUpdatedTime = lastUpdated;
-        }
-    }
-}
-
-// Handles open circuit state.
-function handleOpenCircuit(CircuitHealth circuitHealth, CircuitBreakerInferredConfig circuitBreakerInferredConfig)
-             returns (error) {
-    updateRejectedRequestCount(circuitHealth, circuitBreakerInferredConfig);
-    time:Time effectiveErrorTime = getEffectiveErrorTime(circuitHealth);
-    int timeDif = time:currentTime().time - effectiveErrorTime.time;
-    int timeRemaining = circuitBreakerInferredConfig.resetTimeMillis - timeDif;
-    string errorMessage = "Upstream service unavailable. Requests to upstream service will be suspended for "
-        + timeRemaining + " milliseconds.";
-    error httpConnectorErr = {message:errorMessage};
-    return httpConnectorErr;
-}
-
-// Validates the struct configurations passed to create circuit breaker.
-function validateCircuitBreakerConfiguration(CircuitBreakerConfig circuitBreakerConfig) {
-    float failureThreshold = circuitBreakerConfig.failureThreshold;
-    if (failureThreshold < 0 || failureThreshold > 1) {
-        string errorMessage = "Invalid failure threshold. Failure threshold value"
-            + " should between 0 to 1, found " + failureThreshold;
-        error circuitBreakerConfigError = { message: errorMessage };
-        throw circuitBreakerConfigError;
-    }
 }
+extern function initCircuitBreaker(CircuitHealth circuitHealth,
+                                   CircuitBreakerInferredConfig circuitBreakerInferredConfig);
 
 documentation {
-    Calculate Failure at a given point.
+    Update circuit state and count the request in the current bucket of the `RollingWindow`.
 
     P{{circuitHealth}}  Circuit Breaker health status
-    R{{}} Current failure ratio
-}
-function getCurrentFailureRatio(CircuitHealth circuitHealth) returns float {
-    int totalCount;
-    int totalFailures;
-
-    foreach bucket in circuitHealth.totalBuckets {
-        totalCount =  totalCount + bucket.failureCount + (bucket.totalCount - (bucket.failureCount + bucket.rejectedCount));
-        totalFailures = totalFailures + bucket.failureCount;
-    }
-    float ratio = 0;
-    if (totalCount > 0) {
-        ratio = <float> totalFailures / totalCount;
-    }
-    return ratio;
+    R{{}} State of the circuit
 }
+extern function updateCircuitState(CircuitHealth circuitHealth) returns (CircuitState);
 
 documentation {
-    Calculate total requests count within `RollingWindow`.
+    Records a request which failed with an error.
 
     P{{circuitHealth}}  Circuit Breaker health status
-    R{{}} Total requests count
-}
-function getTotalRequestsCount(CircuitHealth circuitHealth) returns int {
-    int totalCount;
-
-    foreach bucket in circuitHealth.totalBuckets {
-        totalCount  =  totalCount + bucket.totalCount;
-    }
-    return totalCount;
 }
+extern function updateCircuitHealthFailure(CircuitHealth circuitHealth);
 
 documentation {
-    Calculate the current bucket Id.
+    Records the response of a request. Responses with a status code given in the `CircuitBreakerConfig` are
+    recorded as failures.
 
     P{{circuitHealth}}  Circuit Breaker health status
-    P{{circuitBreakerInferredConfig}}   Configurations derived from `CircuitBreakerConfig`
-    R{{}} Current bucket id
-}
-function getCurrentBucketId(CircuitHealth circuitHealth, CircuitBreakerInferredConfig circuitBreakerInferredConfig)
-             returns int {
-    int elapsedTime = (time:currentTime().time - circuitHealth.startTime.time) % circuitBreakerInferredConfig.
-        rollingWindow.timeWindowMillis;
-    int currentBucketId = ((elapsedTime / circuitBreakerInferredConfig.rollingWindow.bucketSizeMillis) + 1)
-        % circuitBreakerInferredConfig.noOfBuckets;
-    return currentBucketId;
+    P{{statusCode}}  Status code of the response
 }
+extern function updateCircuitHealthSuccess(CircuitHealth circuitHealth, int statusCode);
 
 documentation {
-    Update rejected requests count.
+    Records a request rejected by the open circuit.
 
     P{{circuitHealth}}  Circuit Breaker health status
-    P{{circuitBreakerInferredConfig}}   Configurations derived from `CircuitBreakerConfig`
-}
-function updateRejectedRequestCount(CircuitHealth circuitHealth, CircuitBreakerInferredConfig circuitBreakerInferredConfig) {
-    int currentBucketId = getCurrentBucketId(circuitHealth, circuitBreakerInferredConfig);
-    updateLastUsedBucketId(currentBucketId, circuitHealth);
-    circuitHealth.totalBuckets[currentBucketId].rejectedCount++;
+    R{{}} Time in milliseconds until the upstream service is tried again
 }
+extern function rejectRequest(CircuitHealth circuitHealth) returns int;
 
 documentation {
-    Reset the bucket values to default ones.
-
-    P{{circuitHealth}}  - Circuit Breaker health status.
-    P{{bucketId}}  - Id of the bucket should reset.
-}
-function resetBucketStats(CircuitHealth circuitHealth, int bucketId) {
-    circuitHealth.totalBuckets[bucketId] = {};
-}
-
-function getEffectiveErrorTime(CircuitHealth circuitHealth) returns time:Time {
-    return (circuitHealth.lastErrorTime.time > circuitHealth.lastForcedOpenTime.time)
-    ? circuitHealth.lastErrorTime : circuitHealth.lastForcedOpenTime;
-}
-
-documentation {
-    Populate the `RollingWindow` statistics to handle circuit breaking within the `RollingWindow` time frame.
+    Forces the circuit into a state.
 
     P{{circuitHealth}}  Circuit Breaker health status
-    P{{circuitBreakerInferredConfig}}   Configurations derived from `CircuitBreakerConfig`
-}
-function prepareRollingWindow(CircuitHealth circuitHealth, CircuitBreakerInferredConfig circuitBreakerInferredConfig) {
-
-    int currentTime = time:currentTime().time;
-    int idleTime = currentTime - circuitHealth.lastRequestTime.time;
-    RollingWindow rollingWindow = circuitBreakerInferredConfig.rollingWindow;
-    // If the time duration between two requests greater than timeWindowMillis values, reset the buckets to default.
-    if (idleTime > rollingWindow.timeWindowMillis) {
-        reInitializeBuckets(circuitHealth);
-    } else {
-        int currentBucketId = getCurrentBucketId(circuitHealth, circuitBreakerInferredConfig);
-        int lastUsedBucketId = circuitHealth.lastUsedBucketId;
-        // Check whether subsequent requests received within same bucket(sub time window). If the idle time is greater
-        // than bucketSizeMillis means subsequent calls are received time exceeding the rolling window. if we need to
-        // reset the buckets to default.
-        if (currentBucketId == circuitHealth.lastUsedBucketId && idleTime > rollingWindow.bucketSizeMillis) {
-            reInitializeBuckets(circuitHealth);
-        // If the current bucket (sub time window) is less than last updated bucket. Stats of the current bucket to zeroth
-        // bucket and Last bucket to last used bucket needs to be reset to default.
-        } else if (currentBucketId < lastUsedBucketId) {
-            int index = currentBucketId;
-            while (index >= 0) {
-                resetBucketStats(circuitHealth, index);
-                index--;
-            }
-            int lastIndex = (lengthof circuitHealth.totalBuckets) - 1;
-            while (lastIndex > currentBucketId) {
-                resetBucketStats(circuitHealth, lastIndex);
-                lastIndex--;
-            }
-        } else {
-            // If the current bucket (sub time window) is greater than last updated bucket. Stats of current bucket to
-            // last used bucket needs to be reset without resetting last used bucket stat.
-            while (currentBucketId > lastUsedBucketId && idleTime > rollingWindow.bucketSizeMillis) {
-                resetBucketStats(circuitHealth, currentBucketId);
-                currentBucketId--;
-            }
-        }
-    }
+    P{{circuitState}}  State of the circuit
 }
+extern function setCircuitState(CircuitHealth circuitHealth, CircuitState circuitState);
 
 documentation {
-    Reinitialize the Buckets to default state.
+    Provides the current state of the circuit.
 
     P{{circuitHealth}}  Circuit Breaker health status
+    R{{}} State of the circuit
 }
-function reInitializeBuckets(CircuitHealth circuitHealth) {
-    Bucket[] bucketArray = [];
-    int bucketIndex = 0;
-    while (bucketIndex < lengthof circuitHealth.totalBuckets) {
-        bucketArray[bucketIndex] = {};
-        bucketIndex++;
-    }
-    circuitHealth.totalBuckets = bucketArray;
-}
-
-documentation {
-    Updates the `lastUsedBucketId` in `CircuitHealth`.
+extern function getCircuitState(CircuitHealth circuitHealth) returns CircuitState;
 
-    P{{bucketId}}  Possition of the currrently used bucket
-    P{{circuitHealth}}  Circuit Breaker health status
-}
-function updateLastUsedBucketId(int bucketId, CircuitHealth circuitHealth) {
-    if (bucketId != circuitHealth.lastUsedBucketId) {
-        resetBucketStats(circuitHealth, bucketId);
-        circuitHealth.lastUsedBucketId = bucketId;
-    }
+// Handles open circuit state.
+function handleOpenCircuit(CircuitHealth circuitHealth) returns (error) {
+    int timeRemaining = rejectRequest(circuitHealth);
+    string errorMessage = "Upstream service unavailable. Requests to upstream service will be suspended for "
+        + timeRemaining + " milliseconds.";
+    error httpConnectorErr = {message:errorMessage};
+    return httpConnectorErr;
 }
 
-documentation {
-    Switches circuit state from open to half open state when reset time exceeded.
-
-    P{{circuitBreakerInferredConfig}}  Configurations derived from `CircuitBreakerConfig`
-    P{{circuitHealth}}  Circuit Breaker health status
-    P{{currentState}}  current state of the circuit
-    R{{}} Calculated state value of the circuit
-}
-function switchCircuitStateOpenToHalfOpenOnResetTime(CircuitBreakerInferredConfig circuitBreakerInferredConfig,
-                                        CircuitHealth circuitHealth, CircuitState currentState) returns CircuitState {
-    CircuitState currentCircuitState = currentState;
-    if (currentState == CB_OPEN_STATE) {
-        time:Time effectiveErrorTime = getEffectiveErrorTime(circuitHealth);
-        int elapsedTime = time:currentTime().time - effectiveErrorTime.time;
-        if (elapsedTime > circuitBreakerInferredConfig.resetTimeMillis) {
-            currentCircuitState = CB_HALF_OPEN_STATE;
-            log:printInfo("CircuitBreaker reset timeout reached. Circuit switched from OPEN to HALF_OPEN state.");
-        }
+// Validates the struct configurations passed to create circuit breaker.
+function validateCircuitBreakerConfiguration(CircuitBreakerConfig circuitBreakerConfig) {
+    float failureThreshold = circuitBreakerConfig.failureThreshold;
+    if (failureThreshold < 0 || failureThreshold > 1) {
+        string errorMessage = "Invalid failure threshold. Failure threshold value"
+            + " should between 0 to 1, found " + failureThreshold;
+        error circuitBreakerConfigError = { message: errorMessage };
+        throw circuitBreakerConfigError;
     }
-    return currentCircuitState;
 }
@@ -14,10 +14,29 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/time;
 
 documentation {Load balancing algorithm - Round Robin}
 @final public string ROUND_ROBIN = "round-robin";
 
+documentation {
+    Load balancing algorithm - Least Outstanding Requests. The request is sent to the endpoint with the least number
+    of requests in flight.
+}
+@final public string LEAST_OUTSTANDING_REQUESTS = "least-outstanding-requests";
+
+documentation {
+    Load balancing algorithm - Least Latency. The request is sent to the endpoint with the least exponentially
+    weighted moving average latency, weighted by the number of requests in flight to the endpoint.
+}
+@final public string LEAST_LATENCY = "least-latency";
+
+documentation {
+    Load balancing algorithm - Power of Two Choices. Two endpoints are picked at random and the request is sent to
+    the one with the least number of requests in flight.
+}
+@final public string POWER_OF_TWO_CHOICES = "power-of-two-choices";
+
 documentation {
     LoadBalancer caller actions which provides load balancing and failover capabilities to the
     load balance client endpoint.
@@ -26,7 +45,6 @@ documentation {
     F{{config}} The configurations of the client endpoint associated with this `LoadBalancer` instance
     F{{loadBalanceClientsArray}} Array of HTTP clients for load balancing
     F{{algorithm}} Load balancing algorithm
-    F{{nextIndex}} Index of the next load balancing client
     F{{failover}} Whether to fail over in case of a failure
 }
 public type LoadBalancerActions object {
@@ -35,7 +53,6 @@ public type LoadBalancerActions object {
    public ClientEndpointConfig config;
    public CallerActions[] loadBalanceClientsArray;
    public string algorithm;
-   public int nextIndex;
    public boolean failover;
 
    documentation {
@@ -45,10 +62,9 @@ public type LoadBalancerActions object {
         P{{config}} The configurations of the client endpoint associated with this `LoadBalancer` instance
         P{{loadBalanceClientsArray}} Array of HTTP clients for load balancing
         P{{algorithm}} Load balancing algorithm
-        P{{nextIndex}} Index of the next load balancing client
         P{{failover}} Whether to fail over in case of a failure
    }
-   public new (serviceUri, config, loadBalanceClientsArray, algorithm, nextIndex, failover) {}
+   public new (serviceUri, config, loadBalanceClientsArray, algorithm, failover) {}
 
     documentation {
         The POST action implementation of the LoadBalancer Connector.
@@ -332,19 +348,28 @@ function performLoadBalanceAction(LoadBalancerActions lb, string path, Request r
         }
     }
 
+    int targetIndex = selectTarget(lb);
     while (loadBalanceTermination < lengthof lb.loadBalanceClientsArray) {
-        CallerActions loadBalanceClient = roundRobin(lb, lb.loadBalanceClientsArray);
+        CallerActions loadBalanceClient = lb.loadBalanceClientsArray[targetIndex];
+        int startTime = time:nanoTime();
 
         match invokeEndpoint(path, request, requestAction, loadBalanceClient) {
-            Response inResponse => return inResponse;
+            Response inResponse => {
+                completeRequest(lb, targetIndex, time:nanoTime() - startTime, true);
+                return inResponse;
+            }
 
             error httpActionErr => {
+                completeRequest(lb, targetIndex, time:nanoTime() - startTime, false);
                 if (!lb.failover) {
                     return httpActionErr;
                 } else {
                     loadBlancerInRequest = createFailoverRequest(loadBlancerInRequest, requestEntity);
-                    loadBalanceActionError.httpActionErr[lb.nextIndex] = httpActionErr;
+                    loadBalanceActionError.httpActionErr[targetIndex] = httpActionErr;
                     loadBalanceTermination = loadBalanceTermination + 1;
+                    if (loadBalanceTermination < lengthof lb.loadBalanceClientsArray) {
+                        targetIndex = failoverTarget(lb, targetIndex);
+                    }
                 }
             }
         }
@@ -352,29 +377,40 @@ function performLoadBalanceAction(LoadBalancerActions lb, string path, Request r
     return populateGenericLoadBalanceActionError(loadBalanceActionError);
 }
 
-// Round Robin Algorithm implementation with respect to load balancing endpoints.
 documentation {
-    Round Robin Algorithm implementation with respect to load balancing endpoints.
+    Initializes the native load balancer of a `LoadBalancerActions`, which selects the endpoints with the
+    algorithm of the `LoadBalancerActions` and tracks the requests in flight and the latency of each endpoint.
 
     P{{lb}} `LoadBalancer` object
-    P{{loadBalanceConfigArray}} Array of HTTP Clients that needs to be load balanced
-    R{{}} HttpClient elected from the algorithm
 }
-public function roundRobin(LoadBalancerActions lb, CallerActions[] loadBalanceConfigArray) returns CallerActions {
-    CallerActions httpClient = new;
+extern function initLoadBalancer(LoadBalancerActions lb);
 
-    lock {
-        if (lb.nextIndex == ((lengthof (loadBalanceConfigArray)) - 1)) {
-            httpClient = loadBalanceConfigArray[lb.nextIndex];
-            lb.nextIndex = 0;
-        } else {
-            httpClient = loadBalanceConfigArray[lb.nextIndex];
-            lb.nextIndex = lb.nextIndex + 1;
-        }
-    }
+documentation {
+    Selects the endpoint of a request and counts the request as in flight to the endpoint.
+
+    P{{lb}} `LoadBalancer` object
+    R{{}} Index of the endpoint in the HTTP clients of the `LoadBalancer`
+}
+extern function selectTarget(LoadBalancerActions lb) returns int;
+
+documentation {
+    Selects the endpoint to fail over to and counts the request as in flight to the endpoint.
 
-    return httpClient;
+    P{{lb}} `LoadBalancer` object
+    P{{failedIndex}} Index of the endpoint which failed
+    R{{}} Index of the endpoint in the HTTP clients of the `LoadBalancer`
+}
+extern function failoverTarget(LoadBalancerActions lb, int failedIndex) returns int;
+
+documentation {
+    Records the completion of a request to an endpoint.
+
+    P{{lb}} `LoadBalancer` object
+    P{{index}} Index of the endpoint
+    P{{latencyNanos}} Time taken by the request in nanoseconds
+    P{{success}} Whether a response was received from the endpoint
 }
+extern function completeRequest(LoadBalancerActions lb, int index, int latencyNanos, boolean success);
 
 // Populates generic error specific to Load Balance connector by including all the errors returned from endpoints.
 function populateGenericLoadBalanceActionError(LoadBalanceActionError loadBalanceActionError)
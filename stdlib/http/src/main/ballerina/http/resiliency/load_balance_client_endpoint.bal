@@ -63,7 +63,8 @@ documentation {
     F{{cache}} The configurations for controlling the caching behaviour
     F{{compression}} Specifies the way of handling compression (`accept-encoding`) header
     F{{auth}} HTTP authentication releated configurations
-    F{{algorithm}} The algorithm to be used for load balancing. The HTTP package provides 'roundRobin()' by default
+    F{{algorithm}} The algorithm to be used for load balancing. One of `ROUND_ROBIN` (default),
+                   `LEAST_OUTSTANDING_REQUESTS`, `LEAST_LATENCY` or `POWER_OF_TWO_CHOICES`
     F{{failover}} Configuration for load balancer whether to fail over in case of a failure
 }
 public type LoadBalanceClientEndpointConfiguration record {
@@ -126,8 +127,10 @@ function createLoadBalancerClient(LoadBalanceClientEndpointConfiguration loadBal
     ClientEndpointConfig config = createClientEPConfigFromLoalBalanceEPConfig(loadBalanceClientConfig,
                                                                             loadBalanceClientConfig.targets[0]);
     CallerActions[] lbClients = createLoadBalanceHttpClientArray(loadBalanceClientConfig);
-    return new LoadBalancerActions(loadBalanceClientConfig.targets[0].url, config, lbClients,
-                                            loadBalanceClientConfig.algorithm, 0, loadBalanceClientConfig.failover);
+    LoadBalancerActions lbActions = new(loadBalanceClientConfig.targets[0].url, config, lbClients,
+                                            loadBalanceClientConfig.algorithm, loadBalanceClientConfig.failover);
+    initLoadBalancer(lbActions);
+    return lbActions;
 }
 
 function createLoadBalanceHttpClientArray(LoadBalanceClientEndpointConfiguration loadBalanceClientConfig)
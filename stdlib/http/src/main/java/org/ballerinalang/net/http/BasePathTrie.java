@@ -0,0 +1,169 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.http;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Case insensitive radix trie of the service base paths of a host. The trie is built once from the base paths and
+ * is not modified afterwards, hence it can be read concurrently and is replaced as a whole when services are
+ * registered.
+ * <p>
+ * A lookup walks the request path once, without allocating, and returns the longest base path which is a prefix of
+ * the request path ending at a path segment boundary.
+ *
+ * @since 0.980.0
+ */
+public class BasePathTrie {
+
+    private static final char[] EMPTY_LABEL = new char[0];
+
+    private final Node root = new Node(EMPTY_LABEL);
+
+    /**
+     * Builds the trie. When two base paths differ only by case, the one which comes first is matched.
+     *
+     * @param basePaths base paths of the services
+     */
+    public BasePathTrie(Collection<String> basePaths) {
+        for (String basePath : basePaths) {
+            insert(basePath);
+        }
+    }
+
+    /**
+     * Finds the most specific base path for a request path.
+     *
+     * @param requestPath path of the request
+     * @return the longest matching base path as it was registered, or null if no base path matches
+     */
+    public String findMostSpecificBasePath(String requestPath) {
+        String basePath = null;
+        Node node = root;
+        int position = 0;
+        int length = requestPath.length();
+        while (true) {
+            if (node.basePath != null && (position == length || requestPath.charAt(position) == '/' ||
+                    (position > 0 && requestPath.charAt(position - 1) == '/'))) {
+                basePath = node.basePath;
+            }
+            if (position == length) {
+                return basePath;
+            }
+            Node child = node.getChild(Character.toLowerCase(requestPath.charAt(position)));
+            if (child == null || length - position < child.label.length) {
+                return basePath;
+            }
+            char[] label = child.label;
+            for (int i = 1; i < label.length; i++) {
+                if (Character.toLowerCase(requestPath.charAt(position + i)) != label[i]) {
+                    return basePath;
+                }
+            }
+            position += label.length;
+            node = child;
+        }
+    }
+
+    private void insert(String basePath) {
+        char[] key = toLowerCase(basePath);
+        Node node = root;
+        int position = 0;
+        while (position < key.length) {
+            Node child = node.getChild(key[position]);
+            if (child == null) {
+                Node leaf = new Node(Arrays.copyOfRange(key, position, key.length));
+                leaf.basePath = basePath;
+                node.addChild(leaf);
+                return;
+            }
+            int common = 1;
+            while (common < child.label.length && position + common < key.length &&
+                    child.label[common] == key[position + common]) {
+                common++;
+            }
+            if (common < child.label.length) {
+                child = split(node, child, common);
+            }
+            position += common;
+            node = child;
+        }
+        if (node.basePath == null) {
+            node.basePath = basePath;
+        }
+    }
+
+    /**
+     * Splits the label of a child, so that the child keeps the first part of the label and a new grandchild holds
+     * the rest.
+     */
+    private static Node split(Node parent, Node child, int labelLength) {
+        Node prefix = new Node(Arrays.copyOfRange(child.label, 0, labelLength));
+        child.label = Arrays.copyOfRange(child.label, labelLength, child.label.length);
+        prefix.addChild(child);
+        parent.replaceChild(prefix);
+        return prefix;
+    }
+
+    private static char[] toLowerCase(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return chars;
+    }
+
+    /**
+     * Node of the trie. Children are kept ordered by the first character of their label.
+     */
+    private static class Node {
+        private char[] label;
+        private String basePath;
+        private char[] childKeys = EMPTY_LABEL;
+        private Node[] children = new Node[0];
+
+        private Node(char[] label) {
+            this.label = label;
+        }
+
+        private Node getChild(char key) {
+            int index = Arrays.binarySearch(childKeys, key);
+            return index < 0 ? null : children[index];
+        }
+
+        private void addChild(Node child) {
+            int index = -(Arrays.binarySearch(childKeys, child.label[0]) + 1);
+            char[] newChildKeys = new char[childKeys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(childKeys, 0, newChildKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newChildKeys[index] = child.label[0];
+            newChildren[index] = child;
+            System.arraycopy(childKeys, index, newChildKeys, index + 1, childKeys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            childKeys = newChildKeys;
+            children = newChildren;
+        }
+
+        private void replaceChild(Node child) {
+            children[Arrays.binarySearch(childKeys, child.label[0])] = child;
+        }
+    }
+}
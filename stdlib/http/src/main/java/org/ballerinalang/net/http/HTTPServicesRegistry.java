@@ -127,6 +127,7 @@ public class HTTPServicesRegistry {
             //basePath will get cached after registering service
             sortedServiceURIs.add(basePath);
             sortedServiceURIs.sort((basePath1, basePath2) -> basePath2.length() - basePath1.length());
+            servicesMapByHost.get(hostName).updateBasePathTrie();
             registerUpgradableWebSocketService(httpService);
         }
     }
@@ -162,6 +163,35 @@ public class HTTPServicesRegistry {
         return basePath;
     }
 
+    /**
+     * Find the most specific base path for a request path, using the base path trie of the given host.
+     *
+     * @param requestURIPath    path of the request
+     * @param servicesMapHolder services of the host
+     * @return the most specific base path, or null if no service matches
+     */
+    public String findTheMostSpecificBasePath(String requestURIPath, ServicesMapHolder servicesMapHolder) {
+        String basePath = servicesMapHolder.basePathTrie.findMostSpecificBasePath(requestURIPath);
+        if (basePath != null) {
+            return basePath;
+        }
+        if (servicesMapHolder.servicesByBasePath.containsKey(HttpConstants.DEFAULT_BASE_PATH)) {
+            return HttpConstants.DEFAULT_BASE_PATH;
+        }
+        return null;
+    }
+
+    /**
+     * Find the most specific base path for a request path, by scanning the given base paths in order.
+     *
+     * @param requestURIPath    path of the request
+     * @param services          services by their base paths
+     * @param sortedServiceURIs base paths, the most specific first
+     * @return the most specific base path, or null if no service matches
+     * @deprecated the dispatcher no longer scans the base paths, use
+     * {@link #findTheMostSpecificBasePath(String, ServicesMapHolder)} which walks the base path trie of the host
+     */
+    @Deprecated
     public String findTheMostSpecificBasePath(String requestURIPath, Map<String, HttpService> services,
                                               List<String> sortedServiceURIs) {
         for (Object key : sortedServiceURIs) {
@@ -187,10 +217,24 @@ public class HTTPServicesRegistry {
     protected class ServicesMapHolder {
         private Map<String, HttpService> servicesByBasePath;
         private List<String> sortedServiceURIs;
+        private volatile BasePathTrie basePathTrie;
 
         public ServicesMapHolder(Map<String, HttpService> servicesByBasePath, List<String> sortedServiceURIs) {
             this.servicesByBasePath = servicesByBasePath;
             this.sortedServiceURIs = sortedServiceURIs;
+            this.basePathTrie = new BasePathTrie(sortedServiceURIs);
+        }
+
+        public Map<String, HttpService> getServicesByBasePath() {
+            return servicesByBasePath;
+        }
+
+        /**
+         * Rebuild the base path trie from the sorted base paths. The new trie replaces the previous one at once, so
+         * that dispatching never sees a partially built trie.
+         */
+        public synchronized void updateBasePathTrie() {
+            basePathTrie = new BasePathTrie(sortedServiceURIs);
         }
     }
 }
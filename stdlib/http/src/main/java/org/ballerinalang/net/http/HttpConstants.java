@@ -147,6 +147,10 @@ public class HttpConstants {
     public static final String PACKAGE_BALLERINA_BUILTIN = BALLERINA_BUILTIN_PKG;
 
     public static final String CALLER_ACTIONS = "CallerActions";
+    public static final String CIRCUIT_BREAKER = "CircuitBreaker";
+    public static final String LOAD_BALANCER = "LoadBalancer";
+    public static final String HTTP_CACHE_STORE = "HttpCacheStore";
+    public static final String CACHED_RESPONSE = "CachedResponse";
 
     public static final String REQUEST_URL = "REQUEST_URL";
     public static final String SRC_HANDLER = "SRC_HANDLER";
@@ -216,6 +220,7 @@ public class HttpConstants {
     public static final String RESOLVED_REQUESTED_URI_FIELD = "resolvedRequestedURI";
     public static final String RESPONSE_CACHE_CONTROL_FIELD = "cacheControl";
     public static final String IN_RESPONSE_RECEIVED_TIME_FIELD = "receivedTime";
+    public static final String IN_RESPONSE_REQUEST_TIME_FIELD = "requestTime";
 
     //PushPromise struct field names
     public static final String PUSH_PROMISE_PATH_FIELD = "path";
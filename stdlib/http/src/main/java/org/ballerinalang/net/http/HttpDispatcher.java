@@ -45,8 +45,8 @@ import org.wso2.transport.http.netty.message.HttpCarbonMessage;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLDecoder;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import static org.ballerinalang.mime.util.MimeConstants.ENTITY;
@@ -70,21 +70,26 @@ public class HttpDispatcher {
 
     protected static HttpService findService(HTTPServicesRegistry servicesRegistry, HttpCarbonMessage inboundReqMsg) {
         try {
-            Map<String, HttpService> servicesOnInterface;
-            List<String> sortedServiceURIs;
+            HTTPServicesRegistry.ServicesMapHolder servicesMapHolder = null;
             String hostName = inboundReqMsg.getHeader(HttpHeaderNames.HOST.toString());
-            if (hostName != null && servicesRegistry.getServicesMapHolder(hostName) != null) {
-                servicesOnInterface = servicesRegistry.getServicesByHost(hostName);
-                sortedServiceURIs = servicesRegistry.getSortedServiceURIsByHost(hostName);
-            } else {
-                servicesOnInterface = servicesRegistry.getServicesByHost(DEFAULT_HOST);
-                sortedServiceURIs = servicesRegistry.getSortedServiceURIsByHost(DEFAULT_HOST);
+            if (hostName != null) {
+                servicesMapHolder = servicesRegistry.getServicesMapHolder(hostName);
+            }
+            if (servicesMapHolder == null) {
+                servicesMapHolder = servicesRegistry.getServicesMapHolder(DEFAULT_HOST);
             }
 
             String rawUri = (String) inboundReqMsg.getProperty(HttpConstants.TO);
             inboundReqMsg.setProperty(HttpConstants.RAW_URI, rawUri);
-            Map<String, Map<String, String>> matrixParams = new HashMap<>();
-            String uriWithoutMatrixParams = URIUtil.extractMatrixParams(rawUri, matrixParams);
+            Map<String, Map<String, String>> matrixParams;
+            String uriWithoutMatrixParams;
+            if (URIUtil.hasNoMatrixParams(rawUri)) {
+                matrixParams = Collections.emptyMap();
+                uriWithoutMatrixParams = rawUri;
+            } else {
+                matrixParams = new HashMap<>();
+                uriWithoutMatrixParams = URIUtil.extractMatrixParams(rawUri, matrixParams);
+            }
 
             inboundReqMsg.setProperty(HttpConstants.TO, uriWithoutMatrixParams);
             inboundReqMsg.setProperty(HttpConstants.MATRIX_PARAMS, matrixParams);
@@ -92,7 +97,7 @@ public class HttpDispatcher {
             URI validatedUri = getValidatedURI(uriWithoutMatrixParams);
 
             String basePath = servicesRegistry.findTheMostSpecificBasePath(validatedUri.getPath(),
-                    servicesOnInterface, sortedServiceURIs);
+                    servicesMapHolder);
 
             if (basePath == null) {
                 inboundReqMsg.setProperty(HttpConstants.HTTP_STATUS_CODE, 404);
@@ -100,7 +105,7 @@ public class HttpDispatcher {
                         validatedUri.getRawPath());
             }
 
-            HttpService service = servicesOnInterface.get(basePath);
+            HttpService service = servicesMapHolder.getServicesByBasePath().get(basePath);
             setInboundReqProperties(inboundReqMsg, validatedUri, basePath);
             return service;
         } catch (Throwable e) {
@@ -35,7 +35,10 @@ import java.util.stream.Collectors;
  */
 public class HttpResourceDataElement implements DataElement<HttpResource, HttpCarbonMessage> {
 
+    private static final int OTHER_METHODS = 1 << 7;
+
     private List<HttpResource> resource;
+    private int[] methodMasks = new int[0];
     private boolean isFirstTraverse = true;
     private boolean hasData = false;
 
@@ -49,6 +52,7 @@ public class HttpResourceDataElement implements DataElement<HttpResource, HttpCa
         if (isFirstTraverse) {
             this.resource = new ArrayList<>();
             this.resource.add(newResource);
+            addMethodMask(newResource);
             isFirstTraverse = false;
             hasData = true;
             return;
@@ -63,6 +67,7 @@ public class HttpResourceDataElement implements DataElement<HttpResource, HttpCa
                 }
             }
             this.resource.add(newResource);
+            addMethodMask(newResource);
             hasData = true;
             return;
         }
@@ -75,9 +80,50 @@ public class HttpResourceDataElement implements DataElement<HttpResource, HttpCa
             }
         });
         this.resource.add(newResource);
+        addMethodMask(newResource);
         hasData = true;
     }
 
+    private void addMethodMask(HttpResource newResource) {
+        int methodMask = 0;
+        if (newResource.getMethods() != null) {
+            for (String method : newResource.getMethods()) {
+                int methodBit = getMethodBit(method);
+                methodMask |= methodBit == 0 ? OTHER_METHODS : methodBit;
+            }
+        }
+        methodMasks = Arrays.copyOf(methodMasks, methodMasks.length + 1);
+        methodMasks[methodMasks.length - 1] = methodMask;
+    }
+
+    /**
+     * Bit of a HTTP method in the method masks of the resources, or 0 for methods other than the standard ones, which
+     * are then matched by name.
+     */
+    private static int getMethodBit(String method) {
+        if (method == null) {
+            return 0;
+        }
+        switch (method) {
+            case HttpConstants.HTTP_METHOD_GET:
+                return 1;
+            case HttpConstants.HTTP_METHOD_HEAD:
+                return 1 << 1;
+            case HttpConstants.HTTP_METHOD_POST:
+                return 1 << 2;
+            case HttpConstants.HTTP_METHOD_PUT:
+                return 1 << 3;
+            case HttpConstants.HTTP_METHOD_PATCH:
+                return 1 << 4;
+            case HttpConstants.HTTP_METHOD_DELETE:
+                return 1 << 5;
+            case HttpConstants.HTTP_METHOD_OPTIONS:
+                return 1 << 6;
+            default:
+                return 0;
+        }
+    }
+
     @Override
     public boolean getData(HttpCarbonMessage carbonMessage, DataReturnAgent<HttpResource> dataReturnAgent) {
         try {
@@ -111,9 +157,13 @@ public class HttpResourceDataElement implements DataElement<HttpResource, HttpCa
         HttpResource resource = null;
         boolean isOptionsRequest = false;
         String httpMethod = (String) carbonMessage.getProperty(HttpConstants.HTTP_METHOD);
-        for (HttpResource resourceInfo : resources) {
-            if (DispatcherUtil.isMatchingMethodExist(resourceInfo, httpMethod)) {
-                resource = resourceInfo;
+        int methodBit = getMethodBit(httpMethod);
+        for (int i = 0; i < resources.size(); i++) {
+            boolean isMatchingMethod = methodBit != 0 ? (methodMasks[i] & methodBit) != 0 :
+                    (methodMasks[i] & OTHER_METHODS) != 0 &&
+                            DispatcherUtil.isMatchingMethodExist(resources.get(i), httpMethod);
+            if (isMatchingMethod) {
+                resource = resources.get(i);
                 break;
             }
         }
@@ -144,7 +194,7 @@ public class HttpResourceDataElement implements DataElement<HttpResource, HttpCa
     }
 
     private boolean setAllowHeadersIfOPTIONS(String httpMethod, HttpCarbonMessage cMsg) {
-        if (httpMethod.equals(HttpConstants.HTTP_METHOD_OPTIONS)) {
+        if (HttpConstants.HTTP_METHOD_OPTIONS.equals(httpMethod)) {
             cMsg.setHeader(HttpHeaderNames.ALLOW.toString(), getAllowHeaderValues(cMsg));
             return true;
         }
@@ -47,7 +47,7 @@ public class HttpResourceDispatcher {
                 inboundRequest.setProperty(HttpConstants.RESOURCES_CORS, resource.getCorsHeaders());
                 return resource;
             } else {
-                if (method.equals(HttpConstants.HTTP_METHOD_OPTIONS)) {
+                if (HttpConstants.HTTP_METHOD_OPTIONS.equals(method)) {
                     handleOptionsRequest(inboundRequest, service);
                 } else {
                     inboundRequest.setProperty(HttpConstants.HTTP_STATUS_CODE, 404);
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.caching;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.model.types.BArrayType;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.net.http.HttpUtil;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.util.List;
+
+import static org.ballerinalang.mime.util.MimeConstants.ENTITY_HEADERS;
+import static org.ballerinalang.mime.util.MimeConstants.RESPONSE_ENTITY_FIELD;
+
+/**
+ * Includes common functions to the HTTP cache functions.
+ *
+ * @since 0.980.0
+ */
+public abstract class AbstractHttpCacheFunction extends BlockingNativeCallableUnit {
+
+    protected static final int HTTP_CACHE_INDEX = 0;
+
+    @SuppressWarnings("unchecked")
+    protected HttpCacheStore getCacheStore(Context context) {
+        BMap<String, BValue> httpCache = (BMap<String, BValue>) context.getRefArgument(HTTP_CACHE_INDEX);
+        HttpCacheStore cacheStore = (HttpCacheStore) httpCache.getNativeData(HttpConstants.HTTP_CACHE_STORE);
+        if (cacheStore == null) {
+            throw new BallerinaException("http cache is not initialized");
+        }
+        return cacheStore;
+    }
+
+    /**
+     * Creates a response for serving a cached response. The response keeps a reference to the cached response, so
+     * that updates to its headers can be stored.
+     *
+     * @param context        Ballerina context
+     * @param cachedResponse the cached response
+     * @return the response
+     */
+    protected static BMap<String, BValue> createResponse(Context context, CachedResponse cachedResponse) {
+        BMap<String, BValue> response = HttpUtil.createResponseStruct(context, cachedResponse.toCarbonMessage());
+        response.put(HttpConstants.IN_RESPONSE_REQUEST_TIME_FIELD, new BInteger(cachedResponse.getRequestTime()));
+        response.put(HttpConstants.IN_RESPONSE_RECEIVED_TIME_FIELD, new BInteger(cachedResponse.getReceivedTime()));
+        response.addNativeData(HttpConstants.CACHED_RESPONSE, cachedResponse);
+        return response;
+    }
+
+    protected static BRefValueArray createResponseArray(Context context, List<CachedResponse> cachedResponses) {
+        BRefValueArray responses = new BRefValueArray(new BArrayType(context.getProgramFile()
+                .getPackageInfo(HttpConstants.PROTOCOL_PACKAGE_HTTP).getStructInfo(HttpConstants.RESPONSE).getType()));
+        for (CachedResponse cachedResponse : cachedResponses) {
+            responses.add(responses.size(), createResponse(context, cachedResponse));
+        }
+        return responses;
+    }
+
+    /**
+     * Provides a copy of the current headers of a response, including the server header which is kept in a field
+     * of inbound responses.
+     *
+     * @param response the response
+     * @return the headers
+     */
+    @SuppressWarnings("unchecked")
+    protected static HttpHeaders getHeaders(BMap<String, BValue> response) {
+        BMap<String, BValue> entity = (BMap<String, BValue>) response.get(RESPONSE_ENTITY_FIELD);
+        HttpHeaders entityHeaders = entity == null ? null : (HttpHeaders) entity.getNativeData(ENTITY_HEADERS);
+        if (entityHeaders == null) {
+            entityHeaders = HttpUtil.getCarbonMsg(response, HttpUtil.createHttpCarbonMessage(false)).getHeaders();
+        }
+        HttpHeaders headers = new DefaultHttpHeaders().add(entityHeaders);
+        BValue server = response.get(HttpConstants.RESPONSE_SERVER_FIELD);
+        if (server != null && !server.stringValue().isEmpty() && !headers.contains(HttpHeaderNames.SERVER)) {
+            headers.set(HttpHeaderNames.SERVER, server.stringValue());
+        }
+        return headers;
+    }
+
+    protected static long getIntField(BMap<String, BValue> struct, String field) {
+        BValue value = struct.get(field);
+        return value == null ? 0 : ((BInteger) value).intValue();
+    }
+}
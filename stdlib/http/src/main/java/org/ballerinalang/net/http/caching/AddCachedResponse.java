@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.caching;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BByteArray;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.net.http.HttpConstants;
+
+/**
+ * Stores a response in an HTTP cache, as a new variant of the response of a key. Responses which vary on every
+ * request header are not stored, as they can never be reused.
+ *
+ * @since 0.980.0
+ */
+@BallerinaFunction(
+        orgName = "ballerina", packageName = "http",
+        functionName = "addCachedResponse",
+        args = {@Argument(name = "cache", type = TypeKind.OBJECT, structType = "HttpCache"),
+                @Argument(name = "key", type = TypeKind.STRING),
+                @Argument(name = "response", type = TypeKind.OBJECT, structType = "Response"),
+                @Argument(name = "payload", type = TypeKind.ARRAY, elementType = TypeKind.BYTE)}
+)
+public class AddCachedResponse extends AbstractHttpCacheFunction {
+
+    private static final String VARY_ALL = "*";
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void execute(Context context) {
+        String key = context.getStringArgument(0);
+        BMap<String, BValue> response = (BMap<String, BValue>) context.getRefArgument(1);
+        byte[] payload = ((BByteArray) context.getRefArgument(2)).getBytes();
+        HttpHeaders headers = getHeaders(response);
+        if (!VARY_ALL.equals(headers.get(HttpHeaderNames.VARY))) {
+            CachedResponse cachedResponse = new CachedResponse(
+                    (int) getIntField(response, HttpConstants.RESPONSE_STATUS_CODE_FIELD), headers, payload,
+                    getIntField(response, HttpConstants.IN_RESPONSE_REQUEST_TIME_FIELD),
+                    getIntField(response, HttpConstants.IN_RESPONSE_RECEIVED_TIME_FIELD),
+                    getResolvedRequestedUri(response));
+            getCacheStore(context).put(key, cachedResponse, System.currentTimeMillis());
+        }
+        context.setReturnValues();
+    }
+
+    private static String getResolvedRequestedUri(BMap<String, BValue> response) {
+        BValue uri = response.get(HttpConstants.RESOLVED_REQUESTED_URI_FIELD);
+        return uri == null || uri.stringValue().isEmpty() ? null : uri.stringValue();
+    }
+}
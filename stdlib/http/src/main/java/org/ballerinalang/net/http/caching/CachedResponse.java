@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.caching;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.net.http.HttpUtil;
+import org.wso2.transport.http.netty.message.HttpCarbonMessage;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * A response stored in the HTTP cache, as its status code, headers and body bytes. Cached responses are immutable,
+ * a transport message is created for each cache hit so that the response is built the same way as a response
+ * received from the network, and the body is only read when it is asked for.
+ *
+ * @since 0.980.0
+ */
+public class CachedResponse {
+
+    private static final String WEAK_VALIDATOR_TAG = "W/";
+    // Rough size of the objects holding a response, on top of the headers and the body
+    private static final int BASE_SIZE = 128;
+
+    private final int statusCode;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final long requestTime;
+    private final long receivedTime;
+    private final String resolvedRequestedUri;
+    private final long size;
+
+    public CachedResponse(int statusCode, HttpHeaders headers, byte[] body, long requestTime, long receivedTime,
+                          String resolvedRequestedUri) {
+        this.statusCode = statusCode;
+        this.headers = new DefaultHttpHeaders().add(headers);
+        this.body = body;
+        this.requestTime = requestTime;
+        this.receivedTime = receivedTime;
+        this.resolvedRequestedUri = resolvedRequestedUri;
+        this.size = calculateSize();
+    }
+
+    /**
+     * Creates a copy of this response with other headers, keeping the body.
+     *
+     * @param newHeaders headers of the copy
+     * @return the copy
+     */
+    public CachedResponse withHeaders(HttpHeaders newHeaders) {
+        return new CachedResponse(statusCode, newHeaders, body, requestTime, receivedTime, resolvedRequestedUri);
+    }
+
+    /**
+     * Creates a transport message for serving this response. The body is wrapped, not copied.
+     *
+     * @return the transport message
+     */
+    public HttpCarbonMessage toCarbonMessage() {
+        HttpCarbonMessage message = HttpUtil.createHttpCarbonMessage(false);
+        message.waitAndReleaseAllEntities();
+        message.getHeaders().add(headers);
+        message.setProperty(HttpConstants.HTTP_STATUS_CODE, statusCode);
+        if (resolvedRequestedUri != null) {
+            message.setProperty(HttpConstants.RESOLVED_REQUESTED_URI, resolvedRequestedUri);
+        }
+        message.addHttpContent(new DefaultLastHttpContent(Unpooled.wrappedBuffer(body)));
+        return message;
+    }
+
+    public boolean matchesETag(String etag) {
+        return !etag.startsWith(WEAK_VALIDATOR_TAG) && etag.equals(getETag());
+    }
+
+    public boolean matchesWeakETag(String etag) {
+        String cachedETag = getETag();
+        return cachedETag != null && getValidatorPortion(etag).equals(getValidatorPortion(cachedETag));
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getETag() {
+        return headers.get(HttpHeaderNames.ETAG);
+    }
+
+    public long getRequestTime() {
+        return requestTime;
+    }
+
+    public long getReceivedTime() {
+        return receivedTime;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    private static String getValidatorPortion(String etag) {
+        return etag.startsWith(WEAK_VALIDATOR_TAG) ? etag.substring(WEAK_VALIDATOR_TAG.length()) : etag;
+    }
+
+    private long calculateSize() {
+        long headersSize = 0;
+        Iterator<Map.Entry<String, String>> iterator = headers.iteratorAsString();
+        while (iterator.hasNext()) {
+            Map.Entry<String, String> header = iterator.next();
+            headersSize += 2 * (header.getKey().length() + header.getValue().length());
+        }
+        return BASE_SIZE + headersSize + body.length;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.caching;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+import java.util.List;
+
+/**
+ * Provides the latest response stored in an HTTP cache for a key.
+ *
+ * @since 0.980.0
+ */
+@BallerinaFunction(
+        orgName = "ballerina", packageName = "http",
+        functionName = "getCachedResponse",
+        args = {@Argument(name = "cache", type = TypeKind.OBJECT, structType = "HttpCache"),
+                @Argument(name = "key", type = TypeKind.STRING)},
+        returnType = {@ReturnType(type = TypeKind.OBJECT, structType = "Response"),
+                      @ReturnType(type = TypeKind.NIL)}
+)
+public class GetCachedResponse extends AbstractHttpCacheFunction {
+
+    @Override
+    public void execute(Context context) {
+        List<CachedResponse> cachedResponses = getCacheStore(context).getAll(context.getStringArgument(0),
+                System.currentTimeMillis());
+        if (cachedResponses.isEmpty()) {
+            context.setReturnValues();
+            return;
+        }
+        context.setReturnValues(createResponse(context, cachedResponses.get(cachedResponses.size() - 1)));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.caching;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Provides the responses stored in an HTTP cache for a key, which match an entity tag. Only the stored entity tags
+ * are compared, the responses which do not match are not built.
+ *
+ * @since 0.980.0
+ */
+@BallerinaFunction(
+        orgName = "ballerina", packageName = "http",
+        functionName = "getCachedResponsesByETag",
+        args = {@Argument(name = "cache", type = TypeKind.OBJECT, structType = "HttpCache"),
+                @Argument(name = "key", type = TypeKind.STRING),
+                @Argument(name = "etag", type = TypeKind.STRING),
+                @Argument(name = "weak", type = TypeKind.BOOLEAN)},
+        returnType = {@ReturnType(type = TypeKind.ARRAY, elementType = TypeKind.OBJECT, structType = "Response")}
+)
+public class GetCachedResponsesByETag extends AbstractHttpCacheFunction {
+
+    @Override
+    public void execute(Context context) {
+        String etag = context.getStringArgument(1);
+        boolean weak = context.getBooleanArgument(0);
+        List<CachedResponse> matchingResponses = new ArrayList<>();
+        for (CachedResponse cachedResponse : getCacheStore(context).getAll(context.getStringArgument(0),
+                System.currentTimeMillis())) {
+            if (weak ? cachedResponse.matchesWeakETag(etag) : cachedResponse.matchesETag(etag)) {
+                matchingResponses.add(cachedResponse);
+            }
+        }
+        context.setReturnValues(createResponseArray(context, matchingResponses));
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.caching;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage of the HTTP caching client. Each cache key holds the variants of the response stored for it. Keys are kept
+ * in least recently used order, and the least recently used keys are evicted when the stored bytes exceed the
+ * capacity, and when they have not been used for the expiry time. Both are done in constant time per key, as the
+ * keys to evict are at the head of the access order.
+ *
+ * @since 0.980.0
+ */
+public class HttpCacheStore {
+
+    private final long capacity;
+    private final long expiryTimeMillis;
+    private final long evictionTarget;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    /**
+     * Creates a store.
+     *
+     * @param capacity         maximum number of bytes stored
+     * @param expiryTimeMillis time after which a key which has not been used expires
+     * @param evictionFactor   fraction of the capacity freed when the capacity is exceeded
+     */
+    public HttpCacheStore(long capacity, long expiryTimeMillis, double evictionFactor) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+        if (evictionFactor <= 0 || evictionFactor > 1) {
+            throw new IllegalArgumentException("Cache eviction factor must be between 0.0 (exclusive) and 1.0 "
+                    + "(inclusive)");
+        }
+        this.capacity = capacity;
+        this.expiryTimeMillis = expiryTimeMillis;
+        this.evictionTarget = (long) (capacity * (1 - evictionFactor));
+    }
+
+    /**
+     * Adds a variant of the response of a key. Responses larger than the capacity are not stored.
+     *
+     * @param key      cache key
+     * @param response the response
+     * @param now      current time in milliseconds
+     */
+    public synchronized void put(String key, CachedResponse response, long now) {
+        if (response.getSize() > capacity) {
+            return;
+        }
+        Entry entry = getEntry(key, now);
+        if (entry == null) {
+            entry = new Entry();
+            entries.put(key, entry);
+        }
+        entry.responses = append(entry.responses, response);
+        entry.lastAccessedTime = now;
+        size += response.getSize();
+        if (size > capacity) {
+            evict(key);
+        }
+    }
+
+    /**
+     * Provides the variants of the response of a key, in the order they were stored.
+     *
+     * @param key cache key
+     * @param now current time in milliseconds
+     * @return the responses, or an empty list if the key is not in the cache
+     */
+    public synchronized List<CachedResponse> getAll(String key, long now) {
+        Entry entry = getEntry(key, now);
+        if (entry == null) {
+            return Collections.emptyList();
+        }
+        entry.lastAccessedTime = now;
+        return entry.responses;
+    }
+
+    public synchronized boolean hasKey(String key, long now) {
+        return getEntry(key, now) != null;
+    }
+
+    /**
+     * Replaces a stored variant of the response of a key, if it is still stored.
+     *
+     * @param key         cache key
+     * @param oldResponse the stored response
+     * @param newResponse the response to store instead
+     */
+    public synchronized void replace(String key, CachedResponse oldResponse, CachedResponse newResponse) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        int index = entry.responses.indexOf(oldResponse);
+        if (index < 0) {
+            return;
+        }
+        List<CachedResponse> responses = new ArrayList<>(entry.responses);
+        responses.set(index, newResponse);
+        entry.responses = Collections.unmodifiableList(responses);
+        size += newResponse.getSize() - oldResponse.getSize();
+        if (size > capacity) {
+            evict(key);
+        }
+    }
+
+    public synchronized void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            size -= entry.getSize();
+        }
+    }
+
+    public synchronized long getSize() {
+        return size;
+    }
+
+    private Entry getEntry(String key, long now) {
+        Entry entry = entries.get(key);
+        if (entry != null && isExpired(entry, now)) {
+            remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now >= entry.lastAccessedTime + expiryTimeMillis;
+    }
+
+    /**
+     * Evicts the least recently used keys until the eviction target is reached. The key which was just updated is
+     * the most recently used one, and is evicted only if its own variants take more than the capacity.
+     */
+    private void evict(String updatedKey) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (size > evictionTarget && iterator.hasNext()) {
+            Map.Entry<String, Entry> entry = iterator.next();
+            if (entry.getKey().equals(updatedKey) && size <= capacity) {
+                return;
+            }
+            size -= entry.getValue().getSize();
+            iterator.remove();
+        }
+    }
+
+    private static List<CachedResponse> append(List<CachedResponse> responses, CachedResponse response) {
+        List<CachedResponse> newResponses = new ArrayList<>(responses.size() + 1);
+        newResponses.addAll(responses);
+        newResponses.add(response);
+        return Collections.unmodifiableList(newResponses);
+    }
+
+    /**
+     * Variants stored for a key. The list is replaced on updates, so that it can be read without the lock.
+     */
+    private static class Entry {
+        private List<CachedResponse> responses = Collections.emptyList();
+        private long lastAccessedTime;
+
+        private long getSize() {
+            long entrySize = 0;
+            for (CachedResponse response : responses) {
+                entrySize += response.getSize();
+            }
+            return entrySize;
+        }
+    }
+}
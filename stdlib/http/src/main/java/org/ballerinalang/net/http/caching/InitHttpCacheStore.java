@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.caching;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.model.values.BValueType;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+/**
+ * Creates the store of an HTTP cache.
+ *
+ * @since 0.980.0
+ */
+@BallerinaFunction(
+        orgName = "ballerina", packageName = "http",
+        functionName = "initHttpCacheStore",
+        args = {@Argument(name = "cache", type = TypeKind.OBJECT, structType = "HttpCache"),
+                @Argument(name = "cacheConfig", type = TypeKind.RECORD, structType = "CacheConfig")}
+)
+public class InitHttpCacheStore extends AbstractHttpCacheFunction {
+
+    private static final String CAPACITY = "capacity";
+    private static final String EXPIRY_TIME_MILLIS = "expiryTimeMillis";
+    private static final String EVICTION_FACTOR = "evictionFactor";
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void execute(Context context) {
+        BMap<String, BValue> httpCache = (BMap<String, BValue>) context.getRefArgument(HTTP_CACHE_INDEX);
+        BMap<String, BValue> cacheConfig = (BMap<String, BValue>) context.getRefArgument(1);
+        HttpCacheStore cacheStore;
+        try {
+            cacheStore = new HttpCacheStore(((BValueType) cacheConfig.get(CAPACITY)).intValue(),
+                    ((BValueType) cacheConfig.get(EXPIRY_TIME_MILLIS)).intValue(),
+                    ((BValueType) cacheConfig.get(EVICTION_FACTOR)).floatValue());
+        } catch (IllegalArgumentException e) {
+            throw new BallerinaException(e.getMessage());
+        }
+        httpCache.addNativeData(HttpConstants.HTTP_CACHE_STORE, cacheStore);
+        context.setReturnValues();
+    }
+}
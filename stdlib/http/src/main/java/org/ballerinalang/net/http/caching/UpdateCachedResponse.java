@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.caching;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.net.http.HttpConstants;
+
+/**
+ * Stores the current headers of a response served from an HTTP cache, in place of the headers of the cached
+ * response it was created from.
+ *
+ * @since 0.980.0
+ */
+@BallerinaFunction(
+        orgName = "ballerina", packageName = "http",
+        functionName = "updateCachedResponse",
+        args = {@Argument(name = "cache", type = TypeKind.OBJECT, structType = "HttpCache"),
+                @Argument(name = "key", type = TypeKind.STRING),
+                @Argument(name = "response", type = TypeKind.OBJECT, structType = "Response")}
+)
+public class UpdateCachedResponse extends AbstractHttpCacheFunction {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void execute(Context context) {
+        BMap<String, BValue> response = (BMap<String, BValue>) context.getRefArgument(1);
+        CachedResponse cachedResponse = (CachedResponse) response.getNativeData(HttpConstants.CACHED_RESPONSE);
+        if (cachedResponse != null) {
+            CachedResponse updatedResponse = cachedResponse.withHeaders(getHeaders(response));
+            getCacheStore(context).replace(context.getStringArgument(0), cachedResponse, updatedResponse);
+            response.addNativeData(HttpConstants.CACHED_RESPONSE, updatedResponse);
+        }
+        context.setReturnValues();
+    }
+}
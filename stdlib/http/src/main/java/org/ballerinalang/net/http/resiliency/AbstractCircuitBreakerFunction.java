@@ -0,0 +1,105 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.http.resiliency;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+/**
+ * Includes common functions to the circuit breaker functions.
+ *
+ * @since 0.980.0
+ */
+public abstract class AbstractCircuitBreakerFunction extends BlockingNativeCallableUnit {
+
+    protected static final int CIRCUIT_HEALTH_INDEX = 0;
+
+    private static final String LAST_REQUEST_SUCCESS = "lastRequestSuccess";
+    private static final String TOTAL_REQUEST_COUNT = "totalRequestCount";
+    private static final String LAST_USED_BUCKET_ID = "lastUsedBucketId";
+    private static final String LAST_REQUEST_TIME = "lastRequestTime";
+    private static final String LAST_ERROR_TIME = "lastErrorTime";
+    private static final String LAST_FORCED_OPEN_TIME = "lastForcedOpenTime";
+    private static final String TOTAL_BUCKETS = "totalBuckets";
+    private static final String TOTAL_COUNT = "totalCount";
+    private static final String FAILURE_COUNT = "failureCount";
+    private static final String REJECTED_COUNT = "rejectedCount";
+    private static final String LAST_UPDATED_TIME = "lastUpdatedTime";
+    private static final String TIME = "time";
+
+    @SuppressWarnings("unchecked")
+    protected CircuitBreaker getCircuitBreaker(Context context) {
+        BMap<String, BValue> circuitHealth = (BMap<String, BValue>) context.getRefArgument(CIRCUIT_HEALTH_INDEX);
+        CircuitBreaker circuitBreaker = (CircuitBreaker) circuitHealth.getNativeData(HttpConstants.CIRCUIT_BREAKER);
+        if (circuitBreaker == null) {
+            throw new BallerinaException("circuit breaker is not initialized");
+        }
+        return circuitBreaker;
+    }
+
+    /**
+     * Copies the state of the circuit breaker to the deprecated fields of the {@code CircuitHealth} record, which are
+     * kept for the programs reading them. The circuit breaker does not read these fields.
+     *
+     * @param context        context of the function call
+     * @param circuitBreaker circuit breaker of the record
+     * @param now            current time in milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    protected void updateCircuitHealth(Context context, CircuitBreaker circuitBreaker, long now) {
+        BMap<String, BValue> circuitHealth = (BMap<String, BValue>) context.getRefArgument(CIRCUIT_HEALTH_INDEX);
+        int bucketIndex = circuitBreaker.getBucketIndex(now);
+        circuitHealth.put(LAST_REQUEST_SUCCESS, circuitBreaker.isLastRequestSuccess() ? BBoolean.TRUE : BBoolean.FALSE);
+        circuitHealth.put(TOTAL_REQUEST_COUNT, new BInteger(circuitBreaker.getTotalRequestCount(now)));
+        circuitHealth.put(LAST_USED_BUCKET_ID, new BInteger(bucketIndex));
+        setTime(circuitHealth, LAST_REQUEST_TIME, circuitBreaker.getLastRequestTime());
+        setTime(circuitHealth, LAST_ERROR_TIME, circuitBreaker.getLastErrorTime());
+        setTime(circuitHealth, LAST_FORCED_OPEN_TIME, circuitBreaker.getLastForcedOpenTime());
+
+        BValue totalBuckets = circuitHealth.get(TOTAL_BUCKETS);
+        CircuitBreaker.Bucket bucket = circuitBreaker.getCurrentBucket(now);
+        if (bucket == null || !(totalBuckets instanceof BRefValueArray)
+                || bucketIndex >= ((BRefValueArray) totalBuckets).size()) {
+            return;
+        }
+        BValue bucketRecord = ((BRefValueArray) totalBuckets).get(bucketIndex);
+        if (bucketRecord instanceof BMap) {
+            BMap<String, BValue> bucketFields = (BMap<String, BValue>) bucketRecord;
+            bucketFields.put(TOTAL_COUNT, new BInteger(bucket.totalCount.get()));
+            bucketFields.put(FAILURE_COUNT, new BInteger(bucket.failureCount.get()));
+            bucketFields.put(REJECTED_COUNT, new BInteger(bucket.rejectedCount.get()));
+            setTime(bucketFields, LAST_UPDATED_TIME, now);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void setTime(BMap<String, BValue> record, String field, long time) {
+        BValue timeRecord = record.get(field);
+        if (timeRecord instanceof BMap) {
+            ((BMap<String, BValue>) timeRecord).put(TIME, new BInteger(time));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.http.resiliency;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+/**
+ * Includes common functions to the load balancer functions.
+ *
+ * @since 0.980.0
+ */
+public abstract class AbstractLoadBalancerFunction extends BlockingNativeCallableUnit {
+
+    protected static final int LOAD_BALANCER_INDEX = 0;
+
+    @SuppressWarnings("unchecked")
+    protected LoadBalancer getLoadBalancer(Context context) {
+        BMap<String, BValue> loadBalancerActions = (BMap<String, BValue>) context.getRefArgument(LOAD_BALANCER_INDEX);
+        LoadBalancer loadBalancer = (LoadBalancer) loadBalancerActions.getNativeData(HttpConstants.LOAD_BALANCER);
+        if (loadBalancer == null) {
+            throw new BallerinaException("load balancer is not initialized");
+        }
+        return loadBalancer;
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.http.resiliency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Health and state of a circuit breaker client. The rolling window is a ring of buckets, each counting the requests
+ * of one bucket sized time slot, and a bucket is replaced with a new one when its slot has passed. State transitions
+ * are done with compare and set, hence requests going through the circuit breaker do not lock.
+ *
+ * @since 0.980.0
+ */
+public class CircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    /**
+     * States of the circuit, with the values of the Ballerina {@code CircuitState} type.
+     */
+    public enum CircuitState {
+        OPEN("OPEN"),
+        HALF_OPEN("HALF_OPEN"),
+        CLOSED("CLOSED");
+
+        private final String value;
+
+        CircuitState(String value) {
+            this.value = value;
+        }
+
+        public String value() {
+            return value;
+        }
+
+        public static CircuitState fromValue(String value) {
+            for (CircuitState state : values()) {
+                if (state.value.equals(value)) {
+                    return state;
+                }
+            }
+            throw new IllegalArgumentException("Invalid circuit state: " + value);
+        }
+    }
+
+    private final double failureThreshold;
+    private final long resetTimeMillis;
+    private final boolean[] failureStatusCodes;
+    private final long requestVolumeThreshold;
+    private final long bucketSizeMillis;
+    private final long startTime;
+    private final AtomicReferenceArray<Bucket> buckets;
+    private final AtomicReference<CircuitState> state = new AtomicReference<>(CircuitState.CLOSED);
+    private volatile boolean lastRequestSuccess;
+    private volatile long lastRequestTime;
+    private volatile long lastErrorTime;
+    private volatile long lastForcedOpenTime;
+
+    public CircuitBreaker(double failureThreshold, long resetTimeMillis, boolean[] failureStatusCodes,
+                          long requestVolumeThreshold, int noOfBuckets, long bucketSizeMillis, long startTime) {
+        this.failureThreshold = failureThreshold;
+        this.resetTimeMillis = resetTimeMillis;
+        this.failureStatusCodes = failureStatusCodes;
+        this.requestVolumeThreshold = requestVolumeThreshold;
+        this.bucketSizeMillis = Math.max(1, bucketSizeMillis);
+        this.startTime = startTime;
+        this.buckets = new AtomicReferenceArray<>(Math.max(1, noOfBuckets));
+    }
+
+    /**
+     * Updates the state of the circuit for a new request and counts the request.
+     *
+     * @param now current time in milliseconds
+     * @return the state of the circuit for the request
+     */
+    public CircuitState updateCircuitState(long now) {
+        Bucket currentBucket = getBucket(now);
+        CircuitState currentState = state.get();
+        CircuitState newState;
+        while (true) {
+            newState = getNextState(currentState, now);
+            if (newState == currentState || state.compareAndSet(currentState, newState)) {
+                break;
+            }
+            currentState = state.get();
+        }
+        if (newState != currentState) {
+            logStateChange(currentState, newState);
+        }
+        currentBucket.totalCount.incrementAndGet();
+        lastRequestTime = now;
+        return newState;
+    }
+
+    /**
+     * Records the response of a request.
+     *
+     * @param statusCode status code of the response
+     * @param now        current time in milliseconds
+     */
+    public void updateCircuitHealthSuccess(int statusCode, long now) {
+        if (statusCode >= 0 && statusCode < failureStatusCodes.length && failureStatusCodes[statusCode]) {
+            updateCircuitHealthFailure(now);
+        } else {
+            lastRequestSuccess = true;
+        }
+    }
+
+    /**
+     * Records a request which failed, either with an error or with a failure status code.
+     *
+     * @param now current time in milliseconds
+     */
+    public void updateCircuitHealthFailure(long now) {
+        getBucket(now).failureCount.incrementAndGet();
+        lastRequestSuccess = false;
+        lastErrorTime = now;
+    }
+
+    /**
+     * Records a request which is rejected as the circuit is open.
+     *
+     * @param now current time in milliseconds
+     * @return time in milliseconds until the circuit is tried again
+     */
+    public long rejectRequest(long now) {
+        getBucket(now).rejectedCount.incrementAndGet();
+        return resetTimeMillis - (now - getEffectiveErrorTime());
+    }
+
+    /**
+     * Forces the circuit into a state.
+     *
+     * @param circuitState state of the circuit
+     * @param now          current time in milliseconds
+     */
+    public void setCircuitState(CircuitState circuitState, long now) {
+        if (circuitState == CircuitState.OPEN) {
+            lastForcedOpenTime = now;
+        }
+        state.set(circuitState);
+    }
+
+    public CircuitState getCircuitState() {
+        return state.get();
+    }
+
+    public boolean isLastRequestSuccess() {
+        return lastRequestSuccess;
+    }
+
+    public long getLastRequestTime() {
+        return lastRequestTime;
+    }
+
+    public long getLastErrorTime() {
+        return lastErrorTime;
+    }
+
+    public long getLastForcedOpenTime() {
+        return lastForcedOpenTime;
+    }
+
+    /**
+     * Index of the bucket which counts the requests of a time, within the ring of buckets.
+     *
+     * @param now time in milliseconds
+     * @return the bucket index
+     */
+    int getBucketIndex(long now) {
+        return (int) (getSlot(now) % buckets.length());
+    }
+
+    /**
+     * Bucket which counts the requests of a time, if a request was counted in its time slot.
+     *
+     * @param now time in milliseconds
+     * @return the bucket, or null
+     */
+    Bucket getCurrentBucket(long now) {
+        Bucket bucket = buckets.get(getBucketIndex(now));
+        return bucket != null && bucket.slot == getSlot(now) ? bucket : null;
+    }
+
+    /**
+     * Failure ratio of the requests which were not rejected, within the rolling window.
+     *
+     * @param now current time in milliseconds
+     * @return the failure ratio
+     */
+    public double getCurrentFailureRatio(long now) {
+        long totalCount = 0;
+        long failureCount = 0;
+        long currentSlot = getSlot(now);
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (isInWindow(bucket, currentSlot)) {
+                totalCount += bucket.totalCount.get() - bucket.rejectedCount.get();
+                failureCount += bucket.failureCount.get();
+            }
+        }
+        return totalCount > 0 ? (double) failureCount / totalCount : 0;
+    }
+
+    /**
+     * Number of requests received within the rolling window.
+     *
+     * @param now current time in milliseconds
+     * @return the request count
+     */
+    public long getTotalRequestCount(long now) {
+        long totalCount = 0;
+        long currentSlot = getSlot(now);
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (isInWindow(bucket, currentSlot)) {
+                totalCount += bucket.totalCount.get();
+            }
+        }
+        return totalCount;
+    }
+
+    private CircuitState getNextState(CircuitState currentState, long now) {
+        if (getTotalRequestCount(now) < requestVolumeThreshold) {
+            return currentState == CircuitState.OPEN ? switchOpenToHalfOpenOnResetTime(now) : currentState;
+        }
+        switch (currentState) {
+            case OPEN:
+                return switchOpenToHalfOpenOnResetTime(now);
+            case HALF_OPEN:
+                // The trial run decides whether the circuit is reset or tripped again
+                return lastRequestSuccess ? CircuitState.CLOSED : CircuitState.OPEN;
+            default:
+                return getCurrentFailureRatio(now) > failureThreshold ? CircuitState.OPEN : CircuitState.CLOSED;
+        }
+    }
+
+    private CircuitState switchOpenToHalfOpenOnResetTime(long now) {
+        return now - getEffectiveErrorTime() > resetTimeMillis ? CircuitState.HALF_OPEN : CircuitState.OPEN;
+    }
+
+    private long getEffectiveErrorTime() {
+        return Math.max(lastErrorTime, lastForcedOpenTime);
+    }
+
+    private Bucket getBucket(long now) {
+        long slot = getSlot(now);
+        int index = (int) (slot % buckets.length());
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket != null && bucket.slot >= slot) {
+                return bucket;
+            }
+            Bucket newBucket = new Bucket(slot);
+            if (buckets.compareAndSet(index, bucket, newBucket)) {
+                return newBucket;
+            }
+        }
+    }
+
+    private long getSlot(long now) {
+        return Math.max(0, now - startTime) / bucketSizeMillis;
+    }
+
+    private boolean isInWindow(Bucket bucket, long currentSlot) {
+        return bucket != null && bucket.slot > currentSlot - buckets.length();
+    }
+
+    private static void logStateChange(CircuitState previousState, CircuitState newState) {
+        if (previousState == CircuitState.OPEN) {
+            log.info("CircuitBreaker reset timeout reached. Circuit switched from OPEN to HALF_OPEN state.");
+        } else if (previousState == CircuitState.HALF_OPEN && newState == CircuitState.OPEN) {
+            log.info("CircuitBreaker trial run has failed. Circuit switched from HALF_OPEN to OPEN state.");
+        } else if (previousState == CircuitState.HALF_OPEN) {
+            log.info("CircuitBreaker trial run  was successful. Circuit switched from HALF_OPEN to CLOSE state.");
+        } else {
+            log.info("CircuitBreaker failure threshold exceeded. Circuit tripped from CLOSE to OPEN state.");
+        }
+    }
+
+    /**
+     * Request counts of one time slot of the rolling window.
+     */
+    static class Bucket {
+        private final long slot;
+        final AtomicLong totalCount = new AtomicLong();
+        final AtomicLong failureCount = new AtomicLong();
+        final AtomicLong rejectedCount = new AtomicLong();
+
+        private Bucket(long slot) {
+            this.slot = slot;
+        }
+    }
+}
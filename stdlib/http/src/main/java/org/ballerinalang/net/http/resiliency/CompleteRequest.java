@@ -0,0 +1,49 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.http.resiliency;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+
+/**
+ * Records the completion of a request to a target.
+ *
+ * @since 0.980.0
+ */
+@BallerinaFunction(
+        orgName = "ballerina", packageName = "http",
+        functionName = "completeRequest",
+        args = {@Argument(name = "lb", type = TypeKind.OBJECT, structType = "LoadBalancerActions"),
+                @Argument(name = "index", type = TypeKind.INT),
+                @Argument(name = "latencyNanos", type = TypeKind.INT),
+                @Argument(name = "success", type = TypeKind.BOOLEAN)}
+)
+public class CompleteRequest extends AbstractLoadBalancerFunction {
+
+    @Override
+    public void execute(Context context) {
+        int index = (int) context.getIntArgument(0);
+        long latencyNanos = context.getIntArgument(1);
+        boolean success = context.getBooleanArgument(0);
+        getLoadBalancer(context).completeRequest(index, latencyNanos, success);
+        context.setReturnValues();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.http.resiliency;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BBooleanArray;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.model.values.BValueType;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.net.http.HttpConstants;
+
+/**
+ * Creates the circuit breaker which keeps the health of a circuit breaker client.
+ *
+ * @since 0.980.0
+ */
+@BallerinaFunction(
+        orgName = "ballerina", packageName = "http",
+        functionName = "initCircuitBreaker",
+        args = {@Argument(name = "circuitHealth", type = TypeKind.RECORD, structType = "CircuitHealth"),
+                @Argument(name = "circuitBreakerInferredConfig", type = TypeKind.RECORD,
+                        structType = "CircuitBreakerInferredConfig")}
+)
+public class InitCircuitBreaker extends AbstractCircuitBreakerFunction {
+
+    private static final String FAILURE_THRESHOLD = "failureThreshold";
+    private static final String RESET_TIME_MILLIS = "resetTimeMillis";
+    private static final String STATUS_CODES = "statusCodes";
+    private static final String NO_OF_BUCKETS = "noOfBuckets";
+    private static final String ROLLING_WINDOW = "rollingWindow";
+    private static final String REQUEST_VOLUME_THRESHOLD = "requestVolumeThreshold";
+    private static final String BUCKET_SIZE_MILLIS = "bucketSizeMillis";
+    private static final String START_TIME = "startTime";
+    private static final String TIME = "time";
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void execute(Context context) {
+        BMap<String, BValue> circuitHealth = (BMap<String, BValue>) context.getRefArgument(CIRCUIT_HEALTH_INDEX);
+        BMap<String, BValue> config = (BMap<String, BValue>) context.getRefArgument(1);
+        BMap<String, BValue> rollingWindow = (BMap<String, BValue>) config.get(ROLLING_WINDOW);
+
+        BBooleanArray statusCodeArray = (BBooleanArray) config.get(STATUS_CODES);
+        boolean[] statusCodes = new boolean[(int) statusCodeArray.size()];
+        for (int i = 0; i < statusCodes.length; i++) {
+            statusCodes[i] = statusCodeArray.get(i) == 1;
+        }
+        CircuitBreaker circuitBreaker = new CircuitBreaker(getFloat(config, FAILURE_THRESHOLD),
+                getInt(config, RESET_TIME_MILLIS), statusCodes, getInt(rollingWindow, REQUEST_VOLUME_THRESHOLD),
+                (int) getInt(config, NO_OF_BUCKETS), getInt(rollingWindow, BUCKET_SIZE_MILLIS),
+                getInt((BMap<String, BValue>) circuitHealth.get(START_TIME), TIME));
+        circuitHealth.addNativeData(HttpConstants.CIRCUIT_BREAKER, circuitBreaker);
+        context.setReturnValues();
+    }
+
+    private static double getFloat(BMap<String, BValue> record, String field) {
+        return ((BValueType) record.get(field)).floatValue();
+    }
+
+    private static long getInt(BMap<String, BValue> record, String field) {
+        return ((BValueType) record.get(field)).intValue();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.http.resiliency;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BNewArray;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+/**
+ * Creates the load balancer which selects the targets of a load balance client.
+ *
+ * @since 0.980.0
+ */
+@BallerinaFunction(
+        orgName = "ballerina", packageName = "http",
+        functionName = "initLoadBalancer",
+        args = {@Argument(name = "lb", type = TypeKind.OBJECT, structType = "LoadBalancerActions")}
+)
+public class InitLoadBalancer extends AbstractLoadBalancerFunction {
+
+    private static final String CLIENTS_ARRAY = "loadBalanceClientsArray";
+    private static final String ALGORITHM = "algorithm";
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void execute(Context context) {
+        BMap<String, BValue> loadBalancerActions = (BMap<String, BValue>) context.getRefArgument(LOAD_BALANCER_INDEX);
+        int targetCount = (int) ((BNewArray) loadBalancerActions.get(CLIENTS_ARRAY)).size();
+        String algorithm = loadBalancerActions.get(ALGORITHM).stringValue();
+        LoadBalancer loadBalancer;
+        try {
+            loadBalancer = new LoadBalancer(LoadBalancer.Algorithm.fromValue(algorithm), targetCount);
+        } catch (IllegalArgumentException e) {
+            throw new BallerinaException(e.getMessage());
+        }
+        loadBalancerActions.addNativeData(HttpConstants.LOAD_BALANCER, loadBalancer);
+        context.setReturnValues();
+    }
+}
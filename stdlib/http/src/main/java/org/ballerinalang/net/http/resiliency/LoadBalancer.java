@@ -0,0 +1,228 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.http.resiliency;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Selects the target of a load balance client. The number of outstanding requests and the EWMA latency are tracked
+ * per target in a striped array of atomics, with the counters of each target in a cache line of their own so that
+ * requests to different targets do not contend.
+ *
+ * @since 0.980.0
+ */
+public class LoadBalancer {
+
+    /**
+     * Load balancing algorithms, with the values of the Ballerina algorithm constants.
+     */
+    public enum Algorithm {
+        ROUND_ROBIN("round-robin"),
+        LEAST_OUTSTANDING_REQUESTS("least-outstanding-requests"),
+        LEAST_LATENCY("least-latency"),
+        POWER_OF_TWO_CHOICES("power-of-two-choices");
+
+        private final String value;
+
+        Algorithm(String value) {
+            this.value = value;
+        }
+
+        public String value() {
+            return value;
+        }
+
+        public static Algorithm fromValue(String value) {
+            for (Algorithm algorithm : values()) {
+                if (algorithm.value.equals(value)) {
+                    return algorithm;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported load balancing algorithm: " + value);
+        }
+    }
+
+    // Weight of the latest sample in the EWMA latency
+    private static final double EWMA_WEIGHT = 0.3;
+    // Longs in a cache line, the counters of a target are at the start of its stripe
+    private static final int STRIPE = 8;
+    private static final int OUTSTANDING_REQUESTS = 0;
+    private static final int LATENCY = 1;
+
+    private final Algorithm algorithm;
+    private final int targetCount;
+    private final AtomicLongArray counters;
+    private final AtomicLong nextIndex = new AtomicLong();
+
+    public LoadBalancer(Algorithm algorithm, int targetCount) {
+        if (targetCount < 1) {
+            throw new IllegalArgumentException("No targets to load balance");
+        }
+        this.algorithm = algorithm;
+        this.targetCount = targetCount;
+        // An extra stripe at each end keeps the counters away from the neighbours of the array
+        this.counters = new AtomicLongArray((targetCount + 2) * STRIPE);
+    }
+
+    /**
+     * Selects the target of a new request and counts the request as outstanding on the target.
+     *
+     * @return index of the target
+     */
+    public int selectTarget() {
+        int index;
+        switch (algorithm) {
+            case LEAST_OUTSTANDING_REQUESTS:
+                index = selectLeastOutstanding();
+                break;
+            case LEAST_LATENCY:
+                index = selectLeastLatency();
+                break;
+            case POWER_OF_TWO_CHOICES:
+                index = selectPowerOfTwoChoices();
+                break;
+            default:
+                index = nextRoundRobinIndex();
+        }
+        counters.incrementAndGet(offset(index, OUTSTANDING_REQUESTS));
+        return index;
+    }
+
+    /**
+     * Selects the target to fail over to, which is the target after the failed one, and counts the request as
+     * outstanding on the target.
+     *
+     * @param failedIndex index of the target which failed
+     * @return index of the target
+     */
+    public int failoverTarget(int failedIndex) {
+        int index = (failedIndex + 1) % targetCount;
+        counters.incrementAndGet(offset(index, OUTSTANDING_REQUESTS));
+        return index;
+    }
+
+    /**
+     * Records the completion of a request to a target. A failure is recorded with at least twice the current
+     * latency of the target, so that a target failing fast does not attract more requests.
+     *
+     * @param index        index of the target
+     * @param latencyNanos time taken by the request in nanoseconds
+     * @param success      whether a response was received
+     */
+    public void completeRequest(int index, long latencyNanos, boolean success) {
+        counters.decrementAndGet(offset(index, OUTSTANDING_REQUESTS));
+        int latencyOffset = offset(index, LATENCY);
+        while (true) {
+            long latency = counters.get(latencyOffset);
+            long sample = success ? latencyNanos : Math.max(latencyNanos, 2 * latency);
+            long newLatency = latency == 0 ? sample : (long) (latency + EWMA_WEIGHT * (sample - latency));
+            if (counters.compareAndSet(latencyOffset, latency, Math.max(1, newLatency))) {
+                return;
+            }
+        }
+    }
+
+    public long getOutstandingRequests(int index) {
+        return counters.get(offset(index, OUTSTANDING_REQUESTS));
+    }
+
+    public long getLatency(int index) {
+        return counters.get(offset(index, LATENCY));
+    }
+
+    private static int offset(int index, int counter) {
+        return (index + 1) * STRIPE + counter;
+    }
+
+    private int nextRoundRobinIndex() {
+        return (int) (nextIndex.getAndIncrement() % targetCount);
+    }
+
+    private int selectLeastOutstanding() {
+        // Scanning from a rotating start spreads the requests among targets with the same load
+        int start = nextRoundRobinIndex();
+        int selected = start;
+        long minOutstanding = Long.MAX_VALUE;
+        for (int i = 0; i < targetCount; i++) {
+            int index = (start + i) % targetCount;
+            long outstanding = getOutstandingRequests(index);
+            if (outstanding < minOutstanding) {
+                minOutstanding = outstanding;
+                selected = index;
+            }
+        }
+        return selected;
+    }
+
+    private int selectLeastLatency() {
+        // Targets which have not served a request yet are taken to be as fast as the mean of the others, so that
+        // they are tried without drawing all the requests until their first response
+        long knownLatencySum = 0;
+        int knownLatencyCount = 0;
+        for (int index = 0; index < targetCount; index++) {
+            long latency = getLatency(index);
+            if (latency != 0) {
+                knownLatencySum += latency;
+                knownLatencyCount++;
+            }
+        }
+        long unknownLatency = knownLatencyCount == 0 ? 1 : knownLatencySum / knownLatencyCount;
+        int start = nextRoundRobinIndex();
+        int selected = start;
+        double minCost = Double.MAX_VALUE;
+        for (int i = 0; i < targetCount; i++) {
+            int index = (start + i) % targetCount;
+            double cost = getCost(index, unknownLatency);
+            if (cost < minCost) {
+                minCost = cost;
+                selected = index;
+            }
+        }
+        return selected;
+    }
+
+    private int selectPowerOfTwoChoices() {
+        if (targetCount == 1) {
+            return 0;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(targetCount);
+        int second = random.nextInt(targetCount - 1);
+        if (second >= first) {
+            second++;
+        }
+        long firstOutstanding = getOutstandingRequests(first);
+        long secondOutstanding = getOutstandingRequests(second);
+        if (firstOutstanding != secondOutstanding) {
+            return firstOutstanding < secondOutstanding ? first : second;
+        }
+        return getLatency(first) <= getLatency(second) ? first : second;
+    }
+
+    /**
+     * Expected time to serve a new request on a target, as the EWMA latency weighted by the requests waiting before
+     * it. The given latency is used for a target which has not served a request yet.
+     */
+    private double getCost(int index, long unknownLatency) {
+        long latency = getLatency(index);
+        return (double) (latency == 0 ? unknownLatency : latency) * (getOutstandingRequests(index) + 1);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.http.resiliency;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+
+/**
+ * Forces the circuit into a state.
+ *
+ * @since 0.980.0
+ */
+@BallerinaFunction(
+        orgName = "ballerina", packageName = "http",
+        functionName = "setCircuitState",
+        args = {@Argument(name = "circuitHealth", type = TypeKind.RECORD, structType = "CircuitHealth"),
+                @Argument(name = "circuitState", type = TypeKind.STRING)}
+)
+public class SetCircuitState extends AbstractCircuitBreakerFunction {
+
+    @Override
+    public void execute(Context context) {
+        CircuitBreaker.CircuitState circuitState = CircuitBreaker.CircuitState.fromValue(
+                context.getStringArgument(0));
+        CircuitBreaker circuitBreaker = getCircuitBreaker(context);
+        long now = System.currentTimeMillis();
+        circuitBreaker.setCircuitState(circuitState, now);
+        updateCircuitHealth(context, circuitBreaker, now);
+        context.setReturnValues();
+    }
+}
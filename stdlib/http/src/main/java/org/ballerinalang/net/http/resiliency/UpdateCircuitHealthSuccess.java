@@ -0,0 +1,47 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.http.resiliency;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+
+/**
+ * Records the response of a request sent through the circuit breaker.
+ *
+ * @since 0.980.0
+ */
+@BallerinaFunction(
+        orgName = "ballerina", packageName = "http",
+        functionName = "updateCircuitHealthSuccess",
+        args = {@Argument(name = "circuitHealth", type = TypeKind.RECORD, structType = "CircuitHealth"),
+                @Argument(name = "statusCode", type = TypeKind.INT)}
+)
+public class UpdateCircuitHealthSuccess extends AbstractCircuitBreakerFunction {
+
+    @Override
+    public void execute(Context context) {
+        CircuitBreaker circuitBreaker = getCircuitBreaker(context);
+        long now = System.currentTimeMillis();
+        circuitBreaker.updateCircuitHealthSuccess((int) context.getIntArgument(0), now);
+        updateCircuitHealth(context, circuitBreaker, now);
+        context.setReturnValues();
+    }
+}
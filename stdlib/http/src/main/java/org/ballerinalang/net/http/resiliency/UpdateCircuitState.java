@@ -0,0 +1,49 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.http.resiliency;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+/**
+ * Updates the state of the circuit for a new request.
+ *
+ * @since 0.980.0
+ */
+@BallerinaFunction(
+        orgName = "ballerina", packageName = "http",
+        functionName = "updateCircuitState",
+        args = {@Argument(name = "circuitHealth", type = TypeKind.RECORD, structType = "CircuitHealth")},
+        returnType = {@ReturnType(type = TypeKind.STRING)}
+)
+public class UpdateCircuitState extends AbstractCircuitBreakerFunction {
+
+    @Override
+    public void execute(Context context) {
+        CircuitBreaker circuitBreaker = getCircuitBreaker(context);
+        long now = System.currentTimeMillis();
+        CircuitBreaker.CircuitState circuitState = circuitBreaker.updateCircuitState(now);
+        updateCircuitHealth(context, circuitBreaker, now);
+        context.setReturnValues(new BString(circuitState.value()));
+    }
+}
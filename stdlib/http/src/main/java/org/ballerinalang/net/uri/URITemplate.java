@@ -22,6 +22,7 @@ import org.ballerinalang.net.uri.parser.DataElement;
 import org.ballerinalang.net.uri.parser.DataElementFactory;
 import org.ballerinalang.net.uri.parser.DataReturnAgent;
 import org.ballerinalang.net.uri.parser.Node;
+import org.ballerinalang.net.uri.parser.URITemplateAutomaton;
 import org.ballerinalang.net.uri.parser.URITemplateParser;
 
 import java.io.UnsupportedEncodingException;
@@ -36,6 +37,7 @@ import java.util.Map;
 public class URITemplate<DataType, InboundMsgType> {
 
     private Node<DataType, InboundMsgType> syntaxTree;
+    private volatile URITemplateAutomaton<DataType, InboundMsgType> automaton;
 
     public URITemplate(Node<DataType, InboundMsgType> syntaxTree) {
         this.syntaxTree = syntaxTree;
@@ -43,7 +45,13 @@ public class URITemplate<DataType, InboundMsgType> {
 
     public DataType matches(String uri, Map<String, String> variables, InboundMsgType inboundMsg) {
         DataReturnAgent<DataType> dataReturnAgent = new DataReturnAgent<>();
-        boolean isFound = syntaxTree.matchAll(uri, variables, 0, inboundMsg, dataReturnAgent);
+        URITemplateAutomaton<DataType, InboundMsgType> automaton = this.automaton;
+        boolean isFound;
+        if (automaton != null && automaton.canMatch(uri, variables)) {
+            isFound = automaton.matchAll(uri, variables, inboundMsg, dataReturnAgent);
+        } else {
+            isFound = syntaxTree.matchAll(uri, variables, 0, inboundMsg, dataReturnAgent);
+        }
         if (isFound) {
             return dataReturnAgent.getData();
         }
@@ -60,6 +68,7 @@ public class URITemplate<DataType, InboundMsgType> {
 
         URITemplateParser<DataType, InboundMsgType> parser = new URITemplateParser<>(syntaxTree, elementCreator);
         parser.parse(uriTemplate, resource);
+        automaton = URITemplateAutomaton.compile(syntaxTree);
     }
 
     private String removeTheFirstAndLastBackSlash(String template) throws URITemplateException {
@@ -82,6 +82,21 @@ public class URIUtil {
         return matrixParamsBMap;
     }
 
+    /**
+     * Checks whether {@link #extractMatrixParams(String, Map)} would return the given URI unchanged without finding
+     * any matrix parameters, so that dispatching can skip splitting the URI.
+     *
+     * @param uri raw request URI
+     * @return true if the URI has no matrix parameters and is already in the form returned by extractMatrixParams
+     */
+    public static boolean hasNoMatrixParams(String uri) {
+        if (!uri.startsWith(URI_PATH_DELIMITER) || uri.indexOf(';') >= 0 || uri.endsWith("?")) {
+            return false;
+        }
+        int queryIndex = uri.indexOf('?');
+        int pathEnd = queryIndex < 0 ? uri.length() : queryIndex;
+        return pathEnd == 1 || uri.charAt(pathEnd - 1) != '/';
+    }
 
     public static String extractMatrixParams(String path, Map<String, Map<String, String>> matrixParams) {
         if (path.startsWith("/")) {
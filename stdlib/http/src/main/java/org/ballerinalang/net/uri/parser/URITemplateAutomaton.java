@@ -0,0 +1,329 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.uri.parser;
+
+import org.ballerinalang.net.http.HttpConstants;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Matching automaton compiled from the syntax tree of a uri-template. Each node of the tree becomes a state, and the
+ * literal children of a node are merged into a character trie, so that a request path is matched by walking it once
+ * instead of comparing it with every literal. Path params are kept as index ranges of the request path, and are
+ * decoded and put into the variables map only when a match is found.
+ * <p>
+ * The automaton follows the matching order of {@link Node#matchAll}: longer literals first, then the path param and
+ * then the wildcard, with the same data element checks. Trees having nodes it does not know of are not compiled, and
+ * paths which have empty segments are left to the tree, see {@link #canMatch}.
+ *
+ * @param <DataType> Type of data which should be stored in the node.
+ * @param <InboundMsgType> Inbound message type for additional checks.
+ * @since 0.980.0
+ */
+public class URITemplateAutomaton<DataType, InboundMsgType> {
+
+    private static final String WILDCARD = "*";
+
+    private final State<DataType, InboundMsgType> root;
+
+    private URITemplateAutomaton(State<DataType, InboundMsgType> root) {
+        this.root = root;
+    }
+
+    /**
+     * Compiles the syntax tree of a uri-template.
+     *
+     * @param syntaxTree root node of the uri-template
+     * @param <DataType> Type of data which should be stored in the node.
+     * @param <InboundMsgType> Inbound message type for additional checks.
+     * @return the automaton, or null if the tree has nodes which can only be matched by the tree
+     */
+    public static <DataType, InboundMsgType> URITemplateAutomaton<DataType, InboundMsgType> compile(
+            Node<DataType, InboundMsgType> syntaxTree) {
+        if (!(syntaxTree instanceof Literal) || !"/".equals(syntaxTree.getToken())) {
+            return null;
+        }
+        State<DataType, InboundMsgType> root = compileNode(syntaxTree);
+        return root == null ? null : new URITemplateAutomaton<>(root);
+    }
+
+    private static <DataType, InboundMsgType> State<DataType, InboundMsgType> compileNode(
+            Node<DataType, InboundMsgType> node) {
+        State<DataType, InboundMsgType> state = new State<>(node.getDataElement());
+        for (Node<DataType, InboundMsgType> childNode : node.childNodesList) {
+            if (childNode.getClass() == SimpleStringExpression.class) {
+                if (state.expression != null) {
+                    return null;
+                }
+                state.expressionNode = (SimpleStringExpression<DataType, InboundMsgType>) childNode;
+                state.variables = state.expressionNode.variableList.toArray(new Variable[0]);
+                state.expression = compileNode(childNode);
+                if (state.expression == null) {
+                    return null;
+                }
+            } else if (childNode.getClass() == Literal.class) {
+                String token = childNode.getToken();
+                if (WILDCARD.equals(token)) {
+                    state.wildcard = childNode.getDataElement();
+                    continue;
+                }
+                if (token.indexOf('*') >= 0 || token.indexOf('/') >= 0) {
+                    return null;
+                }
+                State<DataType, InboundMsgType> childState = compileNode(childNode);
+                if (childState == null) {
+                    return null;
+                }
+                if (state.literals == null) {
+                    state.literals = new LiteralNode<>();
+                }
+                state.literals.add(token, childState);
+            } else {
+                return null;
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Checks whether a path can be matched by the automaton. Paths with empty segments or a trailing slash, the root
+     * path when there is no root resource and matching with variables which are already set are left to the tree.
+     *
+     * @param uri       request path
+     * @param variables variables to be filled
+     * @return true if the automaton matches the path the same way as the tree
+     */
+    public boolean canMatch(String uri, Map<String, String> variables) {
+        if (!variables.isEmpty() || !uri.startsWith("/")) {
+            return false;
+        }
+        if (uri.length() == 1) {
+            return root.dataElement.hasData();
+        }
+        return !uri.endsWith("/") && !uri.contains("//");
+    }
+
+    /**
+     * Matches a path which is accepted by {@link #canMatch}.
+     *
+     * @param uri             request path
+     * @param variables       map to put the path params into
+     * @param inboundMsg      inbound message for the data element checks
+     * @param dataReturnAgent agent to return the matched data or the error
+     * @return true if a data element accepted the request
+     */
+    public boolean matchAll(String uri, Map<String, String> variables, InboundMsgType inboundMsg,
+                            DataReturnAgent<DataType> dataReturnAgent) {
+        Matcher<DataType, InboundMsgType> matcher = new Matcher<>(uri, inboundMsg, dataReturnAgent);
+        boolean isFound = uri.length() == 1 ? matcher.getData(root.dataElement) : matcher.matchChildren(root, 1);
+        if (isFound) {
+            matcher.setVariables(variables);
+        }
+        return isFound;
+    }
+
+    /**
+     * A node of the uri-template.
+     */
+    private static class State<DataType, InboundMsgType> {
+        private final DataElement<DataType, InboundMsgType> dataElement;
+        private LiteralNode<DataType, InboundMsgType> literals;
+        private SimpleStringExpression<DataType, InboundMsgType> expressionNode;
+        private Variable[] variables;
+        private State<DataType, InboundMsgType> expression;
+        private DataElement<DataType, InboundMsgType> wildcard;
+
+        private State(DataElement<DataType, InboundMsgType> dataElement) {
+            this.dataElement = dataElement;
+        }
+    }
+
+    /**
+     * Character trie of the literal children of a state. A node which ends a literal holds the state of the literal.
+     */
+    private static class LiteralNode<DataType, InboundMsgType> {
+        private char[] keys = new char[0];
+        @SuppressWarnings("unchecked")
+        private LiteralNode<DataType, InboundMsgType>[] children = new LiteralNode[0];
+        private State<DataType, InboundMsgType> state;
+
+        private void add(String token, State<DataType, InboundMsgType> literalState) {
+            LiteralNode<DataType, InboundMsgType> node = this;
+            for (int i = 0; i < token.length(); i++) {
+                char key = token.charAt(i);
+                LiteralNode<DataType, InboundMsgType> child = node.getChild(key);
+                if (child == null) {
+                    child = new LiteralNode<>();
+                    int index = -(Arrays.binarySearch(node.keys, key) + 1);
+                    char[] keys = new char[node.keys.length + 1];
+                    LiteralNode<DataType, InboundMsgType>[] children = Arrays.copyOf(node.children,
+                            node.children.length + 1);
+                    System.arraycopy(node.keys, 0, keys, 0, index);
+                    System.arraycopy(node.keys, index, keys, index + 1, node.keys.length - index);
+                    System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+                    keys[index] = key;
+                    children[index] = child;
+                    node.keys = keys;
+                    node.children = children;
+                }
+                node = child;
+            }
+            node.state = literalState;
+        }
+
+        private LiteralNode<DataType, InboundMsgType> getChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index < 0 ? null : children[index];
+        }
+    }
+
+    /**
+     * Matching state of a single request path.
+     */
+    private static class Matcher<DataType, InboundMsgType> {
+        private final String uri;
+        private final InboundMsgType inboundMsg;
+        private final DataReturnAgent<DataType> dataReturnAgent;
+        private Variable[] variables = new Variable[4];
+        private SimpleStringExpression[] expressions = new SimpleStringExpression[4];
+        private int[] ranges = new int[8];
+        private int variableCount = 0;
+        private int extraPathInfoStart = -1;
+
+        private Matcher(String uri, InboundMsgType inboundMsg, DataReturnAgent<DataType> dataReturnAgent) {
+            this.uri = uri;
+            this.inboundMsg = inboundMsg;
+            this.dataReturnAgent = dataReturnAgent;
+        }
+
+        private boolean matchChildren(State<DataType, InboundMsgType> state, int start) {
+            if (state.literals != null && matchLiteral(state.literals, start)) {
+                return true;
+            }
+            if (state.expression != null) {
+                int end = uri.indexOf('/', start);
+                end = end < 0 ? uri.length() : end;
+                if (assign(state, start, end) && matchState(state.expression, end)) {
+                    return true;
+                }
+            }
+            if (state.wildcard != null && getData(state.wildcard)) {
+                extraPathInfoStart = start;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean matchLiteral(LiteralNode<DataType, InboundMsgType> node, int position) {
+            if (position < uri.length()) {
+                LiteralNode<DataType, InboundMsgType> child = node.getChild(uri.charAt(position));
+                if (child != null && matchLiteral(child, position + 1)) {
+                    return true;
+                }
+            }
+            return node.state != null && matchState(node.state, position);
+        }
+
+        private boolean matchState(State<DataType, InboundMsgType> state, int end) {
+            if (end == uri.length()) {
+                return getData(state.dataElement);
+            }
+            return matchChildren(state, uri.charAt(end) == '/' ? end + 1 : end);
+        }
+
+        private boolean getData(DataElement<DataType, InboundMsgType> dataElement) {
+            return dataElement.getData(inboundMsg, dataReturnAgent);
+        }
+
+        /**
+         * Assigns a path param to the variables of an expression. As with the tree, a variable keeps the first value
+         * it is assigned, even when that match is not used in the end.
+         */
+        private boolean assign(State<DataType, InboundMsgType> state, int start, int end) {
+            String value = isEncoded(start, end) ? decode(state.expressionNode, start, end) : null;
+            for (Variable variable : state.variables) {
+                int index = indexOf(variable.getName());
+                if (index >= 0 && !isSameValue(index, start, end)) {
+                    value = value == null ? decode(state.expressionNode, start, end) : value;
+                    if (!value.equals(decode(expressions[index], ranges[2 * index], ranges[2 * index + 1]))) {
+                        return false;
+                    }
+                }
+                if (variable.hasModifier()) {
+                    value = value == null ? decode(state.expressionNode, start, end) : value;
+                    if (!variable.checkModifier(value)) {
+                        return false;
+                    }
+                }
+                if (index < 0) {
+                    add(variable, state.expressionNode, start, end);
+                }
+            }
+            return true;
+        }
+
+        private boolean isEncoded(int start, int end) {
+            int index = uri.indexOf('%', start);
+            return index >= 0 && index < end;
+        }
+
+        private boolean isSameValue(int index, int start, int end) {
+            int valueStart = ranges[2 * index];
+            int length = ranges[2 * index + 1] - valueStart;
+            return length == end - start && uri.regionMatches(valueStart, uri, start, length);
+        }
+
+        private int indexOf(String name) {
+            for (int i = 0; i < variableCount; i++) {
+                if (variables[i].getName().equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void add(Variable variable, SimpleStringExpression expressionNode, int start, int end) {
+            if (variableCount == variables.length) {
+                variables = Arrays.copyOf(variables, variableCount * 2);
+                expressions = Arrays.copyOf(expressions, variableCount * 2);
+                ranges = Arrays.copyOf(ranges, variableCount * 4);
+            }
+            variables[variableCount] = variable;
+            expressions[variableCount] = expressionNode;
+            ranges[2 * variableCount] = start;
+            ranges[2 * variableCount + 1] = end;
+            variableCount++;
+        }
+
+        private String decode(SimpleStringExpression expressionNode, int start, int end) {
+            String value = uri.substring(start, end);
+            return isEncoded(start, end) ? expressionNode.decodeValue(value) : value;
+        }
+
+        private void setVariables(Map<String, String> variableMap) {
+            for (int i = 0; i < variableCount; i++) {
+                variableMap.put(variables[i].getName(), decode(expressions[i], ranges[2 * i], ranges[2 * i + 1]));
+            }
+            if (extraPathInfoStart >= 0) {
+                variableMap.putIfAbsent(HttpConstants.EXTRA_PATH_INFO, "/" + uri.substring(extraPathInfoStart));
+            }
+        }
+    }
+}
@@ -62,6 +62,10 @@ public class Variable {
         return value;
     }
 
+    public boolean hasModifier() {
+        return prefix > 0;
+    }
+
     public boolean checkModifier(String value) {
         if (prefix > 0) {
             return value.length() == prefix;
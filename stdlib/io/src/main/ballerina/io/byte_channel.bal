@@ -43,6 +43,26 @@ public type ByteChannel object {
     }
     public extern function write(byte[] content, int offset) returns int|error;
 
+    documentation {
+        Source bytes from a given position of the input/output resource, without changing the position which read
+        and write continue from. This is only supported by file channels.
+
+        P{{nBytes}} Positive integer. Represents the number of bytes which should be read
+        P{{position}} Position of the resource the bytes should be read from
+        R{{}} Content, the number of bytes read or an error
+    }
+    public extern function readAt(@sensitive int nBytes, @sensitive int position) returns @tainted (byte[], int)|error;
+
+    documentation {
+        Sink bytes to a given position of the input/output resource, without changing the position which read and
+        write continue from. This is only supported by file channels.
+
+        P{{content}} Block of bytes which should be written
+        P{{position}} Position of the resource the bytes should be written to
+        R{{}} Number of bytes written or an error
+    }
+    public extern function writeAt(byte[] content, int position) returns int|error;
+
     documentation {
         Closes a given byte channel.
 
@@ -118,4 +118,15 @@ public type CSVChannel object {
         R{{}} Table which represents CSV records or error
     }
     public extern function getTable(typedesc structType) returns @tainted table|error;
+
+    documentation {
+        Returns a table which reads the CSV records as it is iterated. Unlike getTable, the records are not loaded
+        into memory beforehand, hence the table could be iterated only once. The channel is closed once all the records
+        are read, or when the table is closed.
+
+        P{{structType}} The object the CSV records should be deserialized
+        P{{parallelism}} Number of batches of records which could be deserialized in parallel
+        R{{}} Table which represents CSV records or error
+    }
+    public extern function streamTable(typedesc structType, int parallelism = 1) returns @tainted table|error;
 };
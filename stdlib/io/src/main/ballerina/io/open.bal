@@ -37,6 +37,16 @@ documentation {
 }
 public extern function openFile(@sensitive string path, @sensitive Mode accessMode) returns @tainted ByteChannel;
 
+documentation {
+    Retrieves a read only ByteChannel which reads a file through a memory mapping of the file. Reading large files or
+    reading from random positions through readAt will be served from the mapped pages, instead of reading the file
+    through intermediate buffers.
+
+    P{{path}} Relative/absolute path string to locate the file
+    R{{}} ByteChannel representation of the file resource
+}
+public extern function openMappedFile(@sensitive string path) returns @tainted ByteChannel;
+
 documentation {
     Opens a secure socket connection with a remote server.
 
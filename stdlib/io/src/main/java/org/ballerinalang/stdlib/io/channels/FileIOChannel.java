@@ -19,10 +19,12 @@ package org.ballerinalang.stdlib.io.channels;
 
 import org.ballerinalang.stdlib.io.channels.base.Channel;
 import org.ballerinalang.stdlib.io.channels.base.readers.ChannelReader;
+import org.ballerinalang.stdlib.io.channels.base.readers.Reader;
 import org.ballerinalang.stdlib.io.channels.base.writers.ChannelWriter;
 import org.ballerinalang.stdlib.io.utils.BallerinaIOException;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
 
@@ -40,10 +42,34 @@ public class FileIOChannel extends Channel {
 
 
     public FileIOChannel(FileChannel channel) throws BallerinaIOException {
-        super(channel, new ChannelReader(), new ChannelWriter());
+        this(channel, new ChannelReader());
+    }
+
+    protected FileIOChannel(FileChannel channel, Reader reader) throws BallerinaIOException {
+        super(channel, reader, new ChannelWriter());
         this.channel = channel;
     }
 
+    /**
+     * Reads from the file through a positional read, which does not change the position of the file channel.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(ByteBuffer buffer, long position) throws IOException {
+        return channel.read(buffer, position);
+    }
+
+    /**
+     * Writes to the file through a positional write, which does not change the position of the file channel.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    public int write(ByteBuffer content, long position) throws IOException {
+        return channel.write(content, position);
+    }
+
     /**
      * Transfer file content to the specified destination.
      * <p>
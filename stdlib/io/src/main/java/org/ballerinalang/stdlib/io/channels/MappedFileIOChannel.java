@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.stdlib.io.channels;
+
+import org.ballerinalang.stdlib.io.channels.base.readers.MappedFileReader;
+import org.ballerinalang.stdlib.io.utils.BallerinaIOException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * <p>
+ * Represents the channel to read a file through a memory mapping of the file.
+ * </p>
+ * <p>
+ * Both sequential and positional reads are served from the mapped pages, which avoids copying the content through
+ * an intermediate buffer and re-reading the file for random access. The channel is read only.
+ * </p>
+ */
+public class MappedFileIOChannel extends FileIOChannel {
+
+    /**
+     * Reads the mapped regions of the file.
+     */
+    private final MappedFileReader reader;
+
+    public MappedFileIOChannel(FileChannel channel) throws IOException {
+        this(channel, new MappedFileReader(channel));
+    }
+
+    private MappedFileIOChannel(FileChannel channel, MappedFileReader reader) throws BallerinaIOException {
+        super(channel, reader);
+        this.reader = reader;
+    }
+
+    /**
+     * Reads from the mapped regions of the file.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(ByteBuffer buffer, long position) throws IOException {
+        return reader.read(buffer, position);
+    }
+
+    @Override
+    public int write(ByteBuffer content, long position) throws IOException {
+        throw new BallerinaIOException("Cannot write to a memory mapped file channel, since it's read only");
+    }
+
+    @Override
+    public int write(ByteBuffer content) throws IOException {
+        throw new BallerinaIOException("Cannot write to a memory mapped file channel, since it's read only");
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+        super.close();
+    }
+}
@@ -32,11 +32,15 @@ import java.nio.ByteBuffer;
  * <p>
  * Buffer also focuses on offering the capability to get bytes through multiple channels and place into one.
  * </p>
+ * <p>
+ * The bytes are held in a buffer acquired through the {@link BufferPool}, which is filled directly from the channel.
+ * The buffer should be closed once the channel is closed so that it could be reused by other channels.
+ * </p>
  */
 public class Buffer {
 
     /**
-     * Contains the buffer instance which will be wrapped.
+     * Contains the buffer instance which will be wrapped, this is always kept ready to be read.
      */
     private ByteBuffer byteBuffer;
 
@@ -59,76 +63,71 @@ public class Buffer {
 
     /**
      * <p>
-     * Returns a ByteBuffer which will contain any remaining bytes left in the previous read.
-     * </p>
-     * <p>
-     * This operation will not guarantee a return of all the bytes required. This will return bytes if any is
-     * available in the buffer.
+     * Will acquire a buffer for the specified size from the pool.
      * </p>
      * <p>
-     * The operation will return null if none of the bytes are remaining in the buffer.
+     * If the size < minimumSizeOfBuffer the size of the new buffer >= minimumSizeOfBuffer.
+     * If the size > minimumSizeOfBuffer the size of the new buffer >= size.
      * </p>
      *
-     * @param totalNumberOfBytesRequired number of bytes required.
-     * @return new ByteBuffer which will contain bytes which are remaining.
+     * @param size the size of the buffer.
+     * @return the buffer acquired for the specified size.
      */
-    private ByteBuffer remainingContent(int totalNumberOfBytesRequired) {
-        ByteBuffer remainingContent = null;
-        if (null != byteBuffer) {
-            remainingContent = byteBuffer.slice();
-        } else {
-            if (log.isDebugEnabled()) {
-                log.debug("ByteBuffer has not being initialized, buffer will be initialized while reading the " +
-                        "requested amount of " + totalNumberOfBytesRequired + " of bytes");
-            }
+    private ByteBuffer allocate(int size) {
+        if (size < minimumSizeOfBuffer) {
+            size = minimumSizeOfBuffer;
         }
-        return remainingContent;
+        return BufferPool.getInstance().acquire(size);
     }
 
     /**
      * <p>
-     * Will allocate a buffer for the specified size.
+     * Prepares the buffer to be filled from the channel, so that it could hold the specified number of bytes.
      * </p>
      * <p>
-     * If the size < minimumSizeOfBuffer the size of the new buffer = minimumSizeOfBuffer.
-     * If the size > minimumSizeOfBuffer the size of the new buffer = size.
+     * Bytes which are remaining in the buffer are moved to its beginning. If the buffer is smaller than the required
+     * amount of bytes a larger buffer is acquired and the buffer which was used is returned to the pool.
      * </p>
      *
-     * @param size the size of the buffer.
-     * @return the newly allocated buffer for the specified size.
+     * @param requiredNumberOfBytes the number of bytes which should fit in the buffer.
      */
-    private ByteBuffer allocate(int size) {
-        if (size < minimumSizeOfBuffer) {
-            size = minimumSizeOfBuffer;
+    private void prepareForWrite(int requiredNumberOfBytes) {
+        if (null == byteBuffer) {
+            if (log.isDebugEnabled()) {
+                log.debug("ByteBuffer has not being initialized, buffer will be initialized while reading the " +
+                        "requested amount of " + requiredNumberOfBytes + " of bytes");
+            }
+            byteBuffer = allocate(requiredNumberOfBytes);
+        } else if (byteBuffer.capacity() >= requiredNumberOfBytes) {
+            byteBuffer.compact();
+        } else {
+            ByteBuffer enlargedBuffer = allocate(requiredNumberOfBytes);
+            enlargedBuffer.put(byteBuffer);
+            BufferPool.getInstance().release(byteBuffer);
+            byteBuffer = enlargedBuffer;
         }
-        return ByteBuffer.allocate(size);
     }
 
     /**
      * <p>
-     * Resize the buffer for the specified size.
+     * Slices the specified number of bytes from the current position of the buffer.
      * </p>
      * <p>
-     * If a larger buffer was selected
+     * The position of the buffer is moved forward, marking the bytes as read. The slice shares the content of the
+     * buffer, hence it's only valid until the next operation on the buffer.
      * </p>
      *
-     * @param srcBuffer             buffer which requires resizing.
-     * @param requiredNumberOfBytes the number of bytes which should be in the buffer.
-     * @return the buffer which is resized.
+     * @param numberOfBytes number of bytes which should be sliced.
+     * @return the slice which contains the bytes.
      */
-    private ByteBuffer resize(ByteBuffer srcBuffer, int requiredNumberOfBytes) {
-        srcBuffer.flip();
-        int totalBytesRead = srcBuffer.limit();
-        if (totalBytesRead > requiredNumberOfBytes) {
-            //If the size exceeds the required amount we need to narrow it down
-            srcBuffer.limit(requiredNumberOfBytes);
-        }
-        ByteBuffer resizedBuffer = srcBuffer.slice();
-        //After slicing we rest the limit
-        srcBuffer.limit(totalBytesRead);
-        //We need to move the cursor forward of the main buffer and mark it as read
-        srcBuffer.position(resizedBuffer.capacity());
-        return resizedBuffer;
+    private ByteBuffer take(int numberOfBytes) {
+        int limit = byteBuffer.limit();
+        int position = byteBuffer.position();
+        byteBuffer.limit(position + numberOfBytes);
+        ByteBuffer slicedBuffer = byteBuffer.slice();
+        byteBuffer.limit(limit);
+        byteBuffer.position(position + numberOfBytes);
+        return slicedBuffer;
     }
 
     /**
@@ -161,46 +160,6 @@ public class Buffer {
         }
     }
 
-    /**
-     * <p>
-     * Deep copies a byte buffer with it's underlying array.
-     * </p>
-     *
-     * @param srcBuffer the source buffer which should be copied.
-     * @return the buffer which is duplicated.
-     */
-    private ByteBuffer deepCopy(ByteBuffer srcBuffer) {
-        ByteBuffer dstBuffer = ByteBuffer.allocate(srcBuffer.capacity());
-        srcBuffer.rewind();
-        dstBuffer.put(srcBuffer);
-        srcBuffer.rewind();
-        dstBuffer.flip();
-        return dstBuffer;
-    }
-
-    /**
-     * <p>
-     * Retrieves the required content from the existing buffer.
-     * </p>
-     * <p>
-     * In this case it will not be required to do another channel call.
-     * </p>
-     *
-     * @param numberOfBytesRequested number of bytes required.
-     * @param content                buffer which holds the content.
-     * @return buffer which contains the required amount of bytes.
-     */
-    private ByteBuffer copyRemainingContent(int numberOfBytesRequested, ByteBuffer content) {
-        //If there is excess bytes we need only a sub-set of them
-        int capacity;
-        content.limit(numberOfBytesRequested);
-        ByteBuffer slicedBuffer = content.slice();
-        capacity = slicedBuffer.capacity();
-        int offset = slicedBuffer.arrayOffset();
-        byteBuffer.position(offset + capacity);
-        return deepCopy(slicedBuffer);
-    }
-
     /**
      * <p>
      * Get readable byte buffer.
@@ -215,36 +174,36 @@ public class Buffer {
      * of the current buffer. The buffer will be re-sized.
      * </p>
      * <p>
-     * The operation will return slice of the bytes requested. The size of the buffer returned would be =
-     * numberOfBytesRequested. If numberOfBytesRequested &lt; minimumSizeOfBuffer the size of the buffer will be
-     * minimumSizeOfBuffer
+     * The operation will return slice of the bytes requested. The size of the buffer returned would be &lt;=
+     * numberOfBytesRequested. The slice shares the content of the buffer, hence it should be consumed before the
+     * next operation on the buffer.
      * </p>
      *
      * @param numberOfBytesRequested number of bytes requested from the buffer.
      * @param channel                byte channel which will perform I/O ops necessary for reading.
-     * @return buffer which will contain bytes &gt;= numberOfBytesRequested
+     * @return buffer which will contain bytes &lt;= numberOfBytesRequested
      * @throws IOException errors which occur while reading from the channel.
      */
     public ByteBuffer get(int numberOfBytesRequested, Channel channel) throws IOException {
-        ByteBuffer remainingContent = remainingContent(numberOfBytesRequested);
-        if (null != remainingContent && remainingContent.capacity() >= numberOfBytesRequested) {
-            return copyRemainingContent(numberOfBytesRequested, remainingContent);
-        } else {
-            if (null != remainingContent && remainingContent.hasRemaining()) {
-                remainingContent = deepCopy(remainingContent);
-            }
-            if (byteBuffer != null && byteBuffer.capacity() >= numberOfBytesRequested) {
-                //If the required amount of bytes > than the current buffer size we enlarge the buffer
-                byteBuffer.clear();
-            } else {
-                //In this case we re-allocate
-                byteBuffer = allocate(numberOfBytesRequested);
-            }
-            if (null != remainingContent && remainingContent.hasRemaining()) {
-                byteBuffer.put(remainingContent);
-            }
+        if (null != byteBuffer && byteBuffer.remaining() >= numberOfBytesRequested) {
+            return take(numberOfBytesRequested);
+        }
+        prepareForWrite(numberOfBytesRequested);
+        try {
             channel.read(byteBuffer);
-            return resize(byteBuffer, numberOfBytesRequested);
+        } finally {
+            byteBuffer.flip();
+        }
+        return take(Math.min(numberOfBytesRequested, byteBuffer.remaining()));
+    }
+
+    /**
+     * Returns the buffer to the pool, any bytes which are remaining in the buffer will be discarded.
+     */
+    public void close() {
+        if (null != byteBuffer) {
+            BufferPool.getInstance().release(byteBuffer);
+            byteBuffer = null;
         }
     }
 
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.io.channels.base;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Pool of direct byte buffers which are shared between channels.
+ * </p>
+ * <p>
+ * Buffers are grouped into size classes which are powers of two, a request is served by the smallest class which
+ * could hold the requested amount of bytes. Channels acquire buffers when they're first read and release them when
+ * they're closed, so that the native memory of a buffer is reused by the channels opened later instead of being
+ * allocated and zeroed on each read.
+ * </p>
+ * <p>
+ * Requests which exceed the largest size class are not pooled and will be served with a heap buffer.
+ * </p>
+ *
+ * @since 0.980.0
+ */
+public final class BufferPool {
+
+    /**
+     * Capacity of the smallest size class, 512 bytes.
+     */
+    private static final int MINIMUM_CLASS_SHIFT = 9;
+
+    /**
+     * Capacity of the largest size class, 1 MB.
+     */
+    private static final int MAXIMUM_CLASS_SHIFT = 20;
+
+    /**
+     * Maximum number of idle buffers which are held per size class.
+     */
+    private static final int MAXIMUM_IDLE_BUFFERS = 32;
+
+    private static BufferPool instance = new BufferPool();
+
+    private final SizeClass[] sizeClasses = new SizeClass[MAXIMUM_CLASS_SHIFT - MINIMUM_CLASS_SHIFT + 1];
+
+    private BufferPool() {
+        for (int i = 0; i < sizeClasses.length; i++) {
+            sizeClasses[i] = new SizeClass(1 << (MINIMUM_CLASS_SHIFT + i));
+        }
+    }
+
+    public static BufferPool getInstance() {
+        return instance;
+    }
+
+    /**
+     * <p>
+     * Acquires a buffer which could hold at least the given number of bytes.
+     * </p>
+     * <p>
+     * The buffer returned will be cleared and in big endian byte order, its capacity could exceed the requested size.
+     * </p>
+     *
+     * @param size the minimum capacity of the buffer.
+     * @return a cleared buffer.
+     */
+    public ByteBuffer acquire(int size) {
+        SizeClass sizeClass = getSizeClass(size);
+        if (null == sizeClass) {
+            return ByteBuffer.allocate(size);
+        }
+        ByteBuffer buffer = sizeClass.idleBuffers.poll();
+        if (null == buffer) {
+            return ByteBuffer.allocateDirect(sizeClass.capacity);
+        }
+        sizeClass.idleCount.decrementAndGet();
+        return buffer;
+    }
+
+    /**
+     * <p>
+     * Returns a buffer which was acquired through the pool.
+     * </p>
+     * <p>
+     * <b>Note : </b> The buffer or any of its slices should not be used after it's released.
+     * </p>
+     *
+     * @param buffer the buffer which is no longer used.
+     */
+    public void release(ByteBuffer buffer) {
+        if (null == buffer || !buffer.isDirect()) {
+            return;
+        }
+        int capacity = buffer.capacity();
+        SizeClass sizeClass = getSizeClass(capacity);
+        if (null == sizeClass || sizeClass.capacity != capacity) {
+            return;
+        }
+        if (sizeClass.idleCount.incrementAndGet() > MAXIMUM_IDLE_BUFFERS) {
+            //The buffer will be garbage collected
+            sizeClass.idleCount.decrementAndGet();
+            return;
+        }
+        //The buffer is reset to the state a newly allocated buffer is in
+        buffer.clear();
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        sizeClass.idleBuffers.offer(buffer);
+    }
+
+    /**
+     * Finds the smallest size class which could hold the given number of bytes.
+     *
+     * @param size number of bytes.
+     * @return the size class or null if the size exceeds the largest class.
+     */
+    private SizeClass getSizeClass(int size) {
+        if (size > 1 << MAXIMUM_CLASS_SHIFT) {
+            return null;
+        }
+        int shift = size <= 1 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+        return sizeClasses[Math.max(shift, MINIMUM_CLASS_SHIFT) - MINIMUM_CLASS_SHIFT];
+    }
+
+    /**
+     * Holds the idle buffers of a given capacity.
+     */
+    private static class SizeClass {
+
+        private final int capacity;
+
+        private final Queue<ByteBuffer> idleBuffers = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger idleCount = new AtomicInteger();
+
+        private SizeClass(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+}
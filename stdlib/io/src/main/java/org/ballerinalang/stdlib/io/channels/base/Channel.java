@@ -29,7 +29,6 @@ import java.nio.ByteBuffer;
 import java.nio.channels.ByteChannel;
 import java.nio.channels.Channels;
 import java.nio.channels.WritableByteChannel;
-import java.util.Arrays;
 
 /**
  * <p>
@@ -207,6 +206,42 @@ public abstract class Channel implements IOChannel {
         return writer.write(content, channel);
     }
 
+    /**
+     * <p>
+     * Reads bytes from a given position of the channel.
+     * </p>
+     * <p>
+     * The position which sequential reads and writes continue from will not be changed. This is only supported by
+     * channels which have a position, such as files.
+     * </p>
+     *
+     * @param buffer   the buffer which will hold the content.
+     * @param position the position of the channel which the bytes should be read from.
+     * @return the number of bytes read, -1 if the position is at or beyond the end of the channel.
+     * @throws IOException errors occur during reading from channel.
+     */
+    public int read(ByteBuffer buffer, long position) throws IOException {
+        throw new BallerinaIOException("Reading from a position is not supported by the channel");
+    }
+
+    /**
+     * <p>
+     * Writes provided buffer content to a given position of the channel.
+     * </p>
+     * <p>
+     * The position which sequential reads and writes continue from will not be changed. This is only supported by
+     * channels which have a position, such as files.
+     * </p>
+     *
+     * @param content  the buffer which holds the content.
+     * @param position the position of the channel which the bytes should be written to.
+     * @return the number of bytes written to the channel.
+     * @throws IOException errors occur during writing data to channel.
+     */
+    public int write(ByteBuffer content, long position) throws IOException {
+        throw new BallerinaIOException("Writing to a position is not supported by the channel");
+    }
+
     /**
      * This will return {@link InputStream} from underlying {@link ByteChannel}.
      *
@@ -237,14 +272,11 @@ public abstract class Channel implements IOChannel {
      * @throws IOException during I/O error.
      */
     public byte[] readFull(int numberOfBytes) throws IOException {
+        //The slice is only valid until the next call to the buffer, hence it's copied right away
         ByteBuffer readBuffer = contentBuffer.get(numberOfBytes, this);
-        byte[] content = readBuffer.array();
-        int contentLength = readBuffer.capacity();
-        if (content.length > numberOfBytes || contentLength < numberOfBytes) {
-            //We need to collect the bytes only belonging to the offset, since the number of bytes returned can be < the
-            //required amount of bytes
-            content = Arrays.copyOfRange(content, 0, contentLength);
-        }
+        //The number of bytes returned can be < the required amount of bytes
+        byte[] content = new byte[readBuffer.remaining()];
+        readBuffer.get(content);
         return content;
     }
 
@@ -256,6 +288,9 @@ public abstract class Channel implements IOChannel {
     @Override
     public void close() throws IOException {
         try {
+            if (null != contentBuffer) {
+                contentBuffer.close();
+            }
             if (null != channel) {
                 channel.close();
             } else {
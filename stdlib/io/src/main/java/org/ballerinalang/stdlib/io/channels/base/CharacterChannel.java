@@ -27,6 +27,7 @@ import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
 import java.nio.charset.CodingErrorAction;
 
 
@@ -67,6 +68,12 @@ public class CharacterChannel implements IOChannel {
      */
     private Buffer contentBuffer;
 
+    /**
+     * Number of bytes at the end of the last decoded content which were a fraction of a character, these bytes are
+     * decoded as a malformed character.
+     */
+    private int numberOfBytesUndecoded;
+
     /**
      * Defines character which will be included when malformed input is detected from the decoder.
      */
@@ -129,10 +136,9 @@ public class CharacterChannel implements IOChannel {
      * @param characterCount the number of characters in the CharBuffer.
      */
     private void appendCharsToString(StringBuilder content, int characterCount) {
-        final int indexCharacterOffset = 0;
-        char[] remainingChars = new char[characterCount];
-        charBuffer.get(remainingChars, indexCharacterOffset, characterCount);
-        content.append(remainingChars);
+        int position = charBuffer.position();
+        content.append(charBuffer.array(), charBuffer.arrayOffset() + position, characterCount);
+        charBuffer.position(position + characterCount);
         if (log.isTraceEnabled()) {
             log.trace("Characters appended to the string," + content);
         }
@@ -191,20 +197,6 @@ public class CharacterChannel implements IOChannel {
         return character == UN_MAPPABLE_CHARACTER;
     }
 
-    /**
-     * Will query for the content length read by the character buffer.
-     *
-     * @param length length character count length.
-     * @return number of bytes in the buffer for the specified character count.
-     */
-    private int getNumberOfBytesInContent(int length) {
-        char[] availableContent = new char[length];
-        this.charBuffer.get(availableContent, 0, length);
-        byte[] bytes = new String(availableContent).getBytes(bytesDecoder.charset());
-        this.charBuffer = CharBuffer.wrap(availableContent);
-        return bytes.length;
-    }
-
     /**
      * Reads bytes asynchronously from the channel.
      *
@@ -216,18 +208,52 @@ public class CharacterChannel implements IOChannel {
             throws IOException {
         ByteBuffer buffer;
         int numberOfCharsProcessed = 0;
-        CharBuffer intermediateCharacterBuffer;
-        //Provided at this point any remaining character left in the buffer is copied
-        charBuffer = CharBuffer.allocate(numberOfBytesRequired);
+        //Provided at this point any remaining character left in the buffer is copied, hence the buffer could be reused
+        if (null == charBuffer || charBuffer.capacity() < numberOfBytesRequired) {
+            charBuffer = CharBuffer.allocate(numberOfBytesRequired);
+        } else {
+            charBuffer.clear();
+        }
         do {
+            //The slice is only valid until the next call to the buffer, hence it's decoded before the next read
             buffer = contentBuffer.get(numberOfBytesRequired, channel);
-            intermediateCharacterBuffer = bytesDecoder.decode(buffer);
-            numberOfCharsProcessed = numberOfCharsProcessed + intermediateCharacterBuffer.limit();
-            charBuffer.put(intermediateCharacterBuffer);
+            numberOfCharsProcessed = numberOfCharsProcessed + decode(buffer);
         } while (!channel.hasReachedEnd() && numberOfCharsProcessed < numberOfCharsRequired);
         //We make the char buffer ready to read
         charBuffer.flip();
-        processChars(numberOfCharsRequired, buffer, numberOfCharsProcessed);
+        processChars(numberOfCharsRequired, numberOfCharsProcessed);
+    }
+
+    /**
+     * <p>
+     * Decodes the given bytes into the character buffer.
+     * </p>
+     * <p>
+     * The bytes are decoded as a whole, same as {@link CharsetDecoder#decode(ByteBuffer)} but without allocating an
+     * intermediate buffer for the characters. Trailing bytes which are a fraction of a character are decoded as a
+     * malformed character and counted as undecoded, so that they could be re-read with the bytes which follow.
+     * </p>
+     *
+     * @param buffer the bytes which should be decoded.
+     * @return the number of characters decoded.
+     * @throws CharacterCodingException if the bytes contain characters which cannot be mapped.
+     */
+    private int decode(ByteBuffer buffer) throws CharacterCodingException {
+        int position = charBuffer.position();
+        numberOfBytesUndecoded = 0;
+        bytesDecoder.reset();
+        CoderResult result = bytesDecoder.decode(buffer, charBuffer, false);
+        if (result.isUnderflow()) {
+            numberOfBytesUndecoded = buffer.remaining();
+            result = bytesDecoder.decode(buffer, charBuffer, true);
+        }
+        if (result.isUnderflow()) {
+            result = bytesDecoder.flush(charBuffer);
+        }
+        if (!result.isUnderflow()) {
+            result.throwException();
+        }
+        return charBuffer.position() - position;
     }
 
     /**
@@ -241,6 +267,7 @@ public class CharacterChannel implements IOChannel {
         ByteBuffer buffer;
         CharBuffer intermediateCharacterBuffer;
         do {
+            //The slice is only valid until the next call to the buffer, hence it's decoded before the next read
             buffer = contentBuffer.get(numberOfBytesRequired, channel);
             intermediateCharacterBuffer = bytesDecoder.decode(buffer);
         } while (!channel.hasReachedEnd() && buffer.hasRemaining());
@@ -262,18 +289,18 @@ public class CharacterChannel implements IOChannel {
      * </p>
      *
      * @param numberOfCharsRequired  total number of characters required.
-     * @param buffer                 the buffer which will hold the content.
      * @param numberOfCharsProcessed number of characters processed.
      */
-    private void processChars(int numberOfCharsRequired, ByteBuffer buffer, int numberOfCharsProcessed) {
+    private void processChars(int numberOfCharsRequired, int numberOfCharsProcessed) {
         final int minimumNumberOfCharsRequired = 0;
         if (numberOfCharsProcessed > minimumNumberOfCharsRequired) {
             int lastCharacterIndex = numberOfCharsProcessed - 1;
             char lastCharacterProcessed = charBuffer.get(lastCharacterIndex);
-            if (numberOfCharsRequired < numberOfCharsProcessed && isMalformedCharacter(lastCharacterProcessed)) {
-                int numberOfBytesWithoutTheLastChar = getNumberOfBytesInContent(lastCharacterIndex);
-                int numberOfBytesAllocatedForLastChar = buffer.capacity() - numberOfBytesWithoutTheLastChar;
-                contentBuffer.reverse(numberOfBytesAllocatedForLastChar);
+            if (numberOfCharsRequired < numberOfCharsProcessed && isMalformedCharacter(lastCharacterProcessed) &&
+                    numberOfBytesUndecoded > 0) {
+                //The last character is omitted and its bytes will be decoded along with the bytes read next
+                charBuffer.limit(lastCharacterIndex);
+                contentBuffer.reverse(numberOfBytesUndecoded);
             }
         }
     }
@@ -418,6 +445,7 @@ public class CharacterChannel implements IOChannel {
      */
     @Override
     public void close() throws IOException {
+        contentBuffer.close();
         channel.close();
     }
 }
@@ -37,6 +37,12 @@ public class DataChannel implements IOChannel {
      */
     private ByteOrder order;
 
+    /**
+     * Holds the bytes of a single value which is read, this is acquired from the {@link BufferPool} when the first
+     * value is read and released when the channel is closed.
+     */
+    private ByteBuffer valueBuffer;
+
     /**
      * Represents 64 bit long value which will be used to convert from var long to fixed long.
      */
@@ -68,6 +74,21 @@ public class DataChannel implements IOChannel {
         } while (buffer.hasRemaining() && !channel.hasReachedEnd());
     }
 
+    /**
+     * Prepares the value buffer to read a value of the given size.
+     *
+     * @param numberOfBytes number of bytes in the value.
+     * @return the cleared buffer which is limited to the given size.
+     */
+    private ByteBuffer getValueBuffer(int numberOfBytes) {
+        if (null == valueBuffer) {
+            valueBuffer = BufferPool.getInstance().acquire(Long.BYTES);
+        }
+        valueBuffer.clear();
+        valueBuffer.limit(numberOfBytes);
+        return valueBuffer;
+    }
+
     /**
      * Reads varint from the given channel.
      *
@@ -77,9 +98,7 @@ public class DataChannel implements IOChannel {
     private ByteBuffer readVarInt() throws IOException {
         int bufferLimit = 0;
         boolean hasRemainingBytes = true;
-        //Will create an array with maximum number of bytes allocated
-        byte[] content = new byte[Long.BYTES];
-        ByteBuffer buf = ByteBuffer.wrap(content);
+        ByteBuffer buf = getValueBuffer(Long.BYTES);
         do {
             buf.limit(++bufferLimit);
             readFull(buf);
@@ -113,7 +132,7 @@ public class DataChannel implements IOChannel {
             buffer = readVarInt();
         } else {
             requiredNumberOfBytes = representation.getNumberOfBytes();
-            buffer = ByteBuffer.allocate(requiredNumberOfBytes);
+            buffer = getValueBuffer(requiredNumberOfBytes);
             buffer.order(order);
             readFull(buffer);
         }
@@ -289,7 +308,7 @@ public class DataChannel implements IOChannel {
      * @throws IOException during i/o error.
      */
     public boolean readBoolean() throws IOException {
-        ByteBuffer buffer = ByteBuffer.allocate(1);
+        ByteBuffer buffer = getValueBuffer(1);
         readFull(buffer);
         buffer.flip();
         return buffer.get() == 1;
@@ -344,6 +363,8 @@ public class DataChannel implements IOChannel {
      * @throws IOException during i/o error.
      */
     public void close() throws IOException {
+        BufferPool.getInstance().release(valueBuffer);
+        valueBuffer = null;
         this.channel.close();
     }
 }
@@ -93,12 +93,20 @@ public class DelimitedRecordChannel implements IOChannel {
      */
     private Format format;
 
+    /**
+     * Splits records and fields without regular expressions, this will be null if the separators are not literals.
+     */
+    private RecordTokenizer tokenizer;
+
     private static final Logger log = LoggerFactory.getLogger(DelimitedRecordChannel.class);
 
     public DelimitedRecordChannel(CharacterChannel channel, Format format) {
         this.channel = channel;
         this.format = format;
         this.persistentCharSequence = new StringBuilder();
+        //The separators used for writing are the literal forms of the separators used for reading
+        this.tokenizer = new RecordTokenizer(channel, format.getWriteRecSeparator(), format.getWriteFieldSeparator(),
+                true, format.isQuoted(), format.shouldIgnoreBlanks());
     }
 
     public DelimitedRecordChannel(CharacterChannel channel, String recordSeparator, String fieldSeparator) {
@@ -106,6 +114,9 @@ public class DelimitedRecordChannel implements IOChannel {
         this.fieldSeparator = fieldSeparator;
         this.channel = channel;
         this.persistentCharSequence = new StringBuilder();
+        if (RecordTokenizer.isLiteral(recordSeparator) && RecordTokenizer.isLiteral(fieldSeparator)) {
+            this.tokenizer = new RecordTokenizer(channel, recordSeparator, fieldSeparator, false, false, false);
+        }
     }
 
     @Override
@@ -327,6 +338,30 @@ public class DelimitedRecordChannel implements IOChannel {
         }
     }
 
+    /**
+     * Reads the fields of the next record.
+     *
+     * @return the fields of the record, null if the channel does not have any records left.
+     * @throws IOException during I/O error.
+     */
+    private String[] readFields() throws IOException {
+        if (null != tokenizer) {
+            String[] fields = tokenizer.next();
+            if (tokenizer.hasReachedEnd()) {
+                remaining = false;
+                if (fields.length == 0) {
+                    return null;
+                }
+            }
+            return fields;
+        }
+        String record = readRecord();
+        if (!record.isEmpty() || remaining) {
+            return getFields(record);
+        }
+        return null;
+    }
+
     /**
      * <p>
      * Read the next readRecord.
@@ -346,9 +381,9 @@ public class DelimitedRecordChannel implements IOChannel {
             if (log.isDebugEnabled()) {
                 log.debug("Reading record " + numberOfRecordsReadThroughChannel + " from " + channel.hashCode());
             }
-            String record = readRecord();
-            if (!record.isEmpty() || remaining) {
-                fields = getFields(record);
+            String[] recordFields = readFields();
+            if (null != recordFields) {
+                fields = recordFields;
                 numberOfRecordsReadThroughChannel++;
                 if (log.isDebugEnabled()) {
                     log.debug("Record " + numberOfRecordsReadThroughChannel + " returned " + fields.length + " from " +
@@ -467,7 +502,10 @@ public class DelimitedRecordChannel implements IOChannel {
      * @throws IOException if an error occurs while reading from channel.
      */
     public boolean hasNext() throws IOException {
-        if (remaining && persistentCharSequence.length() == 0) {
+        if (remaining && null != tokenizer) {
+            //The tokenizer reads the next block from the channel if it does not have any characters left
+            remaining = tokenizer.hasRemaining();
+        } else if (remaining && persistentCharSequence.length() == 0) {
             //If this is the case we need to further verify whether there will be more bytes left to be read
             //Remaining can become false in the next iteration
             String readChars = readRecordFromChannel();
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.io.channels.base;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Splits the characters of a channel into records and fields in a single pass.
+ * </p>
+ * <p>
+ * Separators are matched as literals, so this is used in place of regular expressions whenever the separators of a
+ * {@link DelimitedRecordChannel} are plain strings. When quoting is enabled, fields are enclosed as specified in
+ * RFC4180: a field enclosed in double quotes may contain separators, and a double quote inside such a field is
+ * escaped by another double quote.
+ * </p>
+ * <p>
+ * <b>Note : </b> the field and record buffers are reused between records, hence this is not thread safe.
+ * </p>
+ */
+final class RecordTokenizer {
+
+    /**
+     * Number of characters requested from the channel at once.
+     */
+    private static final int BLOCK_SIZE = 8192;
+
+    private static final char QUOTE = '"';
+
+    private static final char CARRIAGE_RETURN = '\r';
+
+    private static final String[] NO_FIELDS = new String[0];
+
+    /**
+     * States of the field being read.
+     */
+    private static final int UNQUOTED = 0;
+    private static final int QUOTED = 1;
+    private static final int QUOTE_IN_QUOTED = 2;
+
+    private final CharacterChannel channel;
+
+    private final char[] recordSeparator;
+
+    private final char[] fieldSeparator;
+
+    /**
+     * Whether a carriage return preceding the record separator should be dropped.
+     */
+    private final boolean stripCarriageReturn;
+
+    /**
+     * Whether fields could be enclosed in double quotes.
+     */
+    private final boolean quoted;
+
+    /**
+     * Whether fields which only contain white spaces should be omitted.
+     */
+    private final boolean ignoreBlanks;
+
+    /**
+     * Characters read from the channel, which are yet to be tokenized from position to limit.
+     */
+    private char[] block = new char[BLOCK_SIZE];
+    private int position;
+    private int limit;
+
+    private final StringBuilder field = new StringBuilder();
+
+    private final List<String> fields = new ArrayList<>();
+
+    /**
+     * Whether the last record read was terminated by the end of the channel instead of a record separator.
+     */
+    private boolean reachedEnd;
+
+    RecordTokenizer(CharacterChannel channel, String recordSeparator, String fieldSeparator,
+                    boolean stripCarriageReturn, boolean quoted, boolean ignoreBlanks) {
+        this.channel = channel;
+        this.recordSeparator = recordSeparator.toCharArray();
+        this.fieldSeparator = fieldSeparator.toCharArray();
+        this.stripCarriageReturn = stripCarriageReturn;
+        this.quoted = quoted;
+        this.ignoreBlanks = ignoreBlanks;
+    }
+
+    /**
+     * Checks whether the given separator could be matched as a literal instead of a regular expression.
+     *
+     * @param separator the separator which is specified as a regular expression.
+     * @return true if the separator does not contain any characters which are special to regular expressions.
+     */
+    static boolean isLiteral(String separator) {
+        if (null == separator || separator.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < separator.length(); i++) {
+            if ("\\^$.|?*+()[]{}".indexOf(separator.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Specifies whether the last record was read until the end of the channel.
+     *
+     * @return true if there will be no records after the last record read.
+     */
+    boolean hasReachedEnd() {
+        return reachedEnd;
+    }
+
+    /**
+     * Checks whether there are characters left to be tokenized, reading the next block from the channel if required.
+     *
+     * @return true if there are characters left.
+     * @throws IOException during I/O error.
+     */
+    boolean hasRemaining() throws IOException {
+        return position < limit || fill();
+    }
+
+    /**
+     * <p>
+     * Reads the fields of the next record.
+     * </p>
+     * <p>
+     * The fields are split as {@link String#split(String)} would do, trailing empty fields are omitted unless the
+     * record is empty. An empty list is returned if the channel has no characters left.
+     * </p>
+     *
+     * @return the fields of the record.
+     * @throws IOException during I/O error.
+     */
+    String[] next() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        reachedEnd = false;
+        boolean empty = true;
+        int state = UNQUOTED;
+        //Characters up to this length of the field were enclosed in quotes, hence can't be a part of a separator
+        int enclosedLength = 0;
+        char recordTail = recordSeparator[recordSeparator.length - 1];
+        char fieldTail = fieldSeparator[fieldSeparator.length - 1];
+        while (position < limit || fill()) {
+            char character = block[position++];
+            empty = false;
+            if (state == QUOTED) {
+                if (character == QUOTE) {
+                    state = QUOTE_IN_QUOTED;
+                } else {
+                    field.append(character);
+                }
+                continue;
+            }
+            if (state == QUOTE_IN_QUOTED) {
+                if (character == QUOTE) {
+                    //Two consecutive quotes are an escaped quote
+                    field.append(QUOTE);
+                    state = QUOTED;
+                    continue;
+                }
+                state = UNQUOTED;
+                enclosedLength = field.length();
+            }
+            if (quoted && character == QUOTE && enclosedLength == 0 && isBlank(field)) {
+                //White spaces preceding an enclosed field are dropped
+                field.setLength(0);
+                state = QUOTED;
+                continue;
+            }
+            field.append(character);
+            if (character == recordTail && endsWith(recordSeparator, enclosedLength)) {
+                field.setLength(field.length() - recordSeparator.length);
+                int length = field.length();
+                if (stripCarriageReturn && length > enclosedLength && field.charAt(length - 1) == CARRIAGE_RETURN) {
+                    field.setLength(length - 1);
+                }
+                completeField();
+                return completeRecord();
+            }
+            if (character == fieldTail && endsWith(fieldSeparator, enclosedLength)) {
+                field.setLength(field.length() - fieldSeparator.length);
+                completeField();
+                enclosedLength = 0;
+            }
+        }
+        reachedEnd = true;
+        if (empty) {
+            return NO_FIELDS;
+        }
+        //An enclosed field which is not closed is terminated by the end of the channel
+        completeField();
+        return completeRecord();
+    }
+
+    /**
+     * Reads the next block of characters from the channel.
+     *
+     * @return true if characters were read, false if the channel has reached its end.
+     * @throws IOException during I/O error.
+     */
+    private boolean fill() throws IOException {
+        String characters = channel.read(BLOCK_SIZE);
+        int length = characters.length();
+        if (length == 0) {
+            return false;
+        }
+        if (length > block.length) {
+            block = new char[length];
+        }
+        characters.getChars(0, length, block, 0);
+        position = 0;
+        limit = length;
+        return true;
+    }
+
+    private boolean endsWith(char[] separator, int enclosedLength) {
+        int offset = field.length() - separator.length;
+        if (offset < enclosedLength) {
+            return false;
+        }
+        for (int i = 0; i < separator.length - 1; i++) {
+            if (field.charAt(offset + i) != separator[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isBlank(CharSequence content) {
+        for (int i = 0; i < content.length(); i++) {
+            //Same as the characters omitted by String#trim()
+            if (content.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void completeField() {
+        if (!ignoreBlanks || !isBlank(field)) {
+            fields.add(field.toString());
+        }
+        field.setLength(0);
+    }
+
+    private String[] completeRecord() {
+        int fieldCount = fields.size();
+        if (!ignoreBlanks && fieldCount > 1) {
+            while (fieldCount > 0 && fields.get(fieldCount - 1).isEmpty()) {
+                fieldCount--;
+            }
+        }
+        return fields.subList(0, fieldCount).toArray(NO_FIELDS);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.stdlib.io.channels.base.readers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Reads bytes of a file through a read only memory mapping of the file.
+ * </p>
+ * <p>
+ * The file is mapped in regions which are mapped when they are first read, so that files larger than a single
+ * mapping could be read. Bytes are copied from the mapped pages straight into the buffer provided, without an
+ * intermediate read buffer.
+ * </p>
+ * <p>
+ * Content appended to the file after it was opened is read, since the size of the file is checked again when a
+ * read reaches the size known so far. Truncating the file while it is mapped is not supported, reading the pages
+ * which are no longer backed by the file fails.
+ * </p>
+ * <p>
+ * Java provides no means of unmapping a region other than garbage collecting it. Closing the reader drops the
+ * regions, so that they are unmapped by the next garbage collection instead of being held as long as the reader.
+ * </p>
+ */
+public class MappedFileReader implements Reader {
+
+    /**
+     * Size of a mapped region of the file.
+     */
+    private static final long REGION_SIZE = 1 << 30;
+
+    private final FileChannel channel;
+
+    /**
+     * Size of the file when it was last checked.
+     */
+    private long size;
+
+    private MappedByteBuffer[] regions;
+
+    /**
+     * Position which the next sequential read continues from.
+     */
+    private long position;
+
+    public MappedFileReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        this.regions = new MappedByteBuffer[regionCount(size)];
+    }
+
+    /**
+     * Reads bytes from the position the previous read stopped.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(ByteBuffer content, ByteChannel channel) throws IOException {
+        int numberOfBytesRead = read(content, position);
+        if (numberOfBytesRead > 0) {
+            position += numberOfBytesRead;
+        }
+        return numberOfBytesRead;
+    }
+
+    /**
+     * Reads bytes from a given position of the file.
+     *
+     * @param content  the buffer which will hold the read content.
+     * @param position the position of the file.
+     * @return the number of bytes read, -1 if the position is at or beyond the end of the file.
+     * @throws IOException errors occur while mapping the file.
+     */
+    public int read(ByteBuffer content, long position) throws IOException {
+        if (null == regions) {
+            throw new ClosedChannelException();
+        }
+        if (position >= size) {
+            updateSize();
+            if (position >= size) {
+                return -1;
+            }
+        }
+        int numberOfBytesRead = 0;
+        while (content.hasRemaining() && position < size) {
+            ByteBuffer region = region(position, content.remaining());
+            numberOfBytesRead += region.remaining();
+            position += region.remaining();
+            content.put(region);
+        }
+        return numberOfBytesRead;
+    }
+
+    /**
+     * Gets a view of the region which contains the given position, which is limited to the given length.
+     *
+     * @param position the position of the file.
+     * @param length   maximum number of bytes required.
+     * @return the bytes of the region from the position.
+     * @throws IOException errors occur while mapping the file.
+     */
+    private ByteBuffer region(long position, int length) throws IOException {
+        int index = (int) (position / REGION_SIZE);
+        int offset = (int) (position - index * REGION_SIZE);
+        MappedByteBuffer region = regions[index];
+        //The last region is mapped again if the file has grown beyond it
+        if (null == region || offset >= region.capacity()) {
+            long regionStart = index * REGION_SIZE;
+            region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, Math.min(REGION_SIZE,
+                    size - regionStart));
+            regions[index] = region;
+        }
+        //Views are used since sequential and positional reads could share the region
+        ByteBuffer view = region.asReadOnlyBuffer();
+        view.position(offset);
+        view.limit((int) Math.min(view.capacity(), (long) offset + length));
+        return view;
+    }
+
+    /**
+     * Checks the size of the file again, so that the content appended to the file since could be read.
+     *
+     * @throws IOException errors occur while getting the size of the file.
+     */
+    private void updateSize() throws IOException {
+        long currentSize = channel.size();
+        if (currentSize > size) {
+            size = currentSize;
+            int count = regionCount(size);
+            if (count > regions.length) {
+                regions = Arrays.copyOf(regions, count);
+            }
+        }
+    }
+
+    private static int regionCount(long size) {
+        return (int) ((size + REGION_SIZE - 1) / REGION_SIZE);
+    }
+
+    /**
+     * Drops the mapped regions, the file channel is closed separately.
+     */
+    public void close() {
+        regions = null;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.io.csv;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.values.BFunctionPointer;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BTable;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.TableUtils;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+/**
+ * Represents a table which reads the records of a CSV channel as it is iterated, hence could be iterated only once.
+ * The channel is closed once all the records are read, or when the table is closed.
+ *
+ * @since 0.980.0
+ */
+public class CsvCursorTable extends BTable {
+
+    public CsvCursorTable(CsvRecordIterator recordIterator) {
+        super();
+        this.iterator = recordIterator;
+        this.constraintType = recordIterator.getStructType();
+    }
+
+    @Override
+    public void reset(boolean isInTransaction) {
+        iterator.reset(isInTransaction);
+        resetIterationHelperAttributes();
+    }
+
+    @Override
+    public String stringValue() {
+        return "";
+    }
+
+    @Override
+    public void addData(BMap<String, BValue> data, Context context) {
+        throw new BallerinaException("data cannot be added to a table streamed from a CSV channel");
+    }
+
+    @Override
+    public void performRemoveOperation(Context context, BFunctionPointer lambdaFunction) {
+        context.setReturnValues(TableUtils.createTableOperationError(context,
+                new BallerinaException("data cannot be deleted from a table streamed from a CSV channel")));
+    }
+
+    @Override
+    protected boolean isIteratorGenerationConditionMet() {
+        return false;
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.io.csv;
+
+import org.ballerinalang.model.ColumnDefinition;
+import org.ballerinalang.model.DataIterator;
+import org.ballerinalang.model.types.BField;
+import org.ballerinalang.model.types.BStructureType;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.stdlib.io.channels.base.DelimitedRecordChannel;
+import org.ballerinalang.stdlib.io.utils.BallerinaIOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * <p>
+ * Iterates the records of a CSV channel as records of a given type, reading the records from the channel on demand.
+ * </p>
+ * <p>
+ * Records are read by the thread which iterates. If parallelism is greater than one, records are read in batches
+ * and up to the given number of batches are converted in parallel by the common fork join pool, in which case at
+ * most that many batches are held in memory. The order of the records is preserved.
+ * </p>
+ *
+ * @since 0.980.0
+ */
+public class CsvRecordIterator implements DataIterator {
+
+    private static final Logger log = LoggerFactory.getLogger(CsvRecordIterator.class);
+
+    /**
+     * Number of records which are converted together when converting in parallel.
+     */
+    private static final int BATCH_SIZE = 512;
+
+    private final DelimitedRecordChannel channel;
+
+    private final RecordMapper mapper;
+
+    private final int parallelism;
+
+    private final List<ColumnDefinition> columnDefs;
+
+    /**
+     * Batches which are being converted, in the order they were read.
+     */
+    private final Deque<CompletableFuture<List<BMap<String, BValue>>>> pendingBatches = new ArrayDeque<>();
+
+    private Iterator<BMap<String, BValue>> currentBatch;
+
+    private BMap<String, BValue> current;
+
+    private boolean closed;
+
+    public CsvRecordIterator(DelimitedRecordChannel channel, RecordMapper mapper, int parallelism) {
+        this.channel = channel;
+        this.mapper = mapper;
+        this.parallelism = parallelism;
+        this.columnDefs = createColumnDefinitions(mapper.getStructType());
+    }
+
+    @Override
+    public boolean next() {
+        if (closed) {
+            return false;
+        }
+        try {
+            current = parallelism > 1 ? nextFromBatch() : nextRecord();
+        } catch (IOException e) {
+            close(false);
+            throw new BallerinaIOException("Error occurred while reading CSV records: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            close(false);
+            throw e;
+        }
+        if (null == current) {
+            close(false);
+            return false;
+        }
+        return true;
+    }
+
+    private BMap<String, BValue> nextRecord() throws IOException {
+        while (channel.hasNext()) {
+            BMap<String, BValue> struct = mapper.map(channel.read());
+            if (null != struct) {
+                return struct;
+            }
+        }
+        return null;
+    }
+
+    private BMap<String, BValue> nextFromBatch() throws IOException {
+        while (null == currentBatch || !currentBatch.hasNext()) {
+            while (pendingBatches.size() < parallelism) {
+                List<String[]> records = readBatch();
+                if (records.isEmpty()) {
+                    break;
+                }
+                pendingBatches.add(CompletableFuture.supplyAsync(() -> mapper.mapAll(records)));
+            }
+            CompletableFuture<List<BMap<String, BValue>>> batch = pendingBatches.poll();
+            if (null == batch) {
+                return null;
+            }
+            currentBatch = await(batch).iterator();
+        }
+        return currentBatch.next();
+    }
+
+    private List<String[]> readBatch() throws IOException {
+        List<String[]> records = new ArrayList<>(BATCH_SIZE);
+        while (records.size() < BATCH_SIZE && channel.hasNext()) {
+            records.add(channel.read());
+        }
+        return records;
+    }
+
+    private static List<BMap<String, BValue>> await(CompletableFuture<List<BMap<String, BValue>>> batch) {
+        try {
+            return batch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BallerinaIOException("Interrupted while converting CSV records", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new BallerinaIOException("Error occurred while converting CSV records: " + cause.getMessage(),
+                    cause);
+        }
+    }
+
+    @Override
+    public void close(boolean isInTransaction) {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        current = null;
+        currentBatch = null;
+        for (CompletableFuture<List<BMap<String, BValue>>> batch : pendingBatches) {
+            batch.cancel(false);
+        }
+        pendingBatches.clear();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Error occurred while closing the CSV channel", e);
+        }
+    }
+
+    /**
+     * The records are read from the channel only once, hence resetting would close the iterator.
+     *
+     * @param isInTransaction whether the iterator is used within a transaction.
+     */
+    @Override
+    public void reset(boolean isInTransaction) {
+        close(isInTransaction);
+    }
+
+    @Override
+    public String getString(int columnIndex) {
+        return getColumn(columnIndex).stringValue();
+    }
+
+    @Override
+    public long getInt(int columnIndex) {
+        return ((BInteger) getColumn(columnIndex)).intValue();
+    }
+
+    @Override
+    public double getFloat(int columnIndex) {
+        return ((BFloat) getColumn(columnIndex)).floatValue();
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) {
+        return ((BBoolean) getColumn(columnIndex)).booleanValue();
+    }
+
+    @Override
+    public String getBlob(int columnIndex) {
+        throw new BallerinaIOException("blob columns are not supported in CSV records");
+    }
+
+    @Override
+    public Object[] getStruct(int columnIndex) {
+        throw new BallerinaIOException("record columns are not supported in CSV records");
+    }
+
+    @Override
+    public Object[] getArray(int columnIndex) {
+        throw new BallerinaIOException("array columns are not supported in CSV records");
+    }
+
+    @Override
+    public BMap<String, BValue> generateNext() {
+        return current;
+    }
+
+    @Override
+    public List<ColumnDefinition> getColumnDefinitions() {
+        return columnDefs;
+    }
+
+    @Override
+    public BStructureType getStructType() {
+        return mapper.getStructType();
+    }
+
+    /**
+     * Gets the value of a column of the current record.
+     *
+     * @param columnIndex the index of the column, starting from 1.
+     * @return the value of the column.
+     */
+    private BValue getColumn(int columnIndex) {
+        return current.get(columnDefs.get(columnIndex - 1).getName());
+    }
+
+    private static List<ColumnDefinition> createColumnDefinitions(BStructureType structType) {
+        List<ColumnDefinition> columnDefs = new ArrayList<>();
+        for (BField field : structType.getFields()) {
+            TypeKind type;
+            switch (field.getFieldType().getTag()) {
+                case TypeTags.INT_TAG:
+                    type = TypeKind.INT;
+                    break;
+                case TypeTags.FLOAT_TAG:
+                    type = TypeKind.FLOAT;
+                    break;
+                case TypeTags.BOOLEAN_TAG:
+                    type = TypeKind.BOOLEAN;
+                    break;
+                default:
+                    type = TypeKind.STRING;
+            }
+            columnDefs.add(new ColumnDefinition(field.fieldName, type));
+        }
+        return columnDefs;
+    }
+}
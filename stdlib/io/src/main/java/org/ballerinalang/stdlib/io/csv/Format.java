@@ -25,15 +25,15 @@ public enum Format {
     /**
      * The format would default, however empty lines will be allowed.
      */
-    DEFAULT(",", "\\r?\\n", ",", "\n", false, false),
+    DEFAULT(",", "\\r?\\n", ",", "\n", false, false, false),
     /**
      * CSV should conform with RFC4180 specification.
      */
-    CSV("\"|,(?=([^\"]*\"[^\"]*\")*[^\"]*$)", "\\r?\\n", ",", "\n", true, true),
+    CSV("\"|,(?=([^\"]*\"[^\"]*\")*[^\"]*$)", "\\r?\\n", ",", "\n", true, true, true),
     /**
      * Tab delimited records.
      */
-    TDF("\\t", "\\r?\\n", "\t", "\n", true, false);
+    TDF("\\t", "\\r?\\n", "\t", "\n", true, false, false);
 
     /**
      * Defines the record separator for the format.
@@ -59,14 +59,20 @@ public enum Format {
      * Specifies whether to ignore blanks.
      */
     private boolean ignoreBlanks;
+    /**
+     * Specifies whether fields could be enclosed in double quotes.
+     */
+    private boolean quoted;
 
-    Format(String rfs, String rrs, String wfs, String wrs, boolean ignoreSpaces, boolean ignoreBlank) {
+    Format(String rfs, String rrs, String wfs, String wrs, boolean ignoreSpaces, boolean ignoreBlank,
+           boolean quoted) {
         this.readFieldSeparator = rfs;
         this.readRecSeparator = rrs;
         this.writeFieldSeparator = wfs;
         this.writeRecSeparator = wrs;
         this.ignoreSpaces = ignoreSpaces;
         this.ignoreBlanks = ignoreBlank;
+        this.quoted = quoted;
     }
 
     public String getReadRecSeparator() {
@@ -92,4 +98,8 @@ public enum Format {
     public boolean shouldIgnoreBlanks() {
         return ignoreBlanks;
     }
+
+    public boolean isQuoted() {
+        return quoted;
+    }
 }
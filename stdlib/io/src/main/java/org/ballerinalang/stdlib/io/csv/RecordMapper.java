@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.io.csv;
+
+import org.ballerinalang.model.types.BField;
+import org.ballerinalang.model.types.BStructureType;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.stdlib.io.utils.BallerinaIOException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts the fields of CSV records to records of a given type.
+ *
+ * @since 0.980.0
+ */
+public class RecordMapper {
+
+    private final BStructureType structType;
+
+    private final String[] fieldNames;
+
+    private final int[] fieldTypes;
+
+    public RecordMapper(BStructureType structType) {
+        this.structType = structType;
+        BField[] structFields = structType.getFields();
+        this.fieldNames = new String[structFields.length];
+        this.fieldTypes = new int[structFields.length];
+        for (int i = 0; i < structFields.length; i++) {
+            fieldNames[i] = structFields[i].fieldName;
+            fieldTypes[i] = structFields[i].getFieldType().getTag();
+            if (!isSupported(fieldTypes[i])) {
+                throw new BallerinaIOException("Type casting support only for int, float, boolean and string. "
+                        + "Invalid type for the struct field: " + fieldNames[i]);
+            }
+        }
+    }
+
+    public BStructureType getStructType() {
+        return structType;
+    }
+
+    /**
+     * Converts the fields of a record.
+     *
+     * @param fields the fields of the CSV record.
+     * @return the record of the given type, null if there are no fields.
+     */
+    public BMap<String, BValue> map(String[] fields) {
+        if (fields.length == 0) {
+            return null;
+        }
+        if (fieldNames.length != fields.length) {
+            String msg = "Record row fields count and the give struct's fields count are mismatch";
+            throw new BallerinaIOException(msg);
+        }
+        BMap<String, BValue> struct = new BMap<>(structType);
+        for (int i = 0; i < fieldNames.length; i++) {
+            struct.put(fieldNames[i], toValue(fields[i], fieldTypes[i]));
+        }
+        return struct;
+    }
+
+    /**
+     * Converts the fields of a list of records, omitting records without fields.
+     *
+     * @param records the list of CSV records.
+     * @return the list of records of the given type.
+     */
+    public List<BMap<String, BValue>> mapAll(List<String[]> records) {
+        List<BMap<String, BValue>> structs = new ArrayList<>(records.size());
+        for (String[] fields : records) {
+            BMap<String, BValue> struct = map(fields);
+            if (null != struct) {
+                structs.add(struct);
+            }
+        }
+        return structs;
+    }
+
+    private static boolean isSupported(int type) {
+        return type == TypeTags.INT_TAG || type == TypeTags.FLOAT_TAG || type == TypeTags.STRING_TAG ||
+                type == TypeTags.BOOLEAN_TAG;
+    }
+
+    private static BValue toValue(String value, int type) {
+        try {
+            switch (type) {
+                case TypeTags.INT_TAG:
+                    return new BInteger(Long.parseLong(value));
+                case TypeTags.FLOAT_TAG:
+                    return new BFloat(Double.parseDouble(value));
+                case TypeTags.BOOLEAN_TAG:
+                    return new BBoolean(Boolean.parseBoolean(value));
+                default:
+                    return new BString(value);
+            }
+        } catch (NumberFormatException e) {
+            throw new BallerinaIOException("Invalid value for the struct field: " + value, e);
+        }
+    }
+}
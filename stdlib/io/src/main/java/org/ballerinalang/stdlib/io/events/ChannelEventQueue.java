@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.io.events;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>
+ * Serial queue of the events which are published for a channel.
+ * </p>
+ * <p>
+ * The events are executed one at a time in the order they were published. After each event the queue re-submits
+ * itself to the executor, so that a busy channel does not hold a worker while events of other channels are waiting.
+ * Once the queue is drained it's removed from the queues of the manager and retired, an event published afterwards
+ * will create a new queue.
+ * </p>
+ */
+class ChannelEventQueue implements Runnable {
+
+    /**
+     * Result of offering an event to the queue.
+     */
+    enum OfferResult {
+        /**
+         * The event was queued behind an event which is being executed.
+         */
+        QUEUED,
+        /**
+         * The event was queued and the queue should be submitted to the executor.
+         */
+        SCHEDULE,
+        /**
+         * The queue has been retired, the event should be offered to a new queue.
+         */
+        RETIRED
+    }
+
+    private final Integer key;
+
+    private final ConcurrentMap<Integer, ChannelEventQueue> queues;
+
+    private final Executor executor;
+
+    private final Queue<Runnable> events = new ArrayDeque<>();
+
+    /**
+     * Whether the queue has been submitted to the executor and is yet to drain.
+     */
+    private boolean scheduled;
+
+    private boolean retired;
+
+    ChannelEventQueue(Integer key, ConcurrentMap<Integer, ChannelEventQueue> queues, Executor executor) {
+        this.key = key;
+        this.queues = queues;
+        this.executor = executor;
+    }
+
+    /**
+     * Adds an event to the end of the queue.
+     *
+     * @param event the event which should be executed.
+     * @return whether the event was queued and whether the queue should be scheduled.
+     */
+    synchronized OfferResult offer(Runnable event) {
+        if (retired) {
+            return OfferResult.RETIRED;
+        }
+        events.add(event);
+        if (scheduled) {
+            return OfferResult.QUEUED;
+        }
+        scheduled = true;
+        return OfferResult.SCHEDULE;
+    }
+
+    /**
+     * Executes the event at the head of the queue.
+     */
+    @Override
+    public void run() {
+        Runnable event;
+        synchronized (this) {
+            event = events.poll();
+        }
+        try {
+            if (null != event) {
+                event.run();
+            }
+        } finally {
+            if (hasPendingEvents()) {
+                executor.execute(this);
+            }
+        }
+    }
+
+    /**
+     * Checks whether there are events left in the queue, the queue is retired if there're none.
+     *
+     * @return true if there are events left to be executed.
+     */
+    private synchronized boolean hasPendingEvents() {
+        if (!events.isEmpty()) {
+            return true;
+        }
+        scheduled = false;
+        retired = true;
+        queues.remove(key, this);
+        return false;
+    }
+}
@@ -18,47 +18,90 @@
 
 package org.ballerinalang.stdlib.io.events;
 
-import org.ballerinalang.runtime.threadpool.BLangThreadFactory;
+import org.ballerinalang.stdlib.io.utils.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * <p>
  * Manages the I/O Connections.
+ * </p>
+ * <p>
+ * Events are executed by a work stealing pool of workers, the number of workers is proportional to the number of
+ * processors unless configured through b7a.io.event.workers. Events which are published for the same channel are
+ * executed one at a time in the order they were published, whether they read, write or close the channel. Hence a
+ * channel is closed only once the reads and writes published before are done.
+ * </p>
+ * <p>
+ * The number of events which are pending is bounded by b7a.io.event.queue.size, once the bound is reached the
+ * thread which publishes an event is blocked until an event completes. Events published by the workers themselves
+ * are not blocked, since that could leave no worker to complete the pending events. Neither are events published by
+ * threads which are registered as non blocking publishers, such as the selector loops of sockets, since all the
+ * sockets of a loop would stall while it's blocked.
+ * </p>
  */
 public class EventManager {
 
+    private static final Logger log = LoggerFactory.getLogger(EventManager.class);
+
+    private static final String WORKERS_PROP = "b7a.io.event.workers";
+
+    private static final String QUEUE_SIZE_PROP = "b7a.io.event.queue.size";
+
+    private static final int MAX_WORKERS = 1000;
+
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+
     private static EventManager instance = new EventManager();
 
     /**
      * Performs I/O related operations.
      */
-    private final ExecutorService workers;
+    private final ForkJoinPool workers;
+
+    /**
+     * Serial queues of the channels which have events pending, keyed by the id of the channel.
+     */
+    private final ConcurrentMap<Integer, ChannelEventQueue> channelQueues = new ConcurrentHashMap<>();
+
+    /**
+     * Permits to publish events, one is held by each pending event published by a thread other than a worker.
+     */
+    private final Semaphore permits;
+
+    private final int queueSize;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    private final AtomicInteger peakQueueDepth = new AtomicInteger();
+
+    /**
+     * Whether the current thread should not be blocked when there're no permits available.
+     */
+    private final ThreadLocal<Boolean> nonBlockingPublisher = ThreadLocal.withInitial(() -> Boolean.FALSE);
 
     public static EventManager getInstance() {
         return instance;
     }
 
     private EventManager() {
-        final int numberOfCPU = Runtime.getRuntime().availableProcessors();
-        final float scalingFactor = 0.25f;
-        final int threadLimit = 0;
-        final int minimumNumberOfThreads = 1;
-        final int keepAliveTime = 1;
-        int numberOfThreads = (int) (numberOfCPU * scalingFactor);
-        numberOfThreads = numberOfThreads > threadLimit ? numberOfThreads : minimumNumberOfThreads;
-        ThreadFactory factory = new BLangThreadFactory("BLangIO");
-        workers = new ThreadPoolExecutor(
-                numberOfThreads,
-                numberOfThreads,
-                keepAliveTime,
-                TimeUnit.MINUTES,
-                new LinkedBlockingDeque<>(),
-                factory);
+        int numberOfWorkers = IOUtils.getConfiguredValue(WORKERS_PROP, Runtime.getRuntime().availableProcessors(),
+                MAX_WORKERS);
+        queueSize = IOUtils.getConfiguredValue(QUEUE_SIZE_PROP, DEFAULT_QUEUE_SIZE, Integer.MAX_VALUE);
+        permits = new Semaphore(queueSize);
+        workers = new ForkJoinPool(numberOfWorkers, new WorkerFactory("BLangIO"), null, true);
+        if (log.isDebugEnabled()) {
+            log.debug("I/O events will be executed by " + numberOfWorkers + " workers, with at most " + queueSize +
+                    " events pending");
+        }
     }
 
     /**
@@ -69,12 +112,180 @@ public class EventManager {
     }
 
     /**
+     * <p>
      * Publishes an event to the event queue.
+     * </p>
+     * <p>
+     * This will block if the maximum number of events are pending, until one of them completes, unless the event is
+     * published by a worker or a non blocking publisher.
+     * </p>
      *
      * @param event incoming event which will be processed by the I/O threads.
      * @return future which will be notified on the response.
      */
     public CompletableFuture<EventResult> publish(Event event) {
-        return CompletableFuture.supplyAsync(event, workers);
+        CompletableFuture<EventResult> future = new CompletableFuture<>();
+        boolean permitted;
+        try {
+            permitted = acquirePermit();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+            return future;
+        }
+        updateQueueDepth(queueDepth.incrementAndGet());
+        EventTask task = new EventTask(event, future, permitted);
+        Integer key = event.getChannelId();
+        ChannelEventQueue.OfferResult result;
+        do {
+            ChannelEventQueue queue = channelQueues.computeIfAbsent(key,
+                    k -> new ChannelEventQueue(k, channelQueues, workers));
+            result = queue.offer(task);
+            if (ChannelEventQueue.OfferResult.SCHEDULE == result) {
+                workers.execute(queue);
+            }
+        } while (ChannelEventQueue.OfferResult.RETIRED == result);
+        return future;
+    }
+
+    /**
+     * Registers the current thread as a non blocking publisher, which publishes events without waiting for a permit
+     * when the maximum number of events are pending.
+     */
+    public void registerNonBlockingPublisher() {
+        nonBlockingPublisher.set(Boolean.TRUE);
+    }
+
+    /**
+     * Acquires a permit to publish an event, workers and non blocking publishers are not blocked if there're no
+     * permits available.
+     *
+     * @return true if a permit was acquired, which should be released once the event is executed.
+     * @throws InterruptedException if the thread is interrupted while waiting for a permit.
+     */
+    private boolean acquirePermit() throws InterruptedException {
+        Thread thread = Thread.currentThread();
+        if ((thread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) thread).getPool() == workers) ||
+                nonBlockingPublisher.get()) {
+            return permits.tryAcquire();
+        }
+        permits.acquire();
+        return true;
+    }
+
+    private void updateQueueDepth(int depth) {
+        int peak;
+        do {
+            peak = peakQueueDepth.get();
+        } while (depth > peak && !peakQueueDepth.compareAndSet(peak, depth));
+    }
+
+    /**
+     * Provides the number of events which are published and are yet to complete.
+     *
+     * @return the number of pending events.
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Provides the maximum number of events which were pending at once.
+     *
+     * @return the peak number of pending events.
+     */
+    public int getPeakQueueDepth() {
+        return peakQueueDepth.get();
+    }
+
+    /**
+     * Provides the maximum number of events which could be pending before publishers are blocked.
+     *
+     * @return the size of the event queue.
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Provides the number of channels which have events pending.
+     *
+     * @return the number of serial queues of the channels.
+     */
+    public int getChannelQueueCount() {
+        return channelQueues.size();
+    }
+
+    /**
+     * Provides the number of workers which execute the events.
+     *
+     * @return the number of workers.
+     */
+    public int getWorkerCount() {
+        return workers.getParallelism();
+    }
+
+    /**
+     * Executes an event and completes its future.
+     */
+    private class EventTask implements Runnable {
+
+        private final Event event;
+
+        private final CompletableFuture<EventResult> future;
+
+        /**
+         * Whether the task holds a permit which should be released once the event is executed.
+         */
+        private final boolean permitted;
+
+        private EventTask(Event event, CompletableFuture<EventResult> future, boolean permitted) {
+            this.event = event;
+            this.future = future;
+            this.permitted = permitted;
+        }
+
+        @Override
+        public void run() {
+            EventResult result = null;
+            Throwable error = null;
+            try {
+                result = event.get();
+            } catch (Throwable e) {
+                error = e;
+            } finally {
+                //Capacity is released before completing, since the callbacks of the future could publish events
+                queueDepth.decrementAndGet();
+                if (permitted) {
+                    permits.release();
+                }
+            }
+            if (null == error) {
+                future.complete(result);
+            } else {
+                future.completeExceptionally(error);
+            }
+        }
+    }
+
+    /**
+     * Creates the workers of the pool, which are named with the given prefix.
+     */
+    private static class WorkerFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        private final String namePrefix;
+
+        private WorkerFactory(String namePrefix) {
+            this.namePrefix = namePrefix + "-";
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(namePrefix + threadNumber.getAndIncrement());
+            return thread;
+        }
     }
 }
@@ -72,7 +72,7 @@ public class SelectableEventRegister extends Register {
         Channel channel = exec.getChannel();
         SocketChannel socketChannel = (SocketChannel) channel.getByteChannel();
         try {
-            final SelectionKey selectionKey = socketChannel.keyFor(SelectorManager.getInstance());
+            final SelectionKey selectionKey = SelectorManager.keyFor(socketChannel);
             if (selectionKey != null) {
                 exec.execute();
                 selectionKey.cancel();
@@ -52,13 +52,22 @@ public class ReadBytesEvent implements Event {
      * Holds context to the event.
      */
     private EventContext context;
+    /**
+     * Position of the channel the bytes should be read from, this will be negative for sequential reads.
+     */
+    private long position;
 
     private static final Logger log = LoggerFactory.getLogger(ReadBytesEvent.class);
 
     public ReadBytesEvent(Channel channel, byte[] content, EventContext context) {
+        this(channel, content, -1, context);
+    }
+
+    public ReadBytesEvent(Channel channel, byte[] content, long position, EventContext context) {
         this.content = ByteBuffer.wrap(content);
         this.context = context;
         this.channel = channel;
+        this.position = position;
     }
 
     /**
@@ -89,7 +98,9 @@ public class ReadBytesEvent implements Event {
     public EventResult get() {
         NumericResult result;
         try {
-            if (channel.hasReachedEnd()) {
+            if (position >= 0) {
+                result = readFromPosition();
+            } else if (channel.hasReachedEnd()) {
                 if (log.isDebugEnabled()) {
                     log.debug("Channel " + channel.hashCode() + " reached it's end");
                 }
@@ -113,6 +124,23 @@ public class ReadBytesEvent implements Event {
         return result;
     }
 
+    /**
+     * Reads from the position of the channel, the end of the channel is notified as an error similar to sequential
+     * reads.
+     *
+     * @return the number of bytes read.
+     * @throws IOException errors occur while reading from the channel.
+     */
+    private NumericResult readFromPosition() throws IOException {
+        int numberOfBytesRead = channel.read(content, position);
+        if (numberOfBytesRead < 0) {
+            context.setError(new Throwable(IOConstants.IO_EOF));
+            return new NumericResult(context);
+        }
+        context.getProperties().put(CONTENT_PROPERTY, getContentData());
+        return new NumericResult(numberOfBytesRead, context);
+    }
+
     @Override
     public int getChannelId() {
         return channel.id();
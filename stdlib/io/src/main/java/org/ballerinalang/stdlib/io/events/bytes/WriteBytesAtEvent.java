@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.io.events.bytes;
+
+import org.ballerinalang.stdlib.io.channels.base.Channel;
+import org.ballerinalang.stdlib.io.events.Event;
+import org.ballerinalang.stdlib.io.events.EventContext;
+import org.ballerinalang.stdlib.io.events.EventResult;
+import org.ballerinalang.stdlib.io.events.EventType;
+import org.ballerinalang.stdlib.io.events.result.NumericResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Represents an event which will write bytes to a given position of a channel, without changing the position
+ * sequential writes continue from.
+ */
+public class WriteBytesAtEvent implements Event {
+    /**
+     * Channel the bytes will be written.
+     */
+    private Channel byteChannel;
+    /**
+     * The reference to the content which should be written.
+     */
+    private ByteBuffer writeBuffer;
+    /**
+     * Holds the context to the event.
+     */
+    private EventContext context;
+    /**
+     * Position of the channel the bytes should be written to.
+     */
+    private long position;
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBytesAtEvent.class);
+
+    public WriteBytesAtEvent(Channel byteChannel, byte[] content, long position, EventContext context) {
+        this.byteChannel = byteChannel;
+        this.writeBuffer = ByteBuffer.wrap(content);
+        this.position = position;
+        this.context = context;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EventResult get() {
+        NumericResult result;
+        try {
+            int numberOfBytesWritten = byteChannel.write(writeBuffer, position);
+            result = new NumericResult(numberOfBytesWritten, context);
+        } catch (IOException e) {
+            log.error("Error occurred while writing bytes", e);
+            context.setError(e);
+            result = new NumericResult(context);
+        } catch (Throwable e) {
+            log.error("Unidentified error occurred while writing bytes", e);
+            context.setError(e);
+            result = new NumericResult(context);
+        }
+        return result;
+    }
+
+    @Override
+    public int getChannelId() {
+        return byteChannel.id();
+    }
+
+    @Override
+    public boolean isSelectable() {
+        return byteChannel.isSelectable();
+    }
+
+    @Override
+    public EventType getType() {
+        return EventType.WRITE;
+    }
+
+    @Override
+    public Channel getChannel() {
+        return byteChannel;
+    }
+}
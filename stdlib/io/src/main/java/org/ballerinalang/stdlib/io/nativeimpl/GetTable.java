@@ -21,16 +21,10 @@ package org.ballerinalang.stdlib.io.nativeimpl;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.bre.bvm.CallableUnitCallback;
 import org.ballerinalang.model.NativeCallableUnit;
-import org.ballerinalang.model.types.BField;
 import org.ballerinalang.model.types.BStructureType;
 import org.ballerinalang.model.types.BTableType;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.types.TypeTags;
-import org.ballerinalang.model.values.BBoolean;
-import org.ballerinalang.model.values.BFloat;
-import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BMap;
-import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BTable;
 import org.ballerinalang.model.values.BTypeDescValue;
 import org.ballerinalang.model.values.BValue;
@@ -39,6 +33,7 @@ import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.Receiver;
 import org.ballerinalang.natives.annotations.ReturnType;
 import org.ballerinalang.stdlib.io.channels.base.DelimitedRecordChannel;
+import org.ballerinalang.stdlib.io.csv.RecordMapper;
 import org.ballerinalang.stdlib.io.events.EventContext;
 import org.ballerinalang.stdlib.io.events.EventRegister;
 import org.ballerinalang.stdlib.io.events.EventResult;
@@ -127,10 +122,10 @@ public class GetTable implements NativeCallableUnit {
     private static BTable getbTable(Context context, List records) throws BallerinaIOException {
         BTypeDescValue type = (BTypeDescValue) context.getRefArgument(1);
         BTable table = new BTable(new BTableType(type.value()), null, null, null);
-        BStructureType structType = (BStructureType) type.value();
+        RecordMapper mapper = new RecordMapper((BStructureType) type.value());
         for (Object obj : records) {
             String[] fields = (String[]) obj;
-            final BMap<String, BValue> struct = getStruct(fields, structType);
+            final BMap<String, BValue> struct = mapper.map(fields);
             if (struct != null) {
                 table.addData(struct);
             }
@@ -138,41 +133,4 @@ public class GetTable implements NativeCallableUnit {
         return table;
     }
 
-    private static BMap<String, BValue> getStruct(String[] fields, final BStructureType structType) {
-        BField[] internalStructFields = structType.getFields();
-        int fieldLength = internalStructFields.length;
-        BMap<String, BValue> struct = null;
-        if (fields.length > 0) {
-            if (internalStructFields.length != fields.length) {
-                String msg = "Record row fields count and the give struct's fields count are mismatch";
-                throw new BallerinaIOException(msg);
-            }
-            struct = new BMap<>(structType);
-            for (int i = 0; i < fieldLength; i++) {
-                String value = fields[i];
-                final BField internalStructField = internalStructFields[i];
-                final int type = internalStructField.getFieldType().getTag();
-                String fieldName = internalStructField.fieldName;
-                switch (type) {
-                    case TypeTags.INT_TAG:
-                        struct.put(fieldName, new BInteger(Long.parseLong(value)));
-                        break;
-                    case TypeTags.FLOAT_TAG:
-                        struct.put(fieldName, new BFloat(Double.parseDouble(value)));
-                        break;
-                    case TypeTags.STRING_TAG:
-                        struct.put(fieldName, new BString(value));
-                        break;
-                    case TypeTags.BOOLEAN_TAG:
-                        struct.put(fieldName, new BBoolean((Boolean.parseBoolean(value))));
-                        break;
-                    default:
-                        throw new BallerinaIOException("Type casting support only for int, float, boolean and string. "
-                                + "Invalid value for the struct field: " + value);
-                }
-            }
-        }
-        return struct;
-    }
-
 }
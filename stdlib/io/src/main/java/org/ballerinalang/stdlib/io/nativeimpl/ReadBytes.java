@@ -80,7 +80,7 @@ public class ReadBytes implements NativeCallableUnit {
      * @param result context of the callback.
      * @return Once the callback is processed we further return back the result.
      */
-    private static EventResult readResponse(EventResult<Integer, EventContext> result) {
+    static EventResult readResponse(EventResult<Integer, EventContext> result) {
         BRefValueArray contentTuple = new BRefValueArray(readTupleType);
         EventContext eventContext = result.getContext();
         Context context = eventContext.getContext();
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2018 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.io.nativeimpl;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.model.types.BStructureType;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BTypeDescValue;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.Receiver;
+import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.stdlib.io.channels.base.DelimitedRecordChannel;
+import org.ballerinalang.stdlib.io.csv.CsvCursorTable;
+import org.ballerinalang.stdlib.io.csv.CsvRecordIterator;
+import org.ballerinalang.stdlib.io.csv.RecordMapper;
+import org.ballerinalang.stdlib.io.utils.IOConstants;
+import org.ballerinalang.stdlib.io.utils.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.ballerinalang.util.BLangConstants.BALLERINA_BUILTIN_PKG;
+
+/**
+ * Extern function ballerina/io#streamTable.
+ *
+ * @since 0.980.0
+ */
+@BallerinaFunction(
+        orgName = "ballerina", packageName = "io",
+        functionName = "streamTable",
+        receiver = @Receiver(type = TypeKind.OBJECT, structType = "CSVChannel", structPackage = "ballerina/io"),
+        args = {@Argument(name = "structType", type = TypeKind.TYPEDESC),
+                @Argument(name = "parallelism", type = TypeKind.INT)},
+        returnType = {
+                @ReturnType(type = TypeKind.TABLE),
+                @ReturnType(type = TypeKind.RECORD, structType = "error", structPackage = BALLERINA_BUILTIN_PKG)},
+        isPublic = true
+)
+public class StreamTable extends BlockingNativeCallableUnit {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamTable.class);
+    private static final String CSV_CHANNEL_DELIMITED_STRUCT_FIELD = "dc";
+
+    /**
+     * The index of the parallelism in ballerina/io#streamTable().
+     */
+    private static final int PARALLELISM_INDEX = 0;
+
+    @Override
+    public void execute(Context context) {
+        BMap<String, BValue> csvChannel = (BMap<String, BValue>) context.getRefArgument(0);
+        try {
+            final BMap<String, BValue> delimitedStruct =
+                    (BMap<String, BValue>) csvChannel.get(CSV_CHANNEL_DELIMITED_STRUCT_FIELD);
+            DelimitedRecordChannel delimitedChannel = (DelimitedRecordChannel) delimitedStruct
+                    .getNativeData(IOConstants.TXT_RECORD_CHANNEL_NAME);
+            BTypeDescValue type = (BTypeDescValue) context.getRefArgument(1);
+            int parallelism = (int) context.getIntArgument(PARALLELISM_INDEX);
+            RecordMapper mapper = new RecordMapper((BStructureType) type.value());
+            context.setReturnValues(new CsvCursorTable(new CsvRecordIterator(delimitedChannel, mapper, parallelism)));
+        } catch (Exception e) {
+            String msg = "Failed to process the delimited file: " + e.getMessage();
+            log.error(msg, e);
+            context.setReturnValues(IOUtils.createError(context, msg));
+        }
+    }
+}
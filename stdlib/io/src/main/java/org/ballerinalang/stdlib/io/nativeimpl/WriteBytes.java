@@ -77,7 +77,7 @@ public class WriteBytes implements NativeCallableUnit {
      * @param result context of the callback.
      * @return Once the callback is processed we further return back the result.
      */
-    private static EventResult writeResponse(EventResult<Integer, EventContext> result) {
+    static EventResult writeResponse(EventResult<Integer, EventContext> result) {
         EventContext eventContext = result.getContext();
         Context context = eventContext.getContext();
         Throwable error = eventContext.getError();
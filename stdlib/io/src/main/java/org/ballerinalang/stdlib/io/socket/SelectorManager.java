@@ -20,27 +20,42 @@ package org.ballerinalang.stdlib.io.socket;
 
 import org.ballerinalang.runtime.threadpool.BLangThreadFactory;
 import org.ballerinalang.stdlib.io.events.EventExecutor;
+import org.ballerinalang.stdlib.io.events.EventManager;
 import org.ballerinalang.stdlib.io.socket.client.SocketConnectCallbackRegistry;
 import org.ballerinalang.stdlib.io.socket.server.SocketAcceptCallback;
 import org.ballerinalang.stdlib.io.socket.server.SocketAcceptCallbackQueue;
 import org.ballerinalang.stdlib.io.socket.server.SocketIOExecutorQueue;
 import org.ballerinalang.stdlib.io.socket.server.SocketQueue;
+import org.ballerinalang.stdlib.io.utils.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
 import java.util.Iterator;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * This will manage the Selector instance and handle the accept, read and write operations.
+ * <p>
+ * This will manage the Selector instances and handle the accept, read and write operations.
+ * </p>
+ * <p>
+ * Server sockets are registered with a boss selector which only accepts clients. Accepted clients and the sockets
+ * which connect to a remote server are distributed round-robin across the worker selectors, the number of worker
+ * selectors is the number of processors unless configured through b7a.io.socket.selectors. Each selector runs its
+ * own loop on a dedicated thread.
+ * </p>
  *
  * @since 0.975.1
  */
@@ -48,91 +63,131 @@ public class SelectorManager {
 
     private static final Logger log = LoggerFactory.getLogger(SelectorManager.class);
 
-    private static Selector selector;
-    private static boolean running = false;
-    private static ThreadFactory threadFactory = new BLangThreadFactory("socket-selector");
-    private static ExecutorService executor = Executors.newSingleThreadExecutor(threadFactory);
-    private static boolean execution = true;
+    private static final String SELECTORS_PROP = "b7a.io.socket.selectors";
+
+    private static final int MAX_SELECTORS = 256;
+
+    private static final long SELECT_TIMEOUT = 2000;
+
+    private static volatile SelectorLoop bossLoop;
+    private static volatile SelectorLoop[] workerLoops;
+    private static final AtomicInteger nextWorkerLoop = new AtomicInteger();
+    private static final Object handOverLock = new Object();
 
     /**
-     * Get selector instance.
+     * Start the selector loops, if they're not running already.
      *
-     * @return {@link Selector} instance.
      * @throws IOException Throws if unable to create a new selector instance.
      */
-    public static synchronized Selector getInstance() throws IOException {
-        if (selector == null) {
-            selector = Selector.open();
+    private static synchronized void start() throws IOException {
+        if (null != bossLoop) {
+            return;
+        }
+        int numberOfWorkerLoops = IOUtils.getConfiguredValue(SELECTORS_PROP,
+                Runtime.getRuntime().availableProcessors(), MAX_SELECTORS);
+        SelectorLoop[] loops = new SelectorLoop[numberOfWorkerLoops];
+        for (int i = 0; i < numberOfWorkerLoops; i++) {
+            loops[i] = new SelectorLoop("socket-selector-" + i);
+        }
+        workerLoops = loops;
+        bossLoop = new SelectorLoop("socket-selector-boss");
+        if (log.isDebugEnabled()) {
+            log.debug("Started the selector loops with " + numberOfWorkerLoops + " worker selectors.");
         }
-        return selector;
     }
 
     /**
-     * Start the selector loop.
+     * Registers a bound server socket to accept clients.
+     *
+     * @param serverSocket the server socket which is bound.
+     * @throws IOException if the server socket cannot be registered.
      */
-    public static void start() {
-        if (!running) {
-            SocketAcceptCallbackQueue acceptCallbackQueue = SocketAcceptCallbackQueue.getInstance();
-            SocketIOExecutorQueue ioQueue = SocketIOExecutorQueue.getInstance();
-            SocketQueue socketQueue = SocketQueue.getInstance();
-            SocketConnectCallbackRegistry connectCallbackRegistry = SocketConnectCallbackRegistry.getInstance();
-            executor.execute(() -> {
-                while (execution) {
-                    try {
-                        selector.select(2000);
-                        if (!selector.isOpen()) {
-                            break;
-                        }
-                        Iterator<SelectionKey> keyIterator = selector.selectedKeys().iterator();
-                        while (keyIterator.hasNext()) {
-                            SelectionKey key = keyIterator.next();
-                            if (!key.isValid()) {
-                                key.cancel();
-                                keyIterator.remove();
-                            } else if (key.isAcceptable()) {
-                                if (log.isDebugEnabled()) {
-                                    log.debug("Selector triggered for client accept.");
-                                }
-                                handleAccept(key, acceptCallbackQueue, socketQueue);
-                                keyIterator.remove();
-                            } else if (key.isReadable()) {
-                                if (log.isDebugEnabled()) {
-                                    log.debug("Selector triggered for client read ready.");
-                                }
-                                final boolean readDispatchSuccess = readData(key, ioQueue);
-                                if (readDispatchSuccess) {
-                                    if (log.isDebugEnabled()) {
-                                        log.debug("Read ready selection key removed.");
-                                    }
-                                    keyIterator.remove();
-                                }
-                            } else if (key.isConnectable()) {
-                                if (log.isDebugEnabled()) {
-                                    log.debug("Selector triggered for socket connectable.");
-                                }
-                                if (isConnectPending(connectCallbackRegistry, key)) {
-                                    continue;
-                                }
-                                keyIterator.remove();
-                            }
-                        }
-                    } catch (Throwable e) {
-                        log.error("An error occurred in selector loop: " + e.getMessage(), e);
-                    }
-                }
-            });
-            running = true;
+    public static void registerServerSocket(ServerSocketChannel serverSocket) throws IOException {
+        awaitRegistration(register(serverSocket, SelectionKey.OP_ACCEPT));
+    }
+
+    /**
+     * Registers a socket which is about to connect to a remote server.
+     *
+     * @param socketChannel the socket which is in non-blocking mode.
+     * @throws IOException if the socket cannot be registered.
+     */
+    public static void registerConnectingSocket(SocketChannel socketChannel) throws IOException {
+        awaitRegistration(register(socketChannel, SelectionKey.OP_CONNECT));
+    }
+
+    /**
+     * Requests to register a channel with the boss selector if it accepts clients, otherwise with the next worker
+     * selector. The channel is attached to the selection key.
+     *
+     * @param channel the channel which should be registered.
+     * @param ops     the operations the selector should be interested in.
+     * @return future which will be completed once the channel is registered.
+     * @throws IOException if the selector loops cannot be started.
+     */
+    private static synchronized CompletableFuture<SelectionKey> register(SelectableChannel channel, int ops)
+            throws IOException {
+        start();
+        SelectorLoop loop = SelectionKey.OP_ACCEPT == ops ? bossLoop : nextWorkerLoop();
+        return loop.register(channel, ops, channel);
+    }
+
+    /**
+     * Retrieves the key which represents the registration of the channel with a selector.
+     *
+     * @param channel the registered channel.
+     * @return the selection key or null if the channel is not registered.
+     */
+    public static SelectionKey keyFor(SelectableChannel channel) {
+        SelectorLoop loop = bossLoop;
+        SelectorLoop[] loops = workerLoops;
+        if (null == loop || null == loops) {
+            return null;
+        }
+        SelectionKey key = channel.keyFor(loop.selector);
+        for (int i = 0; null == key && i < loops.length; i++) {
+            key = channel.keyFor(loops[i].selector);
+        }
+        return key;
+    }
+
+    /**
+     * Picks the worker selector loop which the next socket should be registered with.
+     *
+     * @return the worker loop or null if the loops are stopped.
+     */
+    private static SelectorLoop nextWorkerLoop() {
+        //The loops are read once, since they could be stopped concurrently
+        SelectorLoop[] loops = workerLoops;
+        if (null == loops) {
+            return null;
+        }
+        return loops[(nextWorkerLoop.getAndIncrement() & Integer.MAX_VALUE) % loops.length];
+    }
+
+    private static void awaitRegistration(CompletableFuture<SelectionKey> registration) throws IOException {
+        try {
+            registration.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while registering the socket", e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause().getMessage(), e.getCause());
         }
     }
 
     private static boolean isConnectPending(SocketConnectCallbackRegistry connectCallbackRegistry, SelectionKey key)
             throws IOException {
         SocketChannel channel = (SocketChannel) key.attachment();
+        if (!channel.isConnectionPending() && !channel.isConnected()) {
+            //The socket is registered before the connection is initiated, hence it could be selected before that
+            return false;
+        }
         if (!channel.finishConnect()) {
             return true;
         }
         log.debug("Successfully connected to the remote server.");
-        channel.register(selector, SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
         connectCallbackRegistry.getCallback(channel.hashCode()).notifyConnect();
         return false;
     }
@@ -149,24 +204,66 @@ public class SelectorManager {
                 log.debug("[" + serverSocketChannel + "] <= A new client accepted [" + client + "].");
             }
             client.configureBlocking(false);
-            client.register(selector, SelectionKey.OP_READ);
-            int serverSocketHash = serverSocketChannel.hashCode();
-            socketQueue.addSocket(serverSocketHash, client);
-            final Queue<SocketAcceptCallback> callbackQueue = acceptCallbackQueue.getCallbackQueue(serverSocketHash);
-            if (callbackQueue != null) {
-                final SocketAcceptCallback callback = callbackQueue.poll();
-                if (callback != null) {
-                    callback.notifyAccept();
-                    if (log.isDebugEnabled()) {
-                        log.debug("[" + serverSocketChannel + "][" + client + "] Notify to the callback.");
-                    }
-                }
+            SelectorLoop workerLoop = nextWorkerLoop();
+            if (null == workerLoop) {
+                //The selector loops are being stopped
+                client.close();
+                return;
             }
+            //The boss loop does not wait for the worker loop. The client is handed over once it's registered, so
+            //that closing the client right away finds its selection key
+            workerLoop.register(client, SelectionKey.OP_READ, null).whenComplete((registration, error) -> {
+                if (null == error) {
+                    handOver(serverSocketChannel, client, acceptCallbackQueue, socketQueue);
+                } else {
+                    closeClient(client);
+                }
+            });
         } catch (Throwable e) {
             log.error("Unable to accept a new client socket connection: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Hands an accepted client over to the server socket which accepted it.
+     *
+     * @param serverSocketChannel the server socket which accepted the client.
+     * @param client              the client which is registered with a worker selector.
+     * @param acceptCallbackQueue callbacks of the pending accepts.
+     * @param socketQueue         clients which are yet to be accepted by the server socket.
+     */
+    private static void handOver(ServerSocketChannel serverSocketChannel, SocketChannel client,
+            SocketAcceptCallbackQueue acceptCallbackQueue, SocketQueue socketQueue) {
+        //Clients are handed over by all the worker loops, one at a time
+        synchronized (handOverLock) {
+            try {
+                int serverSocketHash = serverSocketChannel.hashCode();
+                socketQueue.addSocket(serverSocketHash, client);
+                final Queue<SocketAcceptCallback> callbackQueue =
+                        acceptCallbackQueue.getCallbackQueue(serverSocketHash);
+                if (callbackQueue != null) {
+                    final SocketAcceptCallback callback = callbackQueue.poll();
+                    if (callback != null) {
+                        callback.notifyAccept();
+                        if (log.isDebugEnabled()) {
+                            log.debug("[" + serverSocketChannel + "][" + client + "] Notify to the callback.");
+                        }
+                    }
+                }
+            } catch (Throwable e) {
+                log.error("Unable to hand over the client socket connection: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static void closeClient(SocketChannel client) {
+        try {
+            client.close();
+        } catch (IOException e) {
+            log.error("Unable to close the client socket connection: " + e.getMessage(), e);
+        }
+    }
+
     private static boolean readData(SelectionKey key, SocketIOExecutorQueue ioQueue) {
         SocketChannel clientSocketChannel = (SocketChannel) key.channel();
         final Queue<EventExecutor> readQueue = ioQueue.getReadQueue(clientSocketChannel.hashCode());
@@ -183,19 +280,167 @@ public class SelectorManager {
         return false;
     }
 
-    public static void stop() {
-        try {
-            if (log.isDebugEnabled()) {
-                log.debug("Stopping the selector loop.");
+    /**
+     * Stops the selector loops, the loops will be started again once a socket is registered.
+     */
+    public static synchronized void stop() {
+        if (null == bossLoop) {
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Stopping the selector loops.");
+        }
+        bossLoop.stop();
+        for (SelectorLoop workerLoop : workerLoops) {
+            workerLoop.stop();
+        }
+        bossLoop = null;
+        workerLoops = null;
+    }
+
+    /**
+     * <p>
+     * Runs the select loop of a selector on a dedicated thread.
+     * </p>
+     * <p>
+     * Registrations requested by other threads are queued and performed by the loop, since registering with a
+     * selector which is blocked in a select operation would block until the select returns.
+     * </p>
+     */
+    private static class SelectorLoop implements Runnable {
+
+        private final Selector selector;
+
+        private final ExecutorService executor;
+
+        private final Queue<Runnable> pendingTasks = new ConcurrentLinkedQueue<>();
+
+        private volatile boolean execution = true;
+
+        private volatile Thread thread;
+
+        private SelectorLoop(String name) throws IOException {
+            selector = Selector.open();
+            executor = Executors.newSingleThreadExecutor(new BLangThreadFactory(name));
+            executor.execute(this);
+        }
+
+        /**
+         * Registers a channel with the selector of the loop.
+         *
+         * @param channel    the channel which should be registered.
+         * @param ops        the operations the selector should be interested in.
+         * @param attachment the object which should be attached to the selection key.
+         * @return future which will be completed once the channel is registered.
+         */
+        private CompletableFuture<SelectionKey> register(SelectableChannel channel, int ops, Object attachment) {
+            CompletableFuture<SelectionKey> registration = new CompletableFuture<>();
+            Runnable task = () -> {
+                try {
+                    registration.complete(channel.register(selector, ops, attachment));
+                } catch (Throwable e) {
+                    log.error("Unable to register the channel[" + channel + "]: " + e.getMessage(), e);
+                    registration.completeExceptionally(e);
+                }
+            };
+            if (Thread.currentThread() == thread) {
+                task.run();
+                return registration;
+            }
+            pendingTasks.add(task);
+            if (execution) {
+                selector.wakeup();
+            } else {
+                //The loop is stopped and would not perform the registration, which will fail since the selector
+                //is closed
+                runPendingTasks();
+            }
+            return registration;
+        }
+
+        @Override
+        public void run() {
+            thread = Thread.currentThread();
+            //Reads are published from the loop, which should not wait for the pending events to complete
+            EventManager.getInstance().registerNonBlockingPublisher();
+            SocketAcceptCallbackQueue acceptCallbackQueue = SocketAcceptCallbackQueue.getInstance();
+            SocketIOExecutorQueue ioQueue = SocketIOExecutorQueue.getInstance();
+            SocketQueue socketQueue = SocketQueue.getInstance();
+            SocketConnectCallbackRegistry connectCallbackRegistry = SocketConnectCallbackRegistry.getInstance();
+            while (execution) {
+                try {
+                    selector.select(SELECT_TIMEOUT);
+                    if (!selector.isOpen()) {
+                        break;
+                    }
+                    runPendingTasks();
+                    //All the keys which are ready are processed before selecting again
+                    Iterator<SelectionKey> keyIterator = selector.selectedKeys().iterator();
+                    while (keyIterator.hasNext()) {
+                        SelectionKey key = keyIterator.next();
+                        if (!key.isValid()) {
+                            key.cancel();
+                            keyIterator.remove();
+                        } else if (key.isAcceptable()) {
+                            if (log.isDebugEnabled()) {
+                                log.debug("Selector triggered for client accept.");
+                            }
+                            handleAccept(key, acceptCallbackQueue, socketQueue);
+                            keyIterator.remove();
+                        } else if (key.isReadable()) {
+                            if (log.isDebugEnabled()) {
+                                log.debug("Selector triggered for client read ready.");
+                            }
+                            final boolean readDispatchSuccess = readData(key, ioQueue);
+                            if (readDispatchSuccess) {
+                                if (log.isDebugEnabled()) {
+                                    log.debug("Read ready selection key removed.");
+                                }
+                                keyIterator.remove();
+                            }
+                        } else if (key.isConnectable()) {
+                            if (log.isDebugEnabled()) {
+                                log.debug("Selector triggered for socket connectable.");
+                            }
+                            if (isConnectPending(connectCallbackRegistry, key)) {
+                                continue;
+                            }
+                            keyIterator.remove();
+                        }
+                    }
+                } catch (Throwable e) {
+                    if (!execution) {
+                        break;
+                    }
+                    log.error("An error occurred in selector loop: " + e.getMessage(), e);
+                }
+            }
+        }
+
+        private void stop() {
+            try {
+                execution = false;
+                selector.wakeup();
+                selector.close();
+                executor.shutdown();
+                if (!executor.awaitTermination(SELECT_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+            } catch (Throwable e) {
+                log.error("Error occurred while stopping the selector loop: " + e.getMessage(), e);
+            }
+            //Registrations which were not performed will fail since the selector is closed
+            runPendingTasks();
+        }
+
+        private void runPendingTasks() {
+            Runnable task;
+            while (null != (task = pendingTasks.poll())) {
+                task.run();
             }
-            execution = false;
-            running = false;
-            selector.wakeup();
-            selector.close();
-            Thread.sleep(1500);
-            executor.shutdownNow();
-        } catch (Throwable e) {
-            log.error("Error occurred while stopping the selector loop: " + e.getMessage(), e);
         }
     }
 }
@@ -63,7 +63,7 @@ public class Close extends BlockingNativeCallableUnit {
             Channel channel = (Channel) byteChannelStruct.getNativeData(IOConstants.BYTE_CHANNEL_NAME);
             if (byteChannel instanceof SocketChannel) {
                 SocketChannel socketChannel = (SocketChannel) byteChannel;
-                final SelectionKey selectionKey = socketChannel.keyFor(SelectorManager.getInstance());
+                final SelectionKey selectionKey = SelectorManager.keyFor(socketChannel);
                 if (selectionKey != null) {
                     selectionKey.cancel();
                 }
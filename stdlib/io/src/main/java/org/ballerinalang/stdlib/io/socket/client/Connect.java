@@ -33,7 +33,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
-import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
 
 /**
@@ -68,11 +67,10 @@ public class Connect implements NativeCallableUnit {
             BMap<String, BValue> socketStruct = (BMap<String, BValue>) context.getRefArgument(0);
             SocketChannel socketChannel = (SocketChannel) socketStruct.getNativeData(SocketConstants.SOCKET_KEY);
             socketChannel.configureBlocking(false);
-            socketChannel.register(SelectorManager.getInstance(), SelectionKey.OP_CONNECT, socketChannel);
             SocketConnectCallbackRegistry callbackQueue = SocketConnectCallbackRegistry.getInstance();
             callbackQueue.registerSocketConnectCallback(socketChannel.hashCode(),
                     new SocketConnectCallback(context, callback));
-            SelectorManager.start();
+            SelectorManager.registerConnectingSocket(socketChannel);
             socketChannel.connect(new InetSocketAddress(host, port));
         } catch (Throwable e) {
             String msg = "Failed to open a connection to [" + host + ":" + port + "] : " + e.getMessage();
@@ -33,8 +33,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
-import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 
 /**
@@ -69,9 +67,7 @@ public class BindAddress extends BlockingNativeCallableUnit {
             } else {
                 serverSocket.bind(new InetSocketAddress(networkInterface.stringValue(), port));
             }
-            final Selector selector = SelectorManager.getInstance();
-            serverSocket.register(selector, SelectionKey.OP_ACCEPT, serverSocket);
-            SelectorManager.start();
+            SelectorManager.registerServerSocket(serverSocket);
         } catch (Throwable e) {
             String message = "Error occurred while bind the socket address: " + e.getMessage();
             log.error(message, e);
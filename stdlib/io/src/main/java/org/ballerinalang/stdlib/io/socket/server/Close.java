@@ -58,7 +58,7 @@ public class Close extends BlockingNativeCallableUnit {
             serverSocketStruct = (BMap<String, BValue>) context.getRefArgument(0);
             ServerSocketChannel serverSocket = (ServerSocketChannel) serverSocketStruct
                     .getNativeData(SocketConstants.SERVER_SOCKET_KEY);
-            final SelectionKey selectionKey = serverSocket.keyFor(SelectorManager.getInstance());
+            final SelectionKey selectionKey = SelectorManager.keyFor(serverSocket);
             if (selectionKey != null) {
                 selectionKey.cancel();
             }
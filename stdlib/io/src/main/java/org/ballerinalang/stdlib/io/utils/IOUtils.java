@@ -21,6 +21,7 @@ package org.ballerinalang.stdlib.io.utils;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.bre.bvm.BLangVMErrors;
 import org.ballerinalang.bre.bvm.BLangVMStructs;
+import org.ballerinalang.config.ConfigRegistry;
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.stdlib.io.channels.FileIOChannel;
@@ -297,4 +298,28 @@ public class IOUtils {
         return new DelimitedRecordChannel(characterChannel, format);
     }
 
+    /**
+     * Reads a positive integer from the configuration.
+     *
+     * @param key          the configuration key.
+     * @param defaultValue the value which should be used if the key is not configured.
+     * @param maximumValue the maximum value which could be configured.
+     * @return the configured value.
+     * @throws BallerinaException if the configured value is not a positive integer within the maximum value.
+     */
+    public static int getConfiguredValue(String key, int defaultValue, int maximumValue) throws BallerinaException {
+        String value = ConfigRegistry.getInstance().getAsString(key);
+        if (null == value) {
+            return defaultValue;
+        }
+        try {
+            int configuredValue = Integer.parseInt(value);
+            if (configuredValue < 1 || configuredValue > maximumValue) {
+                throw new BallerinaException(key + " must be between 1 and " + maximumValue + " (inclusive)");
+            }
+            return configuredValue;
+        } catch (NumberFormatException e) {
+            throw new BallerinaException("invalid value for '" + key + "': " + value);
+        }
+    }
 }
@@ -145,6 +145,7 @@ public class WebSubServicesRegistry extends HTTPServicesRegistry {
         //basePath will get cached after registering service
         sortedServiceURIs.add(httpService.getBasePath());
         sortedServiceURIs.sort((basePath1, basePath2) -> basePath2.length() - basePath1.length());
+        getServicesMapHolder(hostName).updateBasePathTrie();
 
         WebSubSubscriberServiceValidator.validateResources(httpService, topicHeader, topicResourceMap);
     }
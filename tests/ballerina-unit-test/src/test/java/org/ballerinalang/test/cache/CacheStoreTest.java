@@ -0,0 +1,208 @@
+/*
+ *   Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.cache;
+
+import org.ballerinalang.stdlib.cache.CacheStore;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test cases for the native store of the cache package.
+ */
+public class CacheStoreTest {
+
+    private static final long EXPIRY_TIME = 60000;
+
+    @Test(description = "Tests evicting the least recently used entries when the cache is full")
+    public void testEviction() {
+        CacheStore<String> cacheStore = new CacheStore<>(5, EXPIRY_TIME, 0.4, false);
+        for (String key : new String[]{"A", "B", "C", "D", "E"}) {
+            cacheStore.put(key, key, 0);
+        }
+        Assert.assertEquals(cacheStore.get("A", 1), "A");
+        Assert.assertTrue(cacheStore.hasKey("B", 1));
+        cacheStore.put("C", "C2", 2);
+        cacheStore.put("F", "F", 3);
+
+        Assert.assertEquals(cacheStore.keys(3), Arrays.asList("A", "C", "E", "F"));
+        Assert.assertEquals(cacheStore.get("C", 3), "C2");
+        Assert.assertNull(cacheStore.get("B", 3));
+        Assert.assertEquals(cacheStore.size(3), 4);
+    }
+
+    @Test(description = "Tests that at least one entry is evicted with a small eviction factor")
+    public void testMinimumEviction() {
+        CacheStore<String> cacheStore = new CacheStore<>(3, EXPIRY_TIME, 0.1, false);
+        for (String key : new String[]{"A", "B", "C", "D"}) {
+            cacheStore.put(key, key, 0);
+        }
+        Assert.assertEquals(cacheStore.keys(0), Arrays.asList("B", "C", "D"));
+    }
+
+    @Test(description = "Tests expiring entries which have not been used")
+    public void testExpiry() {
+        CacheStore<String> cacheStore = new CacheStore<>(10, 1000, 0.25, false);
+        cacheStore.put("A", "A", 0);
+        cacheStore.put("B", "B", 500);
+        Assert.assertEquals(cacheStore.get("A", 900), "A");
+
+        Assert.assertEquals(cacheStore.keys(1499), Arrays.asList("A", "B"));
+        Assert.assertEquals(cacheStore.keys(1500), Collections.singletonList("A"));
+        Assert.assertFalse(cacheStore.hasKey("A", 1900));
+        Assert.assertEquals(cacheStore.size(1900), 0);
+    }
+
+    @Test(description = "Tests removing entries")
+    public void testRemove() {
+        CacheStore<String> cacheStore = new CacheStore<>(10, EXPIRY_TIME, 0.25, false);
+        cacheStore.put("A", "A", 0);
+        cacheStore.put("B", "B", 0);
+        cacheStore.remove("A");
+        cacheStore.remove("C");
+
+        Assert.assertNull(cacheStore.get("A", 0));
+        Assert.assertEquals(cacheStore.keys(0), Collections.singletonList("B"));
+    }
+
+    @Test(description = "Tests admitting new keys by their frequency of use")
+    public void testFrequencyBasedAdmission() {
+        CacheStore<String> cacheStore = new CacheStore<>(2, EXPIRY_TIME, 0.5, true);
+        cacheStore.put("A", "A", 0);
+        cacheStore.put("B", "B", 0);
+        for (int i = 0; i < 3; i++) {
+            cacheStore.get("A", 0);
+            cacheStore.get("B", 0);
+        }
+
+        // A key used once does not replace keys used more often
+        cacheStore.put("C", "C", 0);
+        Assert.assertFalse(cacheStore.hasKey("C", 0));
+        Assert.assertEquals(cacheStore.keys(0), Arrays.asList("A", "B"));
+
+        // A key which misses often enough is admitted, in place of the least recently used key
+        for (int i = 0; i < 5; i++) {
+            cacheStore.get("C", 0);
+        }
+        cacheStore.put("C", "C", 0);
+        Assert.assertEquals(cacheStore.keys(0), Arrays.asList("B", "C"));
+    }
+
+    @Test(description = "Tests a cache large enough to be split into segments")
+    public void testSegmentedCache() {
+        int capacity = 100000;
+        CacheStore<Integer> cacheStore = new CacheStore<>(capacity, EXPIRY_TIME, 0.25, false);
+        for (int i = 0; i < 2 * capacity; i++) {
+            cacheStore.put(Integer.toString(i), i, 0);
+        }
+        Assert.assertTrue(cacheStore.size(0) <= capacity);
+        Assert.assertTrue(cacheStore.size(0) >= capacity * 3 / 4);
+        Assert.assertEquals(cacheStore.get(Integer.toString(2 * capacity - 1), 0), Integer.valueOf(2 * capacity - 1));
+        Assert.assertNull(cacheStore.get("0", 0));
+    }
+
+    @Test(description = "Tests that admission by frequency keeps the hot keys of a skewed distribution")
+    public void testSkewedHitRatio() {
+        int capacity = 1000;
+        String[] keys = createSkewedKeys(4 * capacity, 100000);
+        long lruHits = countHits(new CacheStore<>(capacity, EXPIRY_TIME, 0.25, false), keys);
+        long admissionHits = countHits(new CacheStore<>(capacity, EXPIRY_TIME, 0.25, true), keys);
+
+        Assert.assertTrue(lruHits > 0);
+        Assert.assertTrue(admissionHits >= lruHits, "admission hits " + admissionHits + ", lru hits " + lruHits);
+    }
+
+    @Test(description = "Tests using a segmented cache from several threads")
+    public void testConcurrentAccess() throws Exception {
+        int capacity = 10000;
+        int threadCount = 4;
+        CacheStore<String> cacheStore = new CacheStore<>(capacity, EXPIRY_TIME, 0.25, true);
+        String[] keys = createSkewedKeys(4 * capacity, 200000);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                int offset = t * keys.length / threadCount;
+                futures.add(executor.submit(() -> {
+                    long hits = 0;
+                    for (int i = 0; i < keys.length; i++) {
+                        String key = keys[(offset + i) % keys.length];
+                        String value = cacheStore.get(key, 0);
+                        if (value != null) {
+                            Assert.assertEquals(value, key);
+                            hits++;
+                        } else {
+                            cacheStore.put(key, key, 0);
+                        }
+                    }
+                    return hits;
+                }));
+            }
+            for (Future<Long> future : futures) {
+                Assert.assertTrue(future.get() > 0);
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        Assert.assertTrue(cacheStore.size(0) <= capacity);
+        Assert.assertEquals(cacheStore.keys(0).size(), cacheStore.size(0));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidEvictionFactor() {
+        new CacheStore<String>(10, EXPIRY_TIME, 1.1, false);
+    }
+
+    /**
+     * Gets each key in turn, putting the keys which miss. Returns the number of hits.
+     */
+    private static long countHits(CacheStore<String> cacheStore, String[] keys) {
+        long hits = 0;
+        for (String key : keys) {
+            if (cacheStore.get(key, 0) != null) {
+                hits++;
+            } else {
+                cacheStore.put(key, key, 0);
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Draws a sequence of keys where a few keys are used often, approximating a Zipf distribution.
+     */
+    private static String[] createSkewedKeys(int keyCount, int length) {
+        Random random = new Random(42);
+        String[] keys = new String[length];
+        for (int i = 0; i < length; i++) {
+            // The inverse of a power law CDF, skewing towards the lower ranks
+            keys[i] = "key-" + (int) (Math.pow(random.nextDouble(), 3) * keyCount);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.connectors.sql;
+
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.database.sql.Constants;
+import org.ballerinalang.database.sql.actions.AbstractSQLAction;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.NativeCallableUnit;
+import org.ballerinalang.model.values.BIntArray;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.test.utils.SQLDBUtils.DBType;
+import org.ballerinalang.test.utils.SQLDBUtils.FileBasedTestDatabase;
+import org.ballerinalang.test.utils.SQLDBUtils.TestDatabase;
+import org.ballerinalang.util.codegen.FunctionInfo;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.testng.Assert;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for the SQL Connector actions executed on the executor of the datasource.
+ */
+public class SQLAsyncActionsTest {
+
+    private static final String DB_NAME = "TEST_SQL_CONNECTOR_ASYNC";
+    private static final String DB_DIRECTORY = "./target/SQLAsync/";
+    private CompileResult result;
+    private CompileResult resultTransaction;
+    private TestDatabase testDatabase;
+    private BValue[] connectionArgs = new BValue[3];
+
+    @BeforeClass
+    public void setup() throws Exception {
+        testDatabase = new FileBasedTestDatabase(DBType.HSQLDB, "datafiles/sql/SQLConnectorDataFile.sql",
+                DB_DIRECTORY, DB_NAME);
+        connectionArgs[0] = new BString(testDatabase.getJDBCUrl());
+        connectionArgs[1] = new BString(testDatabase.getUsername());
+        connectionArgs[2] = new BString(testDatabase.getPassword());
+
+        result = BCompileUtil.compile("test-src/connectors/sql/sql_actions_test.bal");
+        resultTransaction = BCompileUtil.compile("test-src/connectors/sql/sql_async_actions_test.bal");
+        ConfigRegistry configRegistry = ConfigRegistry.getInstance();
+        configRegistry.addConfiguration(Constants.ASYNC_EXECUTION_CONFIG, true);
+        try {
+            reloadActions(result);
+            reloadActions(resultTransaction);
+        } finally {
+            configRegistry.removeConfiguration(Constants.ASYNC_EXECUTION_CONFIG);
+        }
+    }
+
+    @Test(description = "Test the actions being executed on the executor of the datasource")
+    public void testActionsNotBlocking() {
+        PackageInfo packageInfo = result.getProgFile().getPackageInfo("ballerina/sql");
+        int actions = 0;
+        for (FunctionInfo functionInfo : packageInfo.getFunctionInfoEntries()) {
+            NativeCallableUnit nativeCallableUnit = functionInfo.getNativeCallableUnit();
+            if (nativeCallableUnit instanceof AbstractSQLAction) {
+                actions++;
+                // The datasource is closed on the worker, since closing shuts the executor down
+                Assert.assertEquals(nativeCallableUnit.isBlocking(), functionInfo.getName().endsWith("close"),
+                        functionInfo.getName());
+            }
+        }
+        Assert.assertTrue(actions > 0);
+    }
+
+    @Test(dependsOnMethods = "testActionsNotBlocking")
+    public void testSelectData() {
+        BValue[] returns = BRunUtil.invoke(result, "testSelectData", connectionArgs);
+        Assert.assertEquals(returns[0].stringValue(), "Peter");
+    }
+
+    @Test(dependsOnMethods = "testActionsNotBlocking")
+    public void testUpdateTableData() {
+        BValue[] returns = BRunUtil.invoke(result, "testUpdateTableData", connectionArgs);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 1);
+    }
+
+    @Test(dependsOnMethods = "testActionsNotBlocking")
+    public void testCallProcedure() {
+        BValue[] returns = BRunUtil.invoke(result, "testCallProcedure", connectionArgs);
+        Assert.assertEquals(returns[0].stringValue(), "James");
+        Assert.assertEquals(returns[1].stringValue(), "nil");
+    }
+
+    @Test(dependsOnMethods = "testActionsNotBlocking")
+    public void testBatchUpdate() {
+        BValue[] returns = BRunUtil.invoke(result, "testBatchUpdate", connectionArgs);
+        BIntArray retValue = (BIntArray) returns[0];
+        Assert.assertEquals(retValue.get(0), 1);
+        Assert.assertEquals(retValue.get(1), 1);
+    }
+
+    @Test(dependsOnMethods = "testActionsNotBlocking")
+    public void testTransaction() {
+        BValue[] returns = BRunUtil.invoke(resultTransaction, "testTransaction", connectionArgs);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 0);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), -1);
+        Assert.assertEquals(((BInteger) returns[2]).intValue(), 2);
+    }
+
+    @AfterSuite
+    public void cleanup() {
+        if (testDatabase != null) {
+            testDatabase.stop();
+        }
+    }
+
+    /**
+     * Replaces the SQL actions of a program with new instances, which read the configuration when they are created.
+     *
+     * @param compileResult the compiled program.
+     */
+    private static void reloadActions(CompileResult compileResult) throws ReflectiveOperationException {
+        for (PackageInfo packageInfo : compileResult.getProgFile().getPackageInfoEntries()) {
+            for (FunctionInfo functionInfo : packageInfo.getFunctionInfoEntries()) {
+                NativeCallableUnit nativeCallableUnit = functionInfo.getNativeCallableUnit();
+                if (nativeCallableUnit instanceof AbstractSQLAction) {
+                    functionInfo.setNativeCallableUnit(nativeCallableUnit.getClass().newInstance());
+                }
+            }
+        }
+    }
+}
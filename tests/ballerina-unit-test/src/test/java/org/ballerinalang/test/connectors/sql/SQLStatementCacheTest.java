@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.connectors.sql;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.ballerinalang.database.sql.SQLStatementCache;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.test.utils.SQLDBUtils.DBType;
+import org.ballerinalang.test.utils.SQLDBUtils.FileBasedTestDatabase;
+import org.ballerinalang.test.utils.SQLDBUtils.TestDatabase;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Test class for the cache of the prepared statements of a SQL datasource.
+ */
+public class SQLStatementCacheTest {
+
+    private static final String DB_NAME = "TEST_SQL_STATEMENT_CACHE";
+    private static final String DB_DIRECTORY = "./target/SQLStatementCache/";
+    private static final String SELECT_CUSTOMER = "SELECT firstName FROM Customers WHERE registrationID = ?";
+    private static final String SELECT_CUSTOMERS = "SELECT firstName FROM Customers ORDER BY registrationID";
+    private static final String COUNT_CUSTOMERS = "SELECT COUNT(*) FROM Customers WHERE registrationID = ?";
+    private static final String INSERT_CUSTOMER = "INSERT INTO Customers (firstName, lastName, registrationID, "
+            + "creditLimit, country) VALUES ('James', 'Clerk', ?, 5000.75, 'USA')";
+    private CompileResult result;
+    private TestDatabase testDatabase;
+    private HikariDataSource dataSource;
+    private BValue[] connectionArgs = new BValue[3];
+
+    @BeforeClass
+    public void setup() {
+        testDatabase = new FileBasedTestDatabase(DBType.HSQLDB, "datafiles/sql/SQLConnectorDataFile.sql",
+                DB_DIRECTORY, DB_NAME);
+        connectionArgs[0] = new BString(testDatabase.getJDBCUrl());
+        connectionArgs[1] = new BString(testDatabase.getUsername());
+        connectionArgs[2] = new BString(testDatabase.getPassword());
+        result = BCompileUtil.compile("test-src/connectors/sql/sql_statement_cache_test.bal");
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(testDatabase.getJDBCUrl());
+        config.setUsername(testDatabase.getUsername());
+        config.setPassword(testDatabase.getPassword());
+        config.setMaximumPoolSize(1);
+        dataSource = new HikariDataSource(config);
+    }
+
+    @Test(description = "Test taking the statement of a query from the cache")
+    public void testCacheHit() throws SQLException {
+        SQLStatementCache cache = new SQLStatementCache(2);
+        try (Connection conn = dataSource.getConnection()) {
+            PreparedStatement first = prepare(cache, conn, SELECT_CUSTOMER);
+            first.setInt(1, 1);
+            Assert.assertEquals(selectFirstName(first), "Peter");
+            PreparedStatement cached = physical(first);
+            first.close();
+            Assert.assertTrue(first.isClosed());
+            Assert.assertFalse(cached.isClosed());
+
+            // The parameters of the statement are cleared when it's returned to the cache
+            PreparedStatement second = prepare(cache, conn, SELECT_CUSTOMER);
+            Assert.assertSame(physical(second), cached);
+            second.setInt(1, 2);
+            Assert.assertEquals(selectFirstName(second), "John");
+
+            // A statement in use is not handed out again
+            PreparedStatement third = prepare(cache, conn, SELECT_CUSTOMER);
+            Assert.assertNotSame(physical(third), cached);
+            second.close();
+            third.close();
+        } finally {
+            cache.clear();
+        }
+    }
+
+    @Test(description = "Test closing the least recently used statements once the cache is full")
+    public void testEviction() throws SQLException {
+        SQLStatementCache cache = new SQLStatementCache(2);
+        try (Connection conn = dataSource.getConnection()) {
+            PreparedStatement selectCustomer = release(prepare(cache, conn, SELECT_CUSTOMER));
+            PreparedStatement selectCustomers = release(prepare(cache, conn, SELECT_CUSTOMERS));
+            // Taking the statement makes it the most recently used one
+            Assert.assertSame(release(prepare(cache, conn, SELECT_CUSTOMER)), selectCustomer);
+            PreparedStatement countCustomers = release(prepare(cache, conn, COUNT_CUSTOMERS));
+
+            Assert.assertTrue(selectCustomers.isClosed());
+            Assert.assertFalse(selectCustomer.isClosed());
+            Assert.assertFalse(countCustomers.isClosed());
+            Assert.assertNotSame(release(prepare(cache, conn, SELECT_CUSTOMERS)), selectCustomers);
+            Assert.assertTrue(selectCustomer.isClosed());
+
+            cache.clear();
+            Assert.assertTrue(countCustomers.isClosed());
+        }
+    }
+
+    @Test(description = "Test reusing the cached statements of a connection which is returned to the pool")
+    public void testPooledConnectionReused() throws SQLException {
+        SQLStatementCache cache = new SQLStatementCache(2);
+        try {
+            PreparedStatement cached;
+            try (Connection conn = dataSource.getConnection()) {
+                cached = release(prepare(cache, conn, SELECT_CUSTOMER));
+            }
+            // The pool does not close the statements which are not prepared through the connection it handed out
+            Assert.assertFalse(cached.isClosed());
+            try (Connection conn = dataSource.getConnection()) {
+                PreparedStatement stmt = prepare(cache, conn, SELECT_CUSTOMER);
+                Assert.assertSame(physical(stmt), cached);
+                stmt.setInt(1, 1);
+                Assert.assertEquals(selectFirstName(stmt), "Peter");
+                stmt.close();
+            }
+        } finally {
+            cache.clear();
+        }
+    }
+
+    @Test(description = "Test rolling back a transaction whose statements are taken from the cache")
+    public void testRollback() throws SQLException {
+        SQLStatementCache cache = new SQLStatementCache(2);
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                insertCustomer(cache, conn, 700);
+                conn.rollback();
+                Assert.assertEquals(countCustomers(cache, conn, 700), 0);
+
+                // The cached statement of the rolled back transaction is used by the next one
+                insertCustomer(cache, conn, 700);
+                conn.commit();
+                Assert.assertEquals(countCustomers(cache, conn, 700), 1);
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            cache.clear();
+        }
+    }
+
+    @Test(description = "Test the actions of a datasource with a statement cache")
+    public void testCachedStatements() {
+        BValue[] returns = BRunUtil.invoke(result, "testCachedStatements", connectionArgs);
+        Assert.assertEquals(returns[0].stringValue(),
+                "Peter John Peter John Peter John Peter John Peter John Peter John");
+    }
+
+    @Test(description = "Test transactions of a datasource with a statement cache")
+    public void testCachedStatementsInTransaction() {
+        BValue[] returns = BRunUtil.invoke(result, "testCachedStatementsInTransaction", connectionArgs);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), -1);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 0);
+        Assert.assertEquals(((BInteger) returns[2]).intValue(), 0);
+        Assert.assertEquals(((BInteger) returns[3]).intValue(), 1);
+    }
+
+    @AfterClass
+    public void closeDataSource() {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @AfterSuite
+    public void cleanup() {
+        if (testDatabase != null) {
+            testDatabase.stop();
+        }
+    }
+
+    private static PreparedStatement prepare(SQLStatementCache cache, Connection conn, String query)
+            throws SQLException {
+        return cache.prepareStatement(conn, query, 0);
+    }
+
+    /**
+     * Returns a statement to the cache.
+     *
+     * @param stmt the statement handed out by the cache.
+     * @return the statement which is cached.
+     */
+    private static PreparedStatement release(PreparedStatement stmt) throws SQLException {
+        PreparedStatement cached = physical(stmt);
+        stmt.close();
+        return cached;
+    }
+
+    private static PreparedStatement physical(PreparedStatement stmt) throws SQLException {
+        return stmt.unwrap(PreparedStatement.class);
+    }
+
+    private static String selectFirstName(PreparedStatement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery()) {
+            Assert.assertTrue(rs.next());
+            return rs.getString(1);
+        }
+    }
+
+    private static void insertCustomer(SQLStatementCache cache, Connection conn, int registrationID)
+            throws SQLException {
+        try (PreparedStatement stmt = prepare(cache, conn, INSERT_CUSTOMER)) {
+            stmt.setInt(1, registrationID);
+            Assert.assertEquals(stmt.executeUpdate(), 1);
+        }
+    }
+
+    private static int countCustomers(SQLStatementCache cache, Connection conn, int registrationID)
+            throws SQLException {
+        try (PreparedStatement stmt = prepare(cache, conn, COUNT_CUSTOMERS)) {
+            stmt.setInt(1, registrationID);
+            try (ResultSet rs = stmt.executeQuery()) {
+                Assert.assertTrue(rs.next());
+                return rs.getInt(1);
+            }
+        }
+    }
+}
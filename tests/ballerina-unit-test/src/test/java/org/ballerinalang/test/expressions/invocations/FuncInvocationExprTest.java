@@ -134,6 +134,30 @@ public class FuncInvocationExprTest {
         Assert.assertEquals(actual, expected);
     }
 
+    @Test(description = "Test recursive function invocations")
+    public void testRecursiveInvocation() {
+        BValue[] returns = BRunUtil.invoke(funcInvocationExpResult, "fib", new BValue[]{new BInteger(20)});
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 6765);
+    }
+
+    @Test(description = "Test multiple return values passed through nested function invocations")
+    public void testMultipleReturnsFromNestedCalls() {
+        BValue[] args = {new BInteger(17), new BInteger(5)};
+        BValue[] returns = BRunUtil.invoke(funcInvocationExpResult, "testMultipleReturnsFromNestedCalls", args);
+        Assert.assertEquals(returns.length, 2);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 3);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 2);
+    }
+
+    @Test(description = "Test an error thrown deep in nested function invocations")
+    public void testErrorFromNestedCalls() {
+        BValue[] returns = BRunUtil.invoke(funcInvocationExpResult, "testErrorFromNestedCalls",
+                new BValue[]{new BInteger(10)});
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertEquals(returns[0].stringValue(), "reached the bottom");
+    }
+
     @Test(description = "Test uanry statement with errors")
     public void testUnaryStmtNegativeCases() {
         Assert.assertEquals(funcInvocationNegative.getErrorCount(), 2);
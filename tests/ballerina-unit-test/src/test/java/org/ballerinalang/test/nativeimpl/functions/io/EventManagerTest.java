@@ -0,0 +1,230 @@
+/*
+ *   Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.nativeimpl.functions.io;
+
+import org.ballerinalang.stdlib.io.channels.base.Channel;
+import org.ballerinalang.stdlib.io.events.Event;
+import org.ballerinalang.stdlib.io.events.EventManager;
+import org.ballerinalang.stdlib.io.events.EventResult;
+import org.ballerinalang.stdlib.io.events.EventType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the execution of I/O events through the {@link EventManager}.
+ */
+public class EventManagerTest {
+
+    private EventManager eventManager = EventManager.getInstance();
+
+    @Test(description = "Events of a channel are executed one at a time in the order they were published")
+    public void executeEventsInOrder() throws Exception {
+        final int numberOfChannels = 8;
+        final int numberOfEvents = 1000;
+        AtomicInteger errors = new AtomicInteger();
+        List<Thread> publishers = new ArrayList<>();
+        List<CompletableFuture<EventResult>> lastEvents = new ArrayList<>();
+        for (int channel = 0; channel < numberOfChannels; channel++) {
+            AtomicInteger lastSequence = new AtomicInteger(-1);
+            AtomicBoolean executing = new AtomicBoolean();
+            CompletableFuture<EventResult> lastEvent = new CompletableFuture<>();
+            lastEvents.add(lastEvent);
+            int channelId = channel;
+            Thread publisher = new Thread(() -> {
+                for (int sequence = 0; sequence < numberOfEvents; sequence++) {
+                    int currentSequence = sequence;
+                    CompletableFuture<EventResult> future = eventManager.publish(new MockEvent(channelId, () -> {
+                        if (!executing.compareAndSet(false, true) ||
+                                !lastSequence.compareAndSet(currentSequence - 1, currentSequence)) {
+                            errors.incrementAndGet();
+                        }
+                        executing.set(false);
+                    }));
+                    if (currentSequence == numberOfEvents - 1) {
+                        future.thenAccept(lastEvent::complete);
+                    }
+                }
+            });
+            publishers.add(publisher);
+            publisher.start();
+        }
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+        for (CompletableFuture<EventResult> lastEvent : lastEvents) {
+            lastEvent.get();
+        }
+        Assert.assertEquals(errors.get(), 0);
+        Assert.assertTrue(eventManager.getPeakQueueDepth() <= eventManager.getQueueSize());
+    }
+
+    @Test(description = "Errors thrown while executing an event are propagated through the future",
+            expectedExceptions = ExecutionException.class)
+    public void propagateEventError() throws Exception {
+        eventManager.publish(new MockEvent(0, () -> {
+            throw new IllegalStateException("Event failed");
+        })).get();
+    }
+
+    @Test(description = "A channel is closed only after the reads and writes published before are executed")
+    public void closeAfterReadsAndWrites() throws Exception {
+        final int channelId = 100;
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+        eventManager.publish(new MockEvent(channelId, EventType.READ, () -> {
+            await(release);
+            executed.incrementAndGet();
+        }));
+        eventManager.publish(new MockEvent(channelId, EventType.WRITE, executed::incrementAndGet));
+        AtomicInteger executedBeforeClose = new AtomicInteger(-1);
+        CompletableFuture<EventResult> close = eventManager.publish(new MockEvent(channelId, EventType.CLOSE,
+                () -> executedBeforeClose.set(executed.get())));
+        //The close is held back by the read, which is yet to complete
+        Thread.sleep(100);
+        Assert.assertFalse(close.isDone());
+        release.countDown();
+        close.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(executedBeforeClose.get(), 2);
+    }
+
+    @Test(description = "Publishers are blocked while the maximum number of events are pending")
+    public void blockPublishersWhenQueueIsFull() throws Exception {
+        final int channelId = 200;
+        final int queueSize = eventManager.getQueueSize();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger published = new AtomicInteger();
+        List<CompletableFuture<EventResult>> futures = new ArrayList<>();
+        Thread publisher = new Thread(() -> {
+            //Events of a single channel are executed serially, hence all but the first will be pending
+            for (int i = 0; i <= queueSize; i++) {
+                futures.add(eventManager.publish(new MockEvent(channelId, EventType.READ, () -> await(release))));
+                published.incrementAndGet();
+            }
+        });
+        publisher.start();
+        long deadline = System.currentTimeMillis() + 10000;
+        while (published.get() < queueSize && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        //The event which exceeds the size of the queue is not published until an event completes
+        Assert.assertEquals(published.get(), queueSize);
+        Assert.assertEquals(publisher.getState(), Thread.State.WAITING);
+        Assert.assertEquals(eventManager.getQueueDepth(), queueSize);
+
+        release.countDown();
+        publisher.join(10000);
+        Assert.assertEquals(published.get(), queueSize + 1);
+        for (CompletableFuture<EventResult> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        Assert.assertEquals(eventManager.getQueueDepth(), 0);
+    }
+
+    //Runs after the events are checked not to exceed the size of the queue, since this test exceeds it
+    @Test(description = "Non blocking publishers are not blocked while the maximum number of events are pending",
+            dependsOnMethods = "executeEventsInOrder")
+    public void doNotBlockNonBlockingPublishers() throws Exception {
+        final int channelId = 300;
+        final int queueSize = eventManager.getQueueSize();
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<EventResult>> futures = new ArrayList<>();
+        Thread publisher = new Thread(() -> {
+            eventManager.registerNonBlockingPublisher();
+            for (int i = 0; i <= queueSize; i++) {
+                futures.add(eventManager.publish(new MockEvent(channelId, EventType.READ, () -> await(release))));
+            }
+        });
+        publisher.start();
+        publisher.join(10000);
+        //The event which exceeds the size of the queue is published without waiting for an event to complete
+        Assert.assertFalse(publisher.isAlive());
+        Assert.assertEquals(eventManager.getQueueDepth(), queueSize + 1);
+
+        release.countDown();
+        for (CompletableFuture<EventResult> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        Assert.assertEquals(eventManager.getQueueDepth(), 0);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Event which runs the given task.
+     */
+    private static class MockEvent implements Event {
+
+        private final int channelId;
+
+        private final EventType type;
+
+        private final Runnable task;
+
+        private MockEvent(int channelId, Runnable task) {
+            this(channelId, EventType.READ, task);
+        }
+
+        private MockEvent(int channelId, EventType type, Runnable task) {
+            this.channelId = channelId;
+            this.type = type;
+            this.task = task;
+        }
+
+        @Override
+        public EventResult get() {
+            task.run();
+            return null;
+        }
+
+        @Override
+        public int getChannelId() {
+            return channelId;
+        }
+
+        @Override
+        public boolean isSelectable() {
+            return false;
+        }
+
+        @Override
+        public EventType getType() {
+            return type;
+        }
+
+        @Override
+        public Channel getChannel() {
+            return null;
+        }
+    }
+}
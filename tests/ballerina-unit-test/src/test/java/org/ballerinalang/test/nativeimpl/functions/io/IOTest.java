@@ -121,6 +121,55 @@ public class IOTest {
         BRunUtil.invokeStateful(bytesInputOutputProgramFile, "close");
     }
 
+    @Test(description = "Test reading bytes from a memory mapped file in ballerina/io package")
+    public void testReadBytesFromMappedFile() throws URISyntaxException {
+        String resourceToRead = "datafiles/io/text/6charfile.txt";
+
+        BValue[] args = {new BString(getAbsoluteFilePath(resourceToRead))};
+        BRunUtil.invokeStateful(bytesInputOutputProgramFile, "initMappedFileChannel", args);
+
+        args = new BValue[]{new BInteger(3)};
+        BValue[] returns = BRunUtil.invokeStateful(bytesInputOutputProgramFile, "readBytes", args);
+        Assert.assertEquals(((BByteArray) returns[0]).getBytes(), "123".getBytes());
+
+        //Reading from a position should not change the position sequential reads continue from
+        args = new BValue[]{new BInteger(2), new BInteger(4)};
+        returns = BRunUtil.invokeStateful(bytesInputOutputProgramFile, "readBytesAt", args);
+        Assert.assertEquals(((BByteArray) returns[0]).getBytes(), "56".getBytes());
+
+        args = new BValue[]{new BInteger(3)};
+        returns = BRunUtil.invokeStateful(bytesInputOutputProgramFile, "readBytes", args);
+        Assert.assertEquals(((BByteArray) returns[0]).getBytes(), "456".getBytes());
+
+        //Reading beyond the end of the file should return an error
+        args = new BValue[]{new BInteger(2), new BInteger(6)};
+        returns = BRunUtil.invokeStateful(bytesInputOutputProgramFile, "readBytesAt", args);
+        Assert.assertTrue(returns[0] instanceof BMap);
+
+        BRunUtil.invokeStateful(bytesInputOutputProgramFile, "close");
+    }
+
+    @Test(description = "Test writing and reading bytes from positions of a file in ballerina/io package")
+    public void testReadWriteBytesAt() {
+        String sourceToWrite = currentDirectoryPath + "/bytesAtFile.txt";
+
+        BValue[] args = {new BString(sourceToWrite), new BString("w")};
+        BRunUtil.invokeStateful(bytesInputOutputProgramFile, "initFileChannel", args);
+        args = new BValue[]{new BByteArray("123456".getBytes()), new BInteger(0)};
+        BRunUtil.invokeStateful(bytesInputOutputProgramFile, "writeBytes", args);
+        args = new BValue[]{new BByteArray("ab".getBytes()), new BInteger(2)};
+        BValue[] returns = BRunUtil.invokeStateful(bytesInputOutputProgramFile, "writeBytesAt", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 2);
+        BRunUtil.invokeStateful(bytesInputOutputProgramFile, "close");
+
+        args = new BValue[]{new BString(sourceToWrite), new BString("r")};
+        BRunUtil.invokeStateful(bytesInputOutputProgramFile, "initFileChannel", args);
+        args = new BValue[]{new BInteger(4), new BInteger(1)};
+        returns = BRunUtil.invokeStateful(bytesInputOutputProgramFile, "readBytesAt", args);
+        Assert.assertEquals(((BByteArray) returns[0]).getBytes(), "2ab5".getBytes());
+        BRunUtil.invokeStateful(bytesInputOutputProgramFile, "close");
+    }
+
     @Test(description = "Test permission errors in byte read operations")
     public void testByteOperationPermissionError() throws URISyntaxException {
         int numberOfBytesToRead = 3;
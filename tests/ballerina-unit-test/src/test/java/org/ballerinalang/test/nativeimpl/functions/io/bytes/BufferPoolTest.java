@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.nativeimpl.functions.io.bytes;
+
+import org.ballerinalang.stdlib.io.channels.base.BufferPool;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Defines the unit tests of the pool of buffers shared between channels.
+ */
+public class BufferPoolTest {
+
+    /**
+     * Maximum number of idle buffers the pool holds per size class.
+     */
+    private static final int MAXIMUM_IDLE_BUFFERS = 32;
+
+    /**
+     * Size class which is not used by the channels of the other tests.
+     */
+    private static final int SIZE = 256 * 1024;
+
+    private final BufferPool pool = BufferPool.getInstance();
+
+    @Test(description = "Acquire buffers of the smallest size class which could hold the requested bytes")
+    public void acquireSizeClasses() {
+        assertAcquired(1, 512);
+        assertAcquired(512, 512);
+        assertAcquired(513, 1024);
+        assertAcquired(5000, 8192);
+        assertAcquired(1024 * 1024, 1024 * 1024);
+
+        //Requests beyond the largest size class are served with heap buffers of the exact size
+        ByteBuffer buffer = pool.acquire(1024 * 1024 + 1);
+        Assert.assertFalse(buffer.isDirect());
+        Assert.assertEquals(buffer.capacity(), 1024 * 1024 + 1);
+    }
+
+    @Test(description = "Reuse a released buffer, reset to the state of a newly allocated buffer")
+    public void reuseReleasedBuffer() {
+        ByteBuffer buffer = pool.acquire(SIZE);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(1L);
+        buffer.flip();
+        pool.release(buffer);
+
+        List<ByteBuffer> acquired = acquireIdleBuffers();
+        Assert.assertTrue(containsInstance(acquired, buffer), "Released buffer was not reused");
+        Assert.assertEquals(buffer.order(), ByteOrder.BIG_ENDIAN);
+        Assert.assertEquals(buffer.position(), 0);
+        Assert.assertEquals(buffer.limit(), SIZE);
+        releaseAll(acquired);
+    }
+
+    @Test(description = "Ignore buffers which were not acquired through the pool")
+    public void releaseForeignBuffers() {
+        ByteBuffer heapBuffer = ByteBuffer.allocate(SIZE);
+        ByteBuffer oddSizedBuffer = ByteBuffer.allocateDirect(SIZE - 1);
+        pool.release(heapBuffer);
+        pool.release(oddSizedBuffer);
+        pool.release(null);
+
+        List<ByteBuffer> acquired = acquireIdleBuffers();
+        Assert.assertFalse(containsInstance(acquired, heapBuffer));
+        Assert.assertFalse(containsInstance(acquired, oddSizedBuffer));
+        releaseAll(acquired);
+    }
+
+    @Test(description = "Hold a bounded number of idle buffers per size class")
+    public void boundIdleBuffers() {
+        List<ByteBuffer> released = new ArrayList<>();
+        for (int i = 0; i < MAXIMUM_IDLE_BUFFERS + 8; i++) {
+            released.add(pool.acquire(SIZE));
+        }
+        releaseAll(released);
+
+        List<ByteBuffer> acquired = acquireIdleBuffers();
+        int reused = 0;
+        for (ByteBuffer buffer : released) {
+            if (containsInstance(acquired, buffer)) {
+                reused++;
+            }
+        }
+        Assert.assertTrue(reused > 0);
+        Assert.assertTrue(reused <= MAXIMUM_IDLE_BUFFERS, "Idle buffers held: " + reused);
+        releaseAll(acquired);
+    }
+
+    private void assertAcquired(int size, int expectedCapacity) {
+        ByteBuffer buffer = pool.acquire(size);
+        Assert.assertTrue(buffer.isDirect());
+        Assert.assertEquals(buffer.capacity(), expectedCapacity);
+        Assert.assertEquals(buffer.position(), 0);
+        Assert.assertEquals(buffer.limit(), expectedCapacity);
+        pool.release(buffer);
+    }
+
+    /**
+     * Acquires more buffers of the size class than the pool could hold idle, which includes all its idle buffers.
+     *
+     * @return the buffers acquired.
+     */
+    private List<ByteBuffer> acquireIdleBuffers() {
+        List<ByteBuffer> acquired = new ArrayList<>();
+        for (int i = 0; i <= MAXIMUM_IDLE_BUFFERS; i++) {
+            acquired.add(pool.acquire(SIZE));
+        }
+        return acquired;
+    }
+
+    private void releaseAll(List<ByteBuffer> buffers) {
+        for (ByteBuffer buffer : buffers) {
+            pool.release(buffer);
+        }
+    }
+
+    private static boolean containsInstance(List<ByteBuffer> buffers, ByteBuffer buffer) {
+        for (ByteBuffer candidate : buffers) {
+            if (candidate == buffer) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
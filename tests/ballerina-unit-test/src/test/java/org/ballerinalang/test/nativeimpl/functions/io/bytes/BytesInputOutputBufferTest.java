@@ -19,6 +19,7 @@ package org.ballerinalang.test.nativeimpl.functions.io.bytes;
 
 import org.ballerinalang.stdlib.io.channels.base.Buffer;
 import org.ballerinalang.stdlib.io.channels.base.Channel;
+import org.ballerinalang.stdlib.io.channels.base.readers.MappedFileReader;
 import org.ballerinalang.stdlib.io.utils.BallerinaIOException;
 import org.ballerinalang.test.nativeimpl.functions.io.MockByteChannel;
 import org.ballerinalang.test.nativeimpl.functions.io.util.TestUtil;
@@ -33,6 +34,12 @@ import java.io.InputStreamReader;
 import java.net.URISyntaxException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ByteChannel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.stream.Collectors;
 
 /**
@@ -205,6 +212,88 @@ public class BytesInputOutputBufferTest {
         buffer.reverse(2);
     }
 
+    @Test(description = "Compact and enlarge the buffer while reading beyond its capacity")
+    public void compactAndEnlargeBuffer() throws IOException {
+        Channel channel = new MockByteChannel(openSequence("bufferCompaction.txt", 2000));
+        Buffer buffer = new Buffer(512);
+        //The buffer is filled to its capacity of 512 bytes
+        assertSequence(buffer.get(300, channel), 0, 300);
+        //The 212 bytes left are moved to the beginning of the buffer, which is filled again
+        assertSequence(buffer.get(400, channel), 300, 400);
+        //A larger buffer is acquired, which holds the bytes left in the buffer replaced
+        ByteBuffer content = buffer.get(1500, channel);
+        int numberOfBytesRead = content.remaining();
+        assertSequence(content, 700, numberOfBytesRead);
+        while (numberOfBytesRead < 1300) {
+            content = buffer.get(1300 - numberOfBytesRead, channel);
+            assertSequence(content, 700 + numberOfBytesRead, content.remaining());
+            numberOfBytesRead = numberOfBytesRead + content.remaining();
+        }
+        Assert.assertEquals(buffer.get(10, channel).remaining(), 0);
+        buffer.close();
+        channel.close();
+    }
+
+    @Test(description = "Reverse the bytes read from the buffer so that they could be read again")
+    public void reverseBuffer() throws IOException {
+        Channel channel = new MockByteChannel(openSequence("bufferReverse.txt", 100));
+        Buffer buffer = new Buffer(512);
+        assertSequence(buffer.get(10, channel), 0, 10);
+        buffer.reverse(4);
+        assertSequence(buffer.get(6, channel), 6, 6);
+        try {
+            buffer.reverse(13);
+            Assert.fail("Reversed more bytes than were read");
+        } catch (BallerinaIOException e) {
+            //The bytes which were not read cannot be reversed
+        }
+        assertSequence(buffer.get(4, channel), 12, 4);
+        buffer.close();
+        channel.close();
+    }
+
+    @Test(description = "Discard the bytes left in the buffer once it is released")
+    public void releaseBuffer() throws IOException {
+        Channel channel = new MockByteChannel(openSequence("bufferRelease.txt", 2000));
+        Buffer buffer = new Buffer(512);
+        assertSequence(buffer.get(10, channel), 0, 10);
+        buffer.close();
+        buffer.close();
+        //A new buffer is acquired, which continues from the bytes which were read into the released buffer
+        assertSequence(buffer.get(10, channel), 512, 10);
+        buffer.close();
+        channel.close();
+    }
+
+    /**
+     * Creates a file of the given size whose bytes are a sequence of numbers.
+     *
+     * @param fileName name of the file.
+     * @param size     number of bytes in the file.
+     * @return the channel which reads the file.
+     * @throws IOException during I/O error.
+     */
+    private ByteChannel openSequence(String fileName, int size) throws IOException {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = sequenceByte(i);
+        }
+        Path file = Paths.get(currentDirectoryPath, fileName);
+        Files.write(file, content);
+        return Files.newByteChannel(file, StandardOpenOption.READ);
+    }
+
+    private void assertSequence(ByteBuffer content, int start, int length) {
+        Assert.assertEquals(content.remaining(), length);
+        for (int i = 0; i < length; i++) {
+            Assert.assertEquals(content.get(), sequenceByte(start + i), "Unexpected byte at " + (start + i));
+        }
+    }
+
+    private static byte sequenceByte(int index) {
+        return (byte) (index % 251);
+    }
+
     @Test(description = "Copy I/O byte file as a stream")
     public void fileStreamCopyTest() throws IOException, URISyntaxException {
         final int readLimit = 10000;
@@ -308,4 +397,39 @@ public class BytesInputOutputBufferTest {
         channel.close();
         channel.getInputStream();
     }
+
+    @Test(description = "Read the content appended to a file after it was mapped")
+    public void readAppendedMappedFile() throws IOException {
+        Path file = Paths.get(currentDirectoryPath, "mappedAppend.txt");
+        Files.write(file, "123".getBytes());
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedFileReader reader = new MappedFileReader(fileChannel);
+            ByteBuffer content = ByteBuffer.allocate(3);
+            Assert.assertEquals(reader.read(content, fileChannel), 3);
+            Assert.assertEquals(content.array(), "123".getBytes());
+            content.clear();
+            Assert.assertEquals(reader.read(content, fileChannel), -1);
+
+            Files.write(file, "456".getBytes(), StandardOpenOption.APPEND);
+            content.clear();
+            Assert.assertEquals(reader.read(content, fileChannel), 3);
+            Assert.assertEquals(content.array(), "456".getBytes());
+            //The region mapped before the file grew is mapped again to read across it
+            content = ByteBuffer.allocate(5);
+            Assert.assertEquals(reader.read(content, 1), 5);
+            Assert.assertEquals(content.array(), "23456".getBytes());
+            reader.close();
+        }
+    }
+
+    @Test(description = "Validate reading from a closed mapped file", expectedExceptions = ClosedChannelException.class)
+    public void readClosedMappedFile() throws IOException {
+        Path file = Paths.get(currentDirectoryPath, "mappedClose.txt");
+        Files.write(file, "123".getBytes());
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedFileReader reader = new MappedFileReader(fileChannel);
+            reader.close();
+            reader.read(ByteBuffer.allocate(3), 0);
+        }
+    }
 }
@@ -22,7 +22,9 @@ import org.ballerinalang.launcher.util.BCompileUtil;
 import org.ballerinalang.launcher.util.BRunUtil;
 import org.ballerinalang.launcher.util.BServiceUtil;
 import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BBoolean;
 import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.testng.Assert;
@@ -60,6 +62,47 @@ public class GetTableTest {
         Assert.assertEquals(totalSalary.floatValue(), 60001.00d);
     }
 
+    @Test(description = "Test streaming records from file")
+    public void streamRecordsFromFile() throws URISyntaxException {
+        String resourceToRead = "datafiles/io/records/sample5.csv";
+        for (int parallelism : new int[]{1, 4}) {
+            BValue[] args = {
+                    new BString(getAbsoluteFilePath(resourceToRead)), new BString("r"), new BString("UTF-8"),
+                    new BString(","), new BInteger(parallelism)
+            };
+            final BValue[] result = BRunUtil.invoke(recordsInputOutputProgramFile, "streamTable", args);
+            Assert.assertEquals(((BFloat) result[0]).floatValue(), 60001.00d);
+            Assert.assertEquals(((BInteger) result[1]).intValue(), 3);
+        }
+    }
+
+    @Test(description = "Test streaming more records than a batch, in the order of the file")
+    public void streamRecordsInBatches() throws URISyntaxException {
+        // The file holds 1300 records, whose salaries are their positions in the file
+        String resourceToRead = "datafiles/io/records/sampleLarge.csv";
+        for (int parallelism : new int[]{1, 2, 4}) {
+            BValue[] args = {
+                    new BString(getAbsoluteFilePath(resourceToRead)), new BInteger(parallelism), new BInteger(2000)
+            };
+            final BValue[] result = BRunUtil.invoke(recordsInputOutputProgramFile, "streamTableInOrder", args);
+            Assert.assertEquals(((BInteger) result[0]).intValue(), 1300);
+            Assert.assertTrue(((BBoolean) result[1]).booleanValue());
+        }
+    }
+
+    @Test(description = "Test closing a streamed table before all the records are read")
+    public void closeStreamedTable() throws URISyntaxException {
+        String resourceToRead = "datafiles/io/records/sampleLarge.csv";
+        for (int parallelism : new int[]{1, 4}) {
+            BValue[] args = {
+                    new BString(getAbsoluteFilePath(resourceToRead)), new BInteger(parallelism), new BInteger(600)
+            };
+            final BValue[] result = BRunUtil.invoke(recordsInputOutputProgramFile, "streamTableInOrder", args);
+            Assert.assertEquals(((BInteger) result[0]).intValue(), 600);
+            Assert.assertTrue(((BBoolean) result[1]).booleanValue());
+        }
+    }
+
     private String getAbsoluteFilePath(String relativePath) throws URISyntaxException {
         URL fileResource = BServiceUtil.class.getClassLoader().getResource(relativePath);
         String pathValue = "";
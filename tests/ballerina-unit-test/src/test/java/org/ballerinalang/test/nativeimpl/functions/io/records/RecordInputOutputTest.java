@@ -21,6 +21,7 @@ import org.ballerinalang.model.values.BStringArray;
 import org.ballerinalang.stdlib.io.channels.base.Channel;
 import org.ballerinalang.stdlib.io.channels.base.CharacterChannel;
 import org.ballerinalang.stdlib.io.channels.base.DelimitedRecordChannel;
+import org.ballerinalang.stdlib.io.csv.Format;
 import org.ballerinalang.test.nativeimpl.functions.io.MockByteChannel;
 import org.ballerinalang.test.nativeimpl.functions.io.util.TestUtil;
 import org.testng.Assert;
@@ -144,6 +145,25 @@ public class RecordInputOutputTest {
         recordChannel.close();
     }
 
+    @Test(description = "Read records with enclosed fields, escaped quotes and line breaks")
+    public void readEnclosedRecords() throws IOException, URISyntaxException {
+        ByteChannel byteChannel = TestUtil.openForReading("datafiles/io/records/sampleRfcEscaped.csv");
+        Channel channel = new MockByteChannel(byteChannel);
+        CharacterChannel characterChannel = new CharacterChannel(channel, StandardCharsets.UTF_8.name());
+        DelimitedRecordChannel recordChannel = new DelimitedRecordChannel(characterChannel, Format.CSV);
+
+        String[] readRecord = recordChannel.read();
+        Assert.assertEquals(readRecord, new String[]{"Name", "Quote", "Year"});
+        Assert.assertTrue(recordChannel.hasNext(), "Expecting more records but received as EOL.");
+
+        readRecord = recordChannel.read();
+        Assert.assertEquals(readRecord, new String[]{"Doe, John", "He said \"hello\"\nand left", "2018"});
+        Assert.assertFalse(recordChannel.hasNext(),
+                "Last record received, but indicate as more records available.");
+
+        recordChannel.close();
+    }
+
     @Test(description = "Writes records to channel")
     public void writeRecords() throws IOException {
         //Number of characters in this file would be 6
@@ -36,6 +36,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadLocalRandom;
@@ -110,6 +111,41 @@ public class ServerSocketTest {
         }
     }
 
+    @Test(description = "Check closing a client socket right after it is accepted.")
+    public void testCloseAcceptedSocket() {
+        int port = ThreadLocalRandom.current().nextInt(47000, 51000);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.execute(() -> {
+            try {
+                BValue[] args = { new BInteger(port) };
+                BRunUtil.invokeStateful(serverBal, "startServerSocketAndClose", args);
+            } catch (Throwable e) {
+                log.error(e.getMessage(), e);
+            }
+        });
+        try {
+            final int numberOfRetryAttempts = 20;
+            final int retryInterval = 1000;
+            boolean closed = false;
+            for (int retryCount = 0; retryCount < numberOfRetryAttempts && !closed; retryCount++) {
+                try (Socket s = new Socket("localhost", port)) {
+                    s.setSoTimeout(10000);
+                    // The server closes the connection without writing anything
+                    Assert.assertEquals(s.getInputStream().read(), -1, "Connection was not closed by the server.");
+                    closed = true;
+                } catch (SocketTimeoutException e) {
+                    Assert.fail("Connection was not closed by the server.");
+                } catch (IOException e) {
+                    sleep(retryInterval);
+                }
+            }
+            Assert.assertTrue(closed, "Unable to connect to remote server.");
+        } finally {
+            SelectorManager.stop();
+            executor.shutdownNow();
+        }
+    }
+
     private void sleep(int retryInterval) {
         try {
             Thread.sleep(retryInterval);
@@ -0,0 +1,134 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*  http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.net.http;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.ballerinalang.net.http.caching.CachedResponse;
+import org.ballerinalang.net.http.caching.HttpCacheStore;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Test cases for the native store of the HTTP caching client.
+ */
+public class HttpCacheStoreTest {
+
+    private static final long EXPIRY_TIME = 60000;
+
+    private static CachedResponse createResponse(String etag, int bodySize) {
+        HttpHeaders headers = new DefaultHttpHeaders();
+        if (etag != null) {
+            headers.set("etag", etag);
+        }
+        return new CachedResponse(200, headers, new byte[bodySize], 0, 0, null);
+    }
+
+    @Test(description = "Tests storing variants of the response of a key")
+    public void testVariants() {
+        HttpCacheStore store = new HttpCacheStore(100000, EXPIRY_TIME, 0.2);
+        CachedResponse first = createResponse("\"a\"", 10);
+        CachedResponse second = createResponse("W/\"b\"", 10);
+        store.put("GET /hello", first, 0);
+        store.put("GET /hello", second, 0);
+
+        Assert.assertTrue(store.hasKey("GET /hello", 0));
+        Assert.assertFalse(store.hasKey("GET /other", 0));
+        List<CachedResponse> responses = store.getAll("GET /hello", 0);
+        Assert.assertEquals(responses.size(), 2);
+        Assert.assertSame(responses.get(0), first);
+        Assert.assertSame(responses.get(1), second);
+        Assert.assertEquals(store.getSize(), first.getSize() + second.getSize());
+
+        store.remove("GET /hello");
+        Assert.assertTrue(store.getAll("GET /hello", 0).isEmpty());
+        Assert.assertEquals(store.getSize(), 0);
+    }
+
+    @Test(description = "Tests matching stored responses by entity tag")
+    public void testETagMatching() {
+        CachedResponse strong = createResponse("\"a\"", 10);
+        CachedResponse weak = createResponse("W/\"a\"", 10);
+
+        Assert.assertTrue(strong.matchesETag("\"a\""));
+        Assert.assertFalse(strong.matchesETag("W/\"a\""));
+        Assert.assertFalse(weak.matchesETag("\"a\""));
+        Assert.assertTrue(weak.matchesWeakETag("\"a\""));
+        Assert.assertTrue(strong.matchesWeakETag("W/\"a\""));
+        Assert.assertFalse(createResponse(null, 10).matchesWeakETag("\"a\""));
+    }
+
+    @Test(description = "Tests evicting the least recently used keys when the capacity is exceeded")
+    public void testSizeBasedEviction() {
+        long responseSize = createResponse(null, 1000).getSize();
+        HttpCacheStore store = new HttpCacheStore(4 * responseSize, EXPIRY_TIME, 0.5);
+        for (int i = 0; i < 4; i++) {
+            store.put("GET /" + i, createResponse(null, 1000), i);
+        }
+        // Using the first key makes the second one the least recently used
+        store.getAll("GET /0", 4);
+        store.put("GET /4", createResponse(null, 1000), 5);
+
+        Assert.assertTrue(store.hasKey("GET /0", 6));
+        Assert.assertFalse(store.hasKey("GET /1", 6));
+        Assert.assertFalse(store.hasKey("GET /2", 6));
+        Assert.assertFalse(store.hasKey("GET /3", 6));
+        Assert.assertTrue(store.hasKey("GET /4", 6));
+        Assert.assertEquals(store.getSize(), 2 * responseSize);
+
+        store.put("GET /large", createResponse(null, 5000), 7);
+        Assert.assertFalse(store.hasKey("GET /large", 7));
+        Assert.assertEquals(store.getSize(), 2 * responseSize);
+    }
+
+    @Test(description = "Tests expiring keys which have not been used")
+    public void testExpiry() {
+        HttpCacheStore store = new HttpCacheStore(100000, EXPIRY_TIME, 0.2);
+        store.put("GET /hello", createResponse(null, 10), 0);
+        Assert.assertTrue(store.hasKey("GET /hello", EXPIRY_TIME - 1));
+        store.getAll("GET /hello", 1000);
+        Assert.assertTrue(store.hasKey("GET /hello", EXPIRY_TIME + 999));
+        Assert.assertFalse(store.hasKey("GET /hello", EXPIRY_TIME + 1000));
+        Assert.assertEquals(store.getSize(), 0);
+    }
+
+    @Test(description = "Tests replacing the headers of a stored response")
+    public void testReplace() {
+        HttpCacheStore store = new HttpCacheStore(100000, EXPIRY_TIME, 0.2);
+        CachedResponse response = createResponse("\"a\"", 10);
+        store.put("GET /hello", response, 0);
+
+        HttpHeaders headers = new DefaultHttpHeaders();
+        headers.set("etag", "\"a\"");
+        headers.set("warning", "214 - \"Transformation applied\"");
+        CachedResponse updatedResponse = response.withHeaders(headers);
+        store.replace("GET /hello", response, updatedResponse);
+
+        List<CachedResponse> responses = store.getAll("GET /hello", 0);
+        Assert.assertEquals(responses.size(), 1);
+        Assert.assertSame(responses.get(0), updatedResponse);
+        Assert.assertSame(updatedResponse.getBody(), response.getBody());
+        Assert.assertEquals(store.getSize(), updatedResponse.getSize());
+
+        // A response which is no longer stored is not put back
+        store.replace("GET /hello", response, createResponse(null, 10));
+        Assert.assertSame(store.getAll("GET /hello", 0).get(0), updatedResponse);
+    }
+}
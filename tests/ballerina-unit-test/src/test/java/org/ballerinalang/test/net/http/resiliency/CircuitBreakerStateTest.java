@@ -0,0 +1,133 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*  http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.net.http.resiliency;
+
+import org.ballerinalang.net.http.resiliency.CircuitBreaker;
+import org.ballerinalang.net.http.resiliency.CircuitBreaker.CircuitState;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for the state machine and the rolling window of the native circuit breaker.
+ */
+public class CircuitBreakerStateTest {
+
+    private static final long START_TIME = 1000000;
+
+    private static CircuitBreaker createCircuitBreaker(long requestVolumeThreshold) {
+        boolean[] statusCodes = new boolean[600];
+        statusCodes[500] = true;
+        statusCodes[503] = true;
+        return new CircuitBreaker(0.5, 1000, statusCodes, requestVolumeThreshold, 5, 2000, START_TIME);
+    }
+
+    @Test(description = "Test tripping the circuit when the failure ratio exceeds the threshold")
+    public void testCircuitTrip() {
+        CircuitBreaker circuitBreaker = createCircuitBreaker(0);
+        long now = START_TIME;
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals(circuitBreaker.updateCircuitState(now), CircuitState.CLOSED);
+            circuitBreaker.updateCircuitHealthSuccess(200, now);
+        }
+        Assert.assertEquals(circuitBreaker.updateCircuitState(now), CircuitState.CLOSED);
+        circuitBreaker.updateCircuitHealthSuccess(503, now);
+        Assert.assertEquals(circuitBreaker.updateCircuitState(now), CircuitState.CLOSED);
+        circuitBreaker.updateCircuitHealthFailure(now);
+
+        Assert.assertEquals(circuitBreaker.getCurrentFailureRatio(now), 0.5);
+        Assert.assertEquals(circuitBreaker.updateCircuitState(now), CircuitState.CLOSED);
+        circuitBreaker.updateCircuitHealthFailure(now);
+        Assert.assertEquals(circuitBreaker.updateCircuitState(now), CircuitState.OPEN);
+        Assert.assertEquals(circuitBreaker.getCircuitState(), CircuitState.OPEN);
+    }
+
+    @Test(description = "Test the trial run of a half open circuit")
+    public void testHalfOpenTrialRun() {
+        CircuitBreaker circuitBreaker = createCircuitBreaker(0);
+        long now = START_TIME;
+        circuitBreaker.updateCircuitState(now);
+        circuitBreaker.updateCircuitHealthFailure(now);
+        Assert.assertEquals(circuitBreaker.updateCircuitState(now), CircuitState.OPEN);
+        Assert.assertEquals(circuitBreaker.rejectRequest(now + 400), 600);
+        Assert.assertEquals(circuitBreaker.updateCircuitState(now + 1000), CircuitState.OPEN);
+
+        // A failed trial run trips the circuit again
+        Assert.assertEquals(circuitBreaker.updateCircuitState(now + 1001), CircuitState.HALF_OPEN);
+        circuitBreaker.updateCircuitHealthFailure(now + 1001);
+        Assert.assertEquals(circuitBreaker.updateCircuitState(now + 1002), CircuitState.OPEN);
+
+        // A successful trial run resets the circuit
+        Assert.assertEquals(circuitBreaker.updateCircuitState(now + 2002), CircuitState.HALF_OPEN);
+        circuitBreaker.updateCircuitHealthSuccess(200, now + 2002);
+        Assert.assertEquals(circuitBreaker.updateCircuitState(now + 2003), CircuitState.CLOSED);
+    }
+
+    @Test(description = "Test requests expiring from the rolling window")
+    public void testRollingWindow() {
+        CircuitBreaker circuitBreaker = createCircuitBreaker(0);
+        circuitBreaker.updateCircuitState(START_TIME);
+        circuitBreaker.updateCircuitHealthFailure(START_TIME);
+        circuitBreaker.updateCircuitState(START_TIME + 2000);
+        circuitBreaker.updateCircuitHealthSuccess(200, START_TIME + 2000);
+
+        Assert.assertEquals(circuitBreaker.getTotalRequestCount(START_TIME + 9999), 2);
+        Assert.assertEquals(circuitBreaker.getTotalRequestCount(START_TIME + 10000), 1);
+        Assert.assertEquals(circuitBreaker.getCurrentFailureRatio(START_TIME + 10000), 0.0);
+        Assert.assertEquals(circuitBreaker.getTotalRequestCount(START_TIME + 12000), 0);
+
+        // The bucket of an expired slot is reused for the new slot
+        circuitBreaker.updateCircuitState(START_TIME + 10000);
+        Assert.assertEquals(circuitBreaker.getTotalRequestCount(START_TIME + 10000), 2);
+    }
+
+    @Test(description = "Test rejected requests not being counted in the failure ratio")
+    public void testRejectedRequests() {
+        CircuitBreaker circuitBreaker = createCircuitBreaker(0);
+        circuitBreaker.updateCircuitState(START_TIME);
+        circuitBreaker.updateCircuitHealthSuccess(200, START_TIME);
+        circuitBreaker.updateCircuitState(START_TIME);
+        circuitBreaker.updateCircuitHealthFailure(START_TIME);
+        circuitBreaker.setCircuitState(CircuitState.OPEN, START_TIME);
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.updateCircuitState(START_TIME);
+            circuitBreaker.rejectRequest(START_TIME);
+        }
+        Assert.assertEquals(circuitBreaker.getTotalRequestCount(START_TIME), 5);
+        Assert.assertEquals(circuitBreaker.getCurrentFailureRatio(START_TIME), 0.5);
+    }
+
+    @Test(description = "Test the request volume threshold holding the circuit closed")
+    public void testRequestVolumeThreshold() {
+        CircuitBreaker circuitBreaker = createCircuitBreaker(3);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(circuitBreaker.updateCircuitState(START_TIME), CircuitState.CLOSED);
+            circuitBreaker.updateCircuitHealthFailure(START_TIME);
+        }
+        Assert.assertEquals(circuitBreaker.updateCircuitState(START_TIME), CircuitState.OPEN);
+    }
+
+    @Test(description = "Test forcing the circuit open and closed")
+    public void testForcedState() {
+        CircuitBreaker circuitBreaker = createCircuitBreaker(0);
+        circuitBreaker.setCircuitState(CircuitState.OPEN, START_TIME + 5000);
+        Assert.assertEquals(circuitBreaker.updateCircuitState(START_TIME + 5500), CircuitState.OPEN);
+        Assert.assertEquals(circuitBreaker.updateCircuitState(START_TIME + 6001), CircuitState.HALF_OPEN);
+        circuitBreaker.setCircuitState(CircuitState.CLOSED, START_TIME + 6001);
+        Assert.assertEquals(circuitBreaker.getCircuitState(), CircuitState.CLOSED);
+    }
+}
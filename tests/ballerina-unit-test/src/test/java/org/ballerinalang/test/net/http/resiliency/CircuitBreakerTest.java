@@ -24,6 +24,7 @@ import org.ballerinalang.launcher.util.BRunUtil;
 import org.ballerinalang.launcher.util.BServiceUtil;
 import org.ballerinalang.launcher.util.CompileResult;
 import org.ballerinalang.model.util.StringUtils;
+import org.ballerinalang.model.values.BBoolean;
 import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BRefValueArray;
@@ -174,6 +175,18 @@ public class CircuitBreakerTest {
         validateCBResponses(responses, errs, CB_CLIENT_FORCE_OPEN_INDEX, expectedStatusCodes);
     }
 
+    @Test(description = "Verify the deprecated fields of the circuit health being filled from the native state")
+    public void testDeprecatedCircuitHealth() {
+        BValue[] returnVals = BRunUtil.invoke(compileResult, "testDeprecatedCircuitHealth");
+
+        Assert.assertEquals(returnVals.length, 4);
+        Assert.assertEquals(returnVals[0].stringValue(), "OPEN");
+        // The rejected request is counted along with the four requests which went through
+        Assert.assertEquals(((BInteger) returnVals[1]).intValue(), 5);
+        Assert.assertTrue(((BBoolean) returnVals[2]).booleanValue());
+        Assert.assertEquals(((BInteger) returnVals[3]).intValue(), 5);
+    }
+
     /**
      * Test case scenario:
      * - Initially the circuit is healthy and functioning normally.
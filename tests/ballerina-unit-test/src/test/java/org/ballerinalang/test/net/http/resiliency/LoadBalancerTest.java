@@ -0,0 +1,114 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*  http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.net.http.resiliency;
+
+import org.ballerinalang.net.http.resiliency.LoadBalancer;
+import org.ballerinalang.net.http.resiliency.LoadBalancer.Algorithm;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for the target selection of the native load balancer.
+ */
+public class LoadBalancerTest {
+
+    @Test(description = "Test round robin selection and failover")
+    public void testRoundRobin() {
+        LoadBalancer loadBalancer = new LoadBalancer(Algorithm.ROUND_ROBIN, 3);
+        for (int i = 0; i < 6; i++) {
+            Assert.assertEquals(loadBalancer.selectTarget(), i % 3);
+        }
+        Assert.assertEquals(loadBalancer.failoverTarget(2), 0);
+        Assert.assertEquals(loadBalancer.getOutstandingRequests(0), 3);
+    }
+
+    @Test(description = "Test selecting the target with the least requests in flight")
+    public void testLeastOutstandingRequests() {
+        LoadBalancer loadBalancer = new LoadBalancer(Algorithm.LEAST_OUTSTANDING_REQUESTS, 3);
+        int first = loadBalancer.selectTarget();
+        int second = loadBalancer.selectTarget();
+        int third = loadBalancer.selectTarget();
+        Assert.assertNotEquals(first, second);
+        Assert.assertNotEquals(second, third);
+        Assert.assertNotEquals(first, third);
+
+        loadBalancer.completeRequest(second, 1000, true);
+        Assert.assertEquals(loadBalancer.selectTarget(), second);
+        Assert.assertEquals(loadBalancer.getOutstandingRequests(second), 1);
+    }
+
+    @Test(description = "Test selecting the target with the least latency")
+    public void testLeastLatency() {
+        LoadBalancer loadBalancer = new LoadBalancer(Algorithm.LEAST_LATENCY, 3);
+        loadBalancer.completeRequest(loadBalancer.failoverTarget(2), 5500000, true);
+        loadBalancer.completeRequest(loadBalancer.failoverTarget(0), 1000000, true);
+        loadBalancer.completeRequest(loadBalancer.failoverTarget(1), 9000000, true);
+        for (int i = 0; i < 10; i++) {
+            int index = loadBalancer.selectTarget();
+            Assert.assertEquals(loadBalancer.getLatency(index), 1000000);
+            loadBalancer.completeRequest(index, 1000000, true);
+        }
+
+        // Requests in flight add to the latency of the target
+        int fastest = loadBalancer.selectTarget();
+        for (int i = 0; i < 4; i++) {
+            Assert.assertEquals(loadBalancer.selectTarget(), fastest);
+        }
+        Assert.assertEquals(loadBalancer.getOutstandingRequests(fastest), 5);
+        Assert.assertNotEquals(loadBalancer.selectTarget(), fastest);
+    }
+
+    @Test(description = "Test targets without a latency sharing the requests until their first response")
+    public void testLeastLatencyUntriedTarget() {
+        LoadBalancer loadBalancer = new LoadBalancer(Algorithm.LEAST_LATENCY, 2);
+        loadBalancer.completeRequest(loadBalancer.failoverTarget(1), 2000000, true);
+        for (int i = 0; i < 4; i++) {
+            loadBalancer.selectTarget();
+        }
+        Assert.assertEquals(loadBalancer.getOutstandingRequests(0), 2);
+        Assert.assertEquals(loadBalancer.getOutstandingRequests(1), 2);
+    }
+
+    @Test(description = "Test failures increasing the latency of a target")
+    public void testFailureLatency() {
+        LoadBalancer loadBalancer = new LoadBalancer(Algorithm.LEAST_LATENCY, 2);
+        int index = loadBalancer.selectTarget();
+        loadBalancer.completeRequest(index, 1000, true);
+        Assert.assertEquals(loadBalancer.failoverTarget(1 - index), index);
+        loadBalancer.completeRequest(index, 10, false);
+        Assert.assertEquals(loadBalancer.getLatency(index), 1300);
+        Assert.assertEquals(loadBalancer.getOutstandingRequests(index), 0);
+    }
+
+    @Test(description = "Test power of two choices avoiding the loaded target")
+    public void testPowerOfTwoChoices() {
+        LoadBalancer loadBalancer = new LoadBalancer(Algorithm.POWER_OF_TWO_CHOICES, 2);
+        int loaded = loadBalancer.selectTarget();
+        for (int i = 0; i < 100; i++) {
+            int index = loadBalancer.selectTarget();
+            Assert.assertNotEquals(index, loaded);
+            loadBalancer.completeRequest(index, 1000, true);
+        }
+        Assert.assertEquals(new LoadBalancer(Algorithm.POWER_OF_TWO_CHOICES, 1).selectTarget(), 0);
+    }
+
+    @Test(description = "Test an unknown algorithm", expectedExceptions = IllegalArgumentException.class)
+    public void testUnknownAlgorithm() {
+        Algorithm.fromValue("random");
+    }
+}
@@ -0,0 +1,95 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*  http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.services.dispatching;
+
+import org.ballerinalang.net.http.BasePathTrie;
+import org.ballerinalang.net.uri.URIUtil;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test class for the base path trie used to find the service of a request.
+ */
+public class BasePathTrieTest {
+
+    @Test(description = "Test the longest base path being matched")
+    public void testMostSpecificBasePath() {
+        BasePathTrie trie = new BasePathTrie(Arrays.asList("/hello/world", "/hello", "/helloworld", "/"));
+
+        Assert.assertEquals(trie.findMostSpecificBasePath("/hello/world/echo"), "/hello/world");
+        Assert.assertEquals(trie.findMostSpecificBasePath("/hello/world"), "/hello/world");
+        Assert.assertEquals(trie.findMostSpecificBasePath("/hello/worlds"), "/hello");
+        Assert.assertEquals(trie.findMostSpecificBasePath("/hello"), "/hello");
+        Assert.assertEquals(trie.findMostSpecificBasePath("/helloworld/echo"), "/helloworld");
+        Assert.assertEquals(trie.findMostSpecificBasePath("/hellow"), "/");
+        Assert.assertEquals(trie.findMostSpecificBasePath("/other"), "/");
+    }
+
+    @Test(description = "Test matching only at path segment boundaries")
+    public void testSegmentBoundary() {
+        BasePathTrie trie = new BasePathTrie(Arrays.asList("/hello", "/hello/world"));
+
+        Assert.assertNull(trie.findMostSpecificBasePath("/helloworld"));
+        Assert.assertNull(trie.findMostSpecificBasePath("/hell"));
+        Assert.assertNull(trie.findMostSpecificBasePath("/"));
+        Assert.assertEquals(trie.findMostSpecificBasePath("/hello/worl"), "/hello");
+    }
+
+    @Test(description = "Test case insensitive matching of base paths")
+    public void testCaseInsensitiveMatch() {
+        BasePathTrie trie = new BasePathTrie(Arrays.asList("/Hello/World", "/hello/WORLD", "/Echo"));
+
+        Assert.assertEquals(trie.findMostSpecificBasePath("/HELLO/world/echo"), "/Hello/World");
+        Assert.assertEquals(trie.findMostSpecificBasePath("/echo"), "/Echo");
+        Assert.assertNull(trie.findMostSpecificBasePath("/Hello"));
+    }
+
+    @Test(description = "Test base paths which split a node of the trie")
+    public void testSplitNodes() {
+        BasePathTrie trie = new BasePathTrie(Arrays.asList("/products/list", "/products/latest", "/products",
+                "/product"));
+
+        Assert.assertEquals(trie.findMostSpecificBasePath("/products/list/1"), "/products/list");
+        Assert.assertEquals(trie.findMostSpecificBasePath("/products/latest"), "/products/latest");
+        Assert.assertEquals(trie.findMostSpecificBasePath("/products/lat"), "/products");
+        Assert.assertEquals(trie.findMostSpecificBasePath("/product/1"), "/product");
+        Assert.assertNull(trie.findMostSpecificBasePath("/productz"));
+    }
+
+    @Test(description = "Test detecting URIs which can skip matrix parameter extraction")
+    public void testUriWithoutMatrixParams() {
+        String[] uris = {"/", "/hello", "/hello/world?a=b", "/?a=b", "/hello/", "/hello/?a=b", "/hello?",
+                "/hello;a=b", "hello", "/hello//world"};
+        for (String uri : uris) {
+            Map<String, Map<String, String>> matrixParams = new HashMap<>();
+            String extractedUri = URIUtil.extractMatrixParams(uri, matrixParams);
+            if (URIUtil.hasNoMatrixParams(uri)) {
+                Assert.assertEquals(extractedUri, uri, "URI changed while extracting matrix params");
+                Assert.assertTrue(matrixParams.values().stream().allMatch(Map::isEmpty),
+                        "Matrix params found in " + uri);
+            }
+        }
+        Assert.assertTrue(URIUtil.hasNoMatrixParams("/hello/world?a=b"));
+        Assert.assertFalse(URIUtil.hasNoMatrixParams("/hello/"));
+        Assert.assertFalse(URIUtil.hasNoMatrixParams("/hello;a=b"));
+    }
+}
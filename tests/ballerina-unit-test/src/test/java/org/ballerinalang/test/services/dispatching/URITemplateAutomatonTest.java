@@ -0,0 +1,200 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*  http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.services.dispatching;
+
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.net.uri.URITemplate;
+import org.ballerinalang.net.uri.URITemplateException;
+import org.ballerinalang.net.uri.parser.DataElement;
+import org.ballerinalang.net.uri.parser.DataReturnAgent;
+import org.ballerinalang.net.uri.parser.Literal;
+import org.ballerinalang.net.uri.parser.Node;
+import org.ballerinalang.net.uri.parser.URITemplateAutomaton;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class for the compiled uri-template matching automaton, which should match requests the same way as the
+ * uri-template tree.
+ */
+public class URITemplateAutomatonTest {
+
+    private static final String[] TEMPLATES = {"/", "/products", "/products/{productId}", "/products/latest",
+            "/products/{productId}/reviews/{reviewId}", "/product", "/prod{code}", "/orders/{orderId}/*",
+            "/orders/{id}/items", "/files/{name:3}", "/files/*", "/echo/{a,b}"};
+    private static final String[] PATHS = {"/", "/products", "/products/latest", "/products/10", "/product",
+            "/products/10/reviews/20", "/products/10/reviews", "/prodX", "/orders/5/items", "/orders/5/items/1",
+            "/orders/5/other/path", "/files/abc", "/files/abcd", "/files/a%20c", "/echo/x%2Fy", "/unknown",
+            "/products/la", "/products/latest/reviews/1"};
+
+    private Node<String, String> syntaxTree;
+    private URITemplate<String, String> uriTemplate;
+
+    @BeforeClass
+    public void setup() throws URITemplateException, UnsupportedEncodingException {
+        syntaxTree = new Literal<>(new TestDataElement(), "/");
+        uriTemplate = new URITemplate<>(syntaxTree);
+        for (String template : TEMPLATES) {
+            uriTemplate.parse(template, template, TestDataElement::new);
+        }
+    }
+
+    @Test(description = "Test matching paths with the automaton and the tree")
+    public void testMatchingSameAsTree() {
+        URITemplateAutomaton<String, String> automaton = URITemplateAutomaton.compile(syntaxTree);
+        Assert.assertNotNull(automaton);
+        for (String path : PATHS) {
+            for (String method : new String[]{"GET", "POST"}) {
+                Map<String, String> treeVariables = new HashMap<>();
+                DataReturnAgent<String> treeAgent = new DataReturnAgent<>();
+                boolean treeResult = syntaxTree.matchAll(path, treeVariables, 0, method, treeAgent);
+
+                Assert.assertTrue(automaton.canMatch(path, new HashMap<>()), path);
+                Map<String, String> variables = new HashMap<>();
+                DataReturnAgent<String> agent = new DataReturnAgent<>();
+                boolean result = automaton.matchAll(path, variables, method, agent);
+
+                String message = method + " " + path;
+                Assert.assertEquals(result, treeResult, message);
+                Assert.assertEquals(agent.getData(), treeAgent.getData(), message);
+                Assert.assertEquals(agent.getError() == null, treeAgent.getError() == null, message);
+                if (result) {
+                    Assert.assertEquals(variables, treeVariables, message);
+                }
+            }
+        }
+    }
+
+    @Test(description = "Test matching a service with many resources with the automaton and the tree")
+    public void testManyResources() throws URITemplateException, UnsupportedEncodingException {
+        int resourceCount = 500;
+        Node<String, String> manyResourcesTree = new Literal<>(new TestDataElement(), "/");
+        URITemplate<String, String> manyResourcesTemplate = new URITemplate<>(manyResourcesTree);
+        String[] templates = new String[resourceCount];
+        String[] paths = new String[resourceCount];
+        for (int i = 0; i < resourceCount; i++) {
+            String entity = "/entity" + (i / 5);
+            switch (i % 5) {
+                case 0:
+                    templates[i] = entity;
+                    paths[i] = entity;
+                    break;
+                case 1:
+                    templates[i] = entity + "/{id}";
+                    paths[i] = entity + "/" + i;
+                    break;
+                case 2:
+                    templates[i] = entity + "/{id}/items/{itemId}";
+                    paths[i] = entity + "/" + i + "/items/" + (i * 31);
+                    break;
+                case 3:
+                    templates[i] = entity + "/search";
+                    paths[i] = entity + "/search";
+                    break;
+                default:
+                    templates[i] = entity + "/files/*";
+                    paths[i] = entity + "/files/docs/" + i;
+            }
+            manyResourcesTemplate.parse(templates[i], templates[i], TestDataElement::new);
+        }
+
+        for (int i = 0; i < resourceCount; i++) {
+            Map<String, String> treeVariables = new HashMap<>();
+            DataReturnAgent<String> treeAgent = new DataReturnAgent<>();
+            Assert.assertTrue(manyResourcesTree.matchAll(paths[i], treeVariables, 0, "GET", treeAgent), paths[i]);
+            Assert.assertEquals(treeAgent.getData(), templates[i], paths[i]);
+
+            Map<String, String> variables = new HashMap<>();
+            Assert.assertEquals(manyResourcesTemplate.matches(paths[i], variables, "GET"), templates[i], paths[i]);
+            Assert.assertEquals(variables, treeVariables, paths[i]);
+        }
+        Assert.assertNull(manyResourcesTemplate.matches("/entity100", new HashMap<>(), "GET"));
+    }
+
+    @Test(description = "Test path params and extra path info of a match")
+    public void testPathParams() {
+        Map<String, String> variables = new HashMap<>();
+        Assert.assertEquals(uriTemplate.matches("/products/10/reviews/20", variables, "GET"),
+                "/products/{productId}/reviews/{reviewId}");
+        Assert.assertEquals(variables.get("productId"), "10");
+        Assert.assertEquals(variables.get("reviewId"), "20");
+
+        variables = new HashMap<>();
+        Assert.assertEquals(uriTemplate.matches("/orders/5/other/path", variables, "GET"), "/orders/{orderId}/*");
+        Assert.assertEquals(variables.get("orderId"), "5");
+        Assert.assertEquals(variables.get(HttpConstants.EXTRA_PATH_INFO), "/other/path");
+
+        variables = new HashMap<>();
+        Assert.assertEquals(uriTemplate.matches("/files/a%20c", variables, "GET"), "/files/{name:3}");
+        Assert.assertEquals(variables.get("name"), "a c");
+    }
+
+    @Test(description = "Test paths which are left to the tree")
+    public void testPathsMatchedByTree() {
+        URITemplateAutomaton<String, String> automaton = URITemplateAutomaton.compile(syntaxTree);
+        Assert.assertFalse(automaton.canMatch("/products//10", new HashMap<>()));
+        Assert.assertFalse(automaton.canMatch("/products/", new HashMap<>()));
+        Map<String, String> variables = new HashMap<>();
+        variables.put("productId", "10");
+        Assert.assertFalse(automaton.canMatch("/products/10", variables));
+    }
+
+    @Test(description = "Test the method check failing for a path", expectedExceptions = BallerinaException.class)
+    public void testMethodNotAllowed() {
+        uriTemplate.matches("/products", new HashMap<>(), "DELETE");
+    }
+
+    /**
+     * Data element accepting the GET and POST methods only.
+     */
+    private static class TestDataElement implements DataElement<String, String> {
+
+        private List<String> templates = new ArrayList<>();
+
+        @Override
+        public void setData(String template) {
+            templates.add(template);
+        }
+
+        @Override
+        public boolean hasData() {
+            return !templates.isEmpty();
+        }
+
+        @Override
+        public boolean getData(String method, DataReturnAgent<String> dataReturnAgent) {
+            if (templates.isEmpty()) {
+                return false;
+            }
+            if ("DELETE".equals(method)) {
+                dataReturnAgent.setError(new BallerinaException("Method not allowed"));
+                return false;
+            }
+            dataReturnAgent.setData(templates.get(0));
+            return true;
+        }
+    }
+}
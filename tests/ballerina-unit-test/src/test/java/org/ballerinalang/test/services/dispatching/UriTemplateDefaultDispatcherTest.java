@@ -20,6 +20,7 @@ package org.ballerinalang.test.services.dispatching;
 import org.ballerinalang.launcher.util.BServiceUtil;
 import org.ballerinalang.launcher.util.CompileResult;
 import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.net.http.HttpConstants;
 import org.ballerinalang.test.services.testutils.HTTPTestRequest;
 import org.ballerinalang.test.services.testutils.MessageUtils;
 import org.ballerinalang.test.services.testutils.Services;
@@ -67,6 +68,19 @@ public class UriTemplateDefaultDispatcherTest {
                 , "Resource dispatched to wrong template");
     }
 
+    @Test(description = "Test dispatching a request without a method to a resource accepting any method")
+    public void testDispatchingWithoutMethod() {
+        String path = "/serviceWithNoAnnotation/test1";
+        HTTPTestRequest cMsg = MessageUtils.generateHTTPMessage(path, "GET");
+        cMsg.setProperty(HttpConstants.HTTP_METHOD, null);
+        HttpCarbonMessage response = Services.invokeNew(application, TEST_EP, cMsg);
+
+        Assert.assertNotNull(response, "Response message not found");
+        BJSON bJson = new BJSON(new HttpMessageDataStreamer(response).getInputStream());
+        Assert.assertEquals(bJson.value().get("echo").asText(), "dispatched to a service without an annotation"
+                , "Resource dispatched to wrong template");
+    }
+
     @Test(description = "Test dispatching with Service name when annotation is not available")
     public void testServiceNameDispatchingWhenAnnotationUnavailable() {
         String path = "/serviceWithNoAnnotation/test1";
@@ -0,0 +1,69 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.streaming;
+
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BIntArray;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * This contains methods to test streams which are configured to be processed asynchronously.
+ *
+ * @since 0.980.0
+ */
+public class AsyncStreamTest {
+
+    private static final String ASYNC_CONFIG = "b7a.streaming.async.asyncTeacherStream";
+    private static final ConfigRegistry registry = ConfigRegistry.getInstance();
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        registry.addConfiguration(ASYNC_CONFIG, "bufferSize", "128");
+        registry.addConfiguration(ASYNC_CONFIG, "batchSize", "16");
+        registry.addConfiguration(ASYNC_CONFIG, "waitStrategy", "sleeping");
+        result = BCompileUtil.compile("test-src/streaming/async-streaming-test.bal");
+    }
+
+    @Test(description = "Test streaming query on a stream with async settings")
+    public void testAsyncQuery() {
+        BValue[] returns = BRunUtil.invoke(result, "startAsyncQuery", new BValue[]{new BInteger(500)});
+
+        Assert.assertEquals(returns.length, 1);
+        BIntArray ages = (BIntArray) returns[0];
+        Assert.assertEquals(ages.size(), 500, "Expected events are not received");
+        for (int i = 0; i < 500; i++) {
+            Assert.assertEquals(ages.get(i), 20 + i, "Events are not received in the order they were published");
+        }
+    }
+
+    @AfterClass
+    public void tearDown() {
+        registry.removeConfiguration(ASYNC_CONFIG + ".bufferSize");
+        registry.removeConfiguration(ASYNC_CONFIG + ".batchSize");
+        registry.removeConfiguration(ASYNC_CONFIG + ".waitStrategy");
+    }
+}
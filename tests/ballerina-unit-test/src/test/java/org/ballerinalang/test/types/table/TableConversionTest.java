@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.types.table;
+
+import org.ballerinalang.model.ColumnDefinition;
+import org.ballerinalang.model.DataIterator;
+import org.ballerinalang.model.types.BArrayType;
+import org.ballerinalang.model.types.BField;
+import org.ballerinalang.model.types.BRecordType;
+import org.ballerinalang.model.types.BStructureType;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.util.JSONUtils;
+import org.ballerinalang.model.util.XMLUtils;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BTable;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class to test converting tables with null and duplicate columns to JSON and XML.
+ */
+public class TableConversionTest {
+
+    private static final String NIL = " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:nil=\"true\">";
+    private static final List<ColumnDefinition> COLUMNS = Arrays.asList(
+            new ColumnDefinition("ID", TypeKind.INT),
+            new ColumnDefinition("DATA", TypeKind.BLOB),
+            new ColumnDefinition("DOC", TypeKind.JSON),
+            new ColumnDefinition("TAGS", TypeKind.ARRAY),
+            new ColumnDefinition("ADDRESS", TypeKind.RECORD));
+    private static final Object[][] ROWS = {
+            { 1L, "aGVsbG8=", "{\"a\":1}", new Object[] { "x", "y" }, new Object[] { "Main", 10L } },
+            { 2L, null, null, null, null }
+    };
+
+    @Test(description = "Check converting the null columns of a table with a record type to JSON.")
+    public void testNullColumnsToJson() {
+        BTable table = new TestTable(new TestDataIterator(COLUMNS, ROWS, createRecordType()));
+        Assert.assertEquals(JSONUtils.toJSON(table, false).stringValue(), "[{\"id\":1,\"data\":\"aGVsbG8=\","
+                + "\"doc\":{\"a\":1},\"tags\":[\"x\",\"y\"],\"address\":{\"street\":\"Main\",\"number\":10}},"
+                + "{\"id\":2,\"data\":null,\"doc\":null,\"tags\":null,\"address\":null}]");
+    }
+
+    @Test(description = "Check converting the null columns of a table with a record type to XML.")
+    public void testNullColumnsToXml() {
+        BTable table = new TestTable(new TestDataIterator(COLUMNS, ROWS, createRecordType()));
+        Assert.assertEquals(XMLUtils.tableToXML(table, false).stringValue(), "<results><result><id>1</id>"
+                + "<data>aGVsbG8=</data><doc>{\"a\":1}</doc><tags><element>x</element><element>y</element></tags>"
+                + "<address><street>Main</street><number>10</number></address></result>"
+                + "<result><id>2</id><data" + NIL + "</data><doc" + NIL + "</doc><tags></tags><address></address>"
+                + "</result></results>");
+    }
+
+    @Test(description = "Check converting a table with duplicate and null columns to JSON, where the later column "
+            + "overrides the former one.")
+    public void testDuplicateColumnsToJson() {
+        BTable table = new TestTable(new TestDataIterator(withDuplicateColumn(), withDuplicateValues(), null));
+        Assert.assertEquals(JSONUtils.toJSON(table, false).stringValue(), "[{\"ID\":3,\"DATA\":\"aGVsbG8=\","
+                + "\"DOC\":{\"a\":1},\"TAGS\":[\"x\",\"y\"],\"ADDRESS\":[\"Main\",10]},"
+                + "{\"ID\":4,\"DATA\":null,\"DOC\":null,\"TAGS\":null,\"ADDRESS\":null}]");
+    }
+
+    @Test(description = "Check converting a table with duplicate and null columns to XML.")
+    public void testDuplicateColumnsToXml() {
+        BTable table = new TestTable(new TestDataIterator(withDuplicateColumn(), withDuplicateValues(), null));
+        Assert.assertEquals(XMLUtils.tableToXML(table, false).stringValue(), "<results><result><ID>1</ID>"
+                + "<DATA>aGVsbG8=</DATA><DOC>{\"a\":1}</DOC><TAGS><element>x</element><element>y</element></TAGS>"
+                + "<ADDRESS><element>Main</element><element>10</element></ADDRESS><ID>3</ID></result>"
+                + "<result><ID>2</ID><DATA" + NIL + "</DATA><DOC" + NIL + "</DOC><TAGS></TAGS><ADDRESS></ADDRESS>"
+                + "<ID>4</ID></result></results>");
+    }
+
+    private static BRecordType createRecordType() {
+        BRecordType addressType = new BRecordType(null, "Address", ".", 0);
+        addressType.setFields(new BField[] {
+                new BField(BTypes.typeString, "street", 0),
+                new BField(BTypes.typeInt, "number", 0)
+        });
+        BRecordType recordType = new BRecordType(null, "Customer", ".", 0);
+        recordType.setFields(new BField[] {
+                new BField(BTypes.typeInt, "id", 0),
+                new BField(new BArrayType(BTypes.typeByte), "data", 0),
+                new BField(BTypes.typeJSON, "doc", 0),
+                new BField(new BArrayType(BTypes.typeString), "tags", 0),
+                new BField(addressType, "address", 0)
+        });
+        return recordType;
+    }
+
+    private static List<ColumnDefinition> withDuplicateColumn() {
+        List<ColumnDefinition> columns = new ArrayList<>(COLUMNS);
+        columns.add(new ColumnDefinition("ID", TypeKind.INT));
+        return columns;
+    }
+
+    private static Object[][] withDuplicateValues() {
+        Object[][] rows = new Object[ROWS.length][];
+        for (int i = 0; i < ROWS.length; i++) {
+            rows[i] = Arrays.copyOf(ROWS[i], ROWS[i].length + 1);
+            rows[i][ROWS[i].length] = i + 3L;
+        }
+        return rows;
+    }
+
+    /**
+     * Table over the rows of a {@link TestDataIterator}, which can be iterated again once it's reset.
+     */
+    private static class TestTable extends BTable {
+
+        TestTable(DataIterator iterator) {
+            this.iterator = iterator;
+            this.constraintType = iterator.getStructType();
+        }
+
+        @Override
+        public void reset(boolean isInTransaction) {
+            iterator.reset(isInTransaction);
+            resetIterationHelperAttributes();
+        }
+
+        @Override
+        protected boolean isIteratorGenerationConditionMet() {
+            return false;
+        }
+    }
+
+    /**
+     * Iterates rows of values held in memory, in the representation a SQL data iterator reads them.
+     */
+    private static class TestDataIterator implements DataIterator {
+
+        private final List<ColumnDefinition> columnDefs;
+        private final Object[][] rows;
+        private final BStructureType structType;
+        private int position = -1;
+
+        TestDataIterator(List<ColumnDefinition> columnDefs, Object[][] rows, BStructureType structType) {
+            this.columnDefs = columnDefs;
+            this.rows = rows;
+            this.structType = structType;
+        }
+
+        @Override
+        public boolean next() {
+            return ++position < rows.length;
+        }
+
+        @Override
+        public void close(boolean isInTransaction) {
+        }
+
+        @Override
+        public void reset(boolean isInTransaction) {
+            position = -1;
+        }
+
+        @Override
+        public String getString(int columnIndex) {
+            return (String) rows[position][columnIndex - 1];
+        }
+
+        @Override
+        public long getInt(int columnIndex) {
+            return (Long) rows[position][columnIndex - 1];
+        }
+
+        @Override
+        public double getFloat(int columnIndex) {
+            return (Double) rows[position][columnIndex - 1];
+        }
+
+        @Override
+        public boolean getBoolean(int columnIndex) {
+            return (Boolean) rows[position][columnIndex - 1];
+        }
+
+        @Override
+        public String getBlob(int columnIndex) {
+            return getString(columnIndex);
+        }
+
+        @Override
+        public Object[] getStruct(int columnIndex) {
+            return (Object[]) rows[position][columnIndex - 1];
+        }
+
+        @Override
+        public Object[] getArray(int columnIndex) {
+            return (Object[]) rows[position][columnIndex - 1];
+        }
+
+        @Override
+        public BMap<?, ?> generateNext() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ColumnDefinition> getColumnDefinitions() {
+            return columnDefs;
+        }
+
+        @Override
+        public BStructureType getStructType() {
+            return structType;
+        }
+    }
+}
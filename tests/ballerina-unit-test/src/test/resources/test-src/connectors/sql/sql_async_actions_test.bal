@@ -0,0 +1,44 @@
+import ballerina/jdbc;
+
+type ResultCount record {
+    int COUNTVAL,
+};
+
+function testTransaction(string jdbcUrl, string userName, string password) returns (int, int, int) {
+    endpoint jdbc:Client testDB {
+        url: jdbcUrl,
+        username: userName,
+        password: password,
+        poolOptions: { maximumPoolSize: 1 }
+    };
+
+    int committedVal = 0;
+    transaction {
+        _ = testDB->update("Insert into Customers (firstName,lastName,registrationID,creditLimit,country)
+                                values ('James', 'Clerk', 400, 5000.75, 'USA')");
+        _ = testDB->update("Insert into Customers (firstName,lastName,registrationID,creditLimit,country)
+                                values ('James', 'Clerk', 400, 5000.75, 'USA')");
+    } onretry {
+        committedVal = -1;
+    }
+
+    int rolledBackVal = 0;
+    transaction {
+        _ = testDB->update("Insert into Customers (firstName,lastName,registrationID,creditLimit,country)
+                                values ('James', 'Clerk', 410, 5000.75, 'USA')");
+        _ = testDB->update("Insert into Customers2 (firstName,lastName,registrationID,creditLimit,country)
+                                values ('James', 'Clerk', 410, 5000.75, 'USA')");
+    } onretry {
+        rolledBackVal = -1;
+    }
+
+    table dt = check testDB->select("Select COUNT(*) as countval from Customers where registrationID = 400 or
+        registrationID = 410", ResultCount);
+    int count;
+    while (dt.hasNext()) {
+        ResultCount rs = check <ResultCount>dt.getNext();
+        count = rs.COUNTVAL;
+    }
+    testDB.stop();
+    return (committedVal, rolledBackVal, count);
+}
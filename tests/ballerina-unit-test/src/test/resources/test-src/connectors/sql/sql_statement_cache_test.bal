@@ -0,0 +1,92 @@
+import ballerina/sql;
+import ballerina/jdbc;
+
+type ResultCustomers record {
+    string FIRSTNAME,
+};
+
+type ResultCount record {
+    int COUNTVAL,
+};
+
+function testCachedStatements(string jdbcUrl, string userName, string password) returns (string) {
+    endpoint jdbc:Client testDB {
+        url: jdbcUrl,
+        username: userName,
+        password: password,
+        poolOptions: { maximumPoolSize: 1, statementCacheSize: 2 }
+    };
+
+    string names;
+    int i = 0;
+    //The statements of three queries are cached by a cache of two statements, hence they are evicted in turn
+    while (i < 3) {
+        names = names + selectFirstName(testDB, 1) + " " + selectFirstName(testDB, 2) + " ";
+        table dt = check testDB->select("SELECT FirstName from Customers where registrationID = 1 or
+            registrationID = 2 order by registrationID", ResultCustomers);
+        while (dt.hasNext()) {
+            ResultCustomers rs = check <ResultCustomers>dt.getNext();
+            names = names + rs.FIRSTNAME + " ";
+        }
+        i = i + 1;
+    }
+    testDB.stop();
+    return names.trim();
+}
+
+function selectFirstName(jdbc:Client testDBClient, int registrationID) returns (string) {
+    endpoint jdbc:Client testDB = testDBClient;
+    sql:Parameter para = { sqlType: sql:TYPE_INTEGER, value: registrationID };
+    table dt = check testDB->select("SELECT FirstName from Customers where registrationID = ?", ResultCustomers, para);
+    string firstName;
+    while (dt.hasNext()) {
+        ResultCustomers rs = check <ResultCustomers>dt.getNext();
+        firstName = rs.FIRSTNAME;
+    }
+    return firstName;
+}
+
+function testCachedStatementsInTransaction(string jdbcUrl, string userName, string password) returns (int, int, int, int) {
+    endpoint jdbc:Client testDB {
+        url: jdbcUrl,
+        username: userName,
+        password: password,
+        poolOptions: { maximumPoolSize: 1, statementCacheSize: 2 }
+    };
+
+    //The insert is rolled back on each retry, while its statement is taken from the cache
+    int rolledBackVal = 0;
+    transaction {
+        _ = testDB->update("Insert into Customers (firstName,lastName,registrationID,creditLimit,country)
+                                values ('James', 'Clerk', 600, 5000.75, 'USA')");
+        _ = testDB->update("Insert into Customers2 (firstName,lastName,registrationID,creditLimit,country)
+                                values ('James', 'Clerk', 600, 5000.75, 'USA')");
+    } onretry {
+        rolledBackVal = -1;
+    }
+    int rolledBackCount = countCustomers(testDB, 600);
+
+    int committedVal = 0;
+    transaction {
+        _ = testDB->update("Insert into Customers (firstName,lastName,registrationID,creditLimit,country)
+                                values ('James', 'Clerk', 600, 5000.75, 'USA')");
+    } onretry {
+        committedVal = -1;
+    }
+    int committedCount = countCustomers(testDB, 600);
+    testDB.stop();
+    return (rolledBackVal, rolledBackCount, committedVal, committedCount);
+}
+
+function countCustomers(jdbc:Client testDBClient, int registrationID) returns (int) {
+    endpoint jdbc:Client testDB = testDBClient;
+    sql:Parameter para = { sqlType: sql:TYPE_INTEGER, value: registrationID };
+    table dt = check testDB->select("Select COUNT(*) as countval from Customers where registrationID = ?", ResultCount,
+        para);
+    int count;
+    while (dt.hasNext()) {
+        ResultCount rs = check <ResultCount>dt.getNext();
+        count = rs.COUNTVAL;
+    }
+    return count;
+}
@@ -49,3 +49,36 @@ function getPowerOfN (float a, float n) returns (float) {
     float v = math:pow(a, n);
     return v;
 }
+
+function fib(int n) returns int {
+    if (n < 2) {
+        return n;
+    }
+    return fib(n - 1) + fib(n - 2);
+}
+
+function divide(int a, int b) returns (int, int) {
+    return (a / b, a % b);
+}
+
+function testMultipleReturnsFromNestedCalls(int a, int b) returns (int, int) {
+    var (quotient, remainder) = divide(a, b);
+    return divide(quotient * b + remainder, b);
+}
+
+function failAt(int depth) returns int {
+    if (depth == 0) {
+        error err = {message:"reached the bottom"};
+        throw err;
+    }
+    return failAt(depth - 1) + 1;
+}
+
+function testErrorFromNestedCalls(int depth) returns string {
+    try {
+        _ = failAt(depth);
+    } catch (error e) {
+        return e.message;
+    }
+    return "no error";
+}
@@ -6,6 +6,10 @@ function initFileChannel (string filePath, io:Mode permission) {
     channel = untaint io:openFile(filePath, permission);
 }
 
+function initMappedFileChannel (string filePath) {
+    channel = untaint io:openMappedFile(filePath);
+}
+
 function readBytes (int numberOfBytes) returns byte[]|error {
     byte[] empty;
     var result = channel.read(numberOfBytes);
@@ -33,6 +37,23 @@ function writeBytes (byte[] content, int startOffset) returns int|error {
     }
 }
 
+function readBytesAt (int numberOfBytes, int position) returns byte[]|error {
+    var result = channel.readAt(numberOfBytes, position);
+    match result {
+        (byte[],int) content =>{
+            var (bytes, _) = content;
+            return bytes;
+        }
+        error err =>{
+            return err;
+        }
+    }
+}
+
+function writeBytesAt (byte[] content, int position) returns int|error {
+    return channel.writeAt(content, position);
+}
+
 function close () {
     var result = channel.close();
 }
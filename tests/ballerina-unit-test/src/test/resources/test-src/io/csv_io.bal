@@ -66,3 +66,47 @@ function getTable(string filePath, io:Mode permission, string encoding, io:Separ
 
     }
 }
+
+function streamTable(string filePath, io:Mode permission, string encoding, io:Separator fieldSeperator,
+                     int parallelism) returns (float, int)|error {
+    io:ByteChannel byteChannel = io:openFile(filePath, permission);
+    io:CharacterChannel charChannel = new io:CharacterChannel(byteChannel, encoding);
+    io:CSVChannel csv = new io:CSVChannel(charChannel, fs = fieldSeperator);
+    float total;
+    int count;
+    match csv.streamTable(Employee, parallelism = parallelism) {
+        table<Employee> tb => {
+            foreach x in tb {
+                total = total + x.salary;
+                count = count + 1;
+            }
+            return (total, count);
+        }
+        error err => {
+            return err;
+        }
+    }
+}
+
+function streamTableInOrder(string filePath, int parallelism, int maxCount) returns (int, boolean)|error {
+    io:CSVChannel csv = io:openCsvFile(filePath);
+    int count;
+    boolean inOrder = true;
+    match csv.streamTable(Employee, parallelism = parallelism) {
+        table<Employee> tb => {
+            while (count < maxCount && tb.hasNext()) {
+                Employee x = check <Employee>tb.getNext();
+                count = count + 1;
+                if (x.salary != <float>count) {
+                    inOrder = false;
+                }
+            }
+            // Closing the table closes the channel, even if the records were not all read
+            tb.close();
+            return (count, inOrder);
+        }
+        error err => {
+            return err;
+        }
+    }
+}
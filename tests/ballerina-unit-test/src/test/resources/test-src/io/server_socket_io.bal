@@ -92,3 +92,25 @@ function startServerSocket(int port, string welcomeMsg) {
         }
     }
 }
+
+function startServerSocketAndClose(int port) {
+    io:ServerSocket server = new();
+    check server.bindAddress(port);
+    match server.accept() {
+        io:Socket s => {
+            io:ByteChannel ch = s.channel;
+            match ch.close() {
+                error e1 => {
+                    io:println("Channel close error: ", e1.message);
+                }
+                () => {
+                    io:println("Client closed on accept.");
+                }
+            }
+        }
+        error e2 => {
+            io:println("Socket accept error: " , e2.message);
+        }
+    }
+    check server.close();
+}
@@ -196,6 +196,42 @@ function testForceOpenScenario() returns (http:Response[], error[]) {
     return (responses, errs);
 }
 
+function testDeprecatedCircuitHealth() returns (string, int, boolean, int) {
+    endpoint http:Client backendClientEP {
+        url: "http://localhost:8080",
+        circuitBreaker: {
+            rollingWindow: {
+                timeWindowMillis:10000,
+                bucketSizeMillis:2000,
+                requestVolumeThreshold: 0
+            },
+            failureThreshold:0.3,
+            resetTimeMillis:1000,
+            statusCodes:[500, 502, 503]
+        },
+        timeoutMillis:2000
+    };
+
+    int counter = 0;
+    http:CircuitBreakerClient cbClient = check <http:CircuitBreakerClient>backendClientEP.getCallerActions();
+    MockClient mockClient = new;
+    cbClient.httpClient = <http:CallerActions> mockClient;
+
+    while (counter < 5) {
+        http:Request request = new;
+        request.setHeader(TEST_SCENARIO_HEADER, SCENARIO_CB_FORCE_OPEN);
+        if (counter > 3) {
+            cbClient.forceOpen();
+        }
+        _ = cbClient.get("/hello", message = request);
+        counter = counter + 1;
+    }
+    http:CircuitHealth circuitHealth = cbClient.circuitHealth;
+    int bucketCount = circuitHealth.totalBuckets[circuitHealth.lastUsedBucketId].totalCount;
+    return (cbClient.currentCircuitState, circuitHealth.totalRequestCount, circuitHealth.lastRequestSuccess,
+        bucketCount);
+}
+
 function testForceCloseScenario() returns (http:Response[], error[]) {
     endpoint http:Client backendClientEP {
         url: "http://localhost:8080",
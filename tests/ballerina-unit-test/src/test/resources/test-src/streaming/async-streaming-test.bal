@@ -0,0 +1,82 @@
+// Copyright (c) 2018 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/runtime;
+
+type Employee record {
+    string name;
+    int age;
+    string status;
+};
+
+type Teacher record {
+    string name;
+    int age;
+    string status;
+};
+
+Employee[] globalEmployeeArray = [];
+int employeeIndex = 0;
+
+stream<Employee> asyncEmployeeStream;
+stream<Teacher> asyncTeacherStream;
+
+function testAsyncQuery() {
+
+    forever {
+        from asyncTeacherStream
+        where age > 18
+        select *
+        => (Employee[] emp) {
+            asyncEmployeeStream.publish(emp);
+        }
+    }
+}
+
+function startAsyncQuery(int eventCount) returns (int[]) {
+
+    testAsyncQuery();
+
+    asyncEmployeeStream.subscribe(addToGlobalEmployeeArray);
+
+    int i = 0;
+    while (i < eventCount) {
+        Teacher t = {name:"Raja", age:20 + i, status:"single"};
+        asyncTeacherStream.publish(t);
+        i = i + 1;
+    }
+
+    int waited = 0;
+    while (employeeIndex < eventCount && waited < 10000) {
+        runtime:sleep(100);
+        waited = waited + 100;
+    }
+
+    int[] ages = [];
+    int j = 0;
+    while (j < employeeIndex) {
+        ages[j] = globalEmployeeArray[j].age;
+        j = j + 1;
+    }
+    return ages;
+}
+
+function addToGlobalEmployeeArray(Employee e) {
+    lock {
+        globalEmployeeArray[employeeIndex] = e;
+        employeeIndex = employeeIndex + 1;
+    }
+}